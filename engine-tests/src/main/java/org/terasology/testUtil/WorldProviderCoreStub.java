@@ -16,11 +16,14 @@
 
 package org.terasology.testUtil;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.math.Region3i;
 import org.terasology.math.geom.Vector3i;
@@ -40,6 +43,8 @@ public class WorldProviderCoreStub implements WorldProviderCore {
 
     private Map<Vector3i, Block> blocks = Maps.newHashMap();
     private Map<Vector3i, Biome> biomes = Maps.newHashMap();
+    private List<Map<Vector3i, Block>> pendingEdits = Lists.newArrayList();
+    private List<CompletableFuture<Map<Vector3i, Block>>> pendingResults = Lists.newArrayList();
     private Block air;
     private Biome defaultBiome;
 
@@ -70,6 +75,11 @@ public WorldInfo getWorldInfo() {
 
     @Override
     public void processPropagation() {
+        for (int i = 0; i < pendingEdits.size(); i++) {
+            pendingResults.get(i).complete(setBlocks(pendingEdits.get(i)));
+        }
+        pendingEdits.clear();
+        pendingResults.clear();
     }
 
     @Override
@@ -121,6 +131,17 @@ public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocksToPlace) {
         return result;
     }
 
+    /**
+     * Applies the blocks on the next {@link #processPropagation()}, as the real world provider does.
+     */
+    @Override
+    public CompletableFuture<Map<Vector3i, Block>> setBlocksAsync(Map<Vector3i, Block> blocksToPlace) {
+        CompletableFuture<Map<Vector3i, Block>> result = new CompletableFuture<>();
+        pendingEdits.add(blocksToPlace);
+        pendingResults.add(result);
+        return result;
+    }
+
     @Override
     public boolean setLiquid(int x, int y, int z, LiquidData newData, LiquidData oldData) {
         return false;  //To change body of implemented methods use File | Settings | File Templates.
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.ai.pathfinding;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ */
+public class PathCacheTest {
+
+    private final PathCache cache = new PathCache(2);
+    private final Path path = new Path(Arrays.asList(new Vector3i(0, 1, 0), new Vector3i(1, 1, 0)));
+
+    @Test
+    public void testFoundPathInvalidatedByChunkAlongIt() {
+        cache.put(new Vector3i(0, 1, 0), new Vector3i(1, 1, 0), path, Collections.emptySet());
+
+        cache.invalidate(new Vector3i(1, 0, 0));
+        assertSame(path, cache.get(new Vector3i(0, 1, 0), new Vector3i(1, 1, 0)));
+
+        cache.invalidate(new Vector3i(0, 0, 0));
+        assertNull(cache.get(new Vector3i(0, 1, 0), new Vector3i(1, 1, 0)));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testMissingPathCachedUntilSearchedChunkChanges() {
+        cache.put(new Vector3i(0, 1, 0), new Vector3i(100, 1, 0), Path.NONE,
+                ImmutableList.of(new Vector3i(0, 0, 0), new Vector3i(1, 0, 0)));
+
+        assertSame(Path.NONE, cache.get(new Vector3i(0, 1, 0), new Vector3i(100, 1, 0)));
+        cache.invalidate(new Vector3i(1, 0, 0));
+        assertNull(cache.get(new Vector3i(0, 1, 0), new Vector3i(100, 1, 0)));
+    }
+
+    @Test
+    public void testEvictedPathNoLongerIndexed() {
+        cache.put(new Vector3i(0, 1, 0), new Vector3i(1, 1, 0), path, Collections.emptySet());
+        cache.put(new Vector3i(5, 1, 0), new Vector3i(6, 1, 0), Path.NONE, ImmutableList.of(new Vector3i(0, 0, 0)));
+        cache.put(new Vector3i(7, 1, 0), new Vector3i(8, 1, 0), Path.NONE, ImmutableList.of(new Vector3i(3, 0, 0)));
+
+        assertNull(cache.get(new Vector3i(0, 1, 0), new Vector3i(1, 1, 0)));
+        cache.invalidate(new Vector3i(0, 0, 0));
+        assertEquals(1, cache.size());
+        assertSame(Path.NONE, cache.get(new Vector3i(7, 1, 0), new Vector3i(8, 1, 0)));
+    }
+}
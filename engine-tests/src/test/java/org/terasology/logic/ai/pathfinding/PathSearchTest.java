@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.ai.pathfinding;
+
+import com.google.common.collect.Sets;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.testUtil.WorldProviderCoreStub;
+import org.terasology.world.block.Block;
+import org.terasology.world.internal.WorldProviderWrapper;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ */
+public class PathSearchTest {
+
+    private Block air;
+    private Block stone;
+    private WorldProviderCoreStub world;
+    private WalkabilityGraph graph;
+
+    @Before
+    public void setup() {
+        air = new Block();
+        air.setPenetrable(true);
+        stone = new Block();
+        world = new WorldProviderCoreStub(air, null);
+        graph = new WalkabilityGraph(new WorldProviderWrapper(world));
+        for (int x = -10; x <= 110; x++) {
+            for (int z = -2; z <= 2; z++) {
+                world.setBlock(new Vector3i(x, 0, z), stone);
+            }
+        }
+    }
+
+    @Test
+    public void testPathAcrossFlatFloor() {
+        Path path = new PathSearch(graph, false).findPath(new Vector3i(0, 1, 0), new Vector3i(10, 1, 2));
+
+        assertTrue(path.isFound());
+        assertEquals(13, path.size());
+        assertEquals(new Vector3i(0, 1, 0), path.getWaypoints().get(0));
+        assertEquals(new Vector3i(10, 1, 2), path.getWaypoints().get(12));
+        assertConnected(path.getWaypoints());
+    }
+
+    @Test
+    public void testPathAroundWall() {
+        for (int z = -2; z <= 1; z++) {
+            setBlock(new Vector3i(5, 1, z), stone);
+            setBlock(new Vector3i(5, 2, z), stone);
+        }
+        Path path = new PathSearch(graph, false).findPath(new Vector3i(0, 1, 0), new Vector3i(10, 1, 0));
+
+        assertTrue(path.isFound());
+        assertTrue(path.getWaypoints().contains(new Vector3i(5, 1, 2)));
+        assertConnected(path.getWaypoints());
+    }
+
+    @Test
+    public void testPathClimbsStep() {
+        for (int z = -2; z <= 2; z++) {
+            setBlock(new Vector3i(5, 1, z), stone);
+        }
+        Path path = new PathSearch(graph, false).findPath(new Vector3i(0, 1, 0), new Vector3i(10, 1, 0));
+
+        assertTrue(path.isFound());
+        assertEquals(11, path.size());
+        assertTrue(path.getWaypoints().contains(new Vector3i(5, 2, 0)));
+    }
+
+    @Test
+    public void testNoPathThroughClosedWall() {
+        for (int z = -2; z <= 2; z++) {
+            setBlock(new Vector3i(5, 1, z), stone);
+            setBlock(new Vector3i(5, 2, z), stone);
+        }
+
+        assertFalse(new PathSearch(graph, false).findPath(new Vector3i(0, 1, 0), new Vector3i(10, 1, 0)).isFound());
+        assertFalse(new PathSearch(graph, true).findPath(new Vector3i(0, 1, 0), new Vector3i(100, 1, 0)).isFound());
+    }
+
+    @Test
+    public void testMissingPathRecordsSearchedChunks() {
+        for (int z = -2; z <= 2; z++) {
+            setBlock(new Vector3i(5, 1, z), stone);
+            setBlock(new Vector3i(5, 2, z), stone);
+        }
+        Set<Vector3i> searchedChunks = Sets.newHashSet();
+
+        assertFalse(new PathSearch(graph, false).findPath(new Vector3i(0, 1, 0), new Vector3i(10, 1, 0), searchedChunks).isFound());
+        assertTrue(searchedChunks.contains(new Vector3i(0, 0, 0)));
+        assertTrue(searchedChunks.contains(new Vector3i(-1, 0, -1)));
+    }
+
+    @Test
+    public void testNoPathFromUnwalkablePosition() {
+        assertFalse(new PathSearch(graph, false).findPath(new Vector3i(0, 5, 0), new Vector3i(10, 1, 0)).isFound());
+        assertFalse(new PathSearch(graph, false).findPath(new Vector3i(0, 1, 0), new Vector3i(10, 0, 0)).isFound());
+    }
+
+    @Test
+    public void testGraphFollowsBlockChanges() {
+        assertTrue(graph.isWalkable(3, 1, 0));
+        setBlock(new Vector3i(3, 2, 0), stone);
+
+        assertFalse(graph.isWalkable(3, 1, 0));
+        assertTrue(graph.isWalkable(3, 3, 0));
+        setBlock(new Vector3i(3, 2, 0), air);
+
+        assertTrue(graph.isWalkable(3, 1, 0));
+        assertFalse(graph.isWalkable(3, 3, 0));
+    }
+
+    @Test
+    public void testHierarchicalPathMatchesFlatPath() {
+        for (int z = -2; z <= 1; z++) {
+            setBlock(new Vector3i(40, 1, z), stone);
+            setBlock(new Vector3i(40, 2, z), stone);
+        }
+        Path flat = new PathSearch(graph, false).findPath(new Vector3i(-10, 1, 0), new Vector3i(110, 1, 0));
+        Path hierarchical = new PathSearch(graph, true).findPath(new Vector3i(-10, 1, 0), new Vector3i(110, 1, 0));
+
+        assertTrue(hierarchical.isFound());
+        assertEquals(flat.size(), hierarchical.size());
+        assertConnected(hierarchical.getWaypoints());
+    }
+
+    private void setBlock(Vector3i pos, Block block) {
+        world.setBlock(pos, block);
+        graph.onBlockChanged(pos);
+    }
+
+    private static void assertConnected(List<Vector3i> waypoints) {
+        for (int i = 1; i < waypoints.size(); i++) {
+            Vector3i from = waypoints.get(i - 1);
+            Vector3i to = waypoints.get(i);
+            assertEquals(1, Math.abs(to.x - from.x) + Math.abs(to.z - from.z));
+            assertTrue(Math.abs(to.y - from.y) <= 1);
+        }
+    }
+}
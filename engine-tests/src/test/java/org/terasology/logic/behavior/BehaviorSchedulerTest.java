@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.behavior;
+
+import org.junit.Test;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.behavior.tree.Interpreter;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ */
+public class BehaviorSchedulerTest {
+    private long time;
+    private final BehaviorScheduler scheduler = new BehaviorScheduler(2, () -> time++);
+
+    @Test
+    public void testTicksRoundRobinWithinBudget() {
+        Interpreter[] interpreters = new Interpreter[4];
+        for (int i = 0; i < interpreters.length; i++) {
+            interpreters[i] = mock(Interpreter.class);
+            scheduler.put(mock(EntityRef.class), interpreters[i]);
+        }
+
+        assertEquals(2, scheduler.update(0.5f, entity -> 0));
+        verify(interpreters[0]).tick(0.5f);
+        verify(interpreters[1]).tick(0.5f);
+        verify(interpreters[2], never()).tick(anyFloat());
+
+        assertEquals(2, scheduler.update(0.5f, entity -> 0));
+        verify(interpreters[2]).tick(1f);
+        verify(interpreters[3]).tick(1f);
+        verify(interpreters[0], times(1)).tick(anyFloat());
+    }
+
+    @Test
+    public void testDistantEntityTickedLessOften() {
+        Interpreter interpreter = mock(Interpreter.class);
+        scheduler.put(mock(EntityRef.class), interpreter);
+
+        for (int i = 0; i < 4; i++) {
+            scheduler.update(0.25f, entity -> 1);
+        }
+        verify(interpreter).tick(0.25f);
+        verify(interpreter, times(1)).tick(anyFloat());
+
+        scheduler.update(0.25f, entity -> 1);
+        verify(interpreter).tick(1f);
+    }
+
+    @Test
+    public void testInterpreterReplacedAndRemovedWhileTicking() {
+        EntityRef first = mock(EntityRef.class);
+        EntityRef second = mock(EntityRef.class);
+        Interpreter firstInterpreter = mock(Interpreter.class);
+        Interpreter secondInterpreter = mock(Interpreter.class);
+        Interpreter replacement = mock(Interpreter.class);
+        doAnswer(invocation -> {
+            scheduler.put(first, replacement);
+            scheduler.remove(second);
+            return 0;
+        }).when(firstInterpreter).tick(anyFloat());
+        scheduler.put(first, firstInterpreter);
+        scheduler.put(second, secondInterpreter);
+
+        scheduler.update(1, entity -> 0);
+        scheduler.update(1, entity -> 0);
+        scheduler.update(1, entity -> 0);
+
+        verify(firstInterpreter, times(1)).tick(anyFloat());
+        verify(secondInterpreter, never()).tick(anyFloat());
+        verify(replacement, times(2)).tick(1f);
+        assertEquals(1, scheduler.size());
+    }
+}
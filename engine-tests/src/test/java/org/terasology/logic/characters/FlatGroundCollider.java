@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.characters;
+
+import org.terasology.math.geom.Vector3f;
+import org.terasology.physics.engine.CharacterCollider;
+import org.terasology.physics.engine.SweepCallback;
+
+/**
+ * A collider for a character moving over flat ground, with a wall across the x axis. The character is treated as a
+ * point.
+ */
+class FlatGroundCollider implements CharacterCollider {
+    private final float groundY;
+    private final float wallX;
+    private final Vector3f location = new Vector3f();
+
+    FlatGroundCollider(float groundY, float wallX) {
+        this.groundY = groundY;
+        this.wallX = wallX;
+    }
+
+    @Override
+    public boolean isPending() {
+        return false;
+    }
+
+    @Override
+    public Vector3f getLocation() {
+        return location;
+    }
+
+    @Override
+    public void setLocation(Vector3f loc) {
+        location.set(loc);
+    }
+
+    @Override
+    public SweepCallback sweep(Vector3f startPos, Vector3f endPos, float allowedPenetration, float slopeFactor) {
+        float fraction = 1;
+        Vector3f normal = null;
+        if (startPos.y >= groundY && endPos.y < groundY) {
+            fraction = (startPos.y - groundY) / (startPos.y - endPos.y);
+            normal = new Vector3f(0, 1, 0);
+        }
+        if (startPos.x <= wallX && endPos.x > wallX) {
+            float wallFraction = (wallX - startPos.x) / (endPos.x - startPos.x);
+            if (wallFraction < fraction) {
+                fraction = wallFraction;
+                normal = new Vector3f(-1, 0, 0);
+            }
+        }
+        Vector3f hitPoint = new Vector3f(endPos);
+        hitPoint.sub(startPos);
+        hitPoint.scale(fraction);
+        hitPoint.add(startPos);
+        return new Hit(fraction, normal, hitPoint);
+    }
+
+    private static final class Hit implements SweepCallback {
+        private final float fraction;
+        private final Vector3f normal;
+        private final Vector3f hitPoint;
+
+        private Hit(float fraction, Vector3f normal, Vector3f hitPoint) {
+            this.fraction = fraction;
+            this.normal = normal;
+            this.hitPoint = hitPoint;
+        }
+
+        @Override
+        public float calculateAverageSlope(float originalSlope, float checkingOffset) {
+            return originalSlope;
+        }
+
+        @Override
+        public Vector3f getHitNormalWorld() {
+            return normal;
+        }
+
+        @Override
+        public Vector3f getHitPointWorld() {
+            return hitPoint;
+        }
+
+        @Override
+        public float getClosestHitFraction() {
+            return fraction;
+        }
+
+        @Override
+        public boolean hasHit() {
+            return normal != null;
+        }
+
+        @Override
+        public boolean checkForStep(Vector3f direction, float stepHeight, float slopeFactor, float checkForwardDistance) {
+            return false;
+        }
+    }
+}
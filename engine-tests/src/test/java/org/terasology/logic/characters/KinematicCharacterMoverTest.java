@@ -15,13 +15,32 @@
  */
 package org.terasology.logic.characters;
 
+import com.bulletphysics.BulletGlobals;
+import com.google.common.collect.Lists;
 import org.junit.Assert;
 import org.junit.Test;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Quat4f;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.physics.engine.CharacterCollider;
+import org.terasology.physics.engine.PhysicsEngine;
+import org.terasology.world.WorldProvider;
+import org.terasology.world.block.Block;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  */
 public class KinematicCharacterMoverTest {
 
+    private static final int STEPS = 40;
+
     @Test
     public void testUpdateMode() {
         CharacterStateEvent state = new CharacterStateEvent();
@@ -87,4 +106,65 @@ public void testUpdateMode() {
         KinematicCharacterMover.updateMode(state, false, false, false, true);
         Assert.assertSame(MovementMode.CROUCHING, state.getMode());
     }
+
+    @Test
+    public void testStepUnaffectedByStepsOfOtherCharacters() {
+        WorldProvider worldProvider = createWorld();
+        PhysicsEngine physics = mock(PhysicsEngine.class);
+        when(physics.getEpsilon()).thenReturn(BulletGlobals.SIMD_EPSILON);
+
+        KinematicCharacterMover mover = new KinematicCharacterMover(worldProvider, physics);
+        EntityRef character = createCharacter(physics, new FlatGroundCollider(0, 2));
+        CharacterStateEvent state = createState(new Vector3f(0, 1, 0));
+        List<CharacterStateEvent> expectedStates = Lists.newArrayList();
+        for (int i = 0; i < STEPS; i++) {
+            state = mover.step(state, createInput(i, new Vector3f(1, 0, 0)), character);
+            expectedStates.add(state);
+        }
+
+        // The same character, with another character in a different situation stepped in between
+        mover = new KinematicCharacterMover(worldProvider, physics);
+        character = createCharacter(physics, new FlatGroundCollider(0, 2));
+        EntityRef other = createCharacter(physics, new FlatGroundCollider(-3, 0.5f));
+        state = createState(new Vector3f(0, 1, 0));
+        CharacterStateEvent otherState = createState(new Vector3f(0, 4, 0));
+        for (int i = 0; i < STEPS; i++) {
+            otherState = mover.step(otherState, createInput(i, new Vector3f(1, 0, 1)), other);
+            state = mover.step(state, createInput(i, new Vector3f(1, 0, 0)), character);
+            CharacterStateEvent expected = expectedStates.get(i);
+            Assert.assertEquals(expected.getPosition(), state.getPosition());
+            Assert.assertEquals(expected.getVelocity(), state.getVelocity());
+            Assert.assertEquals(expected.isGrounded(), state.isGrounded());
+            Assert.assertSame(expected.getMode(), state.getMode());
+        }
+        Assert.assertNotEquals(otherState.getPosition(), state.getPosition());
+    }
+
+    static WorldProvider createWorld() {
+        Block air = new Block();
+        WorldProvider worldProvider = mock(WorldProvider.class);
+        when(worldProvider.isBlockRelevant(any(Vector3f.class))).thenReturn(true);
+        when(worldProvider.getBlock(any(Vector3f.class))).thenReturn(air);
+        when(worldProvider.getBlock(any(Vector3i.class))).thenReturn(air);
+        return worldProvider;
+    }
+
+    static EntityRef createCharacter(PhysicsEngine physics, CharacterCollider collider) {
+        EntityRef character = mock(EntityRef.class);
+        when(character.getComponent(CharacterMovementComponent.class)).thenReturn(new CharacterMovementComponent());
+        when(character.getComponent(LocationComponent.class)).thenReturn(new LocationComponent());
+        when(physics.getCharacterCollider(character)).thenReturn(collider);
+        return character;
+    }
+
+    /**
+     * @return Input for a step, running in the given direction and jumping every tenth step
+     */
+    static CharacterMoveInputEvent createInput(int sequence, Vector3f direction) {
+        return new CharacterMoveInputEvent(sequence, 0, 0, new Vector3f(direction), true, sequence % 10 == 5, 50);
+    }
+
+    private static CharacterStateEvent createState(Vector3f position) {
+        return new CharacterStateEvent(0, 0, position, new Quat4f(0, 0, 0, 1), new Vector3f(), 0, 0, MovementMode.WALKING, false);
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.characters;
+
+import com.bulletphysics.BulletGlobals;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.context.Context;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.engine.Time;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.logic.players.LocalPlayer;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.network.NetworkSystem;
+import org.terasology.physics.engine.PhysicsEngine;
+import org.terasology.registry.InjectionHelper;
+import org.terasology.world.WorldProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class ServerCharacterPredictionSystemTest {
+
+    private static final long START_TIME = 10000;
+    private static final int INPUTS = 30;
+    private static final int INPUT_DELTA_MS = 50;
+
+    private ServerCharacterPredictionSystem system;
+    private PhysicsEngine physics;
+    private LocalPlayer localPlayer;
+    private long currentTime = START_TIME;
+
+    @Before
+    public void setup() {
+        Time time = mock(Time.class);
+        when(time.getGameTimeInMs()).thenAnswer(invocation -> currentTime);
+        physics = mock(PhysicsEngine.class);
+        when(physics.getEpsilon()).thenReturn(BulletGlobals.SIMD_EPSILON);
+        localPlayer = mock(LocalPlayer.class);
+        when(localPlayer.getCharacterEntity()).thenReturn(EntityRef.NULL);
+        NetworkSystem networkSystem = mock(NetworkSystem.class);
+        when(networkSystem.getOwnerEntity(any(EntityRef.class))).thenReturn(EntityRef.NULL);
+
+        Context context = new ContextImpl();
+        context.put(Time.class, time);
+        context.put(PhysicsEngine.class, physics);
+        context.put(WorldProvider.class, KinematicCharacterMoverTest.createWorld());
+        context.put(LocalPlayer.class, localPlayer);
+        context.put(NetworkSystem.class, networkSystem);
+        system = new ServerCharacterPredictionSystem();
+        InjectionHelper.inject(system, context);
+        system.initialise();
+    }
+
+    @Test
+    public void testQueuedInputStepsLikeInputSteppedOnReceipt() {
+        EntityRef local = createCharacter(new Vector3f(0, 1, 0));
+        EntityRef remote = createCharacter(new Vector3f(0, 1, 0));
+        EntityRef otherRemote = createCharacter(new Vector3f(0, 4, 0));
+        when(localPlayer.getCharacterEntity()).thenReturn(local);
+
+        currentTime = START_TIME + INPUTS * INPUT_DELTA_MS;
+        for (int i = 0; i < INPUTS; i++) {
+            system.onPlayerInput(KinematicCharacterMoverTest.createInput(i, new Vector3f(1, 0, 0)), local);
+            system.onPlayerInput(KinematicCharacterMoverTest.createInput(i, new Vector3f(1, 0, 0)), remote);
+            system.onPlayerInput(KinematicCharacterMoverTest.createInput(i, new Vector3f(1, 0, 1)), otherRemote);
+        }
+        LocationComponent remoteLocation = remote.getComponent(LocationComponent.class);
+        assertEquals(new Vector3f(0, 1, 0), remoteLocation.getWorldPosition());
+
+        system.update(INPUTS * INPUT_DELTA_MS / 1000f);
+        // Move every character to its latest state, rather than the delayed state rendered for remote characters
+        system.lagCompensate(EntityRef.NULL, currentTime);
+
+        LocationComponent localLocation = local.getComponent(LocationComponent.class);
+        CharacterMovementComponent localMovement = local.getComponent(CharacterMovementComponent.class);
+        CharacterMovementComponent remoteMovement = remote.getComponent(CharacterMovementComponent.class);
+        assertEquals(localLocation.getWorldPosition(), remoteLocation.getWorldPosition());
+        assertEquals(localMovement.getVelocity(), remoteMovement.getVelocity());
+        assertEquals(localMovement.grounded, remoteMovement.grounded);
+        assertSame(localMovement.mode, remoteMovement.mode);
+    }
+
+    @Test
+    public void testQueuedInputSteppedBeforeTeleport() {
+        EntityRef remote = createCharacter(new Vector3f(0, 1, 0));
+        currentTime = START_TIME + INPUT_DELTA_MS;
+        system.onPlayerInput(KinematicCharacterMoverTest.createInput(0, new Vector3f(1, 0, 0)), remote);
+
+        system.onTeleport(new CharacterTeleportEvent(new Vector3f(10, 1, 10)), remote);
+        system.update(0);
+        system.lagCompensate(EntityRef.NULL, currentTime);
+
+        assertEquals(new Vector3f(10, 1, 10), remote.getComponent(LocationComponent.class).getWorldPosition());
+    }
+
+    private EntityRef createCharacter(Vector3f position) {
+        EntityRef character = KinematicCharacterMoverTest.createCharacter(physics, new FlatGroundCollider(0, 2));
+        character.getComponent(LocationComponent.class).setWorldPosition(position);
+        system.onCreate(OnActivatedComponent.newInstance(), character);
+        return character;
+    }
+}
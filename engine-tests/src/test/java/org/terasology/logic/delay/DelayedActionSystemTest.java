@@ -20,13 +20,20 @@
 import org.terasology.TerasologyTestingEnvironment;
 import org.terasology.engine.Time;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.entitySystem.event.ReceiveEvent;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.BiConsumer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -39,6 +46,8 @@ public class DelayedActionSystemTest extends TerasologyTestingEnvironment {
     private List<Integer> vals; // Use this for ordering the expected values.
 
     private Time time;
+    private EngineEntityManager entityManager;
+    private TriggerRecorder recorder;
 
     @Before
     @Override
@@ -51,6 +60,16 @@ public void setup() throws Exception {
 
         time = mockTime;
         delayedActionSystem.setTime(mockTime);
+
+        entityManager = getEntityManager();
+        recorder = new TriggerRecorder();
+        entityManager.getEventSystem().registerEventHandler(delayedActionSystem);
+        entityManager.getEventSystem().registerEventHandler(recorder);
+    }
+
+    private void advanceTo(long gameTimeInMs) {
+        when(mockTime.getGameTimeInMs()).thenReturn(gameTimeInMs);
+        delayedActionSystem.update(0);
     }
 
     private EntityRef createFakeEntityWith(ArbritaryDelayActionComponent arbritaryDelayActionComp) {
@@ -161,9 +180,158 @@ public void testMultipleDelayedActionsInRandomOrder() {
                 "Fourth", (time.getGameTimeInMs() + 2500) - time.getGameTimeInMs());
     }
 
+    @Test
+    public void testActionsFireWhenDue() {
+        EntityRef entity = entityManager.create();
+        delayedActionSystem.addDelayedAction(entity, "soon", 1000);
+        delayedActionSystem.addDelayedAction(entity, "later", 50000);
+
+        advanceTo(999);
+        assertEquals(Collections.emptyList(), recorder.fired);
+
+        advanceTo(1000);
+        assertEquals(Arrays.asList("soon"), recorder.fired);
+        assertFalse(delayedActionSystem.hasDelayedAction(entity, "soon"));
+        assertTrue(delayedActionSystem.hasDelayedAction(entity, "later"));
+        DelayedActionComponent component = entity.getComponent(DelayedActionComponent.class);
+        assertEquals(Collections.singletonMap("later", 50000L), component.getActionIdsWakeUp());
+
+        advanceTo(49999);
+        assertEquals(Arrays.asList("soon"), recorder.fired);
+
+        advanceTo(50000);
+        assertEquals(Arrays.asList("soon", "later"), recorder.fired);
+        assertNull(entity.getComponent(DelayedActionComponent.class));
+    }
+
+    @Test
+    public void testPeriodicActionIsRescheduled() {
+        EntityRef entity = entityManager.create();
+        delayedActionSystem.addPeriodicAction(entity, "tick", 100, 250);
+
+        advanceTo(100);
+        advanceTo(349);
+        assertEquals(Arrays.asList("tick"), recorder.fired);
+        PeriodicActionComponent component = entity.getComponent(PeriodicActionComponent.class);
+        assertEquals(Collections.singletonMap("tick", 350L), component.getActionIdsWakeUp());
+
+        advanceTo(350);
+        assertEquals(Arrays.asList("tick", "tick"), recorder.fired);
+        assertEquals(Collections.singletonMap("tick", 600L), component.getActionIdsWakeUp());
+    }
+
+    @Test
+    public void testCancelledActionsDoNotFire() {
+        EntityRef entity = entityManager.create();
+        delayedActionSystem.addDelayedAction(entity, "delayed", 1000);
+        delayedActionSystem.addPeriodicAction(entity, "periodic", 1000, 1000);
+        delayedActionSystem.cancelDelayedAction(entity, "delayed");
+        delayedActionSystem.cancelPeriodicAction(entity, "periodic");
+        assertNull(entity.getComponent(DelayedActionComponent.class));
+        assertNull(entity.getComponent(PeriodicActionComponent.class));
+
+        advanceTo(5000);
+        assertEquals(Collections.emptyList(), recorder.fired);
+    }
+
+    @Test
+    public void testCancelFromHandler() {
+        EntityRef entity = entityManager.create();
+        delayedActionSystem.addDelayedAction(entity, "first", 1000);
+        delayedActionSystem.addDelayedAction(entity, "second", 1000);
+        delayedActionSystem.addPeriodicAction(entity, "periodic", 2000, 100);
+        recorder.onDelayed = (target, actionId) ->
+                delayedActionSystem.cancelDelayedAction(target, "first".equals(actionId) ? "second" : "first");
+        recorder.onPeriodic = (target, actionId) -> delayedActionSystem.cancelPeriodicAction(target, actionId);
+
+        advanceTo(1000);
+        assertEquals(1, recorder.fired.size());
+        assertNull(entity.getComponent(DelayedActionComponent.class));
+
+        advanceTo(2000);
+        advanceTo(3000);
+        assertEquals(2, recorder.fired.size());
+        assertFalse(delayedActionSystem.hasPeriodicAction(entity, "periodic"));
+        assertNull(entity.getComponent(PeriodicActionComponent.class));
+    }
+
+    @Test
+    public void testRescheduleFromHandler() {
+        EntityRef entity = entityManager.create();
+        delayedActionSystem.addDelayedAction(entity, "repeat", 1000);
+        recorder.onDelayed = (target, actionId) -> {
+            if (recorder.fired.size() < 3) {
+                delayedActionSystem.addDelayedAction(target, actionId, 100);
+            }
+        };
+
+        advanceTo(1000);
+        assertEquals(Collections.singletonMap("repeat", 1100L), entity.getComponent(DelayedActionComponent.class).getActionIdsWakeUp());
+        advanceTo(1100);
+        advanceTo(1200);
+        advanceTo(1300);
+        assertEquals(Arrays.asList("repeat", "repeat", "repeat"), recorder.fired);
+        assertFalse(delayedActionSystem.hasDelayedAction(entity, "repeat"));
+    }
+
+    @Test
+    public void testPendingActionsKeptOnDeactivation() {
+        EntityRef entity = entityManager.create();
+        delayedActionSystem.addDelayedAction(entity, "delayed", 1000);
+        delayedActionSystem.addPeriodicAction(entity, "periodic", 200, 300);
+        advanceTo(200);
+        DelayedActionComponent delayedComponent = entity.getComponent(DelayedActionComponent.class);
+        PeriodicActionComponent periodicComponent = entity.getComponent(PeriodicActionComponent.class);
+
+        entityManager.deactivateForStorage(entity);
+        assertEquals(Collections.singletonMap("delayed", 1000L), delayedComponent.getActionIdsWakeUp());
+        assertEquals(Collections.singletonMap("periodic", 500L), periodicComponent.getActionIdsWakeUp());
+        assertEquals(300, periodicComponent.getPeriod("periodic"));
+
+        advanceTo(2000);
+        assertEquals(Arrays.asList("periodic"), recorder.fired);
+    }
+
+    @Test
+    public void testStoredActionsScheduledOnActivation() {
+        DelayedActionComponent delayedComponent = new DelayedActionComponent();
+        delayedComponent.addActionId("delayed", 1000);
+        PeriodicActionComponent periodicComponent = new PeriodicActionComponent();
+        periodicComponent.addScheduledActionId("periodic", 500, 400);
+
+        EntityRef entity = entityManager.create(delayedComponent, periodicComponent);
+        assertTrue(delayedActionSystem.hasDelayedAction(entity, "delayed"));
+        assertTrue(delayedActionSystem.hasPeriodicAction(entity, "periodic"));
+
+        advanceTo(500);
+        advanceTo(900);
+        advanceTo(1000);
+        assertEquals(Arrays.asList("periodic", "periodic", "delayed"), recorder.fired);
+        assertNull(entity.getComponent(DelayedActionComponent.class));
+        assertEquals(Collections.singletonMap("periodic", 1300L), entity.getComponent(PeriodicActionComponent.class).getActionIdsWakeUp());
+    }
+
     @ReceiveEvent
     public void finishWaiting(DelayedActionTriggeredEvent event, EntityRef entity, ArbritaryDelayActionComponent arbritaryDelayActionComp) {
         assertEquals(vals.get(lookingForId).intValue(), arbritaryDelayActionComp.value);
         lookingForId++;
     }
+
+    public static class TriggerRecorder extends BaseComponentSystem {
+        private final List<String> fired = new ArrayList<>();
+        private BiConsumer<EntityRef, String> onDelayed = (entity, actionId) -> { };
+        private BiConsumer<EntityRef, String> onPeriodic = (entity, actionId) -> { };
+
+        @ReceiveEvent
+        public void delayedActionTriggered(DelayedActionTriggeredEvent event, EntityRef entity) {
+            fired.add(event.getActionId());
+            onDelayed.accept(entity, event.getActionId());
+        }
+
+        @ReceiveEvent
+        public void periodicActionTriggered(PeriodicActionTriggeredEvent event, EntityRef entity) {
+            fired.add(event.getActionId());
+            onPeriodic.accept(entity, event.getActionId());
+        }
+    }
 }
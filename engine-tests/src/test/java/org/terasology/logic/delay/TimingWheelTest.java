@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.delay;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+import org.terasology.utilities.random.FastRandom;
+import org.terasology.utilities.random.Random;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ */
+public class TimingWheelTest {
+
+    private final TimingWheel<TimingWheel.Timer> wheel = new TimingWheel<>(0);
+
+    @Test
+    public void testTimersExpireInDeadlineOrder() {
+        TimingWheel.Timer late = schedule(5000);
+        TimingWheel.Timer early = schedule(10);
+        TimingWheel.Timer middle = schedule(300);
+
+        assertEquals(Collections.emptyList(), advance(9));
+        assertEquals(Arrays.asList(early, middle), advance(4999));
+        assertEquals(Collections.singletonList(late), advance(1000000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testCancelledAndRescheduledTimers() {
+        TimingWheel.Timer cancelled = schedule(100);
+        TimingWheel.Timer rescheduled = schedule(100);
+        wheel.schedule(rescheduled, 200);
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        assertFalse(cancelled.isScheduled());
+        assertEquals(Collections.emptyList(), advance(150));
+        assertEquals(Collections.singletonList(rescheduled), advance(200));
+        assertFalse(rescheduled.isScheduled());
+    }
+
+    @Test
+    public void testOverdueTimerExpiresOnNextAdvance() {
+        advance(1000);
+        TimingWheel.Timer overdue = schedule(10);
+
+        assertTrue(overdue.isScheduled());
+        assertEquals(Collections.singletonList(overdue), advance(1000));
+    }
+
+    @Test
+    public void testMatchesBruteForce() {
+        Random random = new FastRandom(43);
+        List<TimingWheel.Timer> pending = Lists.newArrayList();
+        long time = 0;
+        for (int step = 0; step < 2000; step++) {
+            for (int i = random.nextInt(5); i > 0; i--) {
+                long delay = random.nextBoolean() ? random.nextInt(100) : random.nextInt(1 << 24);
+                TimingWheel.Timer timer = pending.isEmpty() || random.nextBoolean() ? new TimingWheel.Timer() : pending.get(random.nextInt(pending.size()));
+                wheel.schedule(timer, time + delay);
+                if (!pending.contains(timer)) {
+                    pending.add(timer);
+                }
+            }
+            if (!pending.isEmpty() && random.nextInt(4) == 0) {
+                TimingWheel.Timer timer = pending.remove(random.nextInt(pending.size()));
+                assertTrue(wheel.cancel(timer));
+            }
+            time += random.nextBoolean() ? random.nextInt(64) : random.nextInt(1 << 20);
+
+            Set<TimingWheel.Timer> expected = Sets.newHashSet();
+            for (TimingWheel.Timer timer : pending) {
+                if (timer.getDeadline() <= time) {
+                    expected.add(timer);
+                }
+            }
+            pending.removeAll(expected);
+            List<TimingWheel.Timer> expired = advance(time);
+            assertEquals(expected, Sets.newHashSet(expired));
+            assertEquals(expected.size(), expired.size());
+            assertEquals(pending.size(), wheel.size());
+        }
+    }
+
+    private TimingWheel.Timer schedule(long deadline) {
+        TimingWheel.Timer timer = new TimingWheel.Timer();
+        wheel.schedule(timer, deadline);
+        return timer;
+    }
+
+    private List<TimingWheel.Timer> advance(long time) {
+        List<TimingWheel.Timer> result = Lists.newArrayList();
+        wheel.advance(time, result);
+        return result;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.location;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.math.AABB;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.utilities.random.FastRandom;
+import org.terasology.utilities.random.Random;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ */
+public class EntitySpatialHashTest {
+
+    private final EntitySpatialHash index = new EntitySpatialHash(16);
+
+    @Test
+    public void testNearestOrderedByDistance() {
+        EntityRef near = add(new Vector3f(1, 0, 0));
+        EntityRef middle = add(new Vector3f(0, -20, 0));
+        EntityRef far = add(new Vector3f(100, 0, 0));
+
+        assertEquals(Arrays.asList(near, middle, far), index.getNearest(new Vector3f(), 5, 1000, null));
+        assertEquals(Arrays.asList(near, middle), index.getNearest(new Vector3f(), 2, 1000, null));
+        assertEquals(Collections.singletonList(near), index.getNearest(new Vector3f(), 5, 10, null));
+        assertEquals(Collections.singletonList(middle), index.getNearest(new Vector3f(), 1, 1000, entity -> entity == middle));
+    }
+
+    @Test
+    public void testMovedEntityFoundAtNewPosition() {
+        EntityRef entity = add(new Vector3f(0, 0, 0));
+        index.update(entity, new Vector3f(50, 50, 50));
+
+        assertTrue(index.getNearest(new Vector3f(), 1, 10, null).isEmpty());
+        assertEquals(Collections.singletonList(entity), index.getNearest(new Vector3f(50, 50, 50), 1, 10, null));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testRemovedEntityNotFound() {
+        EntityRef first = add(new Vector3f(0, 0, 0));
+        EntityRef second = add(new Vector3f(1, 0, 0));
+        index.remove(first);
+
+        assertFalse(index.contains(first));
+        assertEquals(Collections.singletonList(second), index.getNearest(new Vector3f(), 5, 10, null));
+    }
+
+    @Test
+    public void testQueriesMatchBruteForce() {
+        Random random = new FastRandom(12);
+        Map<EntityRef, Vector3f> positions = Maps.newHashMap();
+        for (int i = 0; i < 500; i++) {
+            Vector3f position = new Vector3f(random.nextFloat(-200, 200), random.nextFloat(-50, 50), random.nextFloat(-200, 200));
+            positions.put(add(position), position);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            Vector3f center = new Vector3f(random.nextFloat(-250, 250), random.nextFloat(-60, 60), random.nextFloat(-250, 250));
+            float radius = random.nextFloat(1, 80);
+
+            Set<EntityRef> inRadius = Sets.newHashSet();
+            index.getInRadius(center, radius, null, inRadius);
+            Set<EntityRef> inRegion = Sets.newHashSet();
+            AABB region = AABB.createCenterExtent(center, new Vector3f(radius, radius, radius));
+            index.getInRegion(region, null, inRegion);
+
+            Set<EntityRef> expectedInRadius = Sets.newHashSet();
+            Set<EntityRef> expectedInRegion = Sets.newHashSet();
+            for (Map.Entry<EntityRef, Vector3f> entry : positions.entrySet()) {
+                if (entry.getValue().distance(center) <= radius) {
+                    expectedInRadius.add(entry.getKey());
+                }
+                if (region.contains(entry.getValue())) {
+                    expectedInRegion.add(entry.getKey());
+                }
+            }
+            assertEquals(expectedInRadius, inRadius);
+            assertEquals(expectedInRegion, inRegion);
+
+            List<EntityRef> expectedNearest = Lists.newArrayList(positions.keySet());
+            expectedNearest.sort(Comparator.comparing(entity -> positions.get(entity).distanceSquared(center)));
+            assertEquals(expectedNearest.subList(0, 10), index.getNearest(center, 10, Float.MAX_VALUE, null));
+        }
+    }
+
+    private EntityRef add(Vector3f position) {
+        EntityRef entity = mock(EntityRef.class);
+        index.update(entity, position);
+        return entity;
+    }
+}
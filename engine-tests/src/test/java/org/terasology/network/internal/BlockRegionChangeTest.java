@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.common.collect.Maps;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.protobuf.NetData;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class BlockRegionChangeTest {
+
+    private BlockManager blockManager;
+    private Block stone;
+    private Block air;
+
+    @Before
+    public void setup() {
+        blockManager = mock(BlockManager.class);
+        stone = new Block();
+        stone.setId((short) 5);
+        air = new Block();
+        air.setId((short) 0);
+        when(blockManager.getBlock((short) 5)).thenReturn(stone);
+        when(blockManager.getBlock((short) 0)).thenReturn(air);
+    }
+
+    @Test
+    public void testSingleChange() {
+        Map<Vector3i, Block> changes = Maps.newHashMap();
+        changes.put(new Vector3i(33, -10, 2), stone);
+
+        NetData.BlockRegionChangeMessage message = NetMessageUtil.encodeBlockRegionChange(changes);
+
+        assertEquals(changes, NetMessageUtil.decodeBlockRegionChange(message, blockManager));
+    }
+
+    @Test
+    public void testScatteredChanges() {
+        Map<Vector3i, Block> changes = Maps.newHashMap();
+        changes.put(new Vector3i(0, 0, 0), stone);
+        changes.put(new Vector3i(31, 0, 0), air);
+        changes.put(new Vector3i(4, 20, 7), stone);
+        changes.put(new Vector3i(5, 20, 7), stone);
+        changes.put(new Vector3i(0, 63, 31), air);
+
+        NetData.BlockRegionChangeMessage message = NetMessageUtil.encodeBlockRegionChange(changes);
+
+        assertEquals(changes, NetMessageUtil.decodeBlockRegionChange(message, blockManager));
+        assertEquals(2, message.getPaletteCount());
+    }
+
+    @Test
+    public void testFilledRegionIsCompact() {
+        Map<Vector3i, Block> changes = Maps.newHashMap();
+        for (int x = 0; x < 32; ++x) {
+            for (int y = 0; y < 16; ++y) {
+                for (int z = 0; z < 32; ++z) {
+                    changes.put(new Vector3i(x, y, z), air);
+                }
+            }
+        }
+
+        NetData.BlockRegionChangeMessage message = NetMessageUtil.encodeBlockRegionChange(changes);
+
+        assertEquals(changes, NetMessageUtil.decodeBlockRegionChange(message, blockManager));
+        assertEquals(2, message.getRunsCount());
+        assertTrue(message.getSerializedSize() < 32);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.context.Context;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.network.NetworkSystem;
+import org.terasology.protobuf.EntityData;
+import org.terasology.registry.InjectionHelper;
+import org.terasology.world.biomes.BiomeManager;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.event.BeforeChunkUnload;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.chunks.internal.ChunkSerializer;
+import org.terasology.world.liquid.LiquidData;
+import org.terasology.world.liquid.LiquidType;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class EncodedChunkCacheTest {
+
+    private EncodedChunkCache cache;
+    private Chunk chunk;
+
+    @Before
+    public void setup() {
+        cache = new EncodedChunkCache();
+        chunk = mockChunk(new Vector3i(1, 0, 2));
+    }
+
+    @Test
+    public void testRepeatedRequestsHitCache() {
+        EntityData.ChunkStore first = cache.getEncoded(chunk);
+        EntityData.ChunkStore second = cache.getEncoded(chunk);
+        cache.getCompressed(chunk);
+
+        assertSame(first, second);
+        verify(chunk, times(1)).encode();
+        assertEquals(2, cache.getHitsSinceLastCall());
+        assertEquals(1, cache.getMissesSinceLastCall());
+        assertEquals(0, cache.getHitsSinceLastCall());
+        assertEquals(0, cache.getMissesSinceLastCall());
+    }
+
+    @Test
+    public void testReplacedChunkMisses() {
+        cache.getEncoded(chunk);
+        Chunk reloaded = mockChunk(new Vector3i(1, 0, 2));
+        cache.getEncoded(reloaded);
+
+        verify(reloaded, times(1)).encode();
+        assertEquals(2, cache.getMissesSinceLastCall());
+    }
+
+    @Test
+    public void testBlockChangeInvalidatesChunk() {
+        cache.getEncoded(chunk);
+        Vector3i blockPos = new Vector3i(ChunkConstants.SIZE_X + 3, 5, 2 * ChunkConstants.SIZE_Z + 1);
+        cache.onBlockChanged(blockPos, null, null);
+        cache.getEncoded(chunk);
+
+        verify(chunk, times(2)).encode();
+        assertEquals(0, cache.getHitsSinceLastCall());
+        assertEquals(2, cache.getMissesSinceLastCall());
+    }
+
+    @Test
+    public void testBlockChangeInOtherChunkKeepsEntry() {
+        cache.getEncoded(chunk);
+        cache.onBlockChanged(new Vector3i(0, 0, 0), null, null);
+        cache.getEncoded(chunk);
+
+        verify(chunk, times(1)).encode();
+    }
+
+    @Test
+    public void testLiquidChangeReencodesChunk() {
+        Chunk liquidChunk = new ChunkImpl(new Vector3i(1, 0, 2), mock(BlockManager.class), mock(BiomeManager.class));
+        EntityData.ChunkStore before = cache.getEncoded(liquidChunk);
+
+        LiquidData water = new LiquidData(LiquidType.WATER, 3);
+        liquidChunk.setLiquid(4, 5, 6, water);
+        cache.onLiquidChanged(liquidChunk.chunkToWorldPosition(4, 5, 6), water, new LiquidData());
+        EntityData.ChunkStore after = cache.getEncoded(liquidChunk);
+
+        assertNotEquals(before.getLiquidData(), after.getLiquidData());
+        assertEquals(water, ChunkSerializer.decode(after, mock(BlockManager.class), mock(BiomeManager.class)).getLiquid(4, 5, 6));
+        assertEquals(2, cache.getMissesSinceLastCall());
+    }
+
+    @Test
+    public void testUnloadEvictsChunk() {
+        NetworkSystemImpl networkSystem = mock(NetworkSystemImpl.class);
+        when(networkSystem.getEncodedChunkCache()).thenReturn(cache);
+        Context context = new ContextImpl();
+        context.put(NetworkSystem.class, networkSystem);
+        EncodedChunkCacheSystem system = new EncodedChunkCacheSystem();
+        InjectionHelper.inject(system, context);
+
+        cache.getEncoded(chunk);
+        assertEquals(1, cache.size());
+        system.onChunkUnloaded(new BeforeChunkUnload(new Vector3i(1, 0, 2)), EntityRef.NULL);
+
+        assertEquals(0, cache.size());
+    }
+
+    private Chunk mockChunk(Vector3i pos) {
+        Chunk result = mock(Chunk.class);
+        when(result.getPosition()).thenReturn(pos);
+        when(result.encode()).thenAnswer(invocation -> EntityData.ChunkStore.newBuilder());
+        return result;
+    }
+}
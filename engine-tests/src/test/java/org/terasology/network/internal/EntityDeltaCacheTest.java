@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.benchmark.network.ReplicationFixture;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.network.NetworkComponent;
+import org.terasology.protobuf.EntityData;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ */
+public class EntityDeltaCacheTest {
+
+    private ReplicationFixture fixture;
+    private EntityDeltaCache cache;
+
+    @Before
+    public void setup() {
+        fixture = new ReplicationFixture();
+        cache = new EntityDeltaCache(fixture.getSerializer());
+    }
+
+    @Test
+    public void testDeltaSharedBetweenClients() {
+        EntityRef entity = fixture.createEntity(new Vector3f(1, 2, 3));
+        Set<Class<? extends Component>> changed = ImmutableSet.of(LocationComponent.class);
+
+        EntityData.PackedEntity first = cache.getDelta(1, entity, false, ImmutableSet.of(), changed, ImmutableSet.of());
+        EntityData.PackedEntity second = cache.getDelta(1, entity, false, ImmutableSet.of(), changed, ImmutableSet.of());
+        EntityData.PackedEntity owner = cache.getDelta(1, entity, true, ImmutableSet.of(), changed, ImmutableSet.of());
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertNotNull(owner);
+        assertEquals(2, cache.getSerializationsSinceLastCall());
+    }
+
+    @Test
+    public void testEmptyDeltaIsCached() {
+        EntityRef entity = fixture.getEntityManager().create(new NetworkComponent());
+
+        assertNull(cache.getDelta(1, entity, false, ImmutableSet.of(), ImmutableSet.of(), ImmutableSet.of()));
+        assertNull(cache.getDelta(1, entity, false, ImmutableSet.of(), ImmutableSet.of(), ImmutableSet.of()));
+        assertEquals(1, cache.getSerializationsSinceLastCall());
+    }
+
+    @Test
+    public void testClearedBetweenTicks() {
+        EntityRef entity = fixture.createEntity(new Vector3f(1, 2, 3));
+        Set<Class<? extends Component>> changed = ImmutableSet.of(LocationComponent.class);
+
+        EntityData.PackedEntity first = cache.getDelta(1, entity, false, ImmutableSet.of(), changed, ImmutableSet.of());
+        cache.clear();
+        fixture.setPosition(entity, new Vector3f(4, 5, 6));
+        EntityData.PackedEntity second = cache.getDelta(1, entity, false, ImmutableSet.of(), changed, ImmutableSet.of());
+
+        assertEquals(2, cache.getSerializationsSinceLastCall());
+        assertNotEquals(first, second);
+    }
+}
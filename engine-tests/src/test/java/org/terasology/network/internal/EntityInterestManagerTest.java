@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.network.ClientComponent;
+import org.terasology.network.NetworkComponent;
+import org.terasology.rendering.world.viewDistance.ViewDistance;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class EntityInterestManagerTest {
+
+    private static final Vector3f NEAR = new Vector3f(40, 0, 0);
+    private static final Vector3f FAR = new Vector3f(1000, 0, 0);
+
+    private NetworkSystemImpl networkSystem;
+    private EntityInterestManager interestManager;
+    private NetClient client;
+    private LocationComponent clientLocation;
+
+    @Before
+    public void setup() {
+        networkSystem = mock(NetworkSystemImpl.class);
+        interestManager = new EntityInterestManager(networkSystem);
+
+        clientLocation = new LocationComponent(new Vector3f());
+        EntityRef character = mock(EntityRef.class);
+        when(character.getComponent(LocationComponent.class)).thenReturn(clientLocation);
+        ClientComponent clientComp = new ClientComponent();
+        clientComp.character = character;
+        EntityRef clientEntity = mock(EntityRef.class);
+        when(clientEntity.getComponent(ClientComponent.class)).thenReturn(clientComp);
+        client = mock(NetClient.class);
+        when(client.getEntity()).thenReturn(clientEntity);
+        when(client.getViewDistance()).thenReturn(ViewDistance.LEGALLY_BLIND);
+
+        interestManager.addClient(client);
+        interestManager.update();
+    }
+
+    @Test
+    public void testEntityCreatedAsClientApproaches() {
+        interestManager.addEntity(1, createEntity(1, FAR));
+        interestManager.update();
+        verify(client, never()).setNetInitial(1);
+
+        clientLocation.setWorldPosition(FAR);
+        interestManager.update();
+        verify(client).setNetInitial(1);
+    }
+
+    @Test
+    public void testEntityRemovedAsClientLeaves() {
+        interestManager.addEntity(1, createEntity(1, NEAR));
+        verify(client).setNetInitial(1);
+        when(client.isNetRelevant(1)).thenReturn(true);
+
+        clientLocation.setWorldPosition(FAR);
+        interestManager.update();
+        verify(client).setNetRemoved(1);
+    }
+
+    @Test
+    public void testEntityRemovedAsItLeaves() {
+        EntityRef entity = createEntity(1, NEAR);
+        interestManager.addEntity(1, entity);
+        when(client.isNetRelevant(1)).thenReturn(true);
+
+        entity.getComponent(LocationComponent.class).setWorldPosition(FAR);
+        interestManager.updateEntity(1, entity, false);
+        verify(client).setNetRemoved(1);
+    }
+
+    @Test
+    public void testOwnedEntityAlwaysReplicated() {
+        EntityRef entity = createEntity(1, FAR);
+        when(networkSystem.getNetOwner(entity)).thenReturn(client);
+        interestManager.addEntity(1, entity);
+        verify(client).setNetInitial(1);
+        when(client.isNetRelevant(1)).thenReturn(true);
+
+        entity.getComponent(LocationComponent.class).setWorldPosition(new Vector3f(-FAR.x, 0, 0));
+        interestManager.updateEntity(1, entity, false);
+        clientLocation.setWorldPosition(new Vector3f(0, 0, FAR.x));
+        interestManager.update();
+        verify(client, never()).setNetRemoved(anyInt());
+    }
+
+    @Test
+    public void testEntityWithoutPositionAlwaysReplicated() {
+        EntityRef entity = mock(EntityRef.class);
+        when(networkSystem.getEntity(1)).thenReturn(entity);
+        interestManager.addEntity(1, entity);
+        verify(client).setNetInitial(1);
+        when(client.isNetRelevant(1)).thenReturn(true);
+
+        clientLocation.setWorldPosition(FAR);
+        interestManager.update();
+        interestManager.updateEntity(1, entity, true);
+        verify(client, never()).setNetRemoved(anyInt());
+    }
+
+    @Test
+    public void testAttachedEntityFollowsParent() {
+        EntityRef parent = createEntity(1, FAR);
+        when(parent.exists()).thenReturn(true);
+        EntityRef child = mock(EntityRef.class);
+        LocationComponent childLocation = mock(LocationComponent.class);
+        when(childLocation.getParent()).thenReturn(parent);
+        when(child.getComponent(LocationComponent.class)).thenReturn(childLocation);
+        NetworkComponent childNetwork = new NetworkComponent();
+        childNetwork.setNetworkId(2);
+        when(child.getComponent(NetworkComponent.class)).thenReturn(childNetwork);
+        when(networkSystem.getEntity(2)).thenReturn(child);
+        parent.getComponent(LocationComponent.class).getChildren().add(child);
+
+        interestManager.addEntity(2, child);
+        verify(client, never()).setNetInitial(2);
+
+        parent.getComponent(LocationComponent.class).setWorldPosition(NEAR);
+        interestManager.updateEntity(1, parent, false);
+        verify(client).setNetInitial(2);
+    }
+
+    @Test
+    public void testNewClientGetsEntitiesOfInterest() {
+        EntityRef owned = createEntity(1, FAR);
+        interestManager.addEntity(1, owned);
+        interestManager.addEntity(2, mock(EntityRef.class));
+        NetClient other = mock(NetClient.class);
+        when(networkSystem.getNetOwner(owned)).thenReturn(other);
+
+        interestManager.addClient(other);
+        verify(other).setNetInitial(1);
+        verify(other).setNetInitial(2);
+    }
+
+    private EntityRef createEntity(int netId, Vector3f position) {
+        EntityRef entity = mock(EntityRef.class);
+        LocationComponent location = new LocationComponent(position);
+        when(entity.getComponent(LocationComponent.class)).thenReturn(location);
+        when(networkSystem.getEntity(netId)).thenReturn(entity);
+        return entity;
+    }
+}
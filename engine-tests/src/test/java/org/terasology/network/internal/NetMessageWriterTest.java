@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.protobuf.ByteString;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.handler.codec.compression.ZlibDecoder;
+import org.jboss.netty.handler.codec.embedder.DecoderEmbedder;
+import org.jboss.netty.handler.codec.embedder.EncoderEmbedder;
+import org.jboss.netty.handler.codec.frame.LengthFieldBasedFrameDecoder;
+import org.jboss.netty.handler.codec.protobuf.ProtobufDecoder;
+import org.jboss.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
+import org.junit.Test;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.protobuf.EntityData;
+import org.terasology.protobuf.NetData;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ */
+public class NetMessageWriterTest {
+
+    private final EntityData.PackedEntity entity = EntityData.PackedEntity.newBuilder()
+            .setId(12)
+            .addComponentId(3)
+            .setComponentFieldCounts(ByteString.copyFrom(new byte[]{1}))
+            .setFieldIds(ByteString.copyFrom(new byte[]{0}))
+            .addFieldValue(EntityData.Value.newBuilder().addFloat(1).addFloat(-2).addFloat(300))
+            .build();
+
+    @Test
+    public void testWrittenMessageMatchesBuiltMessage() throws Exception {
+        NetData.NetMessage expected = NetData.NetMessage.newBuilder()
+                .setTime(123456789L)
+                .addInvalidateChunk(NetData.InvalidateChunkMessage.newBuilder().setPos(NetMessageUtil.convert(new Vector3i(-1, 2, -300))))
+                .addCreateEntity(NetData.CreateEntityMessage.newBuilder().setEntity(entity))
+                .addCreateEntity(NetData.CreateEntityMessage.newBuilder().setEntity(entity).setBlockPos(NetMessageUtil.convert(new Vector3i(4, -5, 6))))
+                .addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setEntity(entity).setNetId(12))
+                .addRemoveEntity(NetData.RemoveEntityMessage.newBuilder().setNetId(7))
+                .addCompressedChunkInfo(ByteString.copyFrom(new byte[]{1, 2, 3}))
+                .build();
+
+        NetMessageWriter writer = new NetMessageWriter();
+        writer.begin();
+        writer.setTime(123456789L);
+        writer.addInvalidateChunk(new Vector3i(-1, 2, -300));
+        writer.addCreateEntity(entity, null);
+        writer.addCreateEntity(entity, new Vector3i(4, -5, 6));
+        writer.addUpdateEntity(12, entity);
+        writer.addRemoveEntity(7);
+        writer.addCompressedChunkInfo(ByteString.copyFrom(new byte[]{1, 2, 3}));
+
+        assertEquals(expected, decodeFrame(writer.finish()));
+        assertEquals(expected.getCreateEntity(1).getSerializedSize(), NetMessageWriter.createEntitySize(entity, new Vector3i(4, -5, 6)));
+        assertEquals(expected.getUpdateEntity(0).getSerializedSize(), NetMessageWriter.updateEntitySize(12, entity));
+    }
+
+    @Test
+    public void testWriterReusable() throws Exception {
+        NetMessageWriter writer = new NetMessageWriter();
+        writer.begin();
+        for (int i = 0; i < 1000; ++i) {
+            writer.addUpdateEntity(i, entity);
+        }
+        writer.finish();
+        writer.begin();
+        writer.setTime(5);
+
+        assertEquals(NetData.NetMessage.newBuilder().setTime(5).build(), decodeFrame(writer.finish()));
+    }
+
+    @Test
+    public void testEncoderOutputReadableByClientPipeline() {
+        EncoderEmbedder<ChannelBuffer> encoder = new EncoderEmbedder<>(new ServerMessageEncoder());
+        DecoderEmbedder<NetData.NetMessage> decoder = new DecoderEmbedder<>(
+                new LengthFieldBasedFrameDecoder(ServerMessageEncoder.MAX_FRAME_LENGTH, 0, 3, 0, 3), new ZlibDecoder(),
+                new ProtobufVarint32FrameDecoder(), new ProtobufDecoder(NetData.NetMessage.getDefaultInstance()));
+
+        NetMessageWriter writer = new NetMessageWriter();
+        for (int tick = 0; tick < 3; ++tick) {
+            writer.begin();
+            writer.setTime(tick);
+            writer.addUpdateEntity(12, entity);
+            encoder.offer(writer.finish());
+        }
+        NetData.NetMessage built = NetData.NetMessage.newBuilder().setTime(10).build();
+        encoder.offer(built);
+
+        ChannelBuffer frame;
+        while ((frame = encoder.poll()) != null) {
+            decoder.offer(frame);
+        }
+        for (int tick = 0; tick < 3; ++tick) {
+            NetData.NetMessage message = decoder.poll();
+            assertEquals(tick, message.getTime());
+            assertEquals(entity, message.getUpdateEntity(0).getEntity());
+        }
+        assertEquals(built, decoder.poll());
+        assertNull(decoder.poll());
+    }
+
+    private static NetData.NetMessage decodeFrame(ChannelBuffer frame) throws Exception {
+        DecoderEmbedder<NetData.NetMessage> decoder = new DecoderEmbedder<>(new ProtobufVarint32FrameDecoder(),
+                new ProtobufDecoder(NetData.NetMessage.getDefaultInstance()));
+        decoder.offer(frame.copy());
+        return decoder.poll();
+    }
+}
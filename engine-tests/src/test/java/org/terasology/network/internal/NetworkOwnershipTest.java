@@ -29,6 +29,8 @@
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.entitySystem.entity.internal.PojoEntityManager;
 import org.terasology.entitySystem.metadata.EventLibrary;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
 import org.terasology.network.NetworkComponent;
 import org.terasology.network.NetworkSystem;
 import org.terasology.testUtil.ModuleManagerFactory;
@@ -181,4 +183,18 @@ public void testClientSendInitialForRelevantOwnedItems() {
         verify(client, times(1)).setNetInitial(entityA.getComponent(NetworkComponent.class).getNetworkId());
 
     }
+
+    @Test
+    public void testClientNoInitialForRelevantEntityOutOfView() {
+        connectClient();
+        EntityBuilder builder = entityManager.newBuilder();
+        NetworkComponent netComp = builder.addComponent(new NetworkComponent());
+        netComp.replicateMode = NetworkComponent.ReplicateMode.RELEVANT;
+        builder.addComponent(new LocationComponent(new Vector3f(1000, 0, 1000)));
+        EntityRef entity = builder.build();
+
+        networkSystem.registerNetworkEntity(entity);
+
+        verify(client, times(0)).setNetInitial(entity.getComponent(NetworkComponent.class).getNetworkId());
+    }
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.benchmark.network.ReplicationFixture;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.common.DisplayNameComponent;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Quat4f;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.network.NetworkComponent;
+import org.terasology.network.serialization.ServerComponentFieldCheck;
+import org.terasology.protobuf.EntityData;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ */
+public class ReplicationBaselineTest {
+
+    private static final Set<Class<? extends Component>> NONE = ImmutableSet.of();
+    private static final Set<Class<? extends Component>> LOCATION = ImmutableSet.of(LocationComponent.class);
+    private static final Set<Class<? extends Component>> DISPLAY_NAME = ImmutableSet.of(DisplayNameComponent.class);
+
+    private ReplicationFixture fixture;
+
+    @Before
+    public void setup() {
+        fixture = new ReplicationFixture();
+    }
+
+    @Test
+    public void testOnlyChangedFieldsResent() {
+        ReplicationBaseline baseline = new ReplicationBaseline(fixture.getSerializer());
+        EntityRef entity = fixture.createEntity(new Vector3f(1, 2, 3));
+
+        EntityData.PackedEntity first = baseline.filter(1, serializeUpdate(entity, NONE, LOCATION), NONE);
+        fixture.setScale(entity, 2.0f);
+        EntityData.PackedEntity fullUpdate = serializeUpdate(entity, NONE, LOCATION);
+        EntityData.PackedEntity second = baseline.filter(1, fullUpdate, NONE);
+
+        assertEquals(fullUpdate.getFieldValueCount(), first.getFieldValueCount());
+        assertNotNull(second);
+        assertEquals(1, second.getFieldValueCount());
+        assertTrue(second.getSerializedSize() < fullUpdate.getSerializedSize());
+    }
+
+    @Test
+    public void testUnchangedUpdateDropped() {
+        ReplicationBaseline baseline = new ReplicationBaseline(fixture.getSerializer());
+        EntityRef entity = fixture.createEntity(new Vector3f(1, 2, 3));
+
+        baseline.filter(1, serializeUpdate(entity, NONE, LOCATION), NONE);
+
+        assertNull(baseline.filter(1, serializeUpdate(entity, NONE, LOCATION), NONE));
+    }
+
+    @Test
+    public void testAddedComponentSentInFull() {
+        ReplicationBaseline baseline = new ReplicationBaseline(fixture.getSerializer());
+        EntityRef entity = fixture.createEntity(new Vector3f(1, 2, 3));
+
+        baseline.filter(1, serializeUpdate(entity, NONE, LOCATION), NONE);
+        EntityData.PackedEntity added = serializeUpdate(entity, LOCATION, NONE);
+
+        assertEquals(added.getFieldValueCount(), baseline.filter(1, added, LOCATION).getFieldValueCount());
+    }
+
+    @Test
+    public void testBaselineLossSendsInFull() {
+        ReplicationBaseline baseline = new ReplicationBaseline(fixture.getSerializer());
+        EntityRef entity = fixture.createEntity(new Vector3f(1, 2, 3));
+
+        EntityData.PackedEntity update = serializeUpdate(entity, NONE, LOCATION);
+        baseline.filter(1, update, NONE);
+        baseline.remove(1);
+
+        assertEquals(update.getFieldValueCount(), baseline.filter(1, update, NONE).getFieldValueCount());
+    }
+
+    @Test
+    public void testChangesBelowQuantizationNotSent() {
+        ReplicationBaseline baseline = new ReplicationBaseline(fixture.getSerializer());
+        EntityRef entity = fixture.createEntity(new Vector3f(1, 2, 3));
+
+        baseline.filter(1, serializeUpdate(entity, NONE, LOCATION), NONE);
+        fixture.setPosition(entity, new Vector3f(1.00001f, 2, 3));
+        assertNull(baseline.filter(1, serializeUpdate(entity, NONE, LOCATION), NONE));
+
+        fixture.setPosition(entity, new Vector3f(1.5f, 2, 3));
+        assertNotNull(baseline.filter(1, serializeUpdate(entity, NONE, LOCATION), NONE));
+    }
+
+    @Test
+    public void testFieldChangedBackToBaselineValueSent() {
+        ReplicationBaseline baseline = new ReplicationBaseline(fixture.getSerializer());
+        ReplicationBaseline staleBaseline = new ReplicationBaseline(fixture.getSerializer());
+        EntityRef entity = fixture.createEntity(new Vector3f(1, 2, 3));
+        EntityData.PackedEntity original = serializeUpdate(entity, NONE, LOCATION);
+        baseline.filter(1, original, NONE);
+        staleBaseline.filter(1, original, NONE);
+
+        fixture.setPosition(entity, new Vector3f(5, 2, 3));
+        assertNotNull(baseline.filter(1, serializeUpdate(entity, NONE, LOCATION), NONE));
+
+        fixture.setPosition(entity, new Vector3f(1, 2, 3));
+        EntityData.PackedEntity changedBack = serializeUpdate(entity, NONE, LOCATION);
+        EntityData.PackedEntity sent = baseline.filter(1, changedBack, NONE);
+        assertNotNull(sent);
+        assertEquals(1, sent.getFieldValueCount());
+        assertTrue(changedBack.getFieldValueList().contains(sent.getFieldValue(0)));
+
+        // A client that never received the intermediate position still has the current one
+        assertNull(staleBaseline.filter(1, changedBack, NONE));
+    }
+
+    @Test
+    public void testClearedFieldSent() {
+        ReplicationBaseline baseline = new ReplicationBaseline(fixture.getSerializer());
+        ReplicationBaseline staleBaseline = new ReplicationBaseline(fixture.getSerializer());
+        DisplayNameComponent displayName = new DisplayNameComponent();
+        displayName.name = "name";
+        displayName.description = "description";
+        EntityRef entity = fixture.getEntityManager().create(new NetworkComponent(), displayName);
+        EntityData.PackedEntity original = serializeUpdate(entity, NONE, DISPLAY_NAME);
+        baseline.filter(1, original, NONE);
+        staleBaseline.filter(1, original, NONE);
+        byte descriptionId = fixture.getEntityManager().getComponentLibrary().getMetadata(DisplayNameComponent.class).getField("description").getId();
+
+        displayName.description = null;
+        entity.saveComponent(displayName);
+        EntityData.PackedEntity cleared = serializeUpdate(entity, NONE, DISPLAY_NAME);
+        EntityData.PackedEntity sent = baseline.filter(1, cleared, NONE);
+        assertNotNull(sent);
+        assertEquals(1, sent.getFieldValueCount());
+        assertEquals(descriptionId, sent.getFieldIds().byteAt(0));
+        assertTrue(cleared.getFieldValueList().contains(sent.getFieldValue(0)));
+
+        displayName.description = "description";
+        entity.saveComponent(displayName);
+        EntityData.PackedEntity restored = serializeUpdate(entity, NONE, DISPLAY_NAME);
+        sent = baseline.filter(1, restored, NONE);
+        assertNotNull(sent);
+        assertEquals(1, sent.getFieldValueCount());
+        assertEquals(descriptionId, sent.getFieldIds().byteAt(0));
+
+        assertNull(staleBaseline.filter(1, restored, NONE));
+    }
+
+    @Test
+    public void testRemovedComponentSentInFullWhenAddedBack() {
+        ReplicationBaseline baseline = new ReplicationBaseline(fixture.getSerializer());
+        EntityRef entity = fixture.createEntity(new Vector3f(1, 2, 3));
+        EntityData.PackedEntity full = serializeUpdate(entity, NONE, LOCATION);
+        baseline.filter(1, full, NONE);
+
+        EntityData.PackedEntity removal = fixture.getSerializer().serialize(entity, NONE, NONE, LOCATION, new ServerComponentFieldCheck(false, false));
+        EntityData.PackedEntity sent = baseline.filter(1, removal, NONE);
+        assertNotNull(sent);
+        assertEquals(1, sent.getRemovedComponentCount());
+
+        // The client dropped the component with all its fields, so none of the unchanged values may be left out
+        assertEquals(full.getFieldValueCount(), baseline.filter(1, full, NONE).getFieldValueCount());
+    }
+
+    @Test
+    public void testQuantizedRotationDecodedAsUnitQuaternion() {
+        ReplicationBaseline baseline = new ReplicationBaseline(fixture.getSerializer());
+        EntityRef entity = fixture.createEntity(new Vector3f(1, 2, 3));
+        Quat4f rotation = new Quat4f(0.1f, 0.2f, 0.3f, (float) Math.sqrt(0.86));
+        LocationComponent loc = entity.getComponent(LocationComponent.class);
+        loc.setWorldRotation(rotation);
+        entity.saveComponent(loc);
+        // Rounded to 1/4096, the components of this rotation no longer have unit length
+        float step = 1f / 4096;
+        float quantizedLengthSquared = 0;
+        for (float f : new float[]{rotation.x, rotation.y, rotation.z, rotation.w}) {
+            quantizedLengthSquared += (Math.round(f / step) * step) * (Math.round(f / step) * step);
+        }
+        assertNotEquals(1.0f, quantizedLengthSquared, 1e-5f);
+
+        EntityRef replica = fixture.createEntity(new Vector3f());
+        fixture.getSerializer().deserializeOnto(replica, baseline.filter(1, serializeUpdate(entity, NONE, LOCATION), NONE));
+        Quat4f received = replica.getComponent(LocationComponent.class).getLocalRotation();
+
+        float lengthSquared = received.x * received.x + received.y * received.y + received.z * received.z + received.w * received.w;
+        assertEquals(1.0f, lengthSquared, 1e-6f);
+        assertEquals(rotation.x, received.x, step);
+        assertEquals(rotation.w, received.w, step);
+    }
+
+    private EntityData.PackedEntity serializeUpdate(EntityRef entity, Set<Class<? extends Component>> added, Set<Class<? extends Component>> changed) {
+        return fixture.getSerializer().serialize(entity, added, changed, NONE, new ServerComponentFieldCheck(false, false));
+    }
+}
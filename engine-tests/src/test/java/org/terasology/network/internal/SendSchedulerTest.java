@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import org.junit.Test;
+import org.terasology.network.SendPriority;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ */
+public class SendSchedulerTest {
+
+    @Test
+    public void testBudgetFromKilobitsPerSecond() {
+        // 1024 kbit/s over 50 ms ticks
+        assertEquals(6400, SendScheduler.bytesPerTick(1024, 0.05f));
+        assertEquals(0, SendScheduler.bytesPerTick(0, 0.05f));
+    }
+
+    @Test
+    public void testOwnCharacterIgnoresBudget() {
+        SendScheduler scheduler = new SendScheduler(null);
+        scheduler.setQueued(SendPriority.OWN_CHARACTER, 1);
+        scheduler.beginTick(0);
+
+        assertTrue(scheduler.canSend(SendPriority.OWN_CHARACTER, 100000));
+    }
+
+    @Test
+    public void testChunksDoNotStarveEntities() {
+        SendScheduler scheduler = new SendScheduler(null);
+        scheduler.setQueued(SendPriority.NEARBY_ENTITIES, 10);
+        scheduler.setQueued(SendPriority.FAR_CHUNKS, 10);
+        scheduler.beginTick(900);
+
+        assertTrue(scheduler.canSend(SendPriority.NEARBY_ENTITIES, 800));
+        assertFalse(scheduler.canSend(SendPriority.FAR_CHUNKS, 101));
+        assertTrue(scheduler.canSend(SendPriority.FAR_CHUNKS, 100));
+    }
+
+    @Test
+    public void testUnusedCreditPassesDown() {
+        SendScheduler scheduler = new SendScheduler(null);
+        scheduler.setQueued(SendPriority.NEARBY_ENTITIES, 1);
+        scheduler.setQueued(SendPriority.FAR_CHUNKS, 1);
+        scheduler.beginTick(900);
+
+        scheduler.sent(SendPriority.NEARBY_ENTITIES, 100);
+        scheduler.finish(SendPriority.NEARBY_ENTITIES, 0);
+
+        assertTrue(scheduler.canSend(SendPriority.FAR_CHUNKS, 800));
+        assertFalse(scheduler.canSend(SendPriority.FAR_CHUNKS, 801));
+    }
+
+    @Test
+    public void testLargeItemSentOnceCreditSaved() {
+        SendScheduler scheduler = new SendScheduler(null);
+        int ticks = 0;
+        do {
+            scheduler.setQueued(SendPriority.NEAR_CHUNKS, 1);
+            scheduler.beginTick(1000);
+            ticks++;
+        } while (!scheduler.canSend(SendPriority.NEAR_CHUNKS, 3500));
+        scheduler.sent(SendPriority.NEAR_CHUNKS, 3500);
+        scheduler.finish(SendPriority.NEAR_CHUNKS, 0);
+
+        assertEquals(4, ticks);
+        assertEquals(3500, scheduler.getSentBytesSinceLastCall(SendPriority.NEAR_CHUNKS));
+        assertEquals(0, scheduler.getSentBytesSinceLastCall(SendPriority.NEAR_CHUNKS));
+        assertEquals(0, scheduler.getQueuedItems(SendPriority.NEAR_CHUNKS));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.physics.bullet;
+
+import com.bulletphysics.collision.shapes.BoxShape;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.physics.components.RigidBodyComponent;
+import org.terasology.physics.engine.RigidBody;
+import org.terasology.physics.shapes.BoxShapeComponent;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.world.WorldProvider;
+import org.terasology.world.block.Block;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class BulletPhysicsTest {
+
+    private static final float STEP = 1f / 60;
+    private static final Region3i AROUND_ORIGIN = Region3i.createFromMinMax(new Vector3i(-1, -1, -1), new Vector3i(1, 1, 1));
+    private static final Region3i ELSEWHERE = Region3i.createFromMinMax(new Vector3i(100, -1, 100), new Vector3i(101, 1, 101));
+
+    private BulletPhysics physics;
+
+    @Before
+    public void setup() {
+        CoreRegistry.setContext(new ContextImpl());
+        Block air = new Block();
+        Block stone = new Block();
+        stone.setCollision(new Vector3f(), new BoxShape(new javax.vecmath.Vector3f(0.5f, 0.5f, 0.5f)));
+        WorldProvider world = mock(WorldProvider.class);
+        when(world.getBlock(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> invocation.<Integer>getArgument(1) <= 0 ? stone : air);
+
+        physics = new BulletPhysics(world);
+        physics.setSimulationRegions(Collections.singletonList(AROUND_ORIGIN));
+    }
+
+    @After
+    public void teardown() {
+        physics.dispose();
+    }
+
+    @Test
+    public void testBodyOutsideRegionsIsFrozenAndResumes() {
+        EntityRef item = createItem(new Vector3f(0, 100, 0));
+        RigidBody body = physics.getRigidBody(item);
+        physics.update(STEP);
+        assertTrue(body.isActive());
+        assertEquals(1, physics.getActiveRigidBodyCount());
+
+        physics.setSimulationRegions(Collections.singletonList(ELSEWHERE));
+        physics.update(STEP);
+        Vector3f frozenAt = body.getLocation(new Vector3f());
+        Vector3f frozenVelocity = body.getLinearVelocity(new Vector3f());
+        for (int i = 0; i < 10; i++) {
+            physics.update(STEP);
+        }
+        assertFalse(body.isActive());
+        assertEquals(0, physics.getActiveRigidBodyCount());
+        assertEquals(1, physics.getFrozenRigidBodyCount());
+        assertEquals(frozenAt, body.getLocation(new Vector3f()));
+        assertEquals(frozenVelocity, body.getLinearVelocity(new Vector3f()));
+
+        physics.setSimulationRegions(Collections.singletonList(AROUND_ORIGIN));
+        physics.update(STEP);
+        assertTrue(body.isActive());
+        assertEquals(1, physics.getActiveRigidBodyCount());
+        assertEquals(0, physics.getFrozenRigidBodyCount());
+        assertTrue(body.getLocation(new Vector3f()).y < frozenAt.y);
+    }
+
+    @Test
+    public void testSleepingBodyStaysAsleepWhenUnfrozen() {
+        EntityRef item = createItem(new Vector3f(0, 0.76f, 0));
+        RigidBody body = physics.getRigidBody(item);
+        for (int i = 0; i < 300 && body.isActive(); i++) {
+            physics.update(STEP);
+        }
+        assertFalse(body.isActive());
+        Vector3f restingAt = body.getLocation(new Vector3f());
+
+        physics.setSimulationRegions(Collections.singletonList(ELSEWHERE));
+        physics.update(STEP);
+        assertEquals(1, physics.getFrozenRigidBodyCount());
+
+        physics.setSimulationRegions(Collections.singletonList(AROUND_ORIGIN));
+        physics.update(STEP);
+        assertEquals(0, physics.getFrozenRigidBodyCount());
+        assertEquals(0, physics.getActiveRigidBodyCount());
+        assertFalse(body.isActive());
+        assertEquals(restingAt, body.getLocation(new Vector3f()));
+    }
+
+    @Test
+    public void testWithoutRegionsEverythingIsSimulated() {
+        physics.setSimulationRegions(null);
+        EntityRef item = createItem(new Vector3f(10000, 100, 10000));
+        RigidBody body = physics.getRigidBody(item);
+        physics.update(STEP);
+        assertTrue(body.isActive());
+        assertEquals(0, physics.getFrozenRigidBodyCount());
+    }
+
+    private EntityRef createItem(Vector3f position) {
+        EntityRef item = mock(EntityRef.class);
+        BoxShapeComponent shape = new BoxShapeComponent();
+        shape.extents.set(0.5f, 0.5f, 0.5f);
+        when(item.getComponent(LocationComponent.class)).thenReturn(new LocationComponent(position));
+        when(item.getComponent(RigidBodyComponent.class)).thenReturn(new RigidBodyComponent());
+        when(item.getComponent(BoxShapeComponent.class)).thenReturn(shape);
+        return item;
+    }
+}
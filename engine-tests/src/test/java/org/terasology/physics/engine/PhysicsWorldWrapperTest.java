@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.physics.engine;
+
+import com.bulletphysics.collision.shapes.BoxShape;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.testUtil.WorldProviderCoreStub;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.CoreChunk;
+import org.terasology.world.internal.WorldProviderWrapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class PhysicsWorldWrapperTest {
+
+    private Block air;
+    private Block stone;
+    private WorldProviderCoreStub world;
+    private PhysicsWorldWrapper wrapper;
+
+    @Before
+    public void setup() {
+        air = new Block();
+        stone = new Block();
+        stone.setTargetable(true);
+        stone.setCollision(new Vector3f(), new BoxShape(new javax.vecmath.Vector3f(0.5f, 0.5f, 0.5f)));
+        world = new WorldProviderCoreStub(air, null);
+        wrapper = new PhysicsWorldWrapper(new WorldProviderWrapper(world));
+    }
+
+    @Test
+    public void testUncachedBlocksLookedUpInWorld() {
+        world.setBlock(new Vector3i(1, 2, 3), stone);
+
+        assertTrue(wrapper.getCollisionShapeAt(1, 2, 3).isColliding());
+        assertFalse(wrapper.getCollisionShapeAt(1, 3, 3).isColliding());
+    }
+
+    @Test
+    public void testCachedChunkUsedInsteadOfWorld() {
+        wrapper.onChunkLoaded(createChunk(new Vector3i(0, 0, 0), 10));
+
+        assertTrue(wrapper.getCollisionShapeAt(1, 9, 3).isColliding());
+        assertFalse(wrapper.getCollisionShapeAt(1, 10, 3).isColliding());
+        assertEquals(new Vector3i(1, 9, 3), wrapper.getCollisionShapeAt(1, 9, 3).getUserData());
+    }
+
+    @Test
+    public void testCachedChunkPatchedOnBlockChange() {
+        wrapper.onChunkLoaded(createChunk(new Vector3i(-1, 0, 0), 10));
+        wrapper.onBlockChanged(new Vector3i(-5, 20, 2), stone, air);
+        wrapper.onBlockChanged(new Vector3i(-5, 2, 2), air, stone);
+
+        assertTrue(wrapper.getCollisionShapeAt(-5, 20, 2).isColliding());
+        assertFalse(wrapper.getCollisionShapeAt(-5, 2, 2).isColliding());
+    }
+
+    @Test
+    public void testUnloadedChunkLookedUpInWorld() {
+        wrapper.onChunkLoaded(createChunk(new Vector3i(0, 0, 0), 10));
+        wrapper.getCollisionShapeAt(1, 2, 3);
+        wrapper.onChunkUnloaded(new Vector3i(0, 0, 0));
+
+        assertFalse(wrapper.getCollisionShapeAt(1, 2, 3).isColliding());
+    }
+
+    private CoreChunk createChunk(Vector3i chunkPos, int height) {
+        CoreChunk chunk = mock(CoreChunk.class);
+        when(chunk.getPosition()).thenReturn(chunkPos);
+        when(chunk.getBlock(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> ((Integer) invocation.getArguments()[1] < height) ? stone : air);
+        return chunk;
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.primitives;
+
+import com.google.common.collect.Sets;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.TerasologyTestingEnvironment;
+import org.terasology.assets.ResourceUrn;
+import org.terasology.assets.management.AssetManager;
+import org.terasology.engine.subsystem.lwjgl.GLBufferPool;
+import org.terasology.math.Region3i;
+import org.terasology.math.Side;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.utilities.random.FastRandom;
+import org.terasology.utilities.random.Random;
+import org.terasology.world.ChunkView;
+import org.terasology.world.biomes.BiomeManager;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.block.BlockUri;
+import org.terasology.world.block.family.SymmetricBlockFamilyFactory;
+import org.terasology.world.block.internal.BlockManagerImpl;
+import org.terasology.world.block.loader.BlockFamilyDefinition;
+import org.terasology.world.block.loader.BlockFamilyDefinitionData;
+import org.terasology.world.block.shapes.BlockShape;
+import org.terasology.world.block.tiles.WorldAtlas;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.internal.ChunkViewCoreImpl;
+
+import java.nio.IntBuffer;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class ChunkTessellatorTest extends TerasologyTestingEnvironment {
+
+    private Block airBlock;
+    private Block stoneBlock;
+    private Block dirtBlock;
+    private BlockManager blockManager;
+    private BiomeManager biomeManager;
+    private ChunkTessellator tessellator;
+
+    @Before
+    @Override
+    public void setup() throws Exception {
+        super.setup();
+        AssetManager assetManager = CoreRegistry.get(AssetManager.class);
+        WorldAtlas worldAtlas = mock(WorldAtlas.class);
+        when(worldAtlas.getRelativeTileSize()).thenReturn(1 / 16f);
+        blockManager = new BlockManagerImpl(worldAtlas, assetManager);
+        CoreRegistry.put(BlockManager.class, blockManager);
+        biomeManager = mock(BiomeManager.class);
+        airBlock = blockManager.getBlock(BlockManager.AIR_ID);
+        stoneBlock = createCubeBlock(assetManager, "engine:stone");
+        dirtBlock = createCubeBlock(assetManager, "engine:dirt");
+        tessellator = new ChunkTessellator(new GLBufferPool(false));
+    }
+
+    @Test
+    public void testFlatGroundMergedIntoSingleFaces() {
+        ChunkView view = createView((x, z) -> 4, (x, y, z) -> stoneBlock);
+
+        ChunkMesh greedyMesh = generateMesh(view, true);
+
+        assertEquals(8, greedyMesh.getBufferedVertexCount(ChunkMesh.RenderType.OPAQUE));
+        assertEquals(collectFaces(generateMesh(view, false)), collectFaces(greedyMesh));
+    }
+
+    @Test
+    public void testHillsCoverSameFacesWithFewerVertices() {
+        ChunkView view = createHillsView();
+
+        ChunkMesh blockMesh = generateMesh(view, false);
+        ChunkMesh greedyMesh = generateMesh(view, true);
+
+        assertEquals(collectFaces(blockMesh), collectFaces(greedyMesh));
+        assertTrue(greedyMesh.getBufferedVertexCount(ChunkMesh.RenderType.OPAQUE)
+                < blockMesh.getBufferedVertexCount(ChunkMesh.RenderType.OPAQUE));
+    }
+
+    @Test
+    public void testMeshUnaffectedByLaterMeshes() {
+        ChunkView flatView = createView((x, z) -> 4, (x, y, z) -> stoneBlock);
+        ChunkMesh mesh = generateMesh(createHillsView(), false);
+        Set<String> faces = collectFaces(mesh);
+
+        generateMesh(flatView, false).dispose();
+        generateMesh(flatView, true);
+
+        assertEquals(faces, collectFaces(mesh));
+    }
+
+    @Test
+    public void testSectionsCoverWholeMesh() {
+        ChunkView view = createView((x, z) -> Math.floorMod(x + 2 * z, ChunkConstants.SIZE_Y), (x, y, z) -> stoneBlock);
+        tessellator.setGreedyMeshing(false);
+
+        ChunkMesh lowerMesh = tessellator.generateSections(view, 0b0011, 0);
+        ChunkMesh upperMesh = tessellator.generateSections(view, 0b1100, 0);
+        Set<String> faces = collectFaces(lowerMesh);
+        faces.addAll(collectFaces(upperMesh));
+
+        assertFalse(lowerMesh.hasAllSections());
+        assertTrue(generateMesh(view, false).hasAllSections());
+        assertEquals(collectFaces(generateMesh(view, false)), faces);
+    }
+
+    @Test
+    public void testVisibilityOnlyRecalculatedWhenChanged() {
+        ChunkView view = createView((x, z) -> 4, (x, y, z) -> stoneBlock);
+
+        assertFalse(tessellator.generateSections(view, 0b0011, 0, false).hasVisibility());
+        assertTrue(tessellator.generateSections(view, 0b0011, 0, true).hasVisibility());
+        assertTrue(tessellator.generateSections(view, ChunkConstants.ALL_MESH_SECTIONS, 0, false).hasVisibility());
+    }
+
+    @Test
+    public void testLowerDetailCoversSameFlatGround() {
+        ChunkView view = createView((x, z) -> 4, (x, y, z) -> stoneBlock);
+
+        ChunkMesh lodMesh = generateMesh(view, false, 1);
+
+        assertEquals(1, lodMesh.getLod());
+        assertEquals(collectFaces(generateMesh(view, false)), collectFaces(lodMesh));
+        assertEquals(collectFaces(lodMesh), collectFaces(generateMesh(view, true, 1)));
+    }
+
+    @Test
+    public void testLowerDetailHillsUseFewerVertices() {
+        ChunkView view = createHillsView();
+
+        int blockVertices = generateMesh(view, false).getBufferedVertexCount(ChunkMesh.RenderType.OPAQUE);
+        int lodVertices = generateMesh(view, false, 1).getBufferedVertexCount(ChunkMesh.RenderType.OPAQUE);
+        int lowestLodVertices = generateMesh(view, false, ChunkTessellator.MAX_LOD).getBufferedVertexCount(ChunkMesh.RenderType.OPAQUE);
+
+        assertTrue(lodVertices < blockVertices);
+        assertTrue(lowestLodVertices < lodVertices);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLevelOfDetailBeyondMaxRejected() {
+        generateMesh(createHillsView(), false, ChunkTessellator.MAX_LOD + 1);
+    }
+
+    @Test
+    public void testGroundHidesBottomFace() {
+        ChunkVisibility visibility = generateMesh(createView((x, z) -> 4, (x, y, z) -> stoneBlock), false).getVisibility();
+
+        assertTrue(visibility.isVisibleThrough(Side.LEFT, Side.RIGHT));
+        assertTrue(visibility.isVisibleThrough(Side.FRONT, Side.TOP));
+        assertFalse(visibility.isVisibleThrough(Side.TOP, Side.BOTTOM));
+        assertFalse(visibility.isVisibleThrough(Side.LEFT, Side.BOTTOM));
+    }
+
+    @Test
+    public void testWallSeparatesFaces() {
+        ChunkVisibility visibility = generateMesh(createView((x, z) -> x == 16 ? ChunkConstants.SIZE_Y : 0, (x, y, z) -> stoneBlock), false)
+                .getVisibility();
+
+        assertFalse(visibility.isVisibleThrough(Side.LEFT, Side.RIGHT));
+        assertTrue(visibility.isVisibleThrough(Side.LEFT, Side.TOP));
+        assertTrue(visibility.isVisibleThrough(Side.RIGHT, Side.BOTTOM));
+        assertTrue(visibility.isVisibleThrough(Side.FRONT, Side.BACK));
+    }
+
+    private ChunkView createHillsView() {
+        Random random = new FastRandom(44);
+        int[] heights = new int[ChunkConstants.SIZE_X * ChunkConstants.SIZE_Z * 9];
+        for (int i = 0; i < heights.length; i++) {
+            heights[i] = 8 + random.nextInt(3);
+        }
+        return createView((x, z) -> heights[(x + ChunkConstants.SIZE_X) + 3 * ChunkConstants.SIZE_X * (z + ChunkConstants.SIZE_Z)],
+                (x, y, z) -> (y < 6 || (x + z) % 7 == 0) ? stoneBlock : dirtBlock);
+    }
+
+    private ChunkMesh generateMesh(ChunkView view, boolean greedyMeshing) {
+        return generateMesh(view, greedyMeshing, 0);
+    }
+
+    private ChunkMesh generateMesh(ChunkView view, boolean greedyMeshing, int lod) {
+        tessellator.setGreedyMeshing(greedyMeshing);
+        return tessellator.generateMesh(view, ChunkConstants.SIZE_Y, 0, lod);
+    }
+
+    /**
+     * @return The unit faces covered by the opaque quads of the mesh, with their normals
+     */
+    private Set<String> collectFaces(ChunkMesh mesh) {
+        Set<String> faces = Sets.newHashSet();
+        for (int section = 0; section < ChunkConstants.MESH_SECTIONS; section++) {
+            IntBuffer vertices = mesh.getFinalVertices(section, ChunkMesh.RenderType.OPAQUE);
+            IntBuffer indices = mesh.getFinalIndices(section, ChunkMesh.RenderType.OPAQUE);
+            if (indices != null) {
+                collectFaces(vertices, indices, faces);
+            }
+        }
+        return faces;
+    }
+
+    private void collectFaces(IntBuffer vertices, IntBuffer indices, Set<String> faces) {
+        for (int i = 0; i < indices.limit(); i += 6) {
+            float[] min = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE};
+            float[] max = {-Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+            for (int j = i; j < i + 6; j++) {
+                int vertex = indices.get(j);
+                for (int axis = 0; axis < 3; axis++) {
+                    min[axis] = Math.min(min[axis], component(vertices, vertex, ChunkMesh.OFFSET_VERTEX, axis));
+                    max[axis] = Math.max(max[axis], component(vertices, vertex, ChunkMesh.OFFSET_VERTEX, axis));
+                }
+            }
+            int vertex = indices.get(i);
+            String normal = Math.round(component(vertices, vertex, ChunkMesh.OFFSET_NORMAL, 0)) + ","
+                    + Math.round(component(vertices, vertex, ChunkMesh.OFFSET_NORMAL, 1)) + ","
+                    + Math.round(component(vertices, vertex, ChunkMesh.OFFSET_NORMAL, 2));
+            for (float x = min[0]; x < max[0] || x == min[0]; x++) {
+                for (float y = min[1]; y < max[1] || y == min[1]; y++) {
+                    for (float z = min[2]; z < max[2] || z == min[2]; z++) {
+                        assertTrue(faces.add(normal + " " + x + "," + y + "," + z));
+                    }
+                }
+            }
+        }
+    }
+
+    private static float component(IntBuffer vertices, int vertex, int offset, int axis) {
+        return Float.intBitsToFloat(vertices.get(vertex * ChunkMesh.VERTEX_SIZE + offset / 4 + axis));
+    }
+
+    private ChunkView createView(HeightFunction height, BlockFunction block) {
+        Chunk[] chunks = new Chunk[9];
+        for (int chunkZ = -1; chunkZ <= 1; chunkZ++) {
+            for (int chunkX = -1; chunkX <= 1; chunkX++) {
+                Chunk chunk = new ChunkImpl(new Vector3i(chunkX, 0, chunkZ), blockManager, biomeManager);
+                for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+                    for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                        int worldX = chunkX * ChunkConstants.SIZE_X + x;
+                        int worldZ = chunkZ * ChunkConstants.SIZE_Z + z;
+                        int columnHeight = height.apply(worldX, worldZ);
+                        for (int y = 0; y < columnHeight; y++) {
+                            chunk.setBlock(x, y, z, block.apply(worldX, y, worldZ));
+                        }
+                    }
+                }
+                chunks[(chunkX + 1) + 3 * (chunkZ + 1)] = chunk;
+            }
+        }
+        return new ChunkViewCoreImpl(chunks, Region3i.createFromCenterExtents(Vector3i.zero(), new Vector3i(1, 0, 1)), new Vector3i(1, 0, 1), airBlock);
+    }
+
+    private Block createCubeBlock(AssetManager assetManager, String urn) {
+        BlockFamilyDefinitionData data = new BlockFamilyDefinitionData();
+        data.getBaseSection().setDisplayName(urn);
+        data.getBaseSection().setShape(assetManager.getAsset("engine:cube", BlockShape.class).get());
+        data.getBaseSection().setTranslucent(false);
+        data.setFamilyFactory(new SymmetricBlockFamilyFactory());
+        assetManager.loadAsset(new ResourceUrn(urn), data, BlockFamilyDefinition.class);
+        return blockManager.getBlock(new BlockUri(new ResourceUrn(urn)));
+    }
+
+    private interface HeightFunction {
+        int apply(int x, int z);
+    }
+
+    private interface BlockFunction {
+        Block apply(int x, int y, int z);
+    }
+}
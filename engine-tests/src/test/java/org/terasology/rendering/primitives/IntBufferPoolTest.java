@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.primitives;
+
+import org.junit.Test;
+
+import java.nio.IntBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ */
+public class IntBufferPoolTest {
+
+    @Test
+    public void testReleasedBufferReused() {
+        IntBufferPool pool = new IntBufferPool(4 << 20);
+        IntBuffer buffer = pool.get(3000);
+        assertEquals(4096, buffer.capacity());
+        buffer.put(1).flip();
+        pool.release(buffer);
+
+        IntBuffer reused = pool.get(2500);
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+        assertEquals(4096, reused.limit());
+        assertNotSame(reused, pool.get(2500));
+    }
+
+    @Test
+    public void testPooledCapacityLimited() {
+        IntBufferPool pool = new IntBufferPool(5000 * Integer.BYTES);
+        IntBuffer first = pool.get(4096);
+        IntBuffer second = pool.get(4096);
+        IntBuffer small = pool.get(10);
+        pool.release(first);
+        pool.release(second);
+        pool.release(small);
+        pool.release(IntBuffer.allocate(1000));
+
+        assertEquals(4096, pool.getPooledCapacity());
+        assertSame(first, pool.get(4000));
+        assertEquals(0, pool.getPooledCapacity());
+    }
+
+    @Test
+    public void testClearDropsPooledBuffers() {
+        IntBufferPool pool = new IntBufferPool(1 << 20);
+        IntBuffer buffer = pool.get(3000);
+        pool.release(buffer);
+        pool.clear();
+
+        assertEquals(0, pool.getPooledCapacity());
+        assertNotSame(buffer, pool.get(3000));
+    }
+
+    @Test
+    public void testNothingPooledWithoutCapacity() {
+        IntBufferPool pool = new IntBufferPool(0);
+        IntBuffer buffer = pool.get(3000);
+        pool.release(buffer);
+
+        assertEquals(0, pool.getPooledCapacity());
+        assertNotSame(buffer, pool.get(3000));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.world;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ */
+public class ChunkMeshUpdateQueueTest {
+
+    private final ChunkMeshUpdateQueue<Vector3i> queue = new ChunkMeshUpdateQueue<>(Function.identity());
+
+    @Test
+    public void testClosestUpdatesTakenFirst() {
+        Vector3i far = new Vector3i(0, 0, 5);
+        Vector3i near = new Vector3i(1, -1, 0);
+        Vector3i nearAfter = new Vector3i(-1, 0, 1);
+        Vector3i beyondLastRing = new Vector3i(0, 1000, 0);
+        queue.add(far);
+        queue.add(beyondLastRing);
+        queue.add(near);
+        queue.add(nearAfter);
+
+        assertEquals(4, queue.size());
+        assertEquals(Arrays.asList(near, nearAfter, far, beyondLastRing), pollAll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testUpdatesReprioritizedWhenCameraMoves() {
+        Vector3i origin = new Vector3i(0, 0, 0);
+        Vector3i east = new Vector3i(8, 0, 0);
+        queue.add(origin);
+        queue.add(east);
+
+        queue.setCameraChunk(new Vector3i(7, 0, 0));
+        Vector3i west = new Vector3i(2, 0, 0);
+        queue.add(west);
+
+        assertEquals(Arrays.asList(east, west, origin), pollAll());
+    }
+
+    @Test
+    public void testUpdatesOutsideRegionRemoved() {
+        Vector3i inside = new Vector3i(1, 0, 1);
+        Vector3i outside = new Vector3i(3, 0, 0);
+        queue.add(outside);
+        queue.add(inside);
+        List<Vector3i> removed = Lists.newArrayList();
+
+        assertEquals(1, queue.removeOutside(Region3i.createFromCenterExtents(Vector3i.zero(), new Vector3i(2, 0, 2)), removed::add));
+
+        assertEquals(Arrays.asList(outside), removed);
+        assertEquals(1, queue.size());
+        assertEquals(Arrays.asList(inside), pollAll());
+    }
+
+    private List<Vector3i> pollAll() {
+        List<Vector3i> result = Lists.newArrayList();
+        Vector3i update;
+        while ((update = queue.poll()) != null) {
+            result.add(update);
+        }
+        return result;
+    }
+}
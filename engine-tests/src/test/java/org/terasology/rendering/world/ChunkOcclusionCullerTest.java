@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.world;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.rendering.primitives.ChunkMesh;
+import org.terasology.rendering.primitives.ChunkVisibility;
+import org.terasology.world.chunks.RenderableChunk;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class ChunkOcclusionCullerTest {
+
+    private final ChunkOcclusionCuller culler = new ChunkOcclusionCuller();
+    private final List<RenderableChunk> chunks = Lists.newArrayList();
+
+    @Test
+    public void testOpenChunksHideNothing() {
+        Region3i region = createChunks(new Vector3i(5, 2, 5));
+
+        culler.update(region, chunks, new Vector3i(2, 0, 2));
+
+        for (RenderableChunk chunk : chunks) {
+            assertFalse(culler.isOccluded(chunk.getPosition()));
+        }
+        assertEquals(50, culler.getReachedChunks());
+    }
+
+    @Test
+    public void testSolidChunksHideChunksBehindThem() {
+        Region3i region = createChunks(new Vector3i(3, 1, 3));
+        setVisibility(new Vector3i(1, 0, 0), ChunkVisibility.NONE);
+        setVisibility(new Vector3i(0, 0, 1), ChunkVisibility.NONE);
+
+        culler.update(region, chunks, new Vector3i(0, 0, 0));
+
+        assertFalse(culler.isOccluded(new Vector3i(0, 0, 0)));
+        assertFalse(culler.isOccluded(new Vector3i(1, 0, 0)));
+        assertFalse(culler.isOccluded(new Vector3i(0, 0, 1)));
+        assertTrue(culler.isOccluded(new Vector3i(1, 0, 1)));
+        assertTrue(culler.isOccluded(new Vector3i(2, 0, 0)));
+        assertTrue(culler.isOccluded(new Vector3i(2, 0, 2)));
+        assertEquals(3, culler.getReachedChunks());
+    }
+
+    @Test
+    public void testFillRedoneWhenMarkedDirty() {
+        Region3i region = createChunks(new Vector3i(4, 1, 1));
+        culler.update(region, chunks, new Vector3i(0, 0, 0));
+        setVisibility(new Vector3i(1, 0, 0), ChunkVisibility.NONE);
+
+        culler.update(region, chunks, new Vector3i(0, 0, 0));
+        assertFalse(culler.isOccluded(new Vector3i(3, 0, 0)));
+
+        culler.markDirty();
+        culler.update(region, chunks, new Vector3i(0, 0, 0));
+        assertTrue(culler.isOccluded(new Vector3i(3, 0, 0)));
+
+        culler.update(region, chunks, new Vector3i(3, 0, 0));
+        assertFalse(culler.isOccluded(new Vector3i(3, 0, 0)));
+        assertTrue(culler.isOccluded(new Vector3i(0, 0, 0)));
+    }
+
+    @Test
+    public void testNothingHiddenWhenCameraOutsideRegion() {
+        Region3i region = createChunks(new Vector3i(3, 1, 1));
+        setVisibility(new Vector3i(1, 0, 0), ChunkVisibility.NONE);
+
+        culler.update(region, chunks, new Vector3i(-1, 0, 0));
+
+        assertFalse(culler.isOccluded(new Vector3i(2, 0, 0)));
+    }
+
+    private Region3i createChunks(Vector3i size) {
+        Region3i region = Region3i.createFromMinAndSize(Vector3i.zero(), size);
+        for (Vector3i chunkPos : region) {
+            RenderableChunk chunk = mock(RenderableChunk.class);
+            ChunkMesh mesh = mock(ChunkMesh.class);
+            when(chunk.getPosition()).thenReturn(new Vector3i(chunkPos));
+            when(chunk.hasMesh()).thenReturn(true);
+            when(chunk.getMesh()).thenReturn(mesh);
+            when(mesh.getVisibility()).thenReturn(ChunkVisibility.ALL);
+            chunks.add(chunk);
+        }
+        return region;
+    }
+
+    private void setVisibility(Vector3i chunkPos, ChunkVisibility visibility) {
+        for (RenderableChunk chunk : chunks) {
+            if (chunk.getPosition().equals(chunkPos)) {
+                ChunkMesh mesh = chunk.getMesh();
+                when(mesh.getVisibility()).thenReturn(visibility);
+            }
+        }
+    }
+}
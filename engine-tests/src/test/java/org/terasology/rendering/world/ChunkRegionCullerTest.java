@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.world;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.terasology.math.AABB;
+import org.terasology.math.MatrixUtils;
+import org.terasology.math.geom.Matrix4f;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.rendering.cameras.ViewFrustum;
+import org.terasology.utilities.random.FastRandom;
+import org.terasology.utilities.random.Random;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ */
+public class ChunkRegionCullerTest {
+
+    private final Random random = new FastRandom(42);
+
+    @Test
+    public void testVisibilityMatchesPerChunkTests() {
+        List<Vector3i> chunks = Lists.newArrayList();
+        for (int x = -16; x <= 16; x++) {
+            for (int y = -3; y <= 3; y++) {
+                for (int z = -16; z <= 16; z++) {
+                    chunks.add(new Vector3i(x, y, z));
+                }
+            }
+        }
+        ChunkRegionCuller culler = new ChunkRegionCuller(2);
+        for (Vector3i chunk : chunks) {
+            culler.add(chunk, chunkBounds(chunk));
+        }
+
+        for (int i = 0; i < 20; i++) {
+            Vector3f viewPosition = new Vector3f(random.nextFloat(-200, 200), random.nextFloat(-100, 100), random.nextFloat(-200, 200));
+            ViewFrustum first = createFrustum();
+            ViewFrustum second = createFrustum();
+            culler.beginCulling(viewPosition, first, second);
+
+            int visible = 0;
+            for (Vector3i chunk : chunks) {
+                AABB bounds = chunkBounds(chunk);
+                int expected = (first.intersects(bounds, viewPosition) ? 1 : 0) | (second.intersects(bounds, viewPosition) ? 2 : 0);
+                assertEquals(expected, culler.getVisibleFrustums(chunk, bounds, 3));
+                assertEquals(expected & 2, culler.getVisibleFrustums(chunk, bounds, 2));
+                if ((expected & 1) != 0) {
+                    visible++;
+                }
+            }
+            assertTrue(visible > 0);
+            assertTrue(culler.getRegionTests() <= 2 * culler.getRegionCount());
+            assertTrue(culler.getChunkTests() < 3 * chunks.size());
+        }
+    }
+
+    @Test
+    public void testRemovedChunksNoLongerWidenRegion() {
+        ChunkRegionCuller culler = new ChunkRegionCuller(1);
+        Vector3i near = new Vector3i(0, 0, 0);
+        Vector3i far = new Vector3i(3, 0, 0);
+        culler.add(near, chunkBounds(near));
+        culler.add(far, chunkBounds(far));
+        // Looks along +x from just inside the far chunk, so only the far chunk is in view
+        ViewFrustum frustum = createFrustum(new Vector3f(1, 0, 0), 1, 1000);
+        Vector3f viewPosition = new Vector3f(3 * ChunkConstants.SIZE_X + 1, 10, 16);
+
+        culler.beginCulling(viewPosition, frustum);
+        assertEquals(1, culler.getVisibleFrustums(far, chunkBounds(far), 1));
+        assertEquals(0, culler.getVisibleFrustums(near, chunkBounds(near), 1));
+        assertEquals(2, culler.getChunkTests());
+
+        culler.remove(far);
+        culler.beginCulling(viewPosition, frustum);
+        assertEquals(0, culler.getVisibleFrustums(near, chunkBounds(near), 1));
+        assertEquals(0, culler.getChunkTests());
+        assertEquals(1, culler.getRegionCount());
+
+        culler.remove(near);
+        assertEquals(0, culler.getRegionCount());
+    }
+
+    @Test
+    public void testDistantRegionsKeptApart() {
+        ChunkRegionCuller culler = new ChunkRegionCuller(1);
+        Vector3i near = new Vector3i(1, 0, 1);
+        Vector3i far = new Vector3i(4097, 0, 1);
+        culler.add(near, chunkBounds(near));
+        culler.add(far, chunkBounds(far));
+        ViewFrustum frustum = createFrustum(new Vector3f(1, 0, 0), 1, 1000);
+        Vector3f viewPosition = new Vector3f(0, 10, 48);
+
+        culler.beginCulling(viewPosition, frustum);
+        assertEquals(2, culler.getRegionCount());
+        assertEquals(1, culler.getVisibleFrustums(near, chunkBounds(near), 1));
+        assertEquals(0, culler.getVisibleFrustums(far, chunkBounds(far), 1));
+
+        culler.remove(far);
+        assertEquals(1, culler.getRegionCount());
+        assertEquals(1, culler.getVisibleFrustums(near, chunkBounds(near), 1));
+    }
+
+    private ViewFrustum createFrustum() {
+        Vector3f direction = new Vector3f(random.nextFloat(-1, 1), random.nextFloat(-1, 1), random.nextFloat(-1, 1));
+        return createFrustum(direction, random.nextFloat(0.1f, 10), random.nextFloat(100, 1000));
+    }
+
+    private static ViewFrustum createFrustum(Vector3f direction, float zNear, float zFar) {
+        Vector3f up = Math.abs(direction.y) > 0.99f * direction.length() ? new Vector3f(1, 0, 0) : new Vector3f(0, 1, 0);
+        Matrix4f view = MatrixUtils.createViewMatrix(new Vector3f(), direction, up);
+        Matrix4f projection = MatrixUtils.createPerspectiveProjectionMatrix((float) Math.toRadians(70), 16 / 9f, zNear, zFar);
+        ViewFrustum frustum = new ViewFrustum();
+        frustum.updateFrustum(MatrixUtils.matrixToFloatBuffer(view), MatrixUtils.matrixToFloatBuffer(projection));
+        return frustum;
+    }
+
+    private static AABB chunkBounds(Vector3i chunkPos) {
+        Vector3f min = new Vector3f(chunkPos.x * ChunkConstants.SIZE_X, chunkPos.y * ChunkConstants.SIZE_Y, chunkPos.z * ChunkConstants.SIZE_Z);
+        Vector3f max = new Vector3f(min);
+        max.add(ChunkConstants.CHUNK_SIZE.toVector3f());
+        return AABB.createMinMax(min, max);
+    }
+}
@@ -15,10 +15,15 @@
  */
 package org.terasology.utilities.tree;
 
+import com.google.common.collect.Lists;
 import org.junit.Test;
+import org.terasology.utilities.random.FastRandom;
+import org.terasology.utilities.random.Random;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
@@ -209,5 +214,84 @@ public void testSearchDuplicationByDistance() {
         assertEquals(1, thirdNearest.distance, delta);
     }
 
+    @Test
+    public void testNegativePositionsFound() {
+        SpaceTree<Object> tree = new SpaceTree<>(2, 1);
+
+        Object obj1 = new Object();
+        Object obj2 = new Object();
+        Object obj3 = new Object();
+        tree.add(new float[]{0f, 0f}, obj1);
+        tree.add(new float[]{-10f, -10f}, obj2);
+        tree.add(new float[]{-20f, -20f}, obj3);
+
+        assertSame(obj3, tree.findNearest(new float[]{-21f, -21f}, 2f).value);
+    }
+
+    @Test
+    public void testRemoveMissingFromLeaf() {
+        SpaceTree<Object> tree = new SpaceTree<>(2, 1);
+        tree.add(new float[]{0f, 0f}, new Object());
+        tree.add(new float[]{1f, 1f}, new Object());
+
+        assertNull(tree.remove(new float[]{2f, 2f}));
+    }
+
+    @Test
+    public void testBulkLoadedTreeMatchesBruteForce() {
+        Random random = new FastRandom(7);
+        int count = 2000;
+        float[] positions = new float[count * 3];
+        List<Integer> values = Lists.newArrayList();
+        for (int i = 0; i < count; i++) {
+            positions[i * 3] = random.nextFloat(-100f, 100f);
+            positions[i * 3 + 1] = random.nextFloat(-100f, 100f);
+            positions[i * 3 + 2] = random.nextFloat(-100f, 100f);
+            values.add(i);
+        }
+        SpaceTree<Integer> tree = new SpaceTree<>(3);
+        tree.addAll(positions, values);
+
+        SpaceTree.Nearest<Integer> nearest = new SpaceTree.Nearest<>();
+        float[] position = new float[3];
+        for (int query = 0; query < 100; query++) {
+            position[0] = random.nextFloat(-120f, 120f);
+            position[1] = random.nextFloat(-120f, 120f);
+            position[2] = random.nextFloat(-120f, 120f);
+            tree.findNearest(position, 5, Float.MAX_VALUE, nearest);
+
+            float[] distances = new float[count];
+            for (int i = 0; i < count; i++) {
+                distances[i] = distance(positions, i, position);
+            }
+            float[] sortedDistances = Arrays.copyOf(distances, count);
+            Arrays.sort(sortedDistances);
+
+            assertEquals(5, nearest.size());
+            for (int i = 0; i < 5; i++) {
+                assertEquals(sortedDistances[i], nearest.getDistance(i), 0.0001f);
+                assertEquals(distances[nearest.getValue(i)], nearest.getDistance(i), 0.0001f);
+            }
+        }
+    }
+
+    @Test
+    public void testBulkLoadKeepsLastValueAtPosition() {
+        SpaceTree<Object> tree = new SpaceTree<>(2, 1);
+        Object obj1 = new Object();
+        Object obj2 = new Object();
+        Object obj3 = new Object();
+        tree.addAll(new float[]{1f, 1f, 2f, 2f, 1f, 1f}, Arrays.asList(obj1, obj2, obj3));
 
+        assertSame(obj3, tree.remove(new float[]{1f, 1f}));
+        assertNull(tree.remove(new float[]{1f, 1f}));
+        assertSame(obj2, tree.findNearest(new float[]{0f, 0f}).value);
+    }
+
+    private static float distance(float[] positions, int index, float[] position) {
+        float dx = positions[index * 3] - position[0];
+        float dy = positions[index * 3 + 1] - position[1];
+        float dz = positions[index * 3 + 2] - position[2];
+        return (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
 }
@@ -39,6 +39,8 @@
 import org.terasology.world.chunks.internal.ChunkImpl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 
 public class ChunkTest extends TerasologyTestingEnvironment {
@@ -79,5 +81,19 @@ public void testGetAabb() {
         assertEquals(new Vector3f(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z), chunk.getAABB().getMax());
     }
 
+    @Test
+    public void testDirtySections() {
+        assertEquals(ChunkConstants.ALL_MESH_SECTIONS, chunk.takeDirtySections());
+        assertFalse(chunk.isDirty());
+
+        chunk.setDirtySections(ChunkConstants.MESH_SECTION_HEIGHT - 1, ChunkConstants.MESH_SECTION_HEIGHT + 1);
+        chunk.setDirtySections(-2, -1);
+        chunk.setDirtySections(ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Y + 1);
+
+        assertTrue(chunk.isDirty());
+        assertEquals(0b11, chunk.takeDirtySections());
+        assertEquals(0, chunk.takeDirtySections());
+    }
+
 }
 
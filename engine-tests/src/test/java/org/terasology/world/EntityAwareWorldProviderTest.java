@@ -18,6 +18,7 @@
 
 import com.google.common.base.Objects;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -57,8 +58,11 @@
 import org.terasology.world.block.loader.BlockFamilyDefinitionData;
 import org.terasology.world.internal.EntityAwareWorldProvider;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -437,6 +441,66 @@ public void testBlockEntityPrefabCorrectlyAddedOnChangeToBlockWithPrefab() {
         assertEquals(blockWithString.getPrefab().get().getUrn().toString(), entity.getParentPrefab().getUrn().toString());
     }
 
+    @Test
+    public void testSetBlocksAsyncReturnsOldBlocks() {
+        worldProvider.setBlock(Vector3i.zero(), plainBlock);
+        Map<Vector3i, Block> blocks = Maps.newHashMap();
+        blocks.put(new Vector3i(0, 0, 0), blockWithString);
+        blocks.put(new Vector3i(1, 0, 0), plainBlock);
+
+        CompletableFuture<Map<Vector3i, Block>> result = worldProvider.setBlocksAsync(blocks);
+        assertFalse(result.isDone());
+        worldProvider.processPropagation();
+
+        assertTrue(result.isDone());
+        Map<Vector3i, Block> oldBlocks = result.getNow(null);
+        assertEquals(plainBlock, oldBlocks.get(new Vector3i(0, 0, 0)));
+        assertEquals(airBlock, oldBlocks.get(new Vector3i(1, 0, 0)));
+        assertEquals(blockWithString, worldProvider.getBlock(0, 0, 0));
+        assertEquals(plainBlock, worldProvider.getBlock(1, 0, 0));
+    }
+
+    @Test
+    public void testSetBlocksAsyncWithoutBlocksCompletesOnPropagation() {
+        CompletableFuture<Map<Vector3i, Block>> result = worldProvider.setBlocksAsync(Collections.<Vector3i, Block>emptyMap());
+        assertFalse(result.isDone());
+        worldProvider.processPropagation();
+
+        assertTrue(result.isDone());
+        assertTrue(result.getNow(null).isEmpty());
+    }
+
+    @Test
+    public void testSetBlocksAsyncCreatesEntityForKeepActiveBlock() {
+        Map<Vector3i, Block> blocks = Maps.newHashMap();
+        blocks.put(new Vector3i(0, 0, 0), keepActiveBlock);
+        blocks.put(new Vector3i(1, 0, 0), blockWithString);
+
+        worldProvider.setBlocksAsync(blocks);
+        worldProvider.processPropagation();
+        worldProvider.update(1.0f);
+
+        EntityRef blockEntity = worldProvider.getExistingBlockEntityAt(new Vector3i(0, 0, 0));
+        assertTrue(blockEntity.exists());
+        assertEquals(keepActiveBlock, blockEntity.getComponent(BlockComponent.class).getBlock());
+        assertNotNull(blockEntity.getComponent(StringComponent.class));
+        assertFalse(worldProvider.getExistingBlockEntityAt(new Vector3i(1, 0, 0)).exists());
+    }
+
+    @Test
+    public void testSetBlockWhileAsyncEditPendingIsOverwritten() {
+        CompletableFuture<Map<Vector3i, Block>> result = worldProvider.setBlocksAsync(Collections.singletonMap(new Vector3i(0, 0, 0), keepActiveBlock));
+        worldProvider.setBlock(Vector3i.zero(), blockWithDifferentString);
+        worldProvider.processPropagation();
+        worldProvider.update(1.0f);
+
+        assertEquals(blockWithDifferentString, result.getNow(null).get(new Vector3i(0, 0, 0)));
+        assertEquals(keepActiveBlock, worldProvider.getBlock(0, 0, 0));
+        EntityRef blockEntity = worldProvider.getExistingBlockEntityAt(new Vector3i(0, 0, 0));
+        assertTrue(blockEntity.exists());
+        assertEquals(keepActiveBlock, blockEntity.getComponent(BlockComponent.class).getBlock());
+    }
+
     public static class LifecycleEventChecker {
         public List<EventInfo> receivedEvents = Lists.newArrayList();
 
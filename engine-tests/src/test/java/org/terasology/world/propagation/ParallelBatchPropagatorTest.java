@@ -0,0 +1,280 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.propagation;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.TerasologyTestingEnvironment;
+import org.terasology.assets.ResourceUrn;
+import org.terasology.assets.management.AssetManager;
+import org.terasology.math.Diamond3iIterator;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.block.BlockUri;
+import org.terasology.world.block.family.SymmetricBlockFamilyFactory;
+import org.terasology.world.block.internal.BlockManagerImpl;
+import org.terasology.world.block.loader.BlockFamilyDefinition;
+import org.terasology.world.block.loader.BlockFamilyDefinitionData;
+import org.terasology.world.block.shapes.BlockShape;
+import org.terasology.world.block.tiles.NullWorldAtlas;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.propagation.light.LightPropagationRules;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ */
+public class ParallelBatchPropagatorTest extends TerasologyTestingEnvironment {
+
+    private BlockManagerImpl blockManager;
+    private Block air;
+    private Block fullLight;
+    private Block solid;
+    private LightPropagationRules lightRules;
+    private ExecutorService executorService;
+
+    private Region3i testingRegion = Region3i.createFromMinMax(new Vector3i(-ChunkConstants.SIZE_X, -ChunkConstants.SIZE_Y, -ChunkConstants.SIZE_Z),
+            new Vector3i(2 * ChunkConstants.SIZE_X, 2 * ChunkConstants.SIZE_Y, 2 * ChunkConstants.SIZE_Z));
+
+    @Before
+    public void setup() throws Exception {
+        super.setup();
+        lightRules = new LightPropagationRules();
+        // The stub world view is not thread safe, so chunks are propagated on the calling thread
+        executorService = MoreExecutors.newDirectExecutorService();
+        AssetManager assetManager = CoreRegistry.get(AssetManager.class);
+        blockManager = new BlockManagerImpl(new NullWorldAtlas(), assetManager, true);
+        CoreRegistry.put(BlockManager.class, blockManager);
+        BlockFamilyDefinitionData fullLightData = new BlockFamilyDefinitionData();
+        fullLightData.getBaseSection().setDisplayName("Torch");
+        fullLightData.getBaseSection().setShape(assetManager.getAsset("engine:cube", BlockShape.class).get());
+        fullLightData.getBaseSection().setLuminance(ChunkConstants.MAX_LIGHT);
+        fullLightData.getBaseSection().setTranslucent(true);
+        fullLightData.setFamilyFactory(new SymmetricBlockFamilyFactory());
+        assetManager.loadAsset(new ResourceUrn("engine:torch"), fullLightData, BlockFamilyDefinition.class);
+        fullLight = blockManager.getBlock(new BlockUri(new ResourceUrn("engine:torch")));
+
+        BlockFamilyDefinitionData solidData = new BlockFamilyDefinitionData();
+        solidData.getBaseSection().setDisplayName("Stone");
+        solidData.getBaseSection().setShape(assetManager.getAsset("engine:cube", BlockShape.class).get());
+        solidData.getBaseSection().setTranslucent(false);
+        solidData.setFamilyFactory(new SymmetricBlockFamilyFactory());
+        assetManager.loadAsset(new ResourceUrn("engine:stone"), solidData, BlockFamilyDefinition.class);
+        solid = blockManager.getBlock(new BlockUri(new ResourceUrn("engine:stone")));
+
+        air = blockManager.getBlock(BlockManager.AIR_ID);
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executorService.shutdown();
+    }
+
+    @Test
+    public void testAddLightAtChunkCorner() {
+        StubPropagatorWorldView worldView = new StubPropagatorWorldView(testingRegion, air);
+        worldView.setBlockAt(Vector3i.zero(), fullLight);
+
+        BatchPropagator propagator = new ParallelBatchPropagator(lightRules, worldView, executorService);
+        propagator.process(new BlockChange(Vector3i.zero(), air, fullLight));
+
+        for (int i = 0; i < fullLight.getLuminance(); ++i) {
+            for (Vector3i pos : Diamond3iIterator.iterateAtDistance(Vector3i.zero(), i)) {
+                assertEquals(fullLight.getLuminance() - i, worldView.getValueAt(pos));
+            }
+        }
+    }
+
+    @Test
+    public void testRemoveLightAtChunkCorner() {
+        StubPropagatorWorldView worldView = new StubPropagatorWorldView(testingRegion, air);
+        worldView.setBlockAt(Vector3i.zero(), fullLight);
+        BatchPropagator propagator = new ParallelBatchPropagator(lightRules, worldView, executorService);
+        propagator.process(new BlockChange(Vector3i.zero(), air, fullLight));
+
+        worldView.setBlockAt(Vector3i.zero(), air);
+        propagator.process(new BlockChange(Vector3i.zero(), fullLight, air));
+
+        for (int i = 0; i < fullLight.getLuminance() + 1; ++i) {
+            for (Vector3i pos : Diamond3iIterator.iterateAtDistance(Vector3i.zero(), i)) {
+                assertEquals(0, worldView.getValueAt(pos));
+            }
+        }
+    }
+
+    @Test
+    public void testMatchesStandardPropagatorForScatteredChanges() {
+        StubPropagatorWorldView parallelView = new StubPropagatorWorldView(testingRegion, air);
+        StubPropagatorWorldView standardView = new StubPropagatorWorldView(testingRegion, air);
+        BatchPropagator parallel = new ParallelBatchPropagator(lightRules, parallelView, executorService);
+        BatchPropagator standard = new StandardBatchPropagator(lightRules, standardView);
+
+        Vector3i[] lights = {new Vector3i(0, 0, 0), new Vector3i(-3, 5, 2), new Vector3i(ChunkConstants.SIZE_X - 1, 10, 4),
+                new Vector3i(7, -ChunkConstants.SIZE_Y + 2, -ChunkConstants.SIZE_Z + 1)};
+        BlockChange[] changes = new BlockChange[lights.length];
+        for (int i = 0; i < lights.length; ++i) {
+            parallelView.setBlockAt(lights[i], fullLight);
+            standardView.setBlockAt(lights[i], fullLight);
+            changes[i] = new BlockChange(lights[i], air, fullLight);
+        }
+        parallel.process(changes);
+        standard.process(changes);
+        assertSameValues(standardView, parallelView);
+
+        Vector3i wallPos = new Vector3i(-1, 0, 0);
+        parallelView.setBlockAt(wallPos, solid);
+        standardView.setBlockAt(wallPos, solid);
+        parallelView.setBlockAt(lights[0], air);
+        standardView.setBlockAt(lights[0], air);
+        BlockChange[] edits = {new BlockChange(wallPos, air, solid), new BlockChange(lights[0], fullLight, air)};
+        parallel.process(edits);
+        standard.process(edits);
+        assertSameValues(standardView, parallelView);
+    }
+
+    @Test
+    public void testMatchesStandardPropagatorOnThreadPool() {
+        ExecutorService threadPool = Executors.newFixedThreadPool(4);
+        try {
+            ArrayPropagatorWorldView parallelView = new ArrayPropagatorWorldView(testingRegion, air);
+            StubPropagatorWorldView standardView = new StubPropagatorWorldView(testingRegion, air);
+            assertMatchesStandardPropagator(new ParallelBatchPropagator(lightRules, parallelView, threadPool), parallelView,
+                    new StandardBatchPropagator(lightRules, standardView), standardView);
+        } finally {
+            threadPool.shutdown();
+        }
+    }
+
+    @Test
+    public void testFinishesSeriallyWhenRoundsRunOut() {
+        ArrayPropagatorWorldView parallelView = new ArrayPropagatorWorldView(testingRegion, air);
+        StubPropagatorWorldView standardView = new StubPropagatorWorldView(testingRegion, air);
+        assertMatchesStandardPropagator(new ParallelBatchPropagator(lightRules, parallelView, executorService, 1), parallelView,
+                new StandardBatchPropagator(lightRules, standardView), standardView);
+    }
+
+    /**
+     * Scatters lights and walls over all the chunks of the testing region, then removes half of the lights, and checks
+     * that both propagators agree after each step.
+     */
+    private void assertMatchesStandardPropagator(BatchPropagator parallel, ArrayPropagatorWorldView parallelView,
+                                                 BatchPropagator standard, StubPropagatorWorldView standardView) {
+        Random random = new Random(42);
+        List<BlockChange> changes = Lists.newArrayList();
+        List<Vector3i> lights = Lists.newArrayList();
+        for (int i = 0; i < 200; ++i) {
+            Vector3i pos = randomPosition(random);
+            Block block = (i % 4 == 0) ? fullLight : solid;
+            Block from = standardView.getBlockAt(pos);
+            if (from == air) {
+                parallelView.setBlockAt(pos, block);
+                standardView.setBlockAt(pos, block);
+                changes.add(new BlockChange(pos, air, block));
+                if (block == fullLight) {
+                    lights.add(pos);
+                }
+            }
+        }
+        parallel.process(changes);
+        standard.process(changes);
+        assertSameValues(standardView, parallelView);
+
+        changes.clear();
+        for (int i = 0; i < lights.size(); i += 2) {
+            parallelView.setBlockAt(lights.get(i), air);
+            standardView.setBlockAt(lights.get(i), air);
+            changes.add(new BlockChange(lights.get(i), fullLight, air));
+        }
+        parallel.process(changes);
+        standard.process(changes);
+        assertSameValues(standardView, parallelView);
+    }
+
+    private Vector3i randomPosition(Random random) {
+        return new Vector3i(testingRegion.minX() + random.nextInt(testingRegion.sizeX()),
+                testingRegion.minY() + random.nextInt(testingRegion.sizeY()),
+                testingRegion.minZ() + random.nextInt(testingRegion.sizeZ()));
+    }
+
+    private void assertSameValues(PropagatorWorldView expected, PropagatorWorldView actual) {
+        for (Vector3i pos : testingRegion) {
+            assertEquals("Mismatch at " + pos, expected.getValueAt(pos), actual.getValueAt(pos));
+        }
+    }
+
+    /**
+     * A world view that can be written to from several threads, as long as they write different positions. Blocks must
+     * only be changed between batches.
+     */
+    private static final class ArrayPropagatorWorldView implements PropagatorWorldView {
+        private final Region3i region;
+        private final Block defaultBlock;
+        private final byte[] values;
+        private final Map<Vector3i, Block> blocks = Maps.newHashMap();
+
+        ArrayPropagatorWorldView(Region3i region, Block defaultBlock) {
+            this.region = region;
+            this.defaultBlock = defaultBlock;
+            this.values = new byte[region.sizeX() * region.sizeY() * region.sizeZ()];
+        }
+
+        @Override
+        public byte getValueAt(Vector3i pos) {
+            if (!region.encompasses(pos)) {
+                return UNAVAILABLE;
+            }
+            return values[index(pos)];
+        }
+
+        @Override
+        public void setValueAt(Vector3i pos, byte value) {
+            if (!region.encompasses(pos)) {
+                throw new IllegalArgumentException("Position out of bounds: " + pos);
+            }
+            values[index(pos)] = value;
+        }
+
+        @Override
+        public Block getBlockAt(Vector3i pos) {
+            if (!region.encompasses(pos)) {
+                throw new IllegalArgumentException("Position out of bounds: " + pos);
+            }
+            Block result = blocks.get(pos);
+            return (result != null) ? result : defaultBlock;
+        }
+
+        public void setBlockAt(Vector3i pos, Block block) {
+            blocks.put(new Vector3i(pos), block);
+        }
+
+        private int index(Vector3i pos) {
+            return (pos.x - region.minX()) + region.sizeX() * ((pos.y - region.minY()) + region.sizeY() * (pos.z - region.minZ()));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.network;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.SetMultimap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.network.internal.EntityDeltaCache;
+
+import java.util.List;
+
+/**
+ * Serializes one net tick of entity updates for many clients that all see every entity move, with the first client
+ * owning every entity, through an {@link EntityDeltaCache}, and reports the time spent serializing per tick.
+ *
+ */
+public class EntityDeltaCacheBenchmark extends AbstractBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(EntityDeltaCacheBenchmark.class);
+
+    private static final int CLIENTS = 32;
+    private static final int ENTITIES = 200;
+
+    private ReplicationFixture entitySystem;
+    private EntityDeltaCache cache;
+    private List<EntityRef> entities;
+    private List<SetMultimap<Integer, Class<? extends Component>>> clientDirtyComponents;
+    private long serializeTime;
+    private int serializations;
+    private int ticks;
+
+    public EntityDeltaCacheBenchmark() {
+        super("Entity deltas for " + ENTITIES + " entities and " + CLIENTS + " clients", 100, new int[]{1000});
+    }
+
+    @Override
+    public void setup() {
+        entitySystem = new ReplicationFixture();
+        cache = new EntityDeltaCache(entitySystem.getSerializer());
+        entities = Lists.newArrayList();
+        for (int i = 0; i < ENTITIES; ++i) {
+            entities.add(entitySystem.createEntity(new Vector3f(i, 0, 0)));
+        }
+        clientDirtyComponents = Lists.newArrayList();
+        for (int i = 0; i < CLIENTS; ++i) {
+            clientDirtyComponents.add(LinkedHashMultimap.create());
+        }
+    }
+
+    @Override
+    public void run() {
+        for (int netId = 0; netId < ENTITIES; ++netId) {
+            entitySystem.setPosition(entities.get(netId), new Vector3f(netId, ticks, 0));
+            for (SetMultimap<Integer, Class<? extends Component>> dirty : clientDirtyComponents) {
+                dirty.put(netId, LocationComponent.class);
+            }
+        }
+        for (int client = 0; client < CLIENTS; ++client) {
+            SetMultimap<Integer, Class<? extends Component>> dirty = clientDirtyComponents.get(client);
+            for (int netId = 0; netId < ENTITIES; ++netId) {
+                cache.getDelta(netId, entities.get(netId), client == 0, ImmutableSet.of(), dirty.get(netId), ImmutableSet.of());
+            }
+            dirty.clear();
+        }
+        cache.clear();
+        serializations += cache.getSerializationsSinceLastCall();
+        serializeTime += cache.getSerializeTimeSinceLastCall();
+        ticks++;
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        if (!aborted && ticks > 0) {
+            logger.info("{}: {} serializations and {} ms serializing per tick", getTitle(), serializations / ticks,
+                    String.format("%.3f", serializeTime / 1000000.0 / ticks));
+        }
+    }
+}
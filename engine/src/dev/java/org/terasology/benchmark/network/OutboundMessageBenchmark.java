@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.network;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import org.jboss.netty.handler.codec.compression.ZlibEncoder;
+import org.jboss.netty.handler.codec.embedder.EncoderEmbedder;
+import org.jboss.netty.handler.codec.frame.LengthFieldPrepender;
+import org.jboss.netty.handler.codec.protobuf.ProtobufEncoder;
+import org.jboss.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.network.internal.NetMessageWriter;
+import org.terasology.network.internal.ServerMessageEncoder;
+import org.terasology.protobuf.EntityData;
+import org.terasology.protobuf.NetData;
+import org.terasology.utilities.random.FastRandom;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Encodes one net tick of entity updates and events for many clients, as NetClient does, and reports the bytes
+ * allocated per tick. Either builds a NetMessage per client and sends it through the stock Netty encoders, or writes it
+ * with a per client {@link NetMessageWriter} through the {@link ServerMessageEncoder}.
+ *
+ */
+public class OutboundMessageBenchmark extends AbstractBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(OutboundMessageBenchmark.class);
+
+    private static final int CLIENTS = 64;
+    private static final int ENTITIES = 100;
+    private static final int EVENTS = 5;
+
+    private final boolean pooled;
+
+    private List<EntityData.PackedEntity> entityUpdates;
+    private List<NetData.EventMessage> events;
+    private List<EncoderEmbedder<Object>> channels;
+    private List<NetMessageWriter> writers;
+
+    private final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private long allocatedAtStart;
+    private long allocated;
+    private long ticks;
+    private long time;
+
+    public OutboundMessageBenchmark(boolean pooled) {
+        super("Outbound messages for " + CLIENTS + " clients, " + (pooled ? "written into reused buffers" : "built per tick"),
+                100, new int[]{1000});
+        this.pooled = pooled;
+    }
+
+    @Override
+    public void setup() {
+        FastRandom rand = new FastRandom(0L);
+        entityUpdates = Lists.newArrayList();
+        for (int i = 0; i < ENTITIES; ++i) {
+            entityUpdates.add(EntityData.PackedEntity.newBuilder()
+                    .addComponentId(3)
+                    .setComponentFieldCounts(ByteString.copyFrom(new byte[]{2}))
+                    .setFieldIds(ByteString.copyFrom(new byte[]{0, 1}))
+                    .addFieldValue(EntityData.Value.newBuilder().addFloat(rand.nextFloat()).addFloat(rand.nextFloat()).addFloat(rand.nextFloat()))
+                    .addFieldValue(EntityData.Value.newBuilder().addFloat(0).addFloat(rand.nextFloat()).addFloat(0).addFloat(1))
+                    .build());
+        }
+        events = Lists.newArrayList();
+        for (int i = 0; i < EVENTS; ++i) {
+            events.add(NetData.EventMessage.newBuilder()
+                    .setTargetId(i)
+                    .setEvent(EntityData.Event.newBuilder().setType(7).setFieldIds(ByteString.copyFrom(new byte[]{0}))
+                            .addFieldValue(EntityData.Value.newBuilder().addInteger(i)))
+                    .build());
+        }
+        channels = Lists.newArrayList();
+        writers = Lists.newArrayList();
+        for (int i = 0; i < CLIENTS; ++i) {
+            if (pooled) {
+                channels.add(new EncoderEmbedder<>(new ServerMessageEncoder()));
+                writers.add(new NetMessageWriter());
+            } else {
+                channels.add(new EncoderEmbedder<>(new LengthFieldPrepender(3), new ZlibEncoder(),
+                        new ProtobufVarint32LengthFieldPrepender(), new ProtobufEncoder()));
+            }
+        }
+    }
+
+    @Override
+    public void prerun() {
+        allocatedAtStart = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Override
+    public void run() {
+        time += 50;
+        for (int client = 0; client < CLIENTS; ++client) {
+            EncoderEmbedder<Object> channel = channels.get(client);
+            if (pooled) {
+                NetMessageWriter writer = writers.get(client);
+                writer.begin();
+                writer.setTime(time);
+                for (int netId = 0; netId < ENTITIES; ++netId) {
+                    writer.addUpdateEntity(netId, entityUpdates.get(netId));
+                }
+                events.forEach(writer::addEvent);
+                channel.offer(writer.finish());
+            } else {
+                NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder();
+                message.setTime(time);
+                for (int netId = 0; netId < ENTITIES; ++netId) {
+                    message.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setEntity(entityUpdates.get(netId)).setNetId(netId));
+                }
+                message.addAllEvent(events);
+                channel.offer(message.build());
+            }
+            channel.poll();
+        }
+        ticks++;
+    }
+
+    @Override
+    public void postrun() {
+        allocated += threadBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - allocatedAtStart;
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        if (!aborted && ticks > 0) {
+            logger.info("{}: {} KiB allocated per tick", getTitle(), allocated / 1024 / ticks);
+        }
+        channels.forEach(EncoderEmbedder::finish);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.network;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.network.internal.ReplicationBaseline;
+import org.terasology.network.serialization.ServerComponentFieldCheck;
+import org.terasology.protobuf.EntityData;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Filters one net tick of entity updates, for entities moving along one axis, through the {@link ReplicationBaseline}
+ * of each of many clients, and reports the bytes sent per tick with and without baselines.
+ *
+ */
+public class ReplicationBaselineBenchmark extends AbstractBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationBaselineBenchmark.class);
+
+    private static final int CLIENTS = 16;
+    private static final int ENTITIES = 100;
+
+    private static final Set<Class<? extends Component>> NONE = ImmutableSet.of();
+    private static final Set<Class<? extends Component>> LOCATION = ImmutableSet.of(LocationComponent.class);
+
+    private ReplicationFixture entitySystem;
+    private ServerComponentFieldCheck fieldCheck;
+    private List<EntityRef> entities;
+    private List<ReplicationBaseline> baselines;
+    private long fullBytes;
+    private long baselineBytes;
+    private int ticks;
+
+    public ReplicationBaselineBenchmark() {
+        super("Replication baselines for " + ENTITIES + " entities and " + CLIENTS + " clients", 100, new int[]{1000});
+    }
+
+    @Override
+    public void setup() {
+        entitySystem = new ReplicationFixture();
+        fieldCheck = new ServerComponentFieldCheck(false, false);
+        entities = Lists.newArrayList();
+        for (int i = 0; i < ENTITIES; ++i) {
+            entities.add(entitySystem.createEntity(new Vector3f(i, 0, 0)));
+        }
+        baselines = Lists.newArrayList();
+        for (int i = 0; i < CLIENTS; ++i) {
+            baselines.add(new ReplicationBaseline(entitySystem.getSerializer()));
+        }
+    }
+
+    @Override
+    public void run() {
+        for (int netId = 0; netId < ENTITIES; ++netId) {
+            EntityRef entity = entities.get(netId);
+            entitySystem.setPosition(entity, new Vector3f(netId, ticks, 0));
+            EntityData.PackedEntity update = entitySystem.getSerializer().serialize(entity, NONE, LOCATION, NONE, fieldCheck);
+            for (ReplicationBaseline baseline : baselines) {
+                fullBytes += update.getSerializedSize();
+                EntityData.PackedEntity filtered = baseline.filter(netId, update, NONE);
+                if (filtered != null) {
+                    baselineBytes += filtered.getSerializedSize();
+                }
+            }
+        }
+        ticks++;
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        if (!aborted && ticks > 0) {
+            logger.info("{}: {} bytes per tick in full, {} bytes per tick with baselines", getTitle(), fullBytes / ticks,
+                    baselineBytes / ticks);
+        }
+    }
+}
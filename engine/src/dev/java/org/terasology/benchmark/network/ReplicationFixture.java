@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.network;
+
+import com.google.common.collect.Maps;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.engine.SimpleUri;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.entitySystem.metadata.EntitySystemLibrary;
+import org.terasology.logic.common.DisplayNameComponent;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.network.NetworkComponent;
+import org.terasology.persistence.serializers.NetworkEntitySerializer;
+import org.terasology.persistence.typeHandling.TypeSerializationLibrary;
+import org.terasology.persistence.typeHandling.extensionTypes.EntityRefTypeHandler;
+import org.terasology.reflection.copy.CopyStrategyLibrary;
+import org.terasology.reflection.metadata.ClassMetadata;
+import org.terasology.reflection.metadata.FieldMetadata;
+import org.terasology.reflection.reflect.ReflectFactory;
+import org.terasology.reflection.reflect.ReflectionReflectFactory;
+
+import java.util.Map;
+
+/**
+ * An entity manager that knows only the components of networked entities, and a network serializer that identifies
+ * components and fields as the server does, so that entity replication can be benchmarked and tested without loading
+ * any modules.
+ *
+ */
+public final class ReplicationFixture {
+    private final PojoEntityManager entityManager;
+    private final NetworkEntitySerializer serializer;
+
+    public ReplicationFixture() {
+        ContextImpl context = new ContextImpl();
+        ReflectFactory reflectFactory = new ReflectionReflectFactory();
+        context.put(ReflectFactory.class, reflectFactory);
+        CopyStrategyLibrary copyStrategyLibrary = new CopyStrategyLibrary(reflectFactory);
+        context.put(CopyStrategyLibrary.class, copyStrategyLibrary);
+        TypeSerializationLibrary typeSerializationLibrary = TypeSerializationLibrary.createDefaultLibrary(reflectFactory, copyStrategyLibrary);
+        EntitySystemLibrary library = new EntitySystemLibrary(context, typeSerializationLibrary);
+        ComponentLibrary componentLibrary = library.getComponentLibrary();
+        componentLibrary.register(new SimpleUri("engine:network"), NetworkComponent.class);
+        componentLibrary.register(new SimpleUri("engine:location"), LocationComponent.class);
+        componentLibrary.register(new SimpleUri("engine:displayName"), DisplayNameComponent.class);
+
+        entityManager = new PojoEntityManager();
+        typeSerializationLibrary.add(EntityRef.class, new EntityRefTypeHandler(entityManager));
+        entityManager.setTypeSerializerLibrary(typeSerializationLibrary);
+        entityManager.setComponentLibrary(componentLibrary);
+
+        serializer = new NetworkEntitySerializer(entityManager, componentLibrary, typeSerializationLibrary);
+        Map<Class<? extends Component>, Integer> idMapping = Maps.newHashMap();
+        for (ClassMetadata<? extends Component, ?> metadata : componentLibrary) {
+            idMapping.put(metadata.getType(), idMapping.size());
+            byte fieldId = 0;
+            for (FieldMetadata<?, ?> field : metadata.getFields()) {
+                field.setId(fieldId++);
+            }
+        }
+        serializer.setIdMapping(idMapping);
+    }
+
+    public EngineEntityManager getEntityManager() {
+        return entityManager;
+    }
+
+    public NetworkEntitySerializer getSerializer() {
+        return serializer;
+    }
+
+    /**
+     * @return A new networked entity at the given position
+     */
+    public EntityRef createEntity(Vector3f position) {
+        return entityManager.create(new NetworkComponent(), new LocationComponent(position));
+    }
+
+    public void setPosition(EntityRef entity, Vector3f position) {
+        LocationComponent loc = entity.getComponent(LocationComponent.class);
+        loc.setWorldPosition(position);
+        entity.saveComponent(loc);
+    }
+
+    public void setScale(EntityRef entity, float scale) {
+        LocationComponent loc = entity.getComponent(LocationComponent.class);
+        loc.setWorldScale(scale);
+        entity.saveComponent(loc);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.network;
+
+import com.google.common.collect.Lists;
+import gnu.trove.list.array.TLongArrayList;
+import org.jboss.netty.bootstrap.ClientBootstrap;
+import org.jboss.netty.channel.ChannelFactory;
+import org.jboss.netty.channel.ChannelFuture;
+import org.jboss.netty.channel.ChannelPipeline;
+import org.jboss.netty.channel.socket.nio.NioClientSocketChannelFactory;
+import org.jboss.netty.handler.codec.compression.ZlibDecoder;
+import org.jboss.netty.handler.codec.frame.LengthFieldBasedFrameDecoder;
+import org.jboss.netty.handler.codec.protobuf.ProtobufDecoder;
+import org.jboss.netty.handler.codec.protobuf.ProtobufEncoder;
+import org.jboss.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
+import org.jboss.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.TerasologyConstants;
+import org.terasology.network.internal.MetricRecordingHandler;
+import org.terasology.network.internal.ServerMessageEncoder;
+import org.terasology.protobuf.NetData;
+import org.terasology.rendering.world.viewDistance.ViewDistance;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.jboss.netty.channel.Channels.pipeline;
+
+/**
+ * Connects a number of {@link SimulatedClient}s to a running server and reports how the server copes with them.
+ * <p>
+ * Usage: {@code ServerLoadGenerator [host] [port] [clients] [seconds]}, by default 16 clients against the default port on localhost for
+ * 60 seconds. Start a headless server first. The clients join one after another, then walk square paths in different
+ * directions so that the server keeps generating and sending new chunks.
+ * <p>
+ * Every report interval it prints, per client and on average, the bytes received from the server, and the server net
+ * tick interval and chunk delivery latency over that interval. The server does not send its frame time, but it stamps
+ * each net tick with its game time and runs at most one net tick per frame, so tick intervals above 50 ms mean the
+ * server is overloaded.
+ *
+ */
+public final class ServerLoadGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(ServerLoadGenerator.class);
+
+    private static final int TICK_MS = 50;
+    private static final int REPORT_INTERVAL_S = 10;
+    private static final long LEG_LENGTH_MS = 20000;
+    private static final long CONNECT_SPACING_MS = 200;
+
+    private ServerLoadGenerator() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : TerasologyConstants.DEFAULT_PORT;
+        int clientCount = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 60;
+
+        ChannelFactory factory = new NioClientSocketChannelFactory(Executors.newCachedThreadPool(), Executors.newCachedThreadPool());
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        List<SimulatedClient> clients = Lists.newArrayList();
+        List<MetricRecordingHandler> metrics = Lists.newArrayList();
+        long[] bytesReceived = new long[clientCount];
+
+        try {
+            for (int i = 0; i < clientCount; ++i) {
+                SimulatedClient client = new SimulatedClient("Bot" + i, ViewDistance.NEAR, 360f * i / clientCount, LEG_LENGTH_MS);
+                MetricRecordingHandler metricHandler = new MetricRecordingHandler();
+                ClientBootstrap bootstrap = new ClientBootstrap(factory);
+                bootstrap.setPipelineFactory(() -> createPipeline(metricHandler, client));
+                bootstrap.setOption("tcpNoDelay", true);
+                bootstrap.setOption("keepAlive", true);
+                ChannelFuture connectCheck = bootstrap.connect(new InetSocketAddress(host, port));
+                connectCheck.awaitUninterruptibly();
+                if (!connectCheck.isSuccess()) {
+                    logger.error("Failed to connect to {}:{}", host, port, connectCheck.getCause());
+                    return;
+                }
+                clients.add(client);
+                metrics.add(metricHandler);
+                Thread.sleep(CONNECT_SPACING_MS);
+            }
+
+            scheduler.scheduleAtFixedRate(() -> clients.forEach(SimulatedClient::tick), TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+
+            for (int elapsed = 0; elapsed < seconds; elapsed += REPORT_INTERVAL_S) {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(Math.min(REPORT_INTERVAL_S, seconds - elapsed)));
+                for (int i = 0; i < clients.size(); ++i) {
+                    bytesReceived[i] += metrics.get(i).getReceivedBytesSinceLastCall();
+                }
+                report(clients, bytesReceived, elapsed + Math.min(REPORT_INTERVAL_S, seconds - elapsed));
+            }
+        } finally {
+            scheduler.shutdownNow();
+            clients.forEach(SimulatedClient::disconnect);
+            factory.releaseExternalResources();
+        }
+    }
+
+    private static ChannelPipeline createPipeline(MetricRecordingHandler metricHandler, SimulatedClient client) {
+        ChannelPipeline p = pipeline();
+        p.addLast(MetricRecordingHandler.NAME, metricHandler);
+
+        p.addLast("lengthFrameDecoder", new LengthFieldBasedFrameDecoder(ServerMessageEncoder.MAX_FRAME_LENGTH, 0, 3, 0, 3));
+        p.addLast("inflateDecoder", new ZlibDecoder());
+        p.addLast("frameDecoder", new ProtobufVarint32FrameDecoder());
+        p.addLast("protobufDecoder", new ProtobufDecoder(NetData.NetMessage.getDefaultInstance()));
+
+        p.addLast("frameEncoder", new ProtobufVarint32LengthFieldPrepender());
+        p.addLast("protobufEncoder", new ProtobufEncoder());
+        p.addLast("handler", client);
+        return p;
+    }
+
+    private static void report(List<SimulatedClient> clients, long[] bytesReceived, int seconds) {
+        TLongArrayList allTickIntervals = new TLongArrayList();
+        TLongArrayList allLatencies = new TLongArrayList();
+        long totalBytes = 0;
+        int joined = 0;
+        logger.info("--- After {} s ---", seconds);
+        for (int i = 0; i < clients.size(); ++i) {
+            SimulatedClient client = clients.get(i);
+            long[] tickIntervals = client.getServerTickIntervalsSinceLastCall();
+            long[] latencies = client.getChunkLatenciesSinceLastCall();
+            allTickIntervals.add(tickIntervals);
+            allLatencies.add(latencies);
+            totalBytes += bytesReceived[i];
+            if (client.isJoined()) {
+                joined++;
+            }
+            logger.info("Client {}: {} KiB/s received, {} new chunks, chunk latency {}", i, bytesReceived[i] / 1024 / seconds,
+                    client.getReceivedChunkCountSinceLastCall(), describe(latencies));
+        }
+        logger.info("{} of {} clients joined, {} KiB/s received per client", joined, clients.size(),
+                clients.isEmpty() ? 0 : totalBytes / 1024 / seconds / clients.size());
+        logger.info("Server tick interval {}", describe(allTickIntervals.toArray()));
+        logger.info("Chunk delivery latency {}", describe(allLatencies.toArray()));
+    }
+
+    private static String describe(long[] values) {
+        if (values.length == 0) {
+            return "n/a";
+        }
+        long[] sorted = Arrays.copyOf(values, values.length);
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long value : sorted) {
+            total += value;
+        }
+        return String.format("avg %d ms, p95 %d ms, max %d ms", total / sorted.length,
+                sorted[Math.min(sorted.length - 1, sorted.length * 95 / 100)], sorted[sorted.length - 1]);
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.network;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.primitives.UnsignedBytes;
+import com.google.protobuf.ByteString;
+import gnu.trove.list.TLongList;
+import gnu.trove.list.array.TLongArrayList;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.ChannelStateEvent;
+import org.jboss.netty.channel.ExceptionEvent;
+import org.jboss.netty.channel.MessageEvent;
+import org.jboss.netty.channel.SimpleChannelUpstreamHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.identity.IdentityConstants;
+import org.terasology.identity.PublicIdentityCertificate;
+import org.terasology.math.ChunkMath;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.network.internal.EncodedChunkCache;
+import org.terasology.network.internal.NetMessageUtil;
+import org.terasology.protobuf.EntityData;
+import org.terasology.protobuf.NetData;
+import org.terasology.rendering.world.viewDistance.ViewDistance;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A headless client that speaks the network protocol directly, without an engine or entity system of its own.
+ * <p>
+ * It goes through the handshake as a new identity, joins, and then walks its character along a scripted square path by
+ * sending move input each tick. Events are encoded by hand using the serialization tables the server sends in its
+ * server info. Along the way it records the server tick interval (from the game time stamped on each net message) and
+ * how long each chunk took to arrive after first coming within view distance. Samples are handed out and cleared on each
+ * read, so a long run only holds what arrived since the last report.
+ *
+ */
+public class SimulatedClient extends SimpleChannelUpstreamHandler {
+    private static final Logger logger = LoggerFactory.getLogger(SimulatedClient.class);
+
+    private static final String CLIENT_COMPONENT = "engine:client";
+    private static final String LOCATION_COMPONENT = "engine:location";
+    private static final String MOVE_INPUT_EVENT = "engine:charactermoveinputevent";
+
+    /**
+     * The most samples of each kind kept between two reads, further samples are dropped until the next read
+     */
+    private static final int MAX_SAMPLES = 4096;
+
+    private final String name;
+    private final ViewDistance viewDistance;
+    private final float startYaw;
+    private final long legLength;
+
+    private volatile Channel channel;
+    private volatile boolean joined;
+    private int clientId = -1;
+
+    private byte[] serverRandom;
+    private PublicIdentityCertificate serverCertificate;
+
+    private int clientComponentId = -1;
+    private int characterFieldId = -1;
+    private int locationComponentId = -1;
+    private int positionFieldId = -1;
+    private int moveEventId = -1;
+    private Map<String, Byte> moveEventFields = Maps.newHashMap();
+
+    private volatile int characterId = -1;
+    private volatile Vector3f characterPosition;
+
+    private int sequenceNumber;
+    private long startTime;
+    private long lastInputTime;
+
+    private long lastServerTime = -1;
+    private final TLongList serverTickIntervals = new TLongArrayList();
+
+    private final Set<Vector3i> receivedChunks = Sets.newHashSet();
+    private final Map<Vector3i, Long> chunksAwaited = Maps.newHashMap();
+    private final TLongList chunkLatencies = new TLongArrayList();
+    private int receivedChunkCount;
+
+    /**
+     * @param name        The name to join with
+     * @param viewDistance The view distance to request
+     * @param startYaw    The direction of the first leg of the path, in degrees
+     * @param legLength   How long to walk each side of the square path, in ms
+     */
+    public SimulatedClient(String name, ViewDistance viewDistance, float startYaw, long legLength) {
+        this.name = name;
+        this.viewDistance = viewDistance;
+        this.startYaw = startYaw;
+        this.legLength = legLength;
+    }
+
+    public boolean isJoined() {
+        return joined;
+    }
+
+    @Override
+    public void channelConnected(ChannelHandlerContext ctx, ChannelStateEvent e) throws Exception {
+        channel = e.getChannel();
+        super.channelConnected(ctx, e);
+    }
+
+    @Override
+    public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) throws Exception {
+        NetData.NetMessage message = (NetData.NetMessage) e.getMessage();
+        if (message.hasHandshakeHello()) {
+            requestNewIdentity(message.getHandshakeHello());
+        } else if (message.hasProvisionIdentity()) {
+            // The certificate is not needed again, so there is no need to decrypt it
+            send(NetData.NetMessage.newBuilder().setServerInfoRequest(NetData.ServerInfoRequest.newBuilder()).build());
+        } else if (message.hasServerInfo()) {
+            readSerializationInfo(message.getServerInfo());
+            send(NetData.NetMessage.newBuilder().setJoin(NetData.JoinMessage.newBuilder()
+                    .setName(name)
+                    .setViewDistanceLevel(viewDistance.getIndex())
+                    .setColor(NetData.Color.newBuilder().setRgba(0xffffffff))).build());
+        } else if (message.hasJoinComplete()) {
+            synchronized (this) {
+                clientId = message.getJoinComplete().getClientId();
+                startTime = System.currentTimeMillis();
+                lastInputTime = startTime;
+            }
+            joined = true;
+            logger.info("{} joined as client {}", name, clientId);
+        }
+        if (joined) {
+            processGameMessage(message);
+        }
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, ExceptionEvent e) throws Exception {
+        logger.error("{} lost its connection", name, e.getCause());
+        e.getChannel().close();
+    }
+
+    /**
+     * Sends the move input for the time since the last call. Should be called once per client tick.
+     */
+    public void tick() {
+        if (!joined || characterId == -1 || moveEventId == -1) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long delta;
+        float yaw;
+        synchronized (this) {
+            delta = now - lastInputTime;
+            lastInputTime = now;
+            yaw = startYaw + 90 * ((now - startTime) / legLength);
+        }
+        double yawRad = Math.toRadians(yaw);
+        Vector3f direction = new Vector3f((float) -Math.sin(yawRad), 0, (float) -Math.cos(yawRad));
+
+        EntityData.Event.Builder event = EntityData.Event.newBuilder().setType(moveEventId);
+        ByteString.Output fieldIds = ByteString.newOutput();
+        addEventField(event, fieldIds, "delta", EntityData.Value.newBuilder().addLong(delta));
+        addEventField(event, fieldIds, "pitch", EntityData.Value.newBuilder().addFloat(0));
+        addEventField(event, fieldIds, "yaw", EntityData.Value.newBuilder().addFloat(yaw % 360));
+        addEventField(event, fieldIds, "running", EntityData.Value.newBuilder().addBoolean(true));
+        addEventField(event, fieldIds, "crouching", EntityData.Value.newBuilder().addBoolean(false));
+        addEventField(event, fieldIds, "jumpRequested", EntityData.Value.newBuilder().addBoolean(false));
+        addEventField(event, fieldIds, "movementDirection",
+                EntityData.Value.newBuilder().addFloat(direction.x).addFloat(direction.y).addFloat(direction.z));
+        addEventField(event, fieldIds, "sequenceNumber", EntityData.Value.newBuilder().addInteger(sequenceNumber++));
+        event.setFieldIds(fieldIds.toByteString());
+
+        send(NetData.NetMessage.newBuilder()
+                .setTime(now)
+                .addEvent(NetData.EventMessage.newBuilder().setTargetId(characterId).setEvent(event))
+                .build());
+    }
+
+    public void disconnect() {
+        if (channel != null && channel.isOpen()) {
+            channel.close().awaitUninterruptibly();
+        }
+    }
+
+    /**
+     * @return The intervals between consecutive net ticks of the server since the last call, in ms
+     */
+    public synchronized long[] getServerTickIntervalsSinceLastCall() {
+        long[] result = serverTickIntervals.toArray();
+        serverTickIntervals.clear();
+        return result;
+    }
+
+    /**
+     * @return For each chunk received since the last call, the time since it came within view distance of the character, in ms
+     */
+    public synchronized long[] getChunkLatenciesSinceLastCall() {
+        long[] result = chunkLatencies.toArray();
+        chunkLatencies.clear();
+        return result;
+    }
+
+    /**
+     * @return The number of chunks received since the last call
+     */
+    public synchronized int getReceivedChunkCountSinceLastCall() {
+        int result = receivedChunkCount;
+        receivedChunkCount = 0;
+        return result;
+    }
+
+    private void requestNewIdentity(NetData.HandshakeHello hello) {
+        serverRandom = hello.getRandom().toByteArray();
+        serverCertificate = NetMessageUtil.convert(hello.getCertificate());
+
+        SecureRandom random = new SecureRandom();
+        byte[] clientRandom = new byte[IdentityConstants.SERVER_CLIENT_RANDOM_LENGTH];
+        random.nextBytes(clientRandom);
+        byte[] preMasterSecret = new byte[IdentityConstants.PREMASTER_SECRET_LENGTH];
+        random.nextBytes(preMasterSecret);
+
+        send(NetData.NetMessage.newBuilder()
+                .setNewIdentityRequest(NetData.NewIdentityRequest.newBuilder()
+                        .setPreMasterSecret(ByteString.copyFrom(serverCertificate.encrypt(preMasterSecret)))
+                        .setRandom(ByteString.copyFrom(clientRandom)))
+                .build());
+    }
+
+    private void readSerializationInfo(NetData.ServerInfoMessage serverInfo) {
+        for (NetData.SerializationInfo info : serverInfo.getComponentList()) {
+            if (CLIENT_COMPONENT.equalsIgnoreCase(info.getName())) {
+                clientComponentId = info.getId();
+                characterFieldId = findFieldId(info, "character");
+            } else if (LOCATION_COMPONENT.equalsIgnoreCase(info.getName())) {
+                locationComponentId = info.getId();
+                positionFieldId = findFieldId(info, "position");
+            }
+        }
+        for (NetData.SerializationInfo info : serverInfo.getEventList()) {
+            if (MOVE_INPUT_EVENT.equalsIgnoreCase(info.getName())) {
+                moveEventId = info.getId();
+                for (int i = 0; i < info.getFieldNameCount(); ++i) {
+                    moveEventFields.put(info.getFieldName(i), info.getFieldIds().byteAt(i));
+                }
+            }
+        }
+        if (moveEventId == -1 || characterFieldId == -1) {
+            logger.error("{}: server does not replicate character movement, client will stand still", name);
+        }
+    }
+
+    private static int findFieldId(NetData.SerializationInfo info, String fieldName) {
+        for (int i = 0; i < info.getFieldNameCount(); ++i) {
+            if (fieldName.equalsIgnoreCase(info.getFieldName(i))) {
+                return UnsignedBytes.toInt(info.getFieldIds().byteAt(i));
+            }
+        }
+        return -1;
+    }
+
+    private void addEventField(EntityData.Event.Builder event, ByteString.Output fieldIds, String field, EntityData.Value.Builder value) {
+        Byte fieldId = moveEventFields.get(field);
+        if (fieldId != null) {
+            fieldIds.write(fieldId);
+            event.addFieldValue(value);
+        }
+    }
+
+    private synchronized void processGameMessage(NetData.NetMessage message) {
+        long now = System.currentTimeMillis();
+        if (message.hasTime() && !message.hasJoinComplete()) {
+            if (lastServerTime != -1 && serverTickIntervals.size() < MAX_SAMPLES) {
+                serverTickIntervals.add(message.getTime() - lastServerTime);
+            }
+            lastServerTime = message.getTime();
+        }
+
+        for (NetData.CreateEntityMessage create : message.getCreateEntityList()) {
+            processEntity((int) create.getEntity().getId(), create.getEntity());
+        }
+        for (NetData.UpdateEntityMessage update : message.getUpdateEntityList()) {
+            processEntity(update.getNetId(), update.getEntity());
+        }
+
+        for (EntityData.ChunkStore chunk : message.getChunkInfoList()) {
+            chunkReceived(new Vector3i(chunk.getX(), chunk.getY(), chunk.getZ()), now);
+        }
+        for (ByteString compressedChunk : message.getCompressedChunkInfoList()) {
+            try {
+                EntityData.ChunkStore chunk = EncodedChunkCache.decompress(compressedChunk);
+                chunkReceived(new Vector3i(chunk.getX(), chunk.getY(), chunk.getZ()), now);
+            } catch (IOException e) {
+                logger.error("{} received a corrupt chunk", name, e);
+            }
+        }
+        for (NetData.InvalidateChunkMessage invalidate : message.getInvalidateChunkList()) {
+            Vector3i pos = NetMessageUtil.convert(invalidate.getPos());
+            receivedChunks.remove(pos);
+            chunksAwaited.remove(pos);
+        }
+
+        if (characterPosition != null) {
+            awaitChunksInView(ChunkMath.calcChunkPos(characterPosition), now);
+        }
+    }
+
+    private void processEntity(int netId, EntityData.PackedEntity entity) {
+        if (netId == clientId) {
+            EntityData.Value character = findField(entity, clientComponentId, characterFieldId);
+            if (character != null && character.getIntegerCount() > 0) {
+                characterId = character.getInteger(0);
+            }
+        } else if (netId == characterId) {
+            EntityData.Value position = findField(entity, locationComponentId, positionFieldId);
+            if (position != null && position.getFloatCount() == 3) {
+                characterPosition = new Vector3f(position.getFloat(0), position.getFloat(1), position.getFloat(2));
+            }
+        }
+    }
+
+    private static EntityData.Value findField(EntityData.PackedEntity entity, int componentId, int fieldId) {
+        int fieldPos = 0;
+        for (int componentIndex = 0; componentIndex < entity.getComponentIdCount(); ++componentIndex) {
+            int fieldCount = UnsignedBytes.toInt(entity.getComponentFieldCounts().byteAt(componentIndex));
+            if (entity.getComponentId(componentIndex) == componentId) {
+                for (int i = fieldPos; i < fieldPos + fieldCount; ++i) {
+                    if (UnsignedBytes.toInt(entity.getFieldIds().byteAt(i)) == fieldId) {
+                        return entity.getFieldValue(i);
+                    }
+                }
+            }
+            fieldPos += fieldCount;
+        }
+        return null;
+    }
+
+    private void chunkReceived(Vector3i pos, long now) {
+        receivedChunks.add(pos);
+        receivedChunkCount++;
+        Long awaitedSince = chunksAwaited.remove(pos);
+        if (awaitedSince != null && chunkLatencies.size() < MAX_SAMPLES) {
+            chunkLatencies.add(now - awaitedSince);
+        }
+    }
+
+    private void awaitChunksInView(Vector3i center, long now) {
+        Vector3i extents = new Vector3i(viewDistance.getChunkDistance().x / 2, viewDistance.getChunkDistance().y / 2,
+                viewDistance.getChunkDistance().z / 2);
+        // Forget chunks that have fallen out of view, the server no longer keeps them relevant either
+        receivedChunks.removeIf(pos -> !inView(pos, center, extents));
+        chunksAwaited.keySet().removeIf(pos -> !inView(pos, center, extents));
+        for (int x = -extents.x; x <= extents.x; ++x) {
+            for (int y = -extents.y; y <= extents.y; ++y) {
+                for (int z = -extents.z; z <= extents.z; ++z) {
+                    Vector3i pos = new Vector3i(center.x + x, center.y + y, center.z + z);
+                    if (!receivedChunks.contains(pos) && !chunksAwaited.containsKey(pos)) {
+                        chunksAwaited.put(pos, now);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean inView(Vector3i pos, Vector3i center, Vector3i extents) {
+        return Math.abs(pos.x - center.x) <= extents.x && Math.abs(pos.y - center.y) <= extents.y
+                && Math.abs(pos.z - center.z) <= extents.z;
+    }
+
+    private void send(NetData.NetMessage message) {
+        if (channel != null && channel.isOpen()) {
+            channel.write(message);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.pathfinding;
+
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.logic.ai.pathfinding.PathSearch;
+import org.terasology.logic.ai.pathfinding.WalkabilityGraph;
+import org.terasology.math.TeraMath;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.utilities.procedural.BrownianNoise;
+import org.terasology.utilities.procedural.PerlinNoise;
+import org.terasology.utilities.random.FastRandom;
+import org.terasology.world.block.Block;
+import org.terasology.world.internal.WorldProviderCore;
+import org.terasology.world.internal.WorldProviderWrapper;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Searches for paths between random positions on a rolling terrain generated from Brownian Perlin noise, either
+ * directly block by block or first through the graph of connected chunks.
+ * <p>
+ * The walkability of every chunk is built in setup, so only the searches themselves are measured.
+ *
+ */
+public class TerrainPathSearchBenchmark extends AbstractBenchmark {
+
+    private static final int EXTENT = 256;
+    private static final int BASE_HEIGHT = 40;
+    private static final float HEIGHT_RANGE = 24;
+    private static final int QUERIES = 20;
+
+    private final boolean hierarchical;
+
+    private int[] heights;
+    private Vector3i[] starts;
+    private Vector3i[] goals;
+    private PathSearch search;
+
+    public TerrainPathSearchBenchmark(boolean hierarchical) {
+        super("Find " + QUERIES + " paths across " + EXTENT + "x" + EXTENT + " blocks of terrain, " + (hierarchical ? "hierarchical" : "flat"),
+                2, new int[]{10});
+        this.hierarchical = hierarchical;
+    }
+
+    @Override
+    public void setup() {
+        Block air = new Block();
+        air.setPenetrable(true);
+        Block stone = new Block();
+        BrownianNoise noise = new BrownianNoise(new PerlinNoise(4711), 4);
+        heights = new int[EXTENT * EXTENT];
+        for (int z = 0; z < EXTENT; z++) {
+            for (int x = 0; x < EXTENT; x++) {
+                heights[x + EXTENT * z] = BASE_HEIGHT + TeraMath.floorToInt(HEIGHT_RANGE * noise.noise(x * 0.01f, z * 0.01f));
+            }
+        }
+
+        WorldProviderCore terrain = (WorldProviderCore) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WorldProviderCore.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getBlock") && args.length == 3) {
+                        int x = (Integer) args[0];
+                        int z = (Integer) args[2];
+                        return (isInside(x, z) && (Integer) args[1] < heights[x + EXTENT * z]) ? stone : air;
+                    }
+                    if (method.getName().equals("isBlockRelevant") && args.length == 3) {
+                        return isInside((Integer) args[0], (Integer) args[2]);
+                    }
+                    return null;
+                });
+        WalkabilityGraph graph = new WalkabilityGraph(new WorldProviderWrapper(terrain));
+        for (int z = 0; z < EXTENT; z++) {
+            for (int x = 0; x < EXTENT; x++) {
+                graph.isWalkable(x, heights[x + EXTENT * z], z);
+            }
+        }
+        search = new PathSearch(graph, hierarchical);
+
+        FastRandom random = new FastRandom(0L);
+        starts = new Vector3i[QUERIES];
+        goals = new Vector3i[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            starts[i] = randomSurfacePosition(random);
+            goals[i] = randomSurfacePosition(random);
+        }
+    }
+
+    @Override
+    public void run() {
+        for (int i = 0; i < QUERIES; i++) {
+            search.findPath(starts[i], goals[i]);
+        }
+    }
+
+    private Vector3i randomSurfacePosition(FastRandom random) {
+        int x = random.nextInt(EXTENT);
+        int z = random.nextInt(EXTENT);
+        return new Vector3i(x, heights[x + EXTENT * z], z);
+    }
+
+    private static boolean isInside(int x, int z) {
+        return x >= 0 && x < EXTENT && z >= 0 && z < EXTENT;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.physics;
+
+import com.bulletphysics.collision.broadphase.DbvtBroadphase;
+import com.bulletphysics.collision.dispatch.CollisionDispatcher;
+import com.bulletphysics.collision.dispatch.CollisionFlags;
+import com.bulletphysics.collision.dispatch.CollisionObject;
+import com.bulletphysics.collision.dispatch.DefaultCollisionConfiguration;
+import com.bulletphysics.collision.shapes.BoxShape;
+import com.bulletphysics.collision.shapes.voxel.VoxelWorldShape;
+import com.bulletphysics.dynamics.DiscreteDynamicsWorld;
+import com.bulletphysics.dynamics.RigidBody;
+import com.bulletphysics.dynamics.RigidBodyConstructionInfo;
+import com.bulletphysics.dynamics.constraintsolver.SequentialImpulseConstraintSolver;
+import com.bulletphysics.linearmath.DefaultMotionState;
+import com.bulletphysics.linearmath.Transform;
+import com.google.common.collect.Lists;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.physics.engine.PhysicsWorldWrapper;
+import org.terasology.utilities.random.FastRandom;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.CoreChunk;
+import org.terasology.world.internal.WorldProviderCore;
+import org.terasology.world.internal.WorldProviderWrapper;
+
+import javax.vecmath.Matrix4f;
+import javax.vecmath.Quat4f;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * Steps a Bullet world in which many item sized boxes keep falling onto uneven terrain, dropping each again once it
+ * comes to rest. Either leaves the terrain uncached, so every voxel Bullet probes is looked up through the world
+ * provider, or caches the collision shapes of its chunks in the {@link PhysicsWorldWrapper}.
+ * <p>
+ * The terrain is served by a proxy behind a {@link WorldProviderWrapper}, so an uncached lookup costs a reflective
+ * call in place of the chunk lookup of the real world provider.
+ *
+ */
+public class FallingItemsBenchmark extends AbstractBenchmark {
+
+    private static final int ITEMS = 2000;
+    private static final int SPREAD = 48;
+    private static final int CHUNK_RANGE = 2;
+    private static final float STEP = 1f / 60f;
+
+    private final boolean cached;
+
+    private final Block air = new Block();
+    private final Block stone = new Block();
+    private PhysicsWorldWrapper wrapper;
+    private DiscreteDynamicsWorld dynamicsWorld;
+    private List<RigidBody> items;
+    private FastRandom random;
+
+    public FallingItemsBenchmark(boolean cached) {
+        super("Step " + ITEMS + " falling items, " + (cached ? "collision shapes cached per chunk" : "uncached"),
+                100, new int[]{1000});
+        this.cached = cached;
+    }
+
+    @Override
+    public void setup() {
+        stone.setTargetable(true);
+        stone.setPenetrable(false);
+        stone.setCollision(new Vector3f(), new BoxShape(new javax.vecmath.Vector3f(0.5f, 0.5f, 0.5f)));
+
+        WorldProviderCore terrain = (WorldProviderCore) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WorldProviderCore.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getBlock") && args.length == 3) {
+                        return getTerrain((Integer) args[0], (Integer) args[1], (Integer) args[2]);
+                    }
+                    return null;
+                });
+        wrapper = new PhysicsWorldWrapper(new WorldProviderWrapper(terrain));
+        if (cached) {
+            for (int x = -CHUNK_RANGE; x < CHUNK_RANGE; x++) {
+                for (int y = -1; y <= 0; y++) {
+                    for (int z = -CHUNK_RANGE; z < CHUNK_RANGE; z++) {
+                        wrapper.onChunkLoaded(createChunk(new Vector3i(x, y, z)));
+                    }
+                }
+            }
+        }
+
+        DefaultCollisionConfiguration configuration = new DefaultCollisionConfiguration();
+        dynamicsWorld = new DiscreteDynamicsWorld(new CollisionDispatcher(configuration), new DbvtBroadphase(),
+                new SequentialImpulseConstraintSolver(), configuration);
+        dynamicsWorld.setGravity(new javax.vecmath.Vector3f(0f, -15f, 0f));
+
+        RigidBody terrainBody = new RigidBody(new RigidBodyConstructionInfo(0, new DefaultMotionState(),
+                new VoxelWorldShape(wrapper), new javax.vecmath.Vector3f()));
+        terrainBody.setCollisionFlags(CollisionFlags.STATIC_OBJECT | terrainBody.getCollisionFlags());
+        dynamicsWorld.addRigidBody(terrainBody);
+
+        random = new FastRandom(0L);
+        BoxShape itemShape = new BoxShape(new javax.vecmath.Vector3f(0.125f, 0.125f, 0.125f));
+        javax.vecmath.Vector3f inertia = new javax.vecmath.Vector3f();
+        itemShape.calculateLocalInertia(1f, inertia);
+        items = Lists.newArrayList();
+        for (int i = 0; i < ITEMS; ++i) {
+            RigidBody item = new RigidBody(new RigidBodyConstructionInfo(1f, new DefaultMotionState(), itemShape, inertia));
+            drop(item);
+            dynamicsWorld.addRigidBody(item);
+            items.add(item);
+        }
+    }
+
+    @Override
+    public void run() {
+        dynamicsWorld.stepSimulation(STEP, 1, STEP);
+        for (RigidBody item : items) {
+            if (item.getActivationState() == CollisionObject.ISLAND_SLEEPING) {
+                drop(item);
+            }
+        }
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        dynamicsWorld.destroy();
+        wrapper.dispose();
+    }
+
+    private void drop(RigidBody item) {
+        Transform transform = new Transform(new Matrix4f(new Quat4f(0, 0, 0, 1),
+                new javax.vecmath.Vector3f(random.nextFloat(-SPREAD, SPREAD), random.nextFloat(12, 20), random.nextFloat(-SPREAD, SPREAD)), 1f));
+        item.setWorldTransform(transform);
+        item.getMotionState().setWorldTransform(transform);
+        item.setLinearVelocity(new javax.vecmath.Vector3f());
+        item.setAngularVelocity(new javax.vecmath.Vector3f());
+        item.forceActivationState(CollisionObject.ACTIVE_TAG);
+        item.setDeactivationTime(0);
+    }
+
+    private Block getTerrain(int x, int y, int z) {
+        int height = 4 + Math.floorMod(x * 7 + z * 3, 5);
+        return (y < height) ? stone : air;
+    }
+
+    private CoreChunk createChunk(Vector3i chunkPos) {
+        Vector3i offset = new Vector3i(chunkPos.x * ChunkConstants.SIZE_X, chunkPos.y * ChunkConstants.SIZE_Y, chunkPos.z * ChunkConstants.SIZE_Z);
+        return (CoreChunk) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{CoreChunk.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getPosition":
+                    return chunkPos;
+                case "getBlock":
+                    return getTerrain(offset.x + (Integer) args[0], offset.y + (Integer) args[1], offset.z + (Integer) args[2]);
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.physics;
+
+import com.bulletphysics.BulletGlobals;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.context.Context;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.engine.Time;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.entitySystem.event.internal.EventSystem;
+import org.terasology.logic.characters.AliveCharacterComponent;
+import org.terasology.logic.characters.CharacterMoveInputEvent;
+import org.terasology.logic.characters.CharacterMovementComponent;
+import org.terasology.logic.characters.KinematicCharacterMover;
+import org.terasology.logic.characters.ServerCharacterPredictionSystem;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.logic.players.LocalPlayer;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.network.NetworkSystem;
+import org.terasology.physics.engine.CharacterCollider;
+import org.terasology.physics.engine.PhysicsEngine;
+import org.terasology.physics.engine.SweepCallback;
+import org.terasology.registry.InjectionHelper;
+import org.terasology.world.WorldProvider;
+import org.terasology.world.block.Block;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Steps the movement input of many remote characters through the {@link ServerCharacterPredictionSystem}, as sent by
+ * clients running at about 60 frames a second to a server updating every 50 ms. The input queued for every character
+ * during a tick is stepped in one pass by the next update.
+ * <p>
+ * The characters run across flat ground, jumping now and then. They only collide with the ground, so the benchmark
+ * measures the system and the {@link KinematicCharacterMover} rather than a physics engine.
+ *
+ */
+public class ServerCharacterMovementBenchmark extends AbstractBenchmark {
+
+    private static final int TICK_MS = 50;
+    private static final int INPUT_MS = 16;
+    private static final int INPUTS_PER_TICK = TICK_MS / INPUT_MS;
+
+    private final int characterCount;
+
+    private final Block air = new Block();
+    private final Map<EntityRef, CharacterCollider> colliders = Maps.newHashMap();
+    private ServerCharacterPredictionSystem system;
+    private List<EntityRef> characters;
+    private long currentTime;
+    private int sequence;
+
+    public ServerCharacterMovementBenchmark(int characterCount) {
+        super("Step input of " + characterCount + " remote characters on the server", 100, new int[]{500});
+        this.characterCount = characterCount;
+    }
+
+    @Override
+    public void setup() {
+        currentTime = 0;
+        sequence = 0;
+        colliders.clear();
+
+        Context context = new ContextImpl();
+        context.put(Time.class, createProxy(Time.class, (method, args) -> {
+            if (method.equals("getGameTimeInMs")) {
+                return currentTime;
+            }
+            throw new UnsupportedOperationException(method);
+        }));
+        context.put(PhysicsEngine.class, createProxy(PhysicsEngine.class, (method, args) -> {
+            switch (method) {
+                case "getEpsilon":
+                    return BulletGlobals.SIMD_EPSILON;
+                case "getCharacterCollider":
+                    return colliders.computeIfAbsent((EntityRef) args[0], character -> new GroundCollider());
+                default:
+                    throw new UnsupportedOperationException(method);
+            }
+        }));
+        context.put(WorldProvider.class, createProxy(WorldProvider.class, (method, args) -> {
+            switch (method) {
+                case "isBlockRelevant":
+                    return true;
+                case "getBlock":
+                    return air;
+                case "getBiome":
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method);
+            }
+        }));
+        context.put(NetworkSystem.class, createProxy(NetworkSystem.class, (method, args) -> {
+            throw new UnsupportedOperationException(method);
+        }));
+        context.put(LocalPlayer.class, new LocalPlayer());
+
+        system = new ServerCharacterPredictionSystem();
+        InjectionHelper.inject(system, context);
+        system.initialise();
+
+        PojoEntityManager entityManager = new PojoEntityManager();
+        entityManager.setEventSystem(createProxy(EventSystem.class, (method, args) -> null));
+        characters = Lists.newArrayList();
+        for (int i = 0; i < characterCount; i++) {
+            EntityRef character = entityManager.create(new LocationComponent(new Vector3f(4 * (i % 32), 0, 4 * (i / 32))),
+                    new CharacterMovementComponent(), new AliveCharacterComponent());
+            system.onCreate(OnActivatedComponent.newInstance(), character);
+            characters.add(character);
+        }
+    }
+
+    @Override
+    public void run() {
+        currentTime += TICK_MS;
+        for (int i = 0; i < characters.size(); i++) {
+            float angle = 0.1f * i;
+            Vector3f direction = new Vector3f((float) Math.cos(angle), 0, (float) Math.sin(angle));
+            for (int j = 0; j < INPUTS_PER_TICK; j++) {
+                int inputSequence = sequence + j;
+                system.onPlayerInput(new CharacterMoveInputEvent(inputSequence, 0, 0, direction, true, inputSequence % 40 == 0, INPUT_MS),
+                        characters.get(i));
+            }
+        }
+        sequence += INPUTS_PER_TICK;
+        system.update(TICK_MS / 1000f);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T createProxy(Class<T> type, ProxyHandler handler) {
+        return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.invoke(method.getName(), args));
+    }
+
+    @FunctionalInterface
+    private interface ProxyHandler {
+        Object invoke(String method, Object[] args);
+    }
+
+    /**
+     * Collides characters with flat ground at a height of 0.
+     */
+    private static final class GroundCollider implements CharacterCollider {
+        private final Vector3f location = new Vector3f();
+
+        @Override
+        public boolean isPending() {
+            return false;
+        }
+
+        @Override
+        public Vector3f getLocation() {
+            return location;
+        }
+
+        @Override
+        public void setLocation(Vector3f loc) {
+            location.set(loc);
+        }
+
+        @Override
+        public SweepCallback sweep(Vector3f startPos, Vector3f endPos, float allowedPenetration, float slopeFactor) {
+            boolean hit = startPos.y >= 0 && endPos.y < 0;
+            float fraction = hit ? startPos.y / (startPos.y - endPos.y) : 1;
+            Vector3f hitPoint = new Vector3f(endPos);
+            hitPoint.sub(startPos);
+            hitPoint.scale(fraction);
+            hitPoint.add(startPos);
+            return new SweepCallback() {
+                @Override
+                public float calculateAverageSlope(float originalSlope, float checkingOffset) {
+                    return originalSlope;
+                }
+
+                @Override
+                public Vector3f getHitNormalWorld() {
+                    return new Vector3f(0, 1, 0);
+                }
+
+                @Override
+                public Vector3f getHitPointWorld() {
+                    return hitPoint;
+                }
+
+                @Override
+                public float getClosestHitFraction() {
+                    return fraction;
+                }
+
+                @Override
+                public boolean hasHit() {
+                    return hit;
+                }
+
+                @Override
+                public boolean checkForStep(Vector3f direction, float stepHeight, float slopeFactor, float checkForwardDistance) {
+                    return false;
+                }
+            };
+        }
+    }
+}
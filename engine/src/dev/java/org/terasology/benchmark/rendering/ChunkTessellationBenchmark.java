@@ -0,0 +1,359 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.rendering;
+
+import com.google.common.collect.Maps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.engine.subsystem.lwjgl.GLBufferPool;
+import org.terasology.math.Region3i;
+import org.terasology.math.Side;
+import org.terasology.math.TeraMath;
+import org.terasology.math.geom.Vector2f;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.rendering.primitives.BlockMeshGeneratorSingleShape;
+import org.terasology.rendering.primitives.ChunkMesh;
+import org.terasology.rendering.primitives.ChunkTessellator;
+import org.terasology.utilities.procedural.BrownianNoise;
+import org.terasology.utilities.procedural.PerlinNoise;
+import org.terasology.world.ChunkView;
+import org.terasology.world.biomes.Biome;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockAppearance;
+import org.terasology.world.block.BlockPart;
+import org.terasology.world.block.shapes.BlockMeshPart;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.liquid.LiquidData;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+/**
+ * Tessellates a chunk of rolling terrain generated from Brownian Perlin noise, either block by block or with greedy
+ * meshing and at a given level of detail, and reports the bytes allocated and the size of the mesh data per chunk mesh.
+ * <p>
+ * Each mesh is disposed right after it is generated, which hands its buffers back to the pool as uploading it would.
+ * The terrain is served by an array backed view, so only the tessellator and the block mesh generators allocate.
+ *
+ */
+public class ChunkTessellationBenchmark extends AbstractBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(ChunkTessellationBenchmark.class);
+
+    private static final float TILE_SIZE = 1 / 16f;
+    private static final int BASE_HEIGHT = 32;
+    private static final float HEIGHT_RANGE = 16;
+
+    private final boolean greedyMeshing;
+    private final int lod;
+
+    private ChunkTessellator tessellator;
+    private TerrainView view;
+
+    private final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private long allocatedAtStart;
+    private long allocated;
+    private long meshes;
+    private long meshesAtStart;
+    private long measuredMeshes;
+    private int meshBytes;
+
+    public ChunkTessellationBenchmark(boolean greedyMeshing, int lod) {
+        super("Tessellate a chunk of terrain, " + (greedyMeshing ? "greedy meshing" : "block by block") + ", level of detail " + lod,
+                20, new int[]{200});
+        this.greedyMeshing = greedyMeshing;
+        this.lod = lod;
+    }
+
+    @Override
+    public void setup() {
+        Block air = new Block();
+        air.setTranslucent(true);
+        air.setShadowCasting(false);
+        Block stone = createCubeBlock(new Vector2f(0, 0));
+        Block dirt = createCubeBlock(new Vector2f(TILE_SIZE, 0));
+        view = new TerrainView(air, stone, dirt, new BrownianNoise(new PerlinNoise(4711), 4));
+        tessellator = new ChunkTessellator(new GLBufferPool(false));
+        tessellator.setGreedyMeshing(greedyMeshing);
+    }
+
+    @Override
+    public void prerun() {
+        allocatedAtStart = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        meshesAtStart = meshes;
+    }
+
+    @Override
+    public void run() {
+        ChunkMesh mesh = tessellator.generateMesh(view, ChunkConstants.SIZE_Y, 0, lod);
+        meshBytes = mesh.getBufferedByteCount();
+        mesh.dispose();
+        meshes++;
+    }
+
+    @Override
+    public void postrun() {
+        allocated += threadBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - allocatedAtStart;
+        measuredMeshes += meshes - meshesAtStart;
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        tessellator.dispose();
+        if (!aborted && measuredMeshes > 0) {
+            logger.info("{}: {} KiB allocated per chunk mesh, {} KiB of mesh data", getTitle(), allocated / 1024 / measuredMeshes, meshBytes / 1024);
+        }
+    }
+
+    private static Block createCubeBlock(Vector2f atlasPos) {
+        Map<BlockPart, BlockMeshPart> parts = Maps.newEnumMap(BlockPart.class);
+        Map<BlockPart, Vector2f> atlasPositions = Maps.newEnumMap(BlockPart.class);
+        for (BlockPart part : BlockPart.values()) {
+            atlasPositions.put(part, atlasPos);
+        }
+        for (Side side : Side.values()) {
+            parts.put(BlockPart.fromSide(side), createFace(side).mapTexCoords(atlasPos, TILE_SIZE));
+        }
+        Block block = new Block();
+        block.setPrimaryAppearance(new BlockAppearance(parts, atlasPositions));
+        block.setMeshGenerator(new BlockMeshGeneratorSingleShape(block));
+        for (Side side : Side.values()) {
+            block.setFullSide(side, true);
+        }
+        return block;
+    }
+
+    /**
+     * @return A unit square on the given side of the block, covering a whole tile
+     */
+    private static BlockMeshPart createFace(Side side) {
+        Vector3i normal = side.getVector3i();
+        int normalAxis = (normal.x != 0) ? 0 : ((normal.y != 0) ? 1 : 2);
+        float[][] corners = {{-0.5f, -0.5f}, {0.5f, -0.5f}, {0.5f, 0.5f}, {-0.5f, 0.5f}};
+        Vector3f[] vertices = new Vector3f[corners.length];
+        Vector3f[] normals = new Vector3f[corners.length];
+        Vector2f[] texCoords = new Vector2f[corners.length];
+        for (int i = 0; i < corners.length; i++) {
+            float[] position = new float[3];
+            position[normalAxis] = 0.5f * (normal.x + normal.y + normal.z);
+            position[(normalAxis + 1) % 3] = corners[i][0];
+            position[(normalAxis + 2) % 3] = corners[i][1];
+            vertices[i] = new Vector3f(position[0], position[1], position[2]);
+            normals[i] = new Vector3f(normal.x, normal.y, normal.z);
+            texCoords[i] = new Vector2f(corners[i][0] + 0.5f, corners[i][1] + 0.5f);
+        }
+        return new BlockMeshPart(vertices, normals, texCoords, new int[]{0, 1, 2, 0, 2, 3});
+    }
+
+    /**
+     * The chunk at the origin and its horizontal neighbours, in chunk relative coordinates.
+     */
+    private static final class TerrainView implements ChunkView {
+        private static final int SIZE_X = 3 * ChunkConstants.SIZE_X;
+        private static final int SIZE_Z = 3 * ChunkConstants.SIZE_Z;
+
+        private final Block air;
+        private final Block[] blocks = new Block[SIZE_X * ChunkConstants.SIZE_Y * SIZE_Z];
+        private final int[] heights = new int[SIZE_X * SIZE_Z];
+        private final Biome biome = new Biome() {
+            @Override
+            public String getId() {
+                return "benchmark:plains";
+            }
+
+            @Override
+            public String getName() {
+                return "Plains";
+            }
+
+            @Override
+            public float getFog() {
+                return 0;
+            }
+
+            @Override
+            public float getHumidity() {
+                return 0.5f;
+            }
+
+            @Override
+            public float getTemperature() {
+                return 0.5f;
+            }
+        };
+
+        TerrainView(Block air, Block stone, Block dirt, BrownianNoise noise) {
+            this.air = air;
+            for (int z = 0; z < SIZE_Z; z++) {
+                for (int x = 0; x < SIZE_X; x++) {
+                    int height = BASE_HEIGHT + TeraMath.floorToInt(HEIGHT_RANGE * noise.noise(x * 0.02f, z * 0.02f));
+                    heights[x + SIZE_X * z] = height;
+                    for (int y = 0; y < height; y++) {
+                        blocks[index(x, y, z)] = (y < height - 3) ? stone : dirt;
+                    }
+                }
+            }
+        }
+
+        private static int index(int x, int y, int z) {
+            return x + SIZE_X * (z + SIZE_Z * y);
+        }
+
+        private static boolean isInside(int x, int y, int z) {
+            return x >= 0 && x < SIZE_X && y >= 0 && y < ChunkConstants.SIZE_Y && z >= 0 && z < SIZE_Z;
+        }
+
+        @Override
+        public Block getBlock(float x, float y, float z) {
+            return getBlock(TeraMath.floorToInt(x + 0.5f), TeraMath.floorToInt(y + 0.5f), TeraMath.floorToInt(z + 0.5f));
+        }
+
+        @Override
+        public Block getBlock(Vector3i pos) {
+            return getBlock(pos.x, pos.y, pos.z);
+        }
+
+        @Override
+        public Block getBlock(int x, int y, int z) {
+            int viewX = x + ChunkConstants.SIZE_X;
+            int viewZ = z + ChunkConstants.SIZE_Z;
+            if (!isInside(viewX, y, viewZ) || blocks[index(viewX, y, viewZ)] == null) {
+                return air;
+            }
+            return blocks[index(viewX, y, viewZ)];
+        }
+
+        @Override
+        public Biome getBiome(float x, float y, float z) {
+            return biome;
+        }
+
+        @Override
+        public Biome getBiome(Vector3i pos) {
+            return biome;
+        }
+
+        @Override
+        public Biome getBiome(int x, int y, int z) {
+            return biome;
+        }
+
+        @Override
+        public byte getSunlight(float x, float y, float z) {
+            return getSunlight(TeraMath.floorToInt(x + 0.5f), TeraMath.floorToInt(y + 0.5f), TeraMath.floorToInt(z + 0.5f));
+        }
+
+        @Override
+        public byte getSunlight(Vector3i pos) {
+            return getSunlight(pos.x, pos.y, pos.z);
+        }
+
+        @Override
+        public byte getSunlight(int x, int y, int z) {
+            int viewX = x + ChunkConstants.SIZE_X;
+            int viewZ = z + ChunkConstants.SIZE_Z;
+            if (!isInside(viewX, y, viewZ) || y >= heights[viewX + SIZE_X * viewZ]) {
+                return ChunkConstants.MAX_SUNLIGHT;
+            }
+            return 0;
+        }
+
+        @Override
+        public byte getLight(float x, float y, float z) {
+            return 0;
+        }
+
+        @Override
+        public byte getLight(Vector3i pos) {
+            return 0;
+        }
+
+        @Override
+        public byte getLight(int x, int y, int z) {
+            return 0;
+        }
+
+        @Override
+        public void setBlock(Vector3i pos, Block type) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setBlock(int x, int y, int z, Block type) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setBiome(Vector3i pos, Biome newBiome) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setBiome(int x, int y, int z, Biome newBiome) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public LiquidData getLiquid(Vector3i pos) {
+            return new LiquidData();
+        }
+
+        @Override
+        public LiquidData getLiquid(int x, int y, int z) {
+            return new LiquidData();
+        }
+
+        @Override
+        public void setLiquid(Vector3i pos, LiquidData newState) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setLiquid(int x, int y, int z, LiquidData newState) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Vector3i toWorldPos(Vector3i localPos) {
+            return new Vector3i(localPos);
+        }
+
+        @Override
+        public Region3i getWorldRegion() {
+            return Region3i.createFromMinAndSize(new Vector3i(-ChunkConstants.SIZE_X, 0, -ChunkConstants.SIZE_Z),
+                    new Vector3i(SIZE_X, ChunkConstants.SIZE_Y, SIZE_Z));
+        }
+
+        @Override
+        public Region3i getChunkRegion() {
+            return Region3i.createFromMinAndSize(new Vector3i(-1, 0, -1), new Vector3i(3, 1, 3));
+        }
+
+        @Override
+        public void setDirtyAround(Vector3i blockPos) {
+        }
+
+        @Override
+        public void setDirtyAround(Region3i blockRegion) {
+        }
+
+        @Override
+        public boolean isValidView() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.rendering;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.math.AABB;
+import org.terasology.math.MatrixUtils;
+import org.terasology.math.geom.Matrix4f;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.rendering.cameras.ViewFrustum;
+import org.terasology.rendering.world.ChunkRegionCuller;
+import org.terasology.rendering.world.viewDistance.ViewDistance;
+import org.terasology.world.chunks.ChunkConstants;
+
+/**
+ * Culls the chunks of the mega view distance against a player, a shadow map and a reflection frustum, as queueing the
+ * visible chunks does once per frame, either chunk by chunk or region by region. The player turns a little every frame.
+ * <p>
+ * Reports the frustum tests needed per frame, next to the chunks found visible so both ways can be checked to agree.
+ *
+ */
+public class FrustumCullingBenchmark extends AbstractBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(FrustumCullingBenchmark.class);
+
+    private static final float TURN_PER_FRAME = 0.01f;
+    private static final int ALL_FRUSTUMS = 7;
+
+    private final boolean useRegions;
+
+    private Vector3i[] chunkPositions;
+    private AABB[] chunkBounds;
+    private ChunkRegionCuller culler;
+    private final Vector3f viewPosition = new Vector3f(10, 40, 10);
+    private final ViewFrustum playerFrustum = new ViewFrustum();
+    private final ViewFrustum shadowFrustum = new ViewFrustum();
+    private final ViewFrustum reflectionFrustum = new ViewFrustum();
+    private Matrix4f perspective;
+
+    private float angle;
+    private long frames;
+    private long frustumTests;
+    private long visibleChunks;
+
+    public FrustumCullingBenchmark(boolean useRegions) {
+        super("Frustum cull the mega view distance, " + (useRegions ? "region by region" : "chunk by chunk"), 200, new int[]{2000});
+        this.useRegions = useRegions;
+    }
+
+    @Override
+    public void setup() {
+        Vector3i size = ViewDistance.MEGA.getChunkDistance();
+        chunkPositions = new Vector3i[size.x * size.y * size.z];
+        chunkBounds = new AABB[chunkPositions.length];
+        culler = new ChunkRegionCuller(3);
+        int index = 0;
+        for (int x = -size.x / 2; x <= size.x / 2; x++) {
+            for (int y = -size.y / 2; y <= size.y / 2; y++) {
+                for (int z = -size.z / 2; z <= size.z / 2; z++) {
+                    Vector3i chunkPos = new Vector3i(x, y, z);
+                    Vector3f min = new Vector3f(x * ChunkConstants.SIZE_X, y * ChunkConstants.SIZE_Y, z * ChunkConstants.SIZE_Z);
+                    Vector3f max = new Vector3f(min);
+                    max.add(ChunkConstants.CHUNK_SIZE.toVector3f());
+                    chunkPositions[index] = chunkPos;
+                    chunkBounds[index] = AABB.createMinMax(min, max);
+                    culler.add(chunkPos, chunkBounds[index]);
+                    index++;
+                }
+            }
+        }
+
+        perspective = MatrixUtils.createPerspectiveProjectionMatrix((float) Math.toRadians(60), 16 / 9f, 0.1f, 5000f);
+        Matrix4f sunView = MatrixUtils.createViewMatrix(new Vector3f(), new Vector3f(0.3f, -1, 0.2f), new Vector3f(0, 1, 0));
+        Matrix4f sunProjection = MatrixUtils.createOrthogonalProjectionMatrix(-250, 250, 250, -250, -1000, 1000);
+        shadowFrustum.updateFrustum(MatrixUtils.matrixToFloatBuffer(sunView), MatrixUtils.matrixToFloatBuffer(sunProjection));
+    }
+
+    @Override
+    public void run() {
+        angle += TURN_PER_FRAME;
+        float dirX = (float) Math.cos(angle);
+        float dirZ = (float) Math.sin(angle);
+        Matrix4f view = MatrixUtils.createViewMatrix(new Vector3f(), new Vector3f(dirX, -0.2f, dirZ), new Vector3f(0, 1, 0));
+        Matrix4f reflectedView = MatrixUtils.createViewMatrix(new Vector3f(), new Vector3f(dirX, 0.2f, dirZ), new Vector3f(0, 1, 0));
+        playerFrustum.updateFrustum(MatrixUtils.matrixToFloatBuffer(view), MatrixUtils.matrixToFloatBuffer(perspective));
+        reflectionFrustum.updateFrustum(MatrixUtils.matrixToFloatBuffer(reflectedView), MatrixUtils.matrixToFloatBuffer(perspective));
+
+        if (useRegions) {
+            culler.beginCulling(viewPosition, playerFrustum, shadowFrustum, reflectionFrustum);
+            for (int i = 0; i < chunkPositions.length; i++) {
+                visibleChunks += Integer.bitCount(culler.getVisibleFrustums(chunkPositions[i], chunkBounds[i], ALL_FRUSTUMS));
+            }
+            frustumTests += culler.getRegionTests() + culler.getChunkTests();
+        } else {
+            for (AABB bounds : chunkBounds) {
+                visibleChunks += countVisible(playerFrustum, bounds) + countVisible(shadowFrustum, bounds) + countVisible(reflectionFrustum, bounds);
+            }
+            frustumTests += 3 * chunkBounds.length;
+        }
+        frames++;
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        if (!aborted && frames > 0) {
+            logger.info("{}: {} frustum tests and {} visible chunks per frame", getTitle(), frustumTests / frames, visibleChunks / frames);
+        }
+    }
+
+    private int countVisible(ViewFrustum frustum, AABB bounds) {
+        return frustum.intersects(bounds, viewPosition) ? 1 : 0;
+    }
+}
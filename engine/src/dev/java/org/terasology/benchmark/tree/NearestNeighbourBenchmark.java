@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.tree;
+
+import com.google.common.collect.Lists;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.utilities.random.FastRandom;
+import org.terasology.utilities.tree.SpaceTree;
+
+import java.util.List;
+
+/**
+ * Finds the 10 nearest of a number of points scattered through a cube to each of a batch of query positions, either
+ * with a bulk loaded {@link SpaceTree} or by checking every point.
+ *
+ */
+public class NearestNeighbourBenchmark extends AbstractBenchmark {
+
+    private static final int QUERIES = 1000;
+    private static final int COUNT = 10;
+    private static final float EXTENT = 1000;
+
+    private final int points;
+    private final boolean bruteForce;
+
+    private float[] positions;
+    private float[] queries;
+    private SpaceTree<Integer> tree;
+    private SpaceTree.Nearest<Integer> nearest;
+    private int[] bestIndices;
+    private float[] bestDistances;
+
+    public NearestNeighbourBenchmark(int points, boolean bruteForce) {
+        super("Find " + COUNT + " nearest of " + points + " points, " + (bruteForce ? "brute force" : "space tree"),
+                bruteForce && points >= 1000000 ? 1 : 10, new int[]{bruteForce && points >= 1000000 ? 5 : 50});
+        this.points = points;
+        this.bruteForce = bruteForce;
+    }
+
+    @Override
+    public void setup() {
+        FastRandom random = new FastRandom(4711);
+        positions = new float[points * 3];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = random.nextFloat(-EXTENT, EXTENT);
+        }
+        queries = new float[QUERIES * 3];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = random.nextFloat(-EXTENT, EXTENT);
+        }
+
+        if (bruteForce) {
+            bestIndices = new int[COUNT];
+            bestDistances = new float[COUNT];
+        } else {
+            List<Integer> values = Lists.newArrayListWithCapacity(points);
+            for (int i = 0; i < points; i++) {
+                values.add(i);
+            }
+            tree = new SpaceTree<>(3);
+            tree.addAll(positions, values);
+            nearest = new SpaceTree.Nearest<>();
+        }
+    }
+
+    @Override
+    public void run() {
+        float[] position = new float[3];
+        for (int query = 0; query < QUERIES; query++) {
+            System.arraycopy(queries, query * 3, position, 0, 3);
+            if (bruteForce) {
+                findNearestByBruteForce(position);
+            } else {
+                tree.findNearest(position, COUNT, Float.MAX_VALUE, nearest);
+            }
+        }
+    }
+
+    private void findNearestByBruteForce(float[] position) {
+        int found = 0;
+        for (int i = 0; i < points; i++) {
+            float dx = positions[i * 3] - position[0];
+            float dy = positions[i * 3 + 1] - position[1];
+            float dz = positions[i * 3 + 2] - position[2];
+            float distance = dx * dx + dy * dy + dz * dz;
+            if (found == COUNT && distance >= bestDistances[COUNT - 1]) {
+                continue;
+            }
+            int index = (found == COUNT) ? COUNT - 1 : found++;
+            while (index > 0 && bestDistances[index - 1] > distance) {
+                bestIndices[index] = bestIndices[index - 1];
+                bestDistances[index] = bestDistances[index - 1];
+                index--;
+            }
+            bestIndices[index] = i;
+            bestDistances[index] = distance;
+        }
+    }
+}
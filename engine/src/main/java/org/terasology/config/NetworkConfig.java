@@ -44,6 +44,11 @@ public class NetworkConfig {
      */
     private String serverMOTD;
 
+    /**
+     * Whether chunks are deflated once on the server and shared between all clients that receive them
+     */
+    private boolean precompressChunks;
+
     /**
      * The master server URL
      */
@@ -69,6 +74,14 @@ public void setServerPort(int serverPort) {
         this.serverPort = serverPort;
     }
 
+    public boolean isPrecompressChunks() {
+        return precompressChunks;
+    }
+
+    public void setPrecompressChunks(boolean precompressChunks) {
+        this.precompressChunks = precompressChunks;
+    }
+
     public String getServerMOTD() {
         return serverMOTD;
     }
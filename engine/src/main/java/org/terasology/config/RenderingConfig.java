@@ -72,6 +72,8 @@ public class RenderingConfig extends AbstractSubscribable {
     public static final String FRAME_LIMIT = "FrameLimit";
     public static final String FBO_SCALE = "FboScale";
     public static final String CLAMP_LIGHTING = "ClampLighting";
+    public static final String GREEDY_MESHING = "GreedyMeshing";
+    public static final String CHUNK_LOD_DISTANCE = "ChunkLodDistance";
     public static final String SCREENSHOT_SIZE = "screenshotSize";
     public static final String SCREENSHOT_FORMAT = "ScreenshotFormat";
     public static final String DUMP_SHADERS = "DumpShaders";
@@ -118,6 +120,8 @@ public class RenderingConfig extends AbstractSubscribable {
     private boolean localReflections;
     private boolean vSync;
     private boolean clampLighting;
+    private boolean greedyMeshing;
+    private int chunkLodDistance;
     private int fboScale;
     private boolean dumpShaders;
     private boolean volumetricFog;
@@ -607,6 +611,29 @@ public void setClampLighting(boolean clampLighting) {
         propertyChangeSupport.firePropertyChange(CLAMP_LIGHTING, oldValue, this.clampLighting);
     }
 
+    public boolean isGreedyMeshing() {
+        return greedyMeshing;
+    }
+
+    public void setGreedyMeshing(boolean greedyMeshing) {
+        boolean oldValue = this.greedyMeshing;
+        this.greedyMeshing = greedyMeshing;
+        propertyChangeSupport.firePropertyChange(GREEDY_MESHING, oldValue, this.greedyMeshing);
+    }
+
+    /**
+     * @return The distance in chunks beyond which chunks are meshed at a lower level of detail, zero if they never are
+     */
+    public int getChunkLodDistance() {
+        return chunkLodDistance;
+    }
+
+    public void setChunkLodDistance(int chunkLodDistance) {
+        int oldValue = this.chunkLodDistance;
+        this.chunkLodDistance = chunkLodDistance;
+        propertyChangeSupport.firePropertyChange(CHUNK_LOD_DISTANCE, oldValue, this.chunkLodDistance);
+    }
+
     public ScreenshotSize getScreenshotSize() {
         return screenshotSize;
     }
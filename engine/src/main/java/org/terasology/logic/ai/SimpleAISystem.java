@@ -23,21 +23,26 @@
 import org.terasology.entitySystem.systems.RegisterMode;
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.logic.characters.CharacterComponent;
 import org.terasology.logic.characters.CharacterMoveInputEvent;
 import org.terasology.logic.characters.CharacterMovementComponent;
 import org.terasology.logic.characters.events.HorizontalCollisionEvent;
+import org.terasology.logic.location.EntitySpatialIndex;
 import org.terasology.logic.location.LocationComponent;
-import org.terasology.logic.players.LocalPlayer;
 import org.terasology.math.geom.Vector3f;
+import org.terasology.network.ClientComponent;
 import org.terasology.registry.In;
 import org.terasology.utilities.random.FastRandom;
 import org.terasology.utilities.random.Random;
 import org.terasology.world.WorldProvider;
 
+import java.util.List;
+
 /**
  */
 @RegisterSystem(RegisterMode.AUTHORITY)
 public class SimpleAISystem extends BaseComponentSystem implements UpdateSubscriberSystem {
+    private static final float MAX_PLAYER_DISTANCE = 4;
 
     @In
     private WorldProvider worldProvider;
@@ -47,7 +52,7 @@ public class SimpleAISystem extends BaseComponentSystem implements UpdateSubscri
     @In
     private Time time;
     @In
-    private LocalPlayer localPlayer;
+    private EntitySpatialIndex spatialIndex;
 
     @Override
     public void update(float delta) {
@@ -62,40 +67,45 @@ public void update(float delta) {
             SimpleAIComponent ai = entity.getComponent(SimpleAIComponent.class);
 
             Vector3f drive = new Vector3f();
-            // TODO: shouldn't use local player, need some way to find nearest player
-            if (localPlayer != null) {
-                Vector3f dist = new Vector3f(worldPos);
-                dist.sub(localPlayer.getPosition());
-                double distanceToPlayer = dist.lengthSquared();
+            EntityRef player = findNearestPlayer(worldPos);
+            Vector3f playerPos = player.exists() ? player.getComponent(LocationComponent.class).getWorldPosition() : null;
+            double distanceToPlayer = (playerPos != null) ? playerPos.distanceSquared(worldPos) : Double.MAX_VALUE;
 
-                if (distanceToPlayer > 6 && distanceToPlayer < 16) {
-                    // Head to player
-                    ai.movementTarget.set(localPlayer.getPosition());
-                    ai.followingPlayer = true;
+            if (distanceToPlayer > 6 && distanceToPlayer < 16) {
+                // Head to player
+                ai.movementTarget.set(playerPos);
+                ai.followingPlayer = true;
+                entity.saveComponent(ai);
+            } else {
+                // Random walk
+                if (time.getGameTimeInMs() - ai.lastChangeOfDirectionAt > 12000 || ai.followingPlayer) {
+                    ai.movementTarget.set(worldPos.x + random.nextFloat(-500.0f, 500.0f), worldPos.y, worldPos.z + random.nextFloat(-500.0f, 500.0f));
+                    ai.lastChangeOfDirectionAt = time.getGameTimeInMs();
+                    ai.followingPlayer = false;
                     entity.saveComponent(ai);
-                } else {
-                    // Random walk
-                    if (time.getGameTimeInMs() - ai.lastChangeOfDirectionAt > 12000 || ai.followingPlayer) {
-                        ai.movementTarget.set(worldPos.x + random.nextFloat(-500.0f, 500.0f), worldPos.y, worldPos.z + random.nextFloat(-500.0f, 500.0f));
-                        ai.lastChangeOfDirectionAt = time.getGameTimeInMs();
-                        ai.followingPlayer = false;
-                        entity.saveComponent(ai);
-                    }
                 }
+            }
 
-                Vector3f targetDirection = new Vector3f();
-                targetDirection.sub(ai.movementTarget, worldPos);
-                targetDirection.normalize();
-                drive.set(targetDirection);
+            Vector3f targetDirection = new Vector3f();
+            targetDirection.sub(ai.movementTarget, worldPos);
+            targetDirection.normalize();
+            drive.set(targetDirection);
 
-                float yaw = (float) Math.atan2(targetDirection.x, targetDirection.z);
-                location.getLocalRotation().set(new Vector3f(0, 1, 0), yaw);
-                entity.saveComponent(location);
-            }
+            float yaw = (float) Math.atan2(targetDirection.x, targetDirection.z);
+            location.getLocalRotation().set(new Vector3f(0, 1, 0), yaw);
+            entity.saveComponent(location);
             entity.send(new CharacterMoveInputEvent(0, 0, 0, drive, false, false, time.getGameDeltaInMs()));
         }
     }
 
+    private EntityRef findNearestPlayer(Vector3f position) {
+        List<EntityRef> players = spatialIndex.getNearest(position, 1, MAX_PLAYER_DISTANCE, entity -> {
+            CharacterComponent character = entity.getComponent(CharacterComponent.class);
+            return character != null && character.controller.hasComponent(ClientComponent.class);
+        });
+        return players.isEmpty() ? EntityRef.NULL : players.get(0);
+    }
+
     @ReceiveEvent(components = {SimpleAIComponent.class})
     public void onBump(HorizontalCollisionEvent event, EntityRef entity) {
         CharacterMovementComponent moveComp = entity.getComponent(CharacterMovementComponent.class);
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.ai.pathfinding;
+
+import com.google.common.collect.ImmutableList;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.List;
+
+/**
+ * A walkable route between two positions, as found by a {@link Pathfinder}. Each waypoint is the position of the block
+ * a character occupies, directly above the block it stands on, and consecutive waypoints are neighbours.
+ *
+ */
+public final class Path {
+    /**
+     * The result of a search that found no path.
+     */
+    public static final Path NONE = new Path(ImmutableList.of());
+
+    private final List<Vector3i> waypoints;
+
+    Path(List<Vector3i> waypoints) {
+        this.waypoints = ImmutableList.copyOf(waypoints);
+    }
+
+    /**
+     * @return Whether a path was found
+     */
+    public boolean isFound() {
+        return !waypoints.isEmpty();
+    }
+
+    /**
+     * @return The waypoints from start to goal, both included. These are shared, so must not be modified.
+     */
+    public List<Vector3i> getWaypoints() {
+        return waypoints;
+    }
+
+    public int size() {
+        return waypoints.size();
+    }
+
+    @Override
+    public String toString() {
+        return "Path" + waypoints;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.ai.pathfinding;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.terasology.math.ChunkMath;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The most recently used search results, each kept until a block changes in a chunk it depends on. A found path depends
+ * on the chunks it passes through, while a missing path depends on every chunk the search looked at, as a change to
+ * any of them could open one up.
+ * <p>
+ * The results are indexed by chunk, so a change only visits the results that depend on the changed chunk.
+ *
+ */
+class PathCache {
+    private final int capacity;
+    private final Map<Query, Entry> entries;
+    private final Map<Vector3i, Set<Query>> queriesByChunk = Maps.newHashMap();
+
+    PathCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<Query, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Query, Entry> eldest) {
+                if (size() > PathCache.this.capacity) {
+                    unindex(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return The cached result from start to goal, which may be {@link Path#NONE}, or null if there is none
+     */
+    public synchronized Path get(Vector3i start, Vector3i goal) {
+        Entry entry = entries.get(new Query(start, goal));
+        return (entry != null) ? entry.path : null;
+    }
+
+    /**
+     * @param start
+     * @param goal
+     * @param path           The result of the search
+     * @param searchedChunks The positions of the chunks the search looked at, see
+     *                       {@link PathSearch#findPath(Vector3i, Vector3i, Set)}
+     */
+    public synchronized void put(Vector3i start, Vector3i goal, Path path, Collection<Vector3i> searchedChunks) {
+        Set<Vector3i> chunks;
+        if (path.isFound()) {
+            chunks = Sets.newHashSet();
+            for (Vector3i waypoint : path.getWaypoints()) {
+                // Paths also depend on the blocks below and above each waypoint
+                chunks.add(ChunkMath.calcChunkPos(waypoint.x, waypoint.y - 1, waypoint.z));
+                chunks.add(ChunkMath.calcChunkPos(waypoint.x, waypoint.y + 1, waypoint.z));
+            }
+        } else {
+            chunks = Sets.newHashSet(searchedChunks);
+        }
+        Query query = new Query(start, goal);
+        Entry previous = entries.remove(query);
+        if (previous != null) {
+            unindex(query, previous);
+        }
+        for (Vector3i chunkPos : chunks) {
+            Set<Query> queries = queriesByChunk.get(chunkPos);
+            if (queries == null) {
+                queries = Sets.newHashSet();
+                queriesByChunk.put(chunkPos, queries);
+            }
+            queries.add(query);
+        }
+        entries.put(query, new Entry(path, chunks));
+    }
+
+    /**
+     * Removes the results depending on a chunk.
+     *
+     * @param chunkPos
+     */
+    public synchronized void invalidate(Vector3i chunkPos) {
+        Set<Query> queries = queriesByChunk.remove(chunkPos);
+        if (queries == null) {
+            return;
+        }
+        for (Query query : queries) {
+            Entry entry = entries.remove(query);
+            if (entry != null) {
+                unindex(query, entry);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        queriesByChunk.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void unindex(Query query, Entry entry) {
+        for (Vector3i chunkPos : entry.chunks) {
+            Set<Query> queries = queriesByChunk.get(chunkPos);
+            if (queries != null) {
+                queries.remove(query);
+                if (queries.isEmpty()) {
+                    queriesByChunk.remove(chunkPos);
+                }
+            }
+        }
+    }
+
+    private static final class Query {
+        private final Vector3i start;
+        private final Vector3i goal;
+
+        Query(Vector3i start, Vector3i goal) {
+            this.start = new Vector3i(start);
+            this.goal = new Vector3i(goal);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj instanceof Query) {
+                Query other = (Query) obj;
+                return start.equals(other.start) && goal.equals(other.goal);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * start.hashCode() + goal.hashCode();
+        }
+    }
+
+    private static final class Entry {
+        private final Path path;
+        private final Set<Vector3i> chunks;
+
+        Entry(Path path, Set<Vector3i> chunks) {
+            this.path = path;
+            this.chunks = chunks;
+        }
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.ai.pathfinding;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import org.terasology.math.ChunkMath;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Searches a {@link WalkabilityGraph} for paths with A*.
+ * <p>
+ * When hierarchical, a search between positions several chunks apart first finds a route through the chunk graph, in
+ * which neighbouring chunks are connected if both have walkable positions on their shared faces. Only the chunks along
+ * that route and their neighbours are then searched block by block. As every real path crosses connected faces, no
+ * path exists if no route does.
+ * <p>
+ * Each search is independent, so searches may run on several threads at once.
+ *
+ */
+public class PathSearch {
+    private static final int STEP_COST = 10;
+    private static final int CLIMB_COST = 4;
+    private static final int MAX_VISITED_POSITIONS = 100000;
+    private static final int MAX_VISITED_CHUNKS = 4096;
+    private static final int MIN_HIERARCHICAL_CHUNK_DISTANCE = 2;
+
+    private static final int[] STEP_X = {1, -1, 0, 0};
+    private static final int[] STEP_Z = {0, 0, 1, -1};
+    private static final int[] STEP_Y = {0, 1, -1};
+
+    private static final int COORD_BITS = 21;
+    private static final long COORD_MASK = (1L << COORD_BITS) - 1;
+
+    private final WalkabilityGraph graph;
+    private final boolean hierarchical;
+
+    public PathSearch(WalkabilityGraph graph, boolean hierarchical) {
+        this.graph = graph;
+        this.hierarchical = hierarchical;
+    }
+
+    /**
+     * @param start
+     * @param goal
+     * @return The shortest path from start to goal, or {@link Path#NONE} if there is none within the search limits
+     */
+    public Path findPath(Vector3i start, Vector3i goal) {
+        return findPath(start, goal, null);
+    }
+
+    /**
+     * @param start
+     * @param goal
+     * @param searchedChunks Collects the positions of the chunks whose walkability the search read, which the result
+     *                       depends on. May be null.
+     * @return The shortest path from start to goal, or {@link Path#NONE} if there is none within the search limits
+     */
+    public Path findPath(Vector3i start, Vector3i goal, Set<Vector3i> searchedChunks) {
+        Vector3i startChunk = ChunkMath.calcChunkPos(start);
+        Vector3i goalChunk = ChunkMath.calcChunkPos(goal);
+        if (searchedChunks != null) {
+            searchedChunks.add(startChunk);
+            searchedChunks.add(goalChunk);
+        }
+        if (!graph.isWalkable(start.x, start.y, start.z) || !graph.isWalkable(goal.x, goal.y, goal.z)) {
+            return Path.NONE;
+        }
+        if (hierarchical && chunkDistance(startChunk, goalChunk) >= MIN_HIERARCHICAL_CHUNK_DISTANCE) {
+            List<Vector3i> route = findChunkRoute(startChunk, goalChunk, searchedChunks);
+            if (route == null) {
+                return Path.NONE;
+            }
+            Set<Vector3i> corridor = Sets.newHashSet();
+            for (Vector3i chunkPos : route) {
+                for (int x = -1; x <= 1; x++) {
+                    for (int y = -1; y <= 1; y++) {
+                        for (int z = -1; z <= 1; z++) {
+                            corridor.add(new Vector3i(chunkPos.x + x, chunkPos.y + y, chunkPos.z + z));
+                        }
+                    }
+                }
+            }
+            Path path = findPositionPath(start, goal, corridor, searchedChunks);
+            if (path.isFound()) {
+                return path;
+            }
+        }
+        return findPositionPath(start, goal, null, searchedChunks);
+    }
+
+    private Path findPositionPath(Vector3i start, Vector3i goal, Set<Vector3i> allowedChunks, Set<Vector3i> searchedChunks) {
+        PositionLookup lookup = new PositionLookup(allowedChunks, searchedChunks);
+        TLongObjectMap<PositionNode> nodes = new TLongObjectHashMap<>();
+        PriorityQueue<QueueEntry<PositionNode>> open = new PriorityQueue<>();
+
+        PositionNode startNode = new PositionNode(start.x, start.y, start.z, null);
+        startNode.estimate = estimate(start.x, start.y, start.z, goal);
+        nodes.put(key(start.x, start.y, start.z), startNode);
+        open.add(new QueueEntry<>(startNode, startNode.estimate));
+
+        int visited = 0;
+        while (!open.isEmpty()) {
+            QueueEntry<PositionNode> entry = open.poll();
+            PositionNode node = entry.node;
+            if (node.closed || entry.priority != node.cost + node.estimate) {
+                continue;
+            }
+            node.closed = true;
+            if (node.x == goal.x && node.y == goal.y && node.z == goal.z) {
+                return toPath(node);
+            }
+            if (++visited > MAX_VISITED_POSITIONS) {
+                break;
+            }
+
+            for (int direction = 0; direction < STEP_X.length; direction++) {
+                int x = node.x + STEP_X[direction];
+                int z = node.z + STEP_Z[direction];
+                // A column cannot hold walkable positions less than three blocks apart, so at most one of these is walkable
+                for (int stepY : STEP_Y) {
+                    int y = node.y + stepY;
+                    if (!lookup.isWalkable(x, y, z)) {
+                        continue;
+                    }
+                    int cost = node.cost + STEP_COST + ((stepY != 0) ? CLIMB_COST : 0);
+                    long key = key(x, y, z);
+                    PositionNode neighbour = nodes.get(key);
+                    if (neighbour == null) {
+                        neighbour = new PositionNode(x, y, z, node);
+                        neighbour.cost = cost;
+                        neighbour.estimate = estimate(x, y, z, goal);
+                        nodes.put(key, neighbour);
+                        open.add(new QueueEntry<>(neighbour, cost + neighbour.estimate));
+                    } else if (!neighbour.closed && cost < neighbour.cost) {
+                        neighbour.cost = cost;
+                        neighbour.parent = node;
+                        open.add(new QueueEntry<>(neighbour, cost + neighbour.estimate));
+                    }
+                    break;
+                }
+            }
+        }
+        return Path.NONE;
+    }
+
+    /**
+     * @return The chunks from the start chunk to the goal chunk, or null if they are not connected
+     */
+    private List<Vector3i> findChunkRoute(Vector3i startChunk, Vector3i goalChunk, Set<Vector3i> searchedChunks) {
+        Map<Vector3i, ChunkNode> nodes = Maps.newHashMap();
+        PriorityQueue<QueueEntry<ChunkNode>> open = new PriorityQueue<>();
+
+        ChunkNode startNode = new ChunkNode(startChunk, null);
+        startNode.estimate = chunkDistance(startChunk, goalChunk);
+        nodes.put(startChunk, startNode);
+        open.add(new QueueEntry<>(startNode, startNode.estimate));
+
+        while (!open.isEmpty()) {
+            QueueEntry<ChunkNode> entry = open.poll();
+            ChunkNode node = entry.node;
+            if (node.closed || entry.priority != node.cost + node.estimate) {
+                continue;
+            }
+            node.closed = true;
+            if (node.pos.equals(goalChunk)) {
+                List<Vector3i> route = Lists.newArrayList();
+                for (ChunkNode routeNode = node; routeNode != null; routeNode = routeNode.parent) {
+                    route.add(routeNode.pos);
+                }
+                Collections.reverse(route);
+                return route;
+            }
+            if (nodes.size() > MAX_VISITED_CHUNKS) {
+                break;
+            }
+
+            WalkableChunk chunk = graph.getChunk(node.pos);
+            if (chunk == null) {
+                continue;
+            }
+            int faces = chunk.getFaces();
+            for (int x = -1; x <= 1; x++) {
+                for (int y = -1; y <= 1; y++) {
+                    for (int z = -1; z <= 1; z++) {
+                        // A single step moves along one horizontal axis, and may cross a vertical chunk boundary with it
+                        if ((x != 0 && z != 0) || (x == 0 && y == 0 && z == 0)) {
+                            continue;
+                        }
+                        int exitFaces = faceMask(x, y, z);
+                        if ((faces & exitFaces) != exitFaces) {
+                            continue;
+                        }
+                        Vector3i neighbourPos = new Vector3i(node.pos.x + x, node.pos.y + y, node.pos.z + z);
+                        ChunkNode neighbour = nodes.get(neighbourPos);
+                        if (neighbour != null && (neighbour.closed || neighbour.cost <= node.cost + 1)) {
+                            continue;
+                        }
+                        WalkableChunk neighbourChunk = graph.getChunk(neighbourPos);
+                        if (searchedChunks != null) {
+                            searchedChunks.add(neighbourPos);
+                        }
+                        int entryFaces = faceMask(-x, -y, -z);
+                        if (neighbourChunk == null || (neighbourChunk.getFaces() & entryFaces) != entryFaces) {
+                            continue;
+                        }
+                        if (neighbour == null) {
+                            neighbour = new ChunkNode(neighbourPos, node);
+                            neighbour.estimate = chunkDistance(neighbourPos, goalChunk);
+                            nodes.put(neighbourPos, neighbour);
+                        } else {
+                            neighbour.parent = node;
+                        }
+                        neighbour.cost = node.cost + 1;
+                        open.add(new QueueEntry<>(neighbour, neighbour.cost + neighbour.estimate));
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int faceMask(int x, int y, int z) {
+        int result = 0;
+        if (x > 0) {
+            result |= WalkableChunk.POS_X;
+        } else if (x < 0) {
+            result |= WalkableChunk.NEG_X;
+        }
+        if (y > 0) {
+            result |= WalkableChunk.POS_Y;
+        } else if (y < 0) {
+            result |= WalkableChunk.NEG_Y;
+        }
+        if (z > 0) {
+            result |= WalkableChunk.POS_Z;
+        } else if (z < 0) {
+            result |= WalkableChunk.NEG_Z;
+        }
+        return result;
+    }
+
+    /**
+     * Every step moves one block horizontally and at most one block vertically, at a cost of at least STEP_COST.
+     */
+    private static int estimate(int x, int y, int z, Vector3i goal) {
+        int horizontal = Math.abs(goal.x - x) + Math.abs(goal.z - z);
+        int vertical = Math.abs(goal.y - y);
+        return STEP_COST * Math.max(horizontal, vertical) + CLIMB_COST * Math.min(horizontal, vertical);
+    }
+
+    private static int chunkDistance(Vector3i a, Vector3i b) {
+        return Math.max(Math.abs(a.x - b.x) + Math.abs(a.z - b.z), Math.abs(a.y - b.y));
+    }
+
+    private static long key(int x, int y, int z) {
+        return ((x & COORD_MASK) << (2 * COORD_BITS)) | ((y & COORD_MASK) << COORD_BITS) | (z & COORD_MASK);
+    }
+
+    private static Path toPath(PositionNode goalNode) {
+        List<Vector3i> waypoints = Lists.newArrayList();
+        for (PositionNode node = goalNode; node != null; node = node.parent) {
+            waypoints.add(new Vector3i(node.x, node.y, node.z));
+        }
+        Collections.reverse(waypoints);
+        return new Path(waypoints);
+    }
+
+    /**
+     * Looks up walkability, remembering the last chunk used as consecutive lookups are mostly within the same chunk.
+     */
+    private final class PositionLookup {
+        private final Set<Vector3i> allowedChunks;
+        private final Set<Vector3i> searchedChunks;
+        private final Vector3i chunkPos = new Vector3i();
+        private boolean hasChunk;
+        private WalkableChunk chunk;
+
+        PositionLookup(Set<Vector3i> allowedChunks, Set<Vector3i> searchedChunks) {
+            this.allowedChunks = allowedChunks;
+            this.searchedChunks = searchedChunks;
+        }
+
+        boolean isWalkable(int x, int y, int z) {
+            int chunkX = ChunkMath.calcChunkPosX(x);
+            int chunkY = ChunkMath.calcChunkPosY(y);
+            int chunkZ = ChunkMath.calcChunkPosZ(z);
+            if (!hasChunk || chunkPos.x != chunkX || chunkPos.y != chunkY || chunkPos.z != chunkZ) {
+                chunkPos.set(chunkX, chunkY, chunkZ);
+                boolean allowed = allowedChunks == null || allowedChunks.contains(chunkPos);
+                chunk = allowed ? graph.getChunk(chunkPos) : null;
+                hasChunk = true;
+                if (allowed && searchedChunks != null) {
+                    searchedChunks.add(new Vector3i(chunkPos));
+                }
+            }
+            return chunk != null && chunk.isWalkable(ChunkMath.calcBlockPosX(x), ChunkMath.calcBlockPosY(y), ChunkMath.calcBlockPosZ(z));
+        }
+    }
+
+    private static final class PositionNode {
+        private final int x;
+        private final int y;
+        private final int z;
+        private PositionNode parent;
+        private int cost;
+        private int estimate;
+        private boolean closed;
+
+        PositionNode(int x, int y, int z, PositionNode parent) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.parent = parent;
+        }
+    }
+
+    private static final class ChunkNode {
+        private final Vector3i pos;
+        private ChunkNode parent;
+        private int cost;
+        private int estimate;
+        private boolean closed;
+
+        ChunkNode(Vector3i pos, ChunkNode parent) {
+            this.pos = pos;
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * An entry of the open set. A node is queued again when a cheaper way to it is found, and the stale entry skipped.
+     */
+    private static final class QueueEntry<T> implements Comparable<QueueEntry<T>> {
+        private final T node;
+        private final int priority;
+
+        QueueEntry(T node, int priority) {
+            this.node = node;
+            this.priority = priority;
+        }
+
+        @Override
+        public int compareTo(QueueEntry<T> other) {
+            return Integer.compare(priority, other.priority);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.ai.pathfinding;
+
+import org.terasology.math.geom.Vector3i;
+
+import java.util.function.Consumer;
+
+/**
+ * Finds walkable paths through the loaded world. A position is walkable if the block below it is solid and it and the
+ * block above it are penetrable, and a path moves between horizontally neighbouring walkable positions, climbing or
+ * dropping at most one block per step.
+ * <p>
+ * Only available on the authority.
+ *
+ */
+public interface Pathfinder {
+
+    /**
+     * Searches for a path on a worker thread. Recent results, including missing paths, are cached until a block
+     * they depend on changes.
+     *
+     * @param start    The position the path starts from
+     * @param goal     The position the path leads to
+     * @param callback Receives the path, or {@link Path#NONE}, on the main thread
+     */
+    void findPath(Vector3i start, Vector3i goal, Consumer<Path> callback);
+
+    /**
+     * @param pos
+     * @return Whether a character can stand at the position. False if the position is not loaded.
+     */
+    boolean isWalkable(Vector3i pos);
+}
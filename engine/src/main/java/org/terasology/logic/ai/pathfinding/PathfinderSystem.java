@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.ai.pathfinding;
+
+import com.google.common.collect.Sets;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.event.ReceiveEvent;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterMode;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.registry.In;
+import org.terasology.registry.Share;
+import org.terasology.utilities.concurrency.AbstractTask;
+import org.terasology.utilities.concurrency.ShutdownTask;
+import org.terasology.utilities.concurrency.Task;
+import org.terasology.utilities.concurrency.TaskMaster;
+import org.terasology.world.WorldChangeListener;
+import org.terasology.world.WorldComponent;
+import org.terasology.world.WorldProvider;
+import org.terasology.world.biomes.Biome;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.event.BeforeChunkUnload;
+import org.terasology.world.chunks.event.OnChunkLoaded;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Answers path queries on worker threads, searching a walkability graph that follows the changes to the world.
+ * <p>
+ * Only runs on the authority, whose chunk provider can be read from the worker threads. Clients keep their chunks in a
+ * map only the main thread may touch.
+ *
+ */
+@RegisterSystem(RegisterMode.AUTHORITY)
+@Share(Pathfinder.class)
+public class PathfinderSystem extends BaseComponentSystem implements Pathfinder, UpdateSubscriberSystem, WorldChangeListener {
+    private static final int WORKER_THREADS = 2;
+    private static final int CACHE_SIZE = 1000;
+
+    @In
+    private WorldProvider worldProvider;
+
+    private WalkabilityGraph graph;
+    private PathSearch search;
+    private PathCache cache;
+    private TaskMaster<Task> workers;
+    private final Queue<Runnable> completed = new ConcurrentLinkedQueue<>();
+    /**
+     * Counts the changes to the world on the main thread, so that paths found across a change are not cached.
+     */
+    private int changeCount;
+
+    @Override
+    public void initialise() {
+        graph = new WalkabilityGraph(worldProvider);
+        search = new PathSearch(graph, true);
+        cache = new PathCache(CACHE_SIZE);
+        workers = TaskMaster.createFIFOTaskMaster("Pathfinder", WORKER_THREADS);
+        worldProvider.registerListener(this);
+    }
+
+    @Override
+    public void shutdown() {
+        worldProvider.unregisterListener(this);
+        workers.shutdown(new ShutdownTask(), false);
+        completed.clear();
+        cache.clear();
+        graph.clear();
+    }
+
+    @Override
+    public void update(float delta) {
+        Runnable result;
+        while ((result = completed.poll()) != null) {
+            result.run();
+        }
+    }
+
+    @Override
+    public void findPath(Vector3i start, Vector3i goal, Consumer<Path> callback) {
+        Path cached = cache.get(start, goal);
+        if (cached != null) {
+            completed.add(() -> callback.accept(cached));
+            return;
+        }
+        Vector3i searchStart = new Vector3i(start);
+        Vector3i searchGoal = new Vector3i(goal);
+        int changesBeforeSearch = changeCount;
+        workers.offer(new AbstractTask() {
+            @Override
+            public String getName() {
+                return "Find path";
+            }
+
+            @Override
+            public void run() {
+                Set<Vector3i> searchedChunks = Sets.newHashSet();
+                Path path = search.findPath(searchStart, searchGoal, searchedChunks);
+                completed.add(() -> {
+                    if (changeCount == changesBeforeSearch) {
+                        cache.put(searchStart, searchGoal, path, searchedChunks);
+                    }
+                    callback.accept(path);
+                });
+            }
+        });
+    }
+
+    @Override
+    public boolean isWalkable(Vector3i pos) {
+        return graph.isWalkable(pos.x, pos.y, pos.z);
+    }
+
+    @Override
+    public void onBlockChanged(Vector3i pos, Block newBlock, Block originalBlock) {
+        if (newBlock.isPenetrable() == originalBlock.isPenetrable()) {
+            return;
+        }
+        changeCount++;
+        for (Vector3i chunkPos : graph.onBlockChanged(pos)) {
+            cache.invalidate(chunkPos);
+        }
+    }
+
+    @Override
+    public void onBiomeChanged(Vector3i pos, Biome newBiome, Biome originalBiome) {
+    }
+
+    @ReceiveEvent(components = WorldComponent.class)
+    public void onChunkLoaded(OnChunkLoaded event, EntityRef worldEntity) {
+        changeCount++;
+        Vector3i chunkPos = event.getChunkPos();
+        graph.onChunkLoaded(chunkPos);
+        // Searches could not enter the chunk before, and the walkability along its top and bottom faces changes
+        for (int y = chunkPos.y - 1; y <= chunkPos.y + 1; y++) {
+            cache.invalidate(new Vector3i(chunkPos.x, y, chunkPos.z));
+        }
+    }
+
+    @ReceiveEvent(components = WorldComponent.class)
+    public void onChunkUnloaded(BeforeChunkUnload event, EntityRef worldEntity) {
+        changeCount++;
+        graph.onChunkUnloaded(event.getChunkPos());
+        cache.invalidate(event.getChunkPos());
+    }
+}
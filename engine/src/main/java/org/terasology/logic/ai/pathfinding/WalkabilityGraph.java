@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.ai.pathfinding;
+
+import com.google.common.collect.Lists;
+import org.terasology.math.ChunkMath;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.WorldProvider;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The walkable positions of the loaded world, kept per chunk. The walkability of a chunk is built from the world the
+ * first time it is needed, and then kept up to date as blocks change until the chunk is unloaded.
+ * <p>
+ * May be read from any thread, while changes are reported on the main thread.
+ *
+ */
+public class WalkabilityGraph {
+    private static final int MAX_BUILD_ATTEMPTS = 3;
+
+    private final WorldProvider world;
+    private final Map<Vector3i, WalkableChunk> chunks = new ConcurrentHashMap<>();
+    private final AtomicInteger changeCount = new AtomicInteger();
+
+    public WalkabilityGraph(WorldProvider world) {
+        this.world = world;
+    }
+
+    /**
+     * @param floor The block below the position
+     * @param body  The block at the position
+     * @param head  The block above the position
+     * @return Whether a character can stand at the position
+     */
+    public static boolean isWalkable(Block floor, Block body, Block head) {
+        return !floor.isPenetrable() && body.isPenetrable() && head.isPenetrable();
+    }
+
+    public boolean isWalkable(int x, int y, int z) {
+        WalkableChunk chunk = getChunk(new Vector3i(ChunkMath.calcChunkPosX(x), ChunkMath.calcChunkPosY(y), ChunkMath.calcChunkPosZ(z)));
+        return chunk != null && chunk.isWalkable(ChunkMath.calcBlockPosX(x), ChunkMath.calcBlockPosY(y), ChunkMath.calcBlockPosZ(z));
+    }
+
+    /**
+     * Updates the positions whose walkability depends on a block.
+     *
+     * @param pos The position of the block that changed
+     * @return The positions of the chunks containing positions whose walkability was checked
+     */
+    public List<Vector3i> onBlockChanged(Vector3i pos) {
+        changeCount.incrementAndGet();
+        List<Vector3i> affectedChunks = Lists.newArrayListWithCapacity(3);
+        // The block is the floor of the position above it, and the head of the position below it
+        for (int y = pos.y - 1; y <= pos.y + 1; y++) {
+            Vector3i chunkPos = new Vector3i(ChunkMath.calcChunkPosX(pos.x), ChunkMath.calcChunkPosY(y), ChunkMath.calcChunkPosZ(pos.z));
+            WalkableChunk chunk = chunks.get(chunkPos);
+            if (chunk != null) {
+                chunk.setWalkable(ChunkMath.calcBlockPosX(pos.x), ChunkMath.calcBlockPosY(y), ChunkMath.calcBlockPosZ(pos.z),
+                        isWalkable(world.getBlock(pos.x, y - 1, pos.z), world.getBlock(pos.x, y, pos.z), world.getBlock(pos.x, y + 1, pos.z)));
+            }
+            if (!affectedChunks.contains(chunkPos)) {
+                affectedChunks.add(chunkPos);
+            }
+        }
+        return affectedChunks;
+    }
+
+    /**
+     * Drops the walkability of the chunks above and below a newly loaded chunk, as the positions along their shared
+     * faces were built without it.
+     *
+     * @param chunkPos
+     */
+    public void onChunkLoaded(Vector3i chunkPos) {
+        changeCount.incrementAndGet();
+        chunks.remove(new Vector3i(chunkPos.x, chunkPos.y + 1, chunkPos.z));
+        chunks.remove(new Vector3i(chunkPos.x, chunkPos.y - 1, chunkPos.z));
+    }
+
+    public void onChunkUnloaded(Vector3i chunkPos) {
+        changeCount.incrementAndGet();
+        chunks.remove(chunkPos);
+    }
+
+    public void clear() {
+        changeCount.incrementAndGet();
+        chunks.clear();
+    }
+
+    /**
+     * @param chunkPos The position of the chunk, not retained
+     * @return The walkability of the chunk, built if needed, or null if the chunk is not loaded
+     */
+    WalkableChunk getChunk(Vector3i chunkPos) {
+        WalkableChunk chunk = chunks.get(chunkPos);
+        for (int attempt = 0; chunk == null && attempt < MAX_BUILD_ATTEMPTS; attempt++) {
+            if (!world.isBlockRelevant(chunkPos.x * ChunkConstants.SIZE_X, chunkPos.y * ChunkConstants.SIZE_Y, chunkPos.z * ChunkConstants.SIZE_Z)) {
+                return null;
+            }
+            int changesBeforeBuild = changeCount.get();
+            WalkableChunk built = build(chunkPos);
+            Vector3i key = new Vector3i(chunkPos);
+            chunk = chunks.putIfAbsent(key, built);
+            if (chunk == null) {
+                chunk = built;
+                // A change made while building may not be included, so build again
+                if (attempt < MAX_BUILD_ATTEMPTS - 1 && changeCount.get() != changesBeforeBuild && chunks.remove(key, built)) {
+                    chunk = null;
+                }
+            }
+        }
+        return chunk;
+    }
+
+    private WalkableChunk build(Vector3i chunkPos) {
+        WalkableChunk chunk = new WalkableChunk();
+        int minX = chunkPos.x * ChunkConstants.SIZE_X;
+        int minY = chunkPos.y * ChunkConstants.SIZE_Y;
+        int minZ = chunkPos.z * ChunkConstants.SIZE_Z;
+        for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+            for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+                // Slide a window of three blocks up the column, so each block is only looked up once
+                Block floor = world.getBlock(minX + x, minY - 1, minZ + z);
+                Block body = world.getBlock(minX + x, minY, minZ + z);
+                for (int y = 0; y < ChunkConstants.SIZE_Y; y++) {
+                    Block head = world.getBlock(minX + x, minY + y + 1, minZ + z);
+                    if (isWalkable(floor, body, head)) {
+                        chunk.setWalkable(x, y, z, true);
+                    }
+                    floor = body;
+                    body = head;
+                }
+            }
+        }
+        return chunk;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.ai.pathfinding;
+
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Which positions within a chunk a character can stand at, one bit per block. Bits may be updated while searches read
+ * them from other threads.
+ *
+ */
+final class WalkableChunk {
+    static final int POS_X = 1;
+    static final int NEG_X = 1 << 1;
+    static final int POS_Y = 1 << 2;
+    static final int NEG_Y = 1 << 3;
+    static final int POS_Z = 1 << 4;
+    static final int NEG_Z = 1 << 5;
+
+    private static final long UNKNOWN_FACES = 0xFFFFFFFFL;
+    private static final long VERSION_INCREMENT = 1L << 32;
+
+    private final AtomicLongArray cells = new AtomicLongArray(ChunkConstants.SIZE_X * ChunkConstants.SIZE_Y * ChunkConstants.SIZE_Z / Long.SIZE);
+    /**
+     * The face mask in the low bits, with a count of changes above it so that a mask computed while a change is made
+     * is not kept.
+     */
+    private final AtomicLong faces = new AtomicLong(UNKNOWN_FACES);
+
+    boolean isWalkable(int x, int y, int z) {
+        int index = index(x, y, z);
+        return (cells.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    void setWalkable(int x, int y, int z, boolean walkable) {
+        int index = index(x, y, z);
+        long bit = 1L << index;
+        long word;
+        do {
+            word = cells.get(index >>> 6);
+        } while (!cells.compareAndSet(index >>> 6, word, walkable ? word | bit : word & ~bit));
+        long state;
+        do {
+            state = faces.get();
+        } while (!faces.compareAndSet(state, ((state & ~UNKNOWN_FACES) + VERSION_INCREMENT) | UNKNOWN_FACES));
+    }
+
+    /**
+     * @return A mask of the faces of the chunk with a walkable position on them, a path can only leave the chunk across these
+     */
+    int getFaces() {
+        long state = faces.get();
+        int result = (int) state;
+        if ((state & UNKNOWN_FACES) == UNKNOWN_FACES) {
+            result = 0;
+            for (int y = 0; y < ChunkConstants.SIZE_Y; y++) {
+                for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                    for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+                        if (isWalkable(x, y, z)) {
+                            result |= facesOf(x, y, z);
+                        }
+                    }
+                }
+            }
+            faces.compareAndSet(state, (state & ~UNKNOWN_FACES) | result);
+        }
+        return result;
+    }
+
+    private static int facesOf(int x, int y, int z) {
+        int result = 0;
+        if (x == ChunkConstants.SIZE_X - 1) {
+            result |= POS_X;
+        } else if (x == 0) {
+            result |= NEG_X;
+        }
+        if (y == ChunkConstants.SIZE_Y - 1) {
+            result |= POS_Y;
+        } else if (y == 0) {
+            result |= NEG_Y;
+        }
+        if (z == ChunkConstants.SIZE_Z - 1) {
+            result |= POS_Z;
+        } else if (z == 0) {
+            result |= NEG_Z;
+        }
+        return result;
+    }
+
+    private static int index(int x, int y, int z) {
+        return x + ChunkConstants.SIZE_X * (z + ChunkConstants.SIZE_Z * y);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.behavior;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.behavior.tree.Interpreter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Ticks the interpreters of many entities within a time budget per frame. Interpreters are ticked round-robin, starting
+ * each frame where the last one ran out of time, and each is passed the time since it was last ticked. An entity may
+ * also ask to be ticked less often, such as when no player is close enough to see it.
+ * <p>
+ * Interpreters may be added and removed while ticking, such as when a tree switches the behavior of its entity.
+ *
+ */
+class BehaviorScheduler {
+    private final long budgetNanos;
+    private final LongSupplier clock;
+
+    private final Map<EntityRef, Entry> entries = Maps.newHashMap();
+    private final List<Entry> order = Lists.newArrayList();
+    private int removedCount;
+    private int next;
+
+    /**
+     * @param budgetNanos The time to spend ticking each frame. At least one interpreter is ticked each frame.
+     * @param clock       Supplies the current time in nanoseconds
+     */
+    BehaviorScheduler(long budgetNanos, LongSupplier clock) {
+        this.budgetNanos = budgetNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * Adds the interpreter of an entity, replacing its previous interpreter but keeping its place in the order.
+     *
+     * @param entity
+     * @param interpreter
+     */
+    public void put(EntityRef entity, Interpreter interpreter) {
+        Entry entry = entries.get(entity);
+        if (entry == null) {
+            entry = new Entry(entity);
+            entries.put(entity, entry);
+            order.add(entry);
+        }
+        entry.interpreter = interpreter;
+    }
+
+    public void remove(EntityRef entity) {
+        Entry entry = entries.remove(entity);
+        if (entry != null) {
+            entry.removed = true;
+            removedCount++;
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @param delta        Seconds since the last update
+     * @param tickInterval Gives the seconds to wait between ticks of an entity, asked each time it is ticked
+     * @return The number of interpreters ticked
+     */
+    public int update(float delta, ToDoubleFunction<EntityRef> tickInterval) {
+        compact();
+        int count = order.size();
+        for (int i = 0; i < count; i++) {
+            order.get(i).pendingDelta += delta;
+        }
+
+        long start = clock.getAsLong();
+        int ticked = 0;
+        for (int visited = 0; visited < count; visited++) {
+            if (next >= count) {
+                next = 0;
+            }
+            Entry entry = order.get(next++);
+            if (entry.removed || entry.pendingDelta < entry.interval) {
+                continue;
+            }
+            float entryDelta = entry.pendingDelta;
+            entry.pendingDelta = 0;
+            entry.interval = (float) tickInterval.applyAsDouble(entry.entity);
+            entry.interpreter.tick(entryDelta);
+            ticked++;
+            if (clock.getAsLong() - start >= budgetNanos) {
+                break;
+            }
+        }
+        return ticked;
+    }
+
+    /**
+     * Drops removed entries, keeping the position of the next entry to tick.
+     */
+    private void compact() {
+        if (removedCount == 0) {
+            return;
+        }
+        int kept = 0;
+        int newNext = -1;
+        for (int i = 0; i < order.size(); i++) {
+            Entry entry = order.get(i);
+            if (i == next) {
+                newNext = kept;
+            }
+            if (!entry.removed) {
+                order.set(kept++, entry);
+            }
+        }
+        order.subList(kept, order.size()).clear();
+        next = (newNext >= 0) ? newNext : kept;
+        removedCount = 0;
+    }
+
+    private static final class Entry {
+        private final EntityRef entity;
+        private Interpreter interpreter;
+        private float pendingDelta;
+        private float interval;
+        private boolean removed;
+
+        Entry(EntityRef entity) {
+            this.entity = entity;
+        }
+    }
+}
@@ -38,7 +38,11 @@
 import org.terasology.logic.behavior.tree.Actor;
 import org.terasology.logic.behavior.tree.Interpreter;
 import org.terasology.logic.behavior.tree.Node;
+import org.terasology.logic.behavior.tree.TaskInjector;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
 import org.terasology.naming.Name;
+import org.terasology.network.ClientComponent;
 import org.terasology.registry.In;
 import org.terasology.registry.Share;
 
@@ -50,6 +54,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -59,12 +64,21 @@
  * is loaded and an interpreter is started.
  * <br><br>
  * Modifications made to a behavior tree will reflect to all entities using this tree.
+ * <br><br>
+ * Interpreters are ticked within a time budget each frame, and entities far from every player are ticked less often.
  */
 @RegisterSystem(RegisterMode.AUTHORITY)
 @Share(BehaviorSystem.class)
 public class BehaviorSystem extends BaseComponentSystem implements UpdateSubscriberSystem {
     public static final Name BEHAVIORS = new Name("Behaviors");
 
+    private static final long TICK_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(4);
+    private static final float NEAR_DISTANCE = 48;
+    private static final float FAR_DISTANCE = 128;
+    private static final float NEAR_TICK_INTERVAL = 0;
+    private static final float MEDIUM_TICK_INTERVAL = 0.25f;
+    private static final float FAR_TICK_INTERVAL = 1;
+
     @In
     private EntityManager entityManager;
     @In
@@ -73,17 +87,16 @@ public class BehaviorSystem extends BaseComponentSystem implements UpdateSubscri
     private AssetManager assetManager;
 
 
-    /*
-     * A hash map that maps entity to their interpreters. Behavior tree processing
-     * can trigger a behavior tree switch and thus map can change during iteration.
-     * These are stored in a List for iteration in the update method,
-     * so that a ConcurrentModificationException is avoided.
-     */
     private Map<EntityRef, Interpreter> entityInterpreters = Maps.newHashMap();
+    private TaskInjector taskInjector = new TaskInjector();
     /*
-     * A list that contains the entityInterpreters before they get modified inside the update method
+     * Ticks the interpreters. Behavior tree processing can trigger a behavior tree switch,
+     * so the scheduler allows interpreters to be replaced while it ticks them.
      */
-    private List<Interpreter> cachedInterpreters = Lists.newArrayList();
+    private BehaviorScheduler scheduler = new BehaviorScheduler(TICK_BUDGET_NANOS, System::nanoTime);
+    private List<Vector3f> playerPositions = Lists.newArrayList();
+    private int playerCount;
+    private Vector3f entityPosition = new Vector3f();
     private List<BehaviorTree> trees = Lists.newArrayList();
 
     @Override
@@ -99,34 +112,67 @@ public void initialise() {
         }
     }
 
+    @Override
+    public void shutdown() {
+        // The injector caches the fields of task classes, which belong to modules that may be unloaded after this
+        taskInjector.clear();
+        entityInterpreters.clear();
+    }
+
     @ReceiveEvent
     public void onBehaviorActivated(OnActivatedComponent event, EntityRef entityRef, BehaviorComponent behaviorComponent) {
-        cachedInterpreters = Lists.newArrayList();
         addEntity(entityRef, behaviorComponent);
     }
 
     @ReceiveEvent
     public void onBehaviorChanged(OnChangedComponent event, EntityRef entityRef, BehaviorComponent behaviorComponent) {
-        cachedInterpreters = Lists.newArrayList();
         updateEntity(entityRef, behaviorComponent);
     }
 
     @ReceiveEvent
     public void onBehaviorDeactivated(BeforeDeactivateComponent event, EntityRef entityRef, BehaviorComponent behaviorComponent) {
         if (behaviorComponent.tree != null) {
-            cachedInterpreters = Lists.newArrayList();
             entityInterpreters.remove(entityRef);
+            scheduler.remove(entityRef);
         }
     }
 
     @Override
     public void update(float delta) {
-        if (cachedInterpreters.isEmpty()) {
-            cachedInterpreters.addAll(entityInterpreters.values());
+        updatePlayerPositions();
+        scheduler.update(delta, this::getTickInterval);
+    }
+
+    private void updatePlayerPositions() {
+        playerCount = 0;
+        for (EntityRef client : entityManager.getEntitiesWith(ClientComponent.class)) {
+            LocationComponent location = client.getComponent(ClientComponent.class).character.getComponent(LocationComponent.class);
+            if (location != null) {
+                if (playerCount == playerPositions.size()) {
+                    playerPositions.add(new Vector3f());
+                }
+                location.getWorldPosition(playerPositions.get(playerCount++));
+            }
+        }
+    }
+
+    /**
+     * @return The seconds to wait between ticks of the entity, depending on how close it is to a player
+     */
+    private float getTickInterval(EntityRef entity) {
+        LocationComponent location = entity.getComponent(LocationComponent.class);
+        if (location == null) {
+            return NEAR_TICK_INTERVAL;
+        }
+        location.getWorldPosition(entityPosition);
+        float nearestDistanceSquared = Float.MAX_VALUE;
+        for (int i = 0; i < playerCount; i++) {
+            nearestDistanceSquared = Math.min(nearestDistanceSquared, playerPositions.get(i).distanceSquared(entityPosition));
         }
-        for (Interpreter interpreter : cachedInterpreters) {
-            interpreter.tick(delta);
+        if (nearestDistanceSquared <= NEAR_DISTANCE * NEAR_DISTANCE) {
+            return NEAR_TICK_INTERVAL;
         }
+        return (nearestDistanceSquared <= FAR_DISTANCE * FAR_DISTANCE) ? MEDIUM_TICK_INTERVAL : FAR_TICK_INTERVAL;
     }
 
     public BehaviorTree createTree(String name, Node root) {
@@ -178,9 +224,10 @@ public void treeModified(BehaviorTree tree) {
     private void addEntity(EntityRef entityRef, BehaviorComponent behaviorComponent) {
         Interpreter interpreter = entityInterpreters.get(entityRef);
         if (interpreter == null) {
-            interpreter = new Interpreter(new Actor(entityRef));
+            interpreter = new Interpreter(new Actor(entityRef), taskInjector);
             BehaviorTree tree = behaviorComponent.tree;
             entityInterpreters.put(entityRef, interpreter);
+            scheduler.put(entityRef, interpreter);
             if (tree != null) {
                 interpreter.start(tree.getRoot());
             }
@@ -188,9 +235,10 @@ private void addEntity(EntityRef entityRef, BehaviorComponent behaviorComponent)
     }
 
     private void updateEntity(EntityRef entityRef, BehaviorComponent behaviorComponent) {
-        Interpreter interpreter = new Interpreter(new Actor(entityRef));
+        Interpreter interpreter = new Interpreter(new Actor(entityRef), taskInjector);
         BehaviorTree tree = behaviorComponent.tree;
         entityInterpreters.put(entityRef, interpreter);
+        scheduler.put(entityRef, interpreter);
         if (tree != null) {
             interpreter.start(tree.getRoot());
         }
@@ -15,22 +15,14 @@
  */
 package org.terasology.logic.behavior.tree;
 
-import java.security.AccessController;
-import java.security.PrivilegedAction;
+import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.List;
-import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 
 import org.terasology.entitySystem.prefab.Prefab;
 import org.terasology.logic.common.DisplayNameComponent;
 import org.terasology.module.sandbox.API;
-import org.terasology.registry.InjectionHelper;
 
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Queues;
 import com.google.common.collect.Sets;
 
 /**
@@ -42,7 +34,6 @@
  */
 @API
 public class Interpreter {
-
     private static final Task TERMINAL = new Task(null) {
         @Override
         public Status update(float dt) {
@@ -57,13 +48,23 @@ public void handle(Status result) {
 
     private Debugger debugger;
     private Actor actor;
-    private Deque<Task> tasks = Queues.newLinkedBlockingDeque();
+    private TaskInjector injector;
+    private Deque<Task> tasks = new ArrayDeque<>();
     private Node root;
-    private Set<Node> startedNodes = Sets.newHashSet();
-    private Map<Task, List<Task>> startedTasks = Maps.newHashMap();
+    private Set<Node> startedNodes = Sets.newIdentityHashSet();
+    private Deque<Task> stoppingTasks = new ArrayDeque<>();
 
     public Interpreter(Actor actor) {
+        this(actor, new TaskInjector());
+    }
+
+    /**
+     * @param actor
+     * @param injector Injects the tasks started, and may be shared between interpreters to share its cached fields
+     */
+    public Interpreter(Actor actor, TaskInjector injector) {
         this.actor = actor;
+        this.injector = injector;
         tasks.addLast(TERMINAL);
     }
 
@@ -73,7 +74,6 @@ public Actor actor() {
 
     public void reset() {
         tasks.clear();
-        startedTasks.clear();
 
         start(root);
         tasks.addLast(TERMINAL);
@@ -101,18 +101,11 @@ private Task start(final Task task, Task parent) {
         task.setInterpreter(this);
         task.setParent(parent);
         if (parent != null) {
-            List<Task> subTasks = startedTasks.get(parent);
-            if (subTasks == null) {
-                subTasks = Lists.newArrayList();
-                startedTasks.put(parent, subTasks);
-            }
-            subTasks.add(task);
+            parent.addSubTask(task);
         }
         tasks.addFirst(task);
-        return AccessController.doPrivileged((PrivilegedAction<Task>) () -> {
-            InjectionHelper.inject(task);
-            return task;
-        });
+        injector.inject(task);
+        return task;
     }
 
     public void stop(Task task, Status result) {
@@ -128,18 +121,20 @@ public void stop(Task task, Status result) {
     }
 
     private void stopStartedTasks(Task parent) {
-        Queue<Task> open = Queues.newArrayDeque();
-        open.offer(parent);
-        while (!open.isEmpty()) {
-            Task current = open.poll();
+        // Tasks stopped by a terminating task are left to the loop already running
+        boolean nested = !stoppingTasks.isEmpty();
+        stoppingTasks.offer(parent);
+        if (nested) {
+            return;
+        }
+        while (!stoppingTasks.isEmpty()) {
+            Task current = stoppingTasks.poll();
             if (current.getStatus() == Status.RUNNING) {
                 current.onTerminate(Status.FAILURE);
             }
-            tasks.remove(current);
-            List<Task> subTasks = startedTasks.remove(current);
-            if (subTasks != null) {
-                open.addAll(subTasks);
-            }
+            // Stopped tasks are dropped when they are next polled, rather than searched for in the queue
+            current.markStopped();
+            current.drainSubTasks(stoppingTasks);
         }
     }
 
@@ -171,6 +166,9 @@ public boolean step(float deltaSeconds) {
             tasks.addLast(TERMINAL);
             return false;
         }
+        if (current.isStopped()) {
+            return true;
+        }
 
         if (startedNodes.contains(current.getNode())) {
             tasks.addLast(current);
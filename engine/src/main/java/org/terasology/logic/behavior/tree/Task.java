@@ -19,6 +19,10 @@
 import org.slf4j.LoggerFactory;
 import org.terasology.module.sandbox.API;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * A task run by an {@link Interpreter} for an {@link Actor}.
  *
@@ -31,6 +35,8 @@ public abstract class Task {
     private Actor actor;
     private Status status = Status.NOT_INITIALIZED;
     private Task parent;
+    private List<Task> subTasks;
+    private boolean stopped;
 
     protected Task(Node node) {
         this.node = node;
@@ -163,4 +169,29 @@ Task getParent() {
         return parent;
     }
 
+    void addSubTask(Task task) {
+        if (subTasks == null) {
+            subTasks = new ArrayList<>(2);
+        }
+        subTasks.add(task);
+    }
+
+    /**
+     * Moves the tasks started by this task to the given collection.
+     */
+    void drainSubTasks(Collection<Task> target) {
+        if (subTasks != null) {
+            target.addAll(subTasks);
+            subTasks.clear();
+        }
+    }
+
+    void markStopped() {
+        stopped = true;
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
 }
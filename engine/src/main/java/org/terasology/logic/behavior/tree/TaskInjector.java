@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.behavior.tree;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.reflections.ReflectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.module.sandbox.API;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.registry.In;
+
+import java.lang.reflect.Field;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Injects the {@link In} fields of tasks started by an {@link Interpreter}. The fields of each type of task are looked
+ * up once and cached, so the cache holds on to the task classes of loaded modules. An injector should be owned by
+ * whatever owns the interpreters, and cleared when their modules are unloaded.
+ *
+ */
+@API
+public class TaskInjector {
+    private static final Logger logger = LoggerFactory.getLogger(TaskInjector.class);
+
+    private final Map<Class<?>, List<Field>> injectedFields = new ConcurrentHashMap<>();
+
+    public void inject(Task task) {
+        List<Field> fields = injectedFields.computeIfAbsent(task.getClass(), type -> AccessController.doPrivileged((PrivilegedAction<List<Field>>) () -> {
+            List<Field> result = Lists.newArrayList(ReflectionUtils.getAllFields(type, ReflectionUtils.withAnnotation(In.class)));
+            result.forEach(field -> field.setAccessible(true));
+            return ImmutableList.copyOf(result);
+        }));
+        for (Field field : fields) {
+            Object value = CoreRegistry.get(field.getType());
+            if (value != null) {
+                try {
+                    field.set(task, value);
+                } catch (IllegalAccessException e) {
+                    logger.error("Failed to inject value {} into field {} of {}", value, field, task, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forgets the fields of all task types seen so far.
+     */
+    public void clear() {
+        injectedFields.clear();
+    }
+}
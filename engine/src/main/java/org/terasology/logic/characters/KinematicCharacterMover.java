@@ -90,6 +90,24 @@ public class KinematicCharacterMover implements CharacterMover {
     private WorldProvider worldProvider;
     private PhysicsEngine physics;
 
+    // Temporaries reused by every step. Only move() and the methods it calls use them, and as these send no events,
+    // a step started by an event handler during another step cannot overwrite them.
+    private final MoveResult moveResult = new MoveResult(new Vector3f(), false, false, false);
+    private final Vector3f stepDownPosition = new Vector3f();
+    private final Vector3f horizontalMove = new Vector3f();
+    private final Vector3f horizontalDirection = new Vector3f();
+    private final Vector3f horizontalTarget = new Vector3f();
+    private final Vector3f horizontalStep = new Vector3f();
+    private final Vector3f horizontalResidual = new Vector3f();
+    private final Vector3f horizontalHitNormal = new Vector3f();
+    private final Vector3f lastHitNormal = new Vector3f();
+    private final Vector3f downDirection = new Vector3f();
+    private final Vector3f downTarget = new Vector3f();
+    private final Vector3f downMove = new Vector3f();
+    private final Vector3f upTarget = new Vector3f();
+    private final Vector3f reflectDir = new Vector3f();
+    private final Vector3f perpendicularDir = new Vector3f();
+
     public KinematicCharacterMover(WorldProvider wp, PhysicsEngine physicsEngine) {
         this.worldProvider = wp;
         physics = physicsEngine;
@@ -323,13 +341,12 @@ private Vector3f extractResidualMovement(Vector3f hitNormal, Vector3f direction,
         float movementLength = direction.length();
         if (movementLength > physics.getEpsilon()) {
             direction.normalize();
-            Vector3f reflectDir = Vector3fUtil.reflect(direction, hitNormal, new Vector3f());
+            Vector3fUtil.reflect(direction, hitNormal, reflectDir);
             reflectDir.normalize();
-            Vector3f perpendicularDir = Vector3fUtil.getPerpendicularComponent(reflectDir, hitNormal, new Vector3f());
+            Vector3fUtil.getPerpendicularComponent(reflectDir, hitNormal, perpendicularDir);
             if (normalMag != 0.0f) {
-                Vector3f perpComponent = new Vector3f(perpendicularDir);
-                perpComponent.scale(normalMag * movementLength);
-                direction.set(perpComponent);
+                direction.set(perpendicularDir);
+                direction.scale(normalMag * movementLength);
             }
         }
         return direction;
@@ -345,11 +362,15 @@ private void followToParent(final CharacterStateEvent state, EntityRef entity) {
         }
     }
 
+    /**
+     * @return The result of the movement, which is reused by the next call
+     */
     private MoveResult move(final Vector3f startPosition, final Vector3f moveDelta, final float stepHeight,
                             final float slopeFactor, final CharacterCollider collider) {
         steppedUpDist = 0;
         stepped = false;
-        Vector3f position = new Vector3f(startPosition);
+        Vector3f position = moveResult.finalPosition;
+        position.set(startPosition);
         boolean hitTop = false;
         boolean hitBottom = false;
         boolean hitSide;
@@ -358,21 +379,25 @@ private MoveResult move(final Vector3f startPosition, final Vector3f moveDelta,
         if (moveDelta.y > 0) {
             hitTop = moveDelta.y - moveUp(moveDelta.y, collider, position) > physics.getEpsilon();
         }
-        hitSide = moveHorizontal(new Vector3f(moveDelta.x, 0, moveDelta.z), collider, position, slopeFactor, stepHeight);
+        horizontalMove.set(moveDelta.x, 0, moveDelta.z);
+        hitSide = moveHorizontal(horizontalMove, collider, position, slopeFactor, stepHeight);
         if (moveDelta.y < 0 || steppedUpDist > 0) {
             float dist = (moveDelta.y < 0) ? moveDelta.y : 0;
             dist -= steppedUpDist;
             hitBottom = moveDown(dist, slopeFactor, collider, position);
         }
         if (!hitBottom && stepHeight > 0) {
-            Vector3f tempPos = new Vector3f(position);
-            hitBottom = moveDown(-stepHeight, slopeFactor, collider, tempPos);
+            stepDownPosition.set(position);
+            hitBottom = moveDown(-stepHeight, slopeFactor, collider, stepDownPosition);
             // Don't apply step down if nothing to step onto
             if (hitBottom) {
-                position.set(tempPos);
+                position.set(stepDownPosition);
             }
         }
-        return new MoveResult(position, hitSide, hitBottom, hitTop);
+        moveResult.horizontalHit = hitSide;
+        moveResult.bottomHit = hitBottom;
+        moveResult.topHit = hitTop;
+        return moveResult;
     }
 
     private boolean moveDown(float dist, float slopeFactor, CharacterCollider collider, Vector3f position) {
@@ -382,16 +407,19 @@ private boolean moveDown(float dist, float slopeFactor, CharacterCollider collid
         }
 
         float remainingDist = -dist;
-        Vector3f targetPos = new Vector3f(position);
+        Vector3f targetPos = downTarget;
+        targetPos.set(position);
         targetPos.y -= remainingDist + VERTICAL_PENETRATION_LEEWAY;
-        Vector3f normalizedDir = new Vector3f(0, -1, 0);
+        Vector3f normalizedDir = downDirection;
+        normalizedDir.set(0, -1, 0);
         boolean hit = false;
         int iteration = 0;
         while (remainingDist > physics.getEpsilon() && iteration++ < 10) {
             SweepCallback callback = collider.sweep(position, targetPos, VERTICAL_PENETRATION, -1.0f);
             float actualDist = Math.max(0,
                     (remainingDist + VERTICAL_PENETRATION_LEEWAY) * callback.getClosestHitFraction() - VERTICAL_PENETRATION_LEEWAY);
-            Vector3f expectedMove = new Vector3f(targetPos);
+            Vector3f expectedMove = downMove;
+            expectedMove.set(targetPos);
             expectedMove.sub(position);
             if (expectedMove.lengthSquared() > physics.getEpsilon()) {
                 expectedMove.normalize();
@@ -403,7 +431,7 @@ private boolean moveDown(float dist, float slopeFactor, CharacterCollider collid
                 break;
             }
             if (callback.hasHit()) {
-                float originalSlope = callback.getHitNormalWorld().dot(new Vector3f(0, 1, 0));
+                float originalSlope = callback.getHitNormalWorld().y;
                 if (originalSlope < slopeFactor) {
                     float slope = callback.calculateAverageSlope(originalSlope, CHECK_FORWARD_DIST);
                     if (slope < slopeFactor) {
@@ -456,7 +484,7 @@ private boolean moveHorizontal(Vector3f horizMove, CharacterCollider collider, V
             return false;
         }
         boolean horizontalHit = false;
-        Vector3f normalizedDir = Vector3fUtil.safeNormalize(horizMove, new Vector3f());
+        Vector3f normalizedDir = Vector3fUtil.safeNormalize(horizMove, horizontalDirection);
 
         if (collider == null) {
             // ignore collision
@@ -465,11 +493,12 @@ private boolean moveHorizontal(Vector3f horizMove, CharacterCollider collider, V
             return false;
         }
 
-        Vector3f targetPos = new Vector3f(normalizedDir);
+        Vector3f targetPos = horizontalTarget;
+        targetPos.set(normalizedDir);
         targetPos.scale(dist + HORIZONTAL_PENETRATION_LEEWAY);
         targetPos.add(position);
         int iteration = 0;
-        Vector3f lastHitNormal = new Vector3f(0, 1, 0);
+        lastHitNormal.set(0, 1, 0);
         while (remainingFraction >= 0.01f && iteration++ < 10) {
             SweepCallback callback = collider.sweep(position, targetPos, HORIZONTAL_PENETRATION, slopeFactor);
 
@@ -482,14 +511,15 @@ private boolean moveHorizontal(Vector3f horizMove, CharacterCollider collider, V
             }
             if (callback.hasHit()) {
                 if (actualDist > physics.getEpsilon()) {
-                    Vector3f actualMove = new Vector3f(normalizedDir);
-                    actualMove.scale(actualDist);
-                    position.add(actualMove);
+                    position.x += normalizedDir.x * actualDist;
+                    position.y += normalizedDir.y * actualDist;
+                    position.z += normalizedDir.z * actualDist;
                 }
                 dist -= actualDist;
-                Vector3f newDir = new Vector3f(normalizedDir);
+                Vector3f newDir = horizontalStep;
+                newDir.set(normalizedDir);
                 newDir.scale(dist);
-                float slope = callback.getHitNormalWorld().dot(new Vector3f(0, 1, 0));
+                float slope = callback.getHitNormalWorld().y;
 
                 // We step up if we're hitting a big slope, or if we're grazing
                 // the ground, otherwise we move up a shallow slope.
@@ -497,9 +527,10 @@ private boolean moveHorizontal(Vector3f horizMove, CharacterCollider collider, V
                     boolean stepping = checkStep(collider, position, newDir, callback, slopeFactor, stepHeight);
                     if (!stepping) {
                         horizontalHit = true;
-                        Vector3f newHorizDir = new Vector3f(newDir.x, 0, newDir.z);
-                        Vector3f horizNormal = new Vector3f(callback.getHitNormalWorld().x, 0,
-                                callback.getHitNormalWorld().z);
+                        Vector3f newHorizDir = horizontalResidual;
+                        newHorizDir.set(newDir.x, 0, newDir.z);
+                        Vector3f horizNormal = horizontalHitNormal;
+                        horizNormal.set(callback.getHitNormalWorld().x, 0, callback.getHitNormalWorld().z);
                         if (horizNormal.lengthSquared() > physics.getEpsilon()) {
                             horizNormal.normalize();
                             if (lastHitNormal.dot(horizNormal) > physics.getEpsilon()) {
@@ -512,11 +543,9 @@ private boolean moveHorizontal(Vector3f horizMove, CharacterCollider collider, V
                     }
                 } else {
                     // Hitting a shallow slope, move up it
-                    Vector3f newHorizDir = new Vector3f(newDir.x, 0, newDir.z);
+                    float horizontalLength = (float) Math.sqrt(newDir.x * newDir.x + newDir.z * newDir.z);
                     extractResidualMovement(callback.getHitNormalWorld(), newDir);
-                    Vector3f modHorizDir = new Vector3f(newDir);
-                    modHorizDir.y = 0;
-                    newDir.scale(newHorizDir.length() / modHorizDir.length());
+                    newDir.scale(horizontalLength / (float) Math.sqrt(newDir.x * newDir.x + newDir.z * newDir.z));
                 }
                 float sqrDist = newDir.lengthSquared();
                 if (sqrDist > physics.getEpsilon()) {
@@ -542,7 +571,8 @@ private boolean moveHorizontal(Vector3f horizMove, CharacterCollider collider, V
     }
 
     private float moveUp(float riseAmount, CharacterCollider collider, Vector3f position) {
-        Vector3f to = new Vector3f(position.x, position.y + riseAmount + VERTICAL_PENETRATION_LEEWAY, position.z);
+        Vector3f to = upTarget;
+        to.set(position.x, position.y + riseAmount + VERTICAL_PENETRATION_LEEWAY, position.z);
         if (collider != null) {
             SweepCallback callback = collider.sweep(position, to, VERTICAL_PENETRATION_LEEWAY, -1f);
             if (callback.hasHit()) {
@@ -630,12 +660,16 @@ private void walk(final CharacterMovementComponent movementComp, final Character
         Vector3f moveDelta = new Vector3f(endVelocity);
         moveDelta.scale(input.getDelta());
         CharacterCollider collider = movementComp.mode.useCollision ? physics.getCharacterCollider(entity) : null;
-        MoveResult moveResult = move(state.getPosition(), moveDelta,
+        MoveResult result = move(state.getPosition(), moveDelta,
                 (state.getMode() != MovementMode.CLIMBING && state.isGrounded() && movementComp.mode.canBeGrounded) ? movementComp.stepHeight : 0,
                 movementComp.slopeFactor, collider);
-        Vector3f distanceMoved = new Vector3f(moveResult.getFinalPosition());
+        Vector3f distanceMoved = new Vector3f(result.getFinalPosition());
         distanceMoved.sub(state.getPosition());
-        state.getPosition().set(moveResult.getFinalPosition());
+        state.getPosition().set(result.getFinalPosition());
+        // The result is reused, so read it before sending any event
+        boolean bottomHit = result.isBottomHit();
+        boolean topHit = result.isTopHit();
+        boolean horizontalHit = result.isHorizontalHit();
         if (input.isFirstRun() && distanceMoved.length() > 0) {
             entity.send(new MovedEvent(distanceMoved, state.getPosition()));
         }
@@ -645,7 +679,7 @@ private void walk(final CharacterMovementComponent movementComp, final Character
             movementComp.numberOfJumpsLeft = movementComp.numberOfJumpsMax;
         }
 
-        if (moveResult.isBottomHit()) {
+        if (bottomHit) {
             if (!state.isGrounded() && movementComp.mode.canBeGrounded) {
                 if (input.isFirstRun()) {
                     Vector3f landVelocity = new Vector3f(state.getVelocity());
@@ -679,7 +713,7 @@ private void walk(final CharacterMovementComponent movementComp, final Character
                 movementComp.numberOfJumpsLeft--;
             }
         } else {
-            if (moveResult.isTopHit() && endVelocity.y > 0) {
+            if (topHit && endVelocity.y > 0) {
                 if (input.isFirstRun()) {
                     Vector3f hitVelocity = new Vector3f(state.getVelocity());
                     hitVelocity.y += (distanceMoved.y / moveDelta.y) * (endVelocity.y - state.getVelocity().y);
@@ -711,7 +745,7 @@ private void walk(final CharacterMovementComponent movementComp, final Character
 
             state.setGrounded(false);
         }
-        if (input.isFirstRun() && moveResult.isHorizontalHit()) {
+        if (input.isFirstRun() && horizontalHit) {
             Vector3f hitVelocity = new Vector3f(state.getVelocity());
             hitVelocity.x += (distanceMoved.x / moveDelta.x) * (endVelocity.x - state.getVelocity().x);
             hitVelocity.z += (distanceMoved.z / moveDelta.z) * (endVelocity.z - state.getVelocity().z);
@@ -16,6 +16,7 @@
 
 package org.terasology.logic.characters;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,8 +41,25 @@
 import org.terasology.utilities.collection.CircularBuffer;
 import org.terasology.world.WorldProvider;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * Moves characters on the authority according to the input received for them.
+ * <p>
+ * Input for remote and AI controlled characters is queued as it arrives and stepped in a single pass per update, with
+ * all input for one character handled together. Input for the local player's character is stepped immediately, so the
+ * camera does not lag behind by a frame. Any queued input of a character is stepped before other changes to its state.
+ * <p>
+ * As a result, the location and movement components of a remote character only reflect its input after the next
+ * update, and the events sent while stepping the input (such as {@link org.terasology.physics.events.MovedEvent}) are
+ * sent during that update rather than while the input is received. Other handlers of
+ * {@link CharacterMoveInputEvent} see the character as it was before the input. The resulting states are the same as
+ * when stepping each input on receipt.
+ *
+ */
 @RegisterSystem(RegisterMode.AUTHORITY)
 @Share(PredictionSystem.class)
 public class ServerCharacterPredictionSystem extends BaseComponentSystem implements UpdateSubscriberSystem, PredictionSystem {
@@ -70,8 +88,8 @@ public class ServerCharacterPredictionSystem extends BaseComponentSystem impleme
     private NetworkSystem networkSystem;
 
     private CharacterMover characterMover;
-    private Map<EntityRef, CircularBuffer<CharacterStateEvent>> characterStates = Maps.newHashMap();
-    private Map<EntityRef, CharacterMoveInputEvent> lastInputEvent = Maps.newHashMap();
+    private Map<EntityRef, PredictedCharacter> characters = Maps.newHashMap();
+    private List<EntityRef> charactersWithInput = Lists.newArrayList();
     private long nextSendState;
     private CharacterMovementSystemUtility characterMovementSystemUtility;
 
@@ -85,21 +103,20 @@ public void initialise() {
     @ReceiveEvent(components = {CharacterMovementComponent.class, LocationComponent.class, AliveCharacterComponent.class})
     public void onCreate(final OnActivatedComponent event, final EntityRef entity) {
         physics.getCharacterCollider(entity);
-        CircularBuffer<CharacterStateEvent> stateBuffer = CircularBuffer.create(BUFFER_SIZE);
-        stateBuffer.add(createInitialState(entity));
-        characterStates.put(entity, stateBuffer);
+        PredictedCharacter character = new PredictedCharacter();
+        character.states.add(createInitialState(entity));
+        characters.put(entity, character);
     }
 
     @ReceiveEvent(components = {CharacterMovementComponent.class, LocationComponent.class, AliveCharacterComponent.class})
     public void onDestroy(final BeforeDeactivateComponent event, final EntityRef entity) {
         physics.removeCharacterCollider(entity);
-        characterStates.remove(entity);
-        lastInputEvent.remove(entity);
+        characters.remove(entity);
     }
 
     @ReceiveEvent(components = {AliveCharacterComponent.class})
     public void onSetMovementModeEvent(SetMovementModeEvent event, EntityRef character, CharacterMovementComponent movementComponent) {
-        CircularBuffer<CharacterStateEvent> stateBuffer = characterStates.get(character);
+        CircularBuffer<CharacterStateEvent> stateBuffer = stepPendingInputs(character).states;
         CharacterStateEvent lastState = stateBuffer.getLast();
         CharacterStateEvent newState = new CharacterStateEvent(lastState);
         newState.setSequenceNumber(lastState.getSequenceNumber());
@@ -112,29 +129,67 @@ public void onSetMovementModeEvent(SetMovementModeEvent event, EntityRef charact
         characterMovementSystemUtility.setToState(character, newState);
     }
 
+    /**
+     * Steps the input of the local player's character, or queues the input of any other character for the next update.
+     */
     @ReceiveEvent(components = {CharacterMovementComponent.class, LocationComponent.class, AliveCharacterComponent.class})
     public void onPlayerInput(CharacterMoveInputEvent input, EntityRef entity) {
+        PredictedCharacter character = characters.get(entity);
+        if (entity.equals(localPlayer.getCharacterEntity())) {
+            stepPendingInputs(entity);
+            stepInput(input, entity, character);
+        } else {
+            if (character.pendingInputs.isEmpty()) {
+                charactersWithInput.add(entity);
+            }
+            character.pendingInputs.add(input);
+        }
+    }
+
+    private void stepInput(CharacterMoveInputEvent input, EntityRef entity, PredictedCharacter character) {
         CharacterCollider characterCollider = physics.getCharacterCollider(entity);
         if (characterCollider.isPending()) {
             logger.debug("Skipping input, collision not yet established");
             return;
         }
-        CircularBuffer<CharacterStateEvent> stateBuffer = characterStates.get(entity);
-        CharacterStateEvent lastState = stateBuffer.getLast();
+        CharacterStateEvent lastState = character.states.getLast();
         if (input.getDelta() + lastState.getTime() < time.getGameTimeInMs() + MAX_INPUT_OVERFLOW) {
             CharacterStateEvent newState = stepState(input, lastState, entity);
-            stateBuffer.add(newState);
+            character.states.add(newState);
 
             characterMovementSystemUtility.setToState(entity, newState);
-            lastInputEvent.put(entity, input);
+            character.lastInput = input;
         } else {
             logger.warn("Received too much input from {}, dropping input.", entity);
         }
     }
 
+    /**
+     * Steps the queued input of every character, in the order it was received.
+     */
+    private void stepPendingInputs() {
+        // Stepping sends events, whose handlers may queue further input or remove characters
+        for (int i = 0; i < charactersWithInput.size(); i++) {
+            EntityRef entity = charactersWithInput.get(i);
+            if (characters.containsKey(entity)) {
+                stepPendingInputs(entity);
+            }
+        }
+        charactersWithInput.clear();
+    }
+
+    private PredictedCharacter stepPendingInputs(EntityRef entity) {
+        PredictedCharacter character = characters.get(entity);
+        CharacterMoveInputEvent input;
+        while (characters.get(entity) == character && (input = character.pendingInputs.poll()) != null) {
+            stepInput(input, entity, character);
+        }
+        return character;
+    }
+
     @ReceiveEvent(components = {CharacterMovementComponent.class, LocationComponent.class, AliveCharacterComponent.class})
     public void onTeleport(CharacterTeleportEvent event, EntityRef entity) {
-        CircularBuffer<CharacterStateEvent> stateBuffer = characterStates.get(entity);
+        CircularBuffer<CharacterStateEvent> stateBuffer = stepPendingInputs(entity).states;
         CharacterStateEvent lastState = stateBuffer.getLast();
         CharacterStateEvent newState = new CharacterStateEvent(lastState);
         newState.setPosition(new Vector3f(event.getTargetPosition()));
@@ -148,7 +203,7 @@ public void onTeleport(CharacterTeleportEvent event, EntityRef entity) {
     public void onImpulse(CharacterImpulseEvent event, EntityRef entity) {
         Vector3f impulse = event.getDirection();
 
-        CircularBuffer<CharacterStateEvent> stateBuffer = characterStates.get(entity);
+        CircularBuffer<CharacterStateEvent> stateBuffer = stepPendingInputs(entity).states;
         CharacterStateEvent lastState = stateBuffer.getLast();
         CharacterStateEvent newState = new CharacterStateEvent(lastState);
         newState.setVelocity(impulse.add(newState.getVelocity()));
@@ -169,19 +224,20 @@ private CharacterStateEvent stepState(CharacterMoveInputEvent input, CharacterSt
 
     @Override
     public void update(float delta) {
+        stepPendingInputs();
         if (nextSendState < time.getGameTimeInMs()) {
             long lastSendTime = nextSendState - TIME_BETWEEN_STATE_REPLICATE;
-            for (Map.Entry<EntityRef, CircularBuffer<CharacterStateEvent>> entry : characterStates.entrySet()) {
-                if (entry.getValue().size() > 0) {
-                    CharacterStateEvent state = entry.getValue().getLast();
+            for (Map.Entry<EntityRef, PredictedCharacter> entry : characters.entrySet()) {
+                if (entry.getValue().states.size() > 0) {
+                    CharacterStateEvent state = entry.getValue().states.getLast();
                     if (state.getTime() >= lastSendTime) {
                         entry.getKey().send(state);
                     } else if (time.getGameTimeInMs() - state.getTime() > MAX_INPUT_UNDERFLOW) {
                         // Haven't received input in a while, repeat last input
-                        CharacterMoveInputEvent lastInput = lastInputEvent.get(entry.getKey());
+                        CharacterMoveInputEvent lastInput = entry.getValue().lastInput;
                         if (lastInput != null) {
                             CharacterMoveInputEvent newInput = new CharacterMoveInputEvent(lastInput, (int) (time.getGameTimeInMs() - state.getTime()));
-                            onPlayerInput(newInput, entry.getKey());
+                            stepInput(newInput, entry.getKey(), entry.getValue());
                         }
                         entry.getKey().send(state);
                     }
@@ -190,12 +246,12 @@ public void update(float delta) {
             nextSendState += TIME_BETWEEN_STATE_REPLICATE;
         }
         long renderTime = time.getGameTimeInMs() - RENDER_DELAY;
-        for (Map.Entry<EntityRef, CircularBuffer<CharacterStateEvent>> entry : characterStates.entrySet()) {
+        for (Map.Entry<EntityRef, PredictedCharacter> entry : characters.entrySet()) {
             if (entry.getKey().equals(localPlayer.getCharacterEntity())) {
                 continue;
             }
 
-            setToTime(renderTime, entry.getKey(), entry.getValue());
+            setToTime(renderTime, entry.getKey(), entry.getValue().states);
         }
     }
 
@@ -221,11 +277,12 @@ private void setToTime(long renderTime, EntityRef entity, CircularBuffer<Charact
 
     @Override
     public void lagCompensate(EntityRef client, long timeMs) {
-        for (Map.Entry<EntityRef, CircularBuffer<CharacterStateEvent>> entry : characterStates.entrySet()) {
+        stepPendingInputs();
+        for (Map.Entry<EntityRef, PredictedCharacter> entry : characters.entrySet()) {
             if (networkSystem.getOwnerEntity(entry.getKey()).equals(client)) {
-                characterMovementSystemUtility.setToState(entry.getKey(), entry.getValue().getLast());
+                characterMovementSystemUtility.setToState(entry.getKey(), entry.getValue().states.getLast());
             } else {
-                setToTime(timeMs - RENDER_DELAY, entry.getKey(), entry.getValue());
+                setToTime(timeMs - RENDER_DELAY, entry.getKey(), entry.getValue().states);
             }
         }
     }
@@ -233,8 +290,17 @@ public void lagCompensate(EntityRef client, long timeMs) {
     @Override
     public void restoreToPresent() {
         long renderTime = time.getGameTimeInMs() - RENDER_DELAY;
-        for (Map.Entry<EntityRef, CircularBuffer<CharacterStateEvent>> entry : characterStates.entrySet()) {
-            setToTime(renderTime, entry.getKey(), entry.getValue());
+        for (Map.Entry<EntityRef, PredictedCharacter> entry : characters.entrySet()) {
+            setToTime(renderTime, entry.getKey(), entry.getValue().states);
         }
     }
+
+    /**
+     * The recent states of a character, the input last stepped for it and the input waiting to be stepped.
+     */
+    private static final class PredictedCharacter {
+        private final CircularBuffer<CharacterStateEvent> states = CircularBuffer.create(BUFFER_SIZE);
+        private final Deque<CharacterMoveInputEvent> pendingInputs = new ArrayDeque<>();
+        private CharacterMoveInputEvent lastInput;
+    }
 }
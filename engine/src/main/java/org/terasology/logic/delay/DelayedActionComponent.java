@@ -18,6 +18,7 @@
 import org.terasology.entitySystem.Component;
 import org.terasology.world.block.ForceBlockActive;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -74,6 +75,10 @@ public boolean containsActionId(String actionId) {
         return actionIdsWakeUp.containsKey(actionId);
     }
 
+    Map<String, Long> getActionIdsWakeUp() {
+        return Collections.unmodifiableMap(actionIdsWakeUp);
+    }
+
     private long findSmallestWakeUp() {
         long result = Long.MAX_VALUE;
         for (long value : actionIdsWakeUp.values()) {
@@ -15,11 +15,9 @@
  */
 package org.terasology.logic.delay;
 
-import com.google.common.collect.Ordering;
-import com.google.common.collect.SortedSetMultimap;
-import com.google.common.collect.TreeMultimap;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.terasology.engine.Time;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
@@ -32,23 +30,30 @@
 import org.terasology.registry.In;
 import org.terasology.registry.Share;
 
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
+ * Keeps the pending actions of all entities on a {@link TimingWheel}, so that actions are scheduled and cancelled in
+ * constant time, and fires the actions due each update in a single pass.
+ * <p>
+ * The {@link DelayedActionComponent} and {@link PeriodicActionComponent} of an entity are updated in place whenever one
+ * of its actions is scheduled, cancelled or fired, and removed once they hold no actions, so readers always see the
+ * pending actions. They are only saved, which notifies other systems of the change, when the game is saved.
+ *
  */
 @RegisterSystem(RegisterMode.AUTHORITY)
 @Share(value = DelayManager.class)
 public class DelayedActionSystem extends BaseComponentSystem implements UpdateSubscriberSystem, DelayManager {
-    private static final Logger logger = LoggerFactory.getLogger(DelayedActionSystem.class);
 
     @In
     private Time time;
 
-    private SortedSetMultimap<Long, EntityRef> delayedOperationsSortedByTime = TreeMultimap.create(Ordering.natural(), Ordering.arbitrary());
-    private SortedSetMultimap<Long, EntityRef> periodicOperationsSortedByTime = TreeMultimap.create(Ordering.natural(), Ordering.arbitrary());
+    private final TimingWheel<ScheduledAction> wheel = new TimingWheel<>(0);
+    private final Map<EntityRef, EntityActions> entityActions = Maps.newHashMap();
+    private final Set<EntityRef> changedEntities = Sets.newHashSet();
+    private final List<ScheduledAction> expiredActions = Lists.newArrayList();
 
     // ONLY use this for testing. DO NOT use this during regular usage.
     void setTime(Time t) {
@@ -58,206 +63,244 @@ void setTime(Time t) {
     @Override
     public void update(float delta) {
         final long currentWorldTime = time.getGameTimeInMs();
-        invokeDelayedOperations(currentWorldTime);
-        invokePeriodicOperations(currentWorldTime);
-    }
-
-    private void invokeDelayedOperations(long currentWorldTime) {
-        List<EntityRef> operationsToInvoke = new LinkedList<>();
-        Iterator<Long> scheduledOperationsIterator = delayedOperationsSortedByTime.keySet().iterator();
-        long processedTime;
-        while (scheduledOperationsIterator.hasNext()) {
-            processedTime = scheduledOperationsIterator.next();
-            if (processedTime > currentWorldTime) {
-                break;
+        wheel.advance(currentWorldTime, expiredActions);
+        for (ScheduledAction action : expiredActions) {
+            // An action may have been cancelled or replaced by the handler of an action fired before it
+            EntityActions actions = entityActions.get(action.entity);
+            if (actions == null || action.isScheduled() || actions.get(action.periodic).get(action.actionId) != action) {
+                continue;
             }
-            operationsToInvoke.addAll(delayedOperationsSortedByTime.get(processedTime));
-            scheduledOperationsIterator.remove();
-        }
-
-        operationsToInvoke.stream().filter(EntityRef::exists).forEach(delayedEntity -> {
-            final DelayedActionComponent delayedActions = delayedEntity.getComponent(DelayedActionComponent.class);
-
-            // If there is a DelayedActionComponent, proceed. Else report an error to the log.
-            if (delayedActions != null) {
-                final Set<String> actionIds = delayedActions.removeActionsUpTo(currentWorldTime);
-                saveOrRemoveComponent(delayedEntity, delayedActions);
-
-                if (!delayedActions.isEmpty()) {
-                    delayedOperationsSortedByTime.put(delayedActions.getLowestWakeUp(), delayedEntity);
-                }
-
-                for (String actionId : actionIds) {
-                    delayedEntity.send(new DelayedActionTriggeredEvent(actionId));
-                }
-            } else {
-                logger.error("ERROR: This entity is missing a DelayedActionComponent. " +
-                        "So skipping delayed actions for this entity",
-                        delayedEntity);
+            if (!action.entity.exists()) {
+                remove(actions, action);
+                continue;
             }
-        });
-    }
-
-    private void invokePeriodicOperations(long currentWorldTime) {
-        List<EntityRef> operationsToInvoke = new LinkedList<>();
-        Iterator<Long> scheduledOperationsIterator = periodicOperationsSortedByTime.keySet().iterator();
-        long processedTime;
-        while (scheduledOperationsIterator.hasNext()) {
-            processedTime = scheduledOperationsIterator.next();
-            if (processedTime > currentWorldTime) {
-                break;
+            if (action.periodic) {
+                wheel.schedule(action, currentWorldTime + action.period);
+                writeAction(action);
+                markChanged(action.entity);
+                action.entity.send(new PeriodicActionTriggeredEvent(action.actionId));
+            } else {
+                remove(actions, action);
+                action.entity.send(new DelayedActionTriggeredEvent(action.actionId));
             }
-            operationsToInvoke.addAll(periodicOperationsSortedByTime.get(processedTime));
-            scheduledOperationsIterator.remove();
         }
+        expiredActions.clear();
+    }
 
-        operationsToInvoke.stream().filter(EntityRef::exists).forEach(periodicEntity -> {
-            final PeriodicActionComponent periodicActionComponent = periodicEntity.getComponent(PeriodicActionComponent.class);
-
-            // If there is a PeriodicActionComponent, proceed. Else report an error to the log.
-            if (periodicActionComponent != null) {
-                final Set<String> actionIds = periodicActionComponent.getTriggeredActionsAndReschedule(currentWorldTime);
-                saveOrRemoveComponent(periodicEntity, periodicActionComponent);
-
-                if (!periodicActionComponent.isEmpty()) {
-                    periodicOperationsSortedByTime.put(periodicActionComponent.getLowestWakeUp(), periodicEntity);
-                }
+    @Override
+    public void preSave() {
+        writeChangedComponents();
+    }
 
-                for (String actionId : actionIds) {
-                    periodicEntity.send(new PeriodicActionTriggeredEvent(actionId));
-                }
-            } else {
-                logger.error("ERROR: This entity is missing a DelayedActionComponent. " +
-                        "So skipping delayed actions for this entity", periodicEntity);
-            }
-        });
+    @Override
+    public void preAutoSave() {
+        writeChangedComponents();
     }
 
     @ReceiveEvent
     public void delayedComponentActivated(OnActivatedComponent event, EntityRef entity, DelayedActionComponent delayedActionComponent) {
-        delayedOperationsSortedByTime.put(delayedActionComponent.getLowestWakeUp(), entity);
+        // Scheduling writes the actions back into the component, so iterate over a copy
+        for (Map.Entry<String, Long> entry : Maps.newHashMap(delayedActionComponent.getActionIdsWakeUp()).entrySet()) {
+            schedule(entity, entry.getKey(), entry.getValue(), 0, false);
+        }
+        if (delayedActionComponent.isEmpty()) {
+            markChanged(entity);
+        }
     }
 
     @ReceiveEvent
     public void periodicComponentActivated(OnActivatedComponent event, EntityRef entity, PeriodicActionComponent periodicActionComponent) {
-        periodicOperationsSortedByTime.put(periodicActionComponent.getLowestWakeUp(), entity);
+        for (Map.Entry<String, Long> entry : Maps.newHashMap(periodicActionComponent.getActionIdsWakeUp()).entrySet()) {
+            schedule(entity, entry.getKey(), entry.getValue(), periodicActionComponent.getPeriod(entry.getKey()), true);
+        }
+        if (periodicActionComponent.isEmpty()) {
+            markChanged(entity);
+        }
     }
 
     @ReceiveEvent
     public void delayedComponentDeactivated(BeforeDeactivateComponent event, EntityRef entity, DelayedActionComponent delayedActionComponent) {
-        delayedOperationsSortedByTime.remove(delayedActionComponent.getLowestWakeUp(), entity);
+        EntityActions actions = entityActions.get(entity);
+        if (actions != null) {
+            for (ScheduledAction action : actions.delayed.values()) {
+                wheel.cancel(action);
+            }
+            actions.delayed.clear();
+            removeIfEmpty(actions);
+        }
+        forgetIfInactive(entity);
     }
 
     @ReceiveEvent
     public void periodicComponentDeactivated(BeforeDeactivateComponent event, EntityRef entity, PeriodicActionComponent periodicActionComponent) {
-        delayedOperationsSortedByTime.remove(periodicActionComponent.getLowestWakeUp(), entity);
+        EntityActions actions = entityActions.get(entity);
+        if (actions != null) {
+            for (ScheduledAction action : actions.periodic.values()) {
+                wheel.cancel(action);
+            }
+            actions.periodic.clear();
+            removeIfEmpty(actions);
+        }
+        forgetIfInactive(entity);
     }
 
     @Override
     public void addDelayedAction(EntityRef entity, String actionId, long delay) {
-        long scheduleTime = time.getGameTimeInMs() + delay;
-
-        DelayedActionComponent delayedActionComponent = entity.getComponent(DelayedActionComponent.class);
-        if (delayedActionComponent != null) {
-            final long oldWakeUp = delayedActionComponent.getLowestWakeUp();
-            delayedActionComponent.addActionId(actionId, scheduleTime);
-            entity.saveComponent(delayedActionComponent);
-            final long newWakeUp = delayedActionComponent.getLowestWakeUp();
-            if (oldWakeUp < newWakeUp) {
-                delayedOperationsSortedByTime.remove(oldWakeUp, entity);
-                delayedOperationsSortedByTime.put(newWakeUp, entity);
-            } else {
-                // Even if the oldWakeUp time is greater than or equal to the new one, the next action should still be added
-                // to the delayedOperationsSortedByTime mapping.
-                delayedOperationsSortedByTime.put(scheduleTime, entity);
-            }
-        } else {
-            delayedActionComponent = new DelayedActionComponent();
-            delayedActionComponent.addActionId(actionId, scheduleTime);
-            entity.addComponent(delayedActionComponent);
+        if (entity.getComponent(DelayedActionComponent.class) == null) {
+            entity.addComponent(new DelayedActionComponent());
         }
+        schedule(entity, actionId, time.getGameTimeInMs() + delay, 0, false);
     }
 
     @Override
     public void addPeriodicAction(EntityRef entity, String actionId, long initialDelay, long period) {
-        long scheduleTime = time.getGameTimeInMs() + initialDelay;
-
-        PeriodicActionComponent periodicActionComponent = entity.getComponent(PeriodicActionComponent.class);
-        if (periodicActionComponent != null) {
-            final long oldWakeUp = periodicActionComponent.getLowestWakeUp();
-            periodicActionComponent.addScheduledActionId(actionId, scheduleTime, period);
-            entity.saveComponent(periodicActionComponent);
-            final long newWakeUp = periodicActionComponent.getLowestWakeUp();
-            if (oldWakeUp < newWakeUp) {
-                periodicOperationsSortedByTime.remove(oldWakeUp, entity);
-                periodicOperationsSortedByTime.put(newWakeUp, entity);
-            } else {
-                // Even if the oldWakeUp time is greater than or equal to the new one, the next action should still be added
-                // to the delayedOperationsSortedByTime mapping.
-                periodicOperationsSortedByTime.put(scheduleTime, entity);
-            }
-        } else {
-            periodicActionComponent = new PeriodicActionComponent();
-            periodicActionComponent.addScheduledActionId(actionId, scheduleTime, period);
-            entity.addComponent(periodicActionComponent);
+        if (entity.getComponent(PeriodicActionComponent.class) == null) {
+            entity.addComponent(new PeriodicActionComponent());
         }
+        schedule(entity, actionId, time.getGameTimeInMs() + initialDelay, period, true);
     }
 
     @Override
     public void cancelDelayedAction(EntityRef entity, String actionId) {
-        DelayedActionComponent delayedComponent = entity.getComponent(DelayedActionComponent.class);
-        long oldWakeUp = delayedComponent.getLowestWakeUp();
-        delayedComponent.removeActionId(actionId);
-        long newWakeUp = delayedComponent.getLowestWakeUp();
-        if (!delayedComponent.isEmpty() && oldWakeUp < newWakeUp) {
-            delayedOperationsSortedByTime.remove(oldWakeUp, entity);
-            delayedOperationsSortedByTime.put(newWakeUp, entity);
-        } else if (delayedComponent.isEmpty()) {
-            delayedOperationsSortedByTime.remove(oldWakeUp, entity);
-        }
-        saveOrRemoveComponent(entity, delayedComponent);
+        cancel(entity, actionId, false);
     }
 
     @Override
     public void cancelPeriodicAction(EntityRef entity, String actionId) {
-        PeriodicActionComponent periodicActionComponent = entity.getComponent(PeriodicActionComponent.class);
-        long oldWakeUp = periodicActionComponent.getLowestWakeUp();
-        periodicActionComponent.removeScheduledActionId(actionId);
-        long newWakeUp = periodicActionComponent.getLowestWakeUp();
-        if (!periodicActionComponent.isEmpty() && oldWakeUp < newWakeUp) {
-            periodicOperationsSortedByTime.remove(oldWakeUp, entity);
-            periodicOperationsSortedByTime.put(newWakeUp, entity);
-        } else if (periodicActionComponent.isEmpty()) {
-            periodicOperationsSortedByTime.remove(oldWakeUp, entity);
-        }
-        saveOrRemoveComponent(entity, periodicActionComponent);
+        cancel(entity, actionId, true);
     }
 
     @Override
     public boolean hasDelayedAction(EntityRef entity, String actionId) {
-        DelayedActionComponent delayedComponent = entity.getComponent(DelayedActionComponent.class);
-        return delayedComponent != null && delayedComponent.containsActionId(actionId);
+        EntityActions actions = entityActions.get(entity);
+        return actions != null && actions.delayed.containsKey(actionId);
     }
 
     @Override
     public boolean hasPeriodicAction(EntityRef entity, String actionId) {
-        PeriodicActionComponent periodicActionComponent = entity.getComponent(PeriodicActionComponent.class);
-        return periodicActionComponent != null && periodicActionComponent.containsActionId(actionId);
+        EntityActions actions = entityActions.get(entity);
+        return actions != null && actions.periodic.containsKey(actionId);
     }
 
-    private void saveOrRemoveComponent(EntityRef delayedEntity, DelayedActionComponent delayedActionComponent) {
-        if (delayedActionComponent.isEmpty()) {
-            delayedEntity.removeComponent(DelayedActionComponent.class);
+    private void schedule(EntityRef entity, String actionId, long wakeUp, long period, boolean periodic) {
+        EntityActions actions = entityActions.get(entity);
+        if (actions == null) {
+            actions = new EntityActions(entity);
+            entityActions.put(entity, actions);
+        }
+        Map<String, ScheduledAction> actionsById = actions.get(periodic);
+        ScheduledAction action = actionsById.get(actionId);
+        if (action == null) {
+            action = new ScheduledAction(entity, actionId, periodic);
+            actionsById.put(actionId, action);
+        }
+        action.period = period;
+        wheel.schedule(action, wakeUp);
+        writeAction(action);
+        markChanged(entity);
+    }
+
+    private void cancel(EntityRef entity, String actionId, boolean periodic) {
+        EntityActions actions = entityActions.get(entity);
+        if (actions != null) {
+            ScheduledAction action = actions.get(periodic).get(actionId);
+            if (action != null) {
+                wheel.cancel(action);
+                remove(actions, action);
+            }
+        }
+    }
+
+    private void remove(EntityActions actions, ScheduledAction action) {
+        actions.get(action.periodic).remove(action.actionId);
+        markChanged(action.entity);
+        removeIfEmpty(actions);
+        eraseAction(action);
+    }
+
+    private static void writeAction(ScheduledAction action) {
+        if (action.periodic) {
+            PeriodicActionComponent component = action.entity.getComponent(PeriodicActionComponent.class);
+            if (component != null) {
+                if (component.containsActionId(action.actionId)) {
+                    component.removeScheduledActionId(action.actionId);
+                }
+                component.addScheduledActionId(action.actionId, action.getDeadline(), action.period);
+            }
         } else {
-            delayedEntity.saveComponent(delayedActionComponent);
+            DelayedActionComponent component = action.entity.getComponent(DelayedActionComponent.class);
+            if (component != null) {
+                if (component.containsActionId(action.actionId)) {
+                    component.removeActionId(action.actionId);
+                }
+                component.addActionId(action.actionId, action.getDeadline());
+            }
         }
     }
 
-    private void saveOrRemoveComponent(EntityRef periodicEntity, PeriodicActionComponent periodicActionComponent) {
-        if (periodicActionComponent.isEmpty()) {
-            periodicEntity.removeComponent(PeriodicActionComponent.class);
+    private static void eraseAction(ScheduledAction action) {
+        if (action.periodic) {
+            PeriodicActionComponent component = action.entity.getComponent(PeriodicActionComponent.class);
+            if (component != null && component.containsActionId(action.actionId)) {
+                component.removeScheduledActionId(action.actionId);
+                if (component.isEmpty()) {
+                    action.entity.removeComponent(PeriodicActionComponent.class);
+                }
+            }
         } else {
-            periodicEntity.saveComponent(periodicActionComponent);
+            DelayedActionComponent component = action.entity.getComponent(DelayedActionComponent.class);
+            if (component != null && component.containsActionId(action.actionId)) {
+                component.removeActionId(action.actionId);
+                if (component.isEmpty()) {
+                    action.entity.removeComponent(DelayedActionComponent.class);
+                }
+            }
+        }
+    }
+
+    private void removeIfEmpty(EntityActions actions) {
+        if (actions.delayed.isEmpty() && actions.periodic.isEmpty()) {
+            entityActions.remove(actions.entity);
+        }
+    }
+
+    private void markChanged(EntityRef entity) {
+        changedEntities.add(entity);
+    }
+
+    /**
+     * Drops a pending write of an entity that no longer has actions, such as one being stored or destroyed. Its
+     * components were updated in place, so a stored entity keeps its current actions without being written.
+     */
+    private void forgetIfInactive(EntityRef entity) {
+        if (!entityActions.containsKey(entity)) {
+            changedEntities.remove(entity);
+        }
+    }
+
+    private void writeChangedComponents() {
+        List<EntityRef> entities = Lists.newArrayList(changedEntities);
+        changedEntities.clear();
+        for (EntityRef entity : entities) {
+            if (!entity.exists()) {
+                continue;
+            }
+            DelayedActionComponent delayedActionComponent = entity.getComponent(DelayedActionComponent.class);
+            if (delayedActionComponent != null) {
+                if (delayedActionComponent.isEmpty()) {
+                    entity.removeComponent(DelayedActionComponent.class);
+                } else {
+                    entity.saveComponent(delayedActionComponent);
+                }
+            }
+            PeriodicActionComponent periodicActionComponent = entity.getComponent(PeriodicActionComponent.class);
+            if (periodicActionComponent != null) {
+                if (periodicActionComponent.isEmpty()) {
+                    entity.removeComponent(PeriodicActionComponent.class);
+                } else {
+                    entity.saveComponent(periodicActionComponent);
+                }
+            }
         }
     }
 
@@ -276,4 +319,31 @@ public void cancelDelayedAction(CancelDelayedActionEvent event, EntityRef entity
     public void addDelayedAction(AddDelayedActionEvent event, EntityRef entity) {
         addDelayedAction(entity, event.getActionId(), event.getDelay());
     }
+
+    private static final class ScheduledAction extends TimingWheel.Timer {
+        private final EntityRef entity;
+        private final String actionId;
+        private final boolean periodic;
+        private long period;
+
+        ScheduledAction(EntityRef entity, String actionId, boolean periodic) {
+            this.entity = entity;
+            this.actionId = actionId;
+            this.periodic = periodic;
+        }
+    }
+
+    private static final class EntityActions {
+        private final EntityRef entity;
+        private final Map<String, ScheduledAction> delayed = Maps.newHashMap();
+        private final Map<String, ScheduledAction> periodic = Maps.newHashMap();
+
+        EntityActions(EntityRef entity) {
+            this.entity = entity;
+        }
+
+        Map<String, ScheduledAction> get(boolean periodicActions) {
+            return periodicActions ? periodic : delayed;
+        }
+    }
 }
@@ -18,6 +18,7 @@
 import org.terasology.entitySystem.Component;
 import org.terasology.world.block.ForceBlockActive;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -90,4 +91,12 @@ public boolean isEmpty() {
     public boolean containsActionId(String actionId) {
         return actionIdsWakeUp.containsKey(actionId);
     }
+
+    Map<String, Long> getActionIdsWakeUp() {
+        return Collections.unmodifiableMap(actionIdsWakeUp);
+    }
+
+    long getPeriod(String actionId) {
+        return actionIdsPeriod.get(actionId);
+    }
 }
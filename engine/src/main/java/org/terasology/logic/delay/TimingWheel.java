@@ -0,0 +1,215 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.delay;
+
+import java.util.Collection;
+
+/**
+ * A hierarchical timing wheel: each level is a ring of 64 slots, and each slot of a level spans a full turn of the level
+ * below it. A timer is placed on the lowest level that can tell its deadline apart from the current time, so it takes
+ * constant time to schedule or cancel, and is moved down a level at a time as its deadline comes closer.
+ * <p>
+ * Advancing skips directly to the next occupied slot of any level, so large steps in time cost no more than small ones.
+ * Timers are linked into their slots directly, so scheduling allocates nothing. Times must not be negative.
+ *
+ * @param <T> The type of the timers
+ */
+class TimingWheel<T extends TimingWheel.Timer> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOT_COUNT = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOT_COUNT - 1;
+    private static final int LEVEL_COUNT = (Long.SIZE + SLOT_BITS - 1) / SLOT_BITS;
+    private static final int NOT_SCHEDULED = -2;
+    private static final int EXPIRED = -1;
+
+    private final Timer[][] slots = new Timer[LEVEL_COUNT][SLOT_COUNT];
+    private final long[] occupiedSlots = new long[LEVEL_COUNT];
+    /**
+     * Timers scheduled for a time that has already passed, handed out on the next advance.
+     */
+    private Timer expired;
+    private long time;
+    private int size;
+
+    TimingWheel(long time) {
+        this.time = time;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedules the timer, replacing its previous deadline if it was already scheduled.
+     *
+     * @param timer
+     * @param deadline The time at which the timer expires
+     */
+    public void schedule(T timer, long deadline) {
+        cancel(timer);
+        Timer scheduled = timer;
+        scheduled.deadline = deadline;
+        insert(scheduled);
+        size++;
+    }
+
+    /**
+     * @param timer
+     * @return Whether the timer was scheduled
+     */
+    public boolean cancel(T timer) {
+        if (!timer.isScheduled()) {
+            return false;
+        }
+        unlink(timer);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward in time, removing the timers that expire on the way.
+     *
+     * @param newTime The time to advance to, ignored if not after the current time
+     * @param result  Receives the expired timers, in the order of their deadlines after any that were already overdue
+     */
+    @SuppressWarnings("unchecked")
+    public void advance(long newTime, Collection<? super T> result) {
+        while (expired != null) {
+            Timer timer = expired;
+            unlink(timer);
+            size--;
+            result.add((T) timer);
+        }
+        while (true) {
+            long next = nextSlotStart();
+            if (next > newTime) {
+                break;
+            }
+            time = next;
+            for (int level = 0; level < LEVEL_COUNT; level++) {
+                int shift = level * SLOT_BITS;
+                int slot = (int) (time >>> shift) & SLOT_MASK;
+                if ((time & ((1L << shift) - 1)) != 0 || (occupiedSlots[level] & (1L << slot)) == 0) {
+                    continue;
+                }
+                Timer timer = slots[level][slot];
+                slots[level][slot] = null;
+                occupiedSlots[level] &= ~(1L << slot);
+                while (timer != null) {
+                    Timer nextTimer = timer.next;
+                    timer.prev = null;
+                    timer.next = null;
+                    if (timer.deadline <= time) {
+                        timer.level = NOT_SCHEDULED;
+                        size--;
+                        result.add((T) timer);
+                    } else {
+                        insert(timer);
+                    }
+                    timer = nextTimer;
+                }
+            }
+        }
+        time = Math.max(time, newTime);
+    }
+
+    /**
+     * @return The earliest time at which an occupied slot begins, or Long.MAX_VALUE if there is none
+     */
+    private long nextSlotStart() {
+        long result = Long.MAX_VALUE;
+        for (int level = 0; level < LEVEL_COUNT; level++) {
+            if (occupiedSlots[level] == 0) {
+                continue;
+            }
+            int shift = level * SLOT_BITS;
+            int currentSlot = (int) (time >>> shift) & SLOT_MASK;
+            long laterSlots = (currentSlot == SLOT_MASK) ? 0 : occupiedSlots[level] & (-1L << (currentSlot + 1));
+            if (laterSlots != 0) {
+                int turnShift = shift + SLOT_BITS;
+                long turnStart = (turnShift >= Long.SIZE) ? 0 : (time >>> turnShift) << turnShift;
+                result = Math.min(result, turnStart | ((long) Long.numberOfTrailingZeros(laterSlots) << shift));
+            }
+        }
+        return result;
+    }
+
+    private void insert(Timer timer) {
+        if (timer.deadline <= time) {
+            timer.level = EXPIRED;
+            timer.next = expired;
+            if (expired != null) {
+                expired.prev = timer;
+            }
+            expired = timer;
+            return;
+        }
+        // The highest bit in which deadline and time differ decides the level, so its slot comes after the current one
+        int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(timer.deadline ^ time)) / SLOT_BITS;
+        int slot = (int) (timer.deadline >>> (level * SLOT_BITS)) & SLOT_MASK;
+        timer.level = level;
+        timer.slot = slot;
+        timer.next = slots[level][slot];
+        if (timer.next != null) {
+            timer.next.prev = timer;
+        }
+        slots[level][slot] = timer;
+        occupiedSlots[level] |= 1L << slot;
+    }
+
+    private void unlink(Timer timer) {
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else if (timer.level == EXPIRED) {
+            expired = timer.next;
+        } else {
+            slots[timer.level][timer.slot] = timer.next;
+            if (timer.next == null) {
+                occupiedSlots[timer.level] &= ~(1L << timer.slot);
+            }
+        }
+        timer.prev = null;
+        timer.next = null;
+        timer.level = NOT_SCHEDULED;
+    }
+
+    /**
+     * A timer that can be scheduled on a {@link TimingWheel}, to be extended with whatever should happen when it expires.
+     * A timer can only be scheduled on one wheel.
+     */
+    public static class Timer {
+        private long deadline;
+        private int level = NOT_SCHEDULED;
+        private int slot;
+        private Timer prev;
+        private Timer next;
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public boolean isScheduled() {
+            return level != NOT_SCHEDULED;
+        }
+    }
+}
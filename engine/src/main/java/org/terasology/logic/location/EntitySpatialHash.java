@@ -0,0 +1,361 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.location;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.math.AABB;
+import org.terasology.math.TeraMath;
+import org.terasology.math.geom.Vector3f;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A spatial hash of entity positions: space is divided into cubic cells, and only the cells that contain entities are
+ * stored. Moving an entity within its cell only updates its position, and range queries only visit the cells overlapping
+ * the range.
+ * <p>
+ * Cell coordinates wrap around every 2^21 cells, so far apart cells may share a bucket. Queries check the exact
+ * position of each entity, so this only costs time.
+ *
+ */
+class EntitySpatialHash {
+    private static final int CELL_COORD_BITS = 21;
+    private static final long CELL_COORD_MASK = (1L << CELL_COORD_BITS) - 1;
+
+    private final float cellSize;
+    private final TLongObjectMap<List<Entry>> cells = new TLongObjectHashMap<>();
+    private final Map<EntityRef, Entry> entries = Maps.newHashMap();
+
+    EntitySpatialHash(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean contains(EntityRef entity) {
+        return entries.containsKey(entity);
+    }
+
+    /**
+     * Adds the entity, or moves it if it is already present.
+     *
+     * @param entity
+     * @param position
+     */
+    public void update(EntityRef entity, Vector3f position) {
+        long key = cellKey(cellCoord(position.x), cellCoord(position.y), cellCoord(position.z));
+        Entry entry = entries.get(entity);
+        if (entry == null) {
+            entry = new Entry(entity);
+            entries.put(entity, entry);
+            addToCell(entry, key);
+        } else if (entry.cellKey != key) {
+            removeFromCell(entry);
+            addToCell(entry, key);
+        }
+        entry.x = position.x;
+        entry.y = position.y;
+        entry.z = position.z;
+    }
+
+    public void remove(EntityRef entity) {
+        Entry entry = entries.remove(entity);
+        if (entry != null) {
+            removeFromCell(entry);
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        cells.clear();
+    }
+
+    /**
+     * Adds the entities within the given distance of a position to the result.
+     *
+     * @param position
+     * @param radius
+     * @param filter   Only entities accepted by this are added, may be null
+     * @param result
+     */
+    public void getInRadius(Vector3f position, float radius, Predicate<EntityRef> filter, Collection<EntityRef> result) {
+        float radiusSquared = radius * radius;
+        int minX = cellCoord(position.x - radius);
+        int minY = cellCoord(position.y - radius);
+        int minZ = cellCoord(position.z - radius);
+        int maxX = cellCoord(position.x + radius);
+        int maxY = cellCoord(position.y + radius);
+        int maxZ = cellCoord(position.z + radius);
+        if (isLargerThanTable(minX, minY, minZ, maxX, maxY, maxZ)) {
+            for (Entry entry : entries.values()) {
+                if (entry.distanceSquared(position) <= radiusSquared && accepts(filter, entry)) {
+                    result.add(entry.entity);
+                }
+            }
+            return;
+        }
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    List<Entry> cell = cells.get(cellKey(x, y, z));
+                    if (cell != null) {
+                        for (int i = 0; i < cell.size(); i++) {
+                            Entry entry = cell.get(i);
+                            if (entry.distanceSquared(position) <= radiusSquared && accepts(filter, entry)) {
+                                result.add(entry.entity);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the entities within the given region to the result.
+     *
+     * @param region
+     * @param filter Only entities accepted by this are added, may be null
+     * @param result
+     */
+    public void getInRegion(AABB region, Predicate<EntityRef> filter, Collection<EntityRef> result) {
+        int minX = cellCoord(region.minX());
+        int minY = cellCoord(region.minY());
+        int minZ = cellCoord(region.minZ());
+        int maxX = cellCoord(region.maxX());
+        int maxY = cellCoord(region.maxY());
+        int maxZ = cellCoord(region.maxZ());
+        if (isLargerThanTable(minX, minY, minZ, maxX, maxY, maxZ)) {
+            for (Entry entry : entries.values()) {
+                if (entry.isIn(region) && accepts(filter, entry)) {
+                    result.add(entry.entity);
+                }
+            }
+            return;
+        }
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    List<Entry> cell = cells.get(cellKey(x, y, z));
+                    if (cell != null) {
+                        for (int i = 0; i < cell.size(); i++) {
+                            Entry entry = cell.get(i);
+                            if (entry.isIn(region) && accepts(filter, entry)) {
+                                result.add(entry.entity);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the entities closest to a position, searching outwards one shell of cells at a time until no unvisited cell
+     * can hold anything closer than what has been found.
+     *
+     * @param position
+     * @param count       The maximum number of entities to find
+     * @param maxDistance The maximum distance of the entities from the position
+     * @param filter      Only entities accepted by this are returned, may be null
+     * @return The entities found, nearest first
+     */
+    public List<EntityRef> getNearest(Vector3f position, int count, float maxDistance, Predicate<EntityRef> filter) {
+        if (count <= 0 || entries.isEmpty()) {
+            return Lists.newArrayList();
+        }
+        NearestEntries nearest = new NearestEntries(count, maxDistance * maxDistance);
+        int centerX = cellCoord(position.x);
+        int centerY = cellCoord(position.y);
+        int centerZ = cellCoord(position.z);
+        int maxShell = (int) Math.ceil(maxDistance / cellSize);
+        for (int shell = 0; shell <= maxShell; shell++) {
+            int sideLength = 2 * shell + 1;
+            if ((long) sideLength * sideLength * sideLength > cells.size()) {
+                // Remaining shells hold more cells than the table does, so check the entries directly
+                for (Entry entry : entries.values()) {
+                    if (shellOf(entry, centerX, centerY, centerZ) >= shell && !nearest.contains(entry)) {
+                        nearest.offer(entry, entry.distanceSquared(position), filter);
+                    }
+                }
+                break;
+            }
+            for (int x = centerX - shell; x <= centerX + shell; x++) {
+                for (int y = centerY - shell; y <= centerY + shell; y++) {
+                    boolean onShellFace = x == centerX - shell || x == centerX + shell || y == centerY - shell || y == centerY + shell;
+                    int zStep = onShellFace ? 1 : 2 * shell;
+                    for (int z = centerZ - shell; z <= centerZ + shell; z += Math.max(1, zStep)) {
+                        List<Entry> cell = cells.get(cellKey(x, y, z));
+                        if (cell != null) {
+                            for (int i = 0; i < cell.size(); i++) {
+                                Entry entry = cell.get(i);
+                                nearest.offer(entry, entry.distanceSquared(position), filter);
+                            }
+                        }
+                    }
+                }
+            }
+            // Any entity outside the shells searched so far is at least this far away
+            float searchedDistance = shell * cellSize;
+            if (nearest.isFull() && nearest.worstDistanceSquared() <= searchedDistance * searchedDistance) {
+                break;
+            }
+        }
+        return nearest.toList();
+    }
+
+    private int shellOf(Entry entry, int centerX, int centerY, int centerZ) {
+        int dx = Math.abs(cellCoord(entry.x) - centerX);
+        int dy = Math.abs(cellCoord(entry.y) - centerY);
+        int dz = Math.abs(cellCoord(entry.z) - centerZ);
+        return Math.max(dx, Math.max(dy, dz));
+    }
+
+    private boolean isLargerThanTable(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        long cellCount = (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+        return cellCount > cells.size();
+    }
+
+    private void addToCell(Entry entry, long key) {
+        List<Entry> cell = cells.get(key);
+        if (cell == null) {
+            cell = Lists.newArrayList();
+            cells.put(key, cell);
+        }
+        entry.cellKey = key;
+        entry.cell = cell;
+        entry.indexInCell = cell.size();
+        cell.add(entry);
+    }
+
+    private void removeFromCell(Entry entry) {
+        List<Entry> cell = entry.cell;
+        Entry last = cell.remove(cell.size() - 1);
+        if (last != entry) {
+            cell.set(entry.indexInCell, last);
+            last.indexInCell = entry.indexInCell;
+        }
+        if (cell.isEmpty()) {
+            cells.remove(entry.cellKey);
+        }
+        entry.cell = null;
+    }
+
+    private int cellCoord(float value) {
+        return TeraMath.floorToInt(value / cellSize);
+    }
+
+    private static long cellKey(int x, int y, int z) {
+        return ((x & CELL_COORD_MASK) << (2 * CELL_COORD_BITS)) | ((y & CELL_COORD_MASK) << CELL_COORD_BITS) | (z & CELL_COORD_MASK);
+    }
+
+    private static boolean accepts(Predicate<EntityRef> filter, Entry entry) {
+        return filter == null || filter.test(entry.entity);
+    }
+
+    private static final class Entry {
+        private final EntityRef entity;
+        private float x;
+        private float y;
+        private float z;
+        private long cellKey;
+        private List<Entry> cell;
+        private int indexInCell;
+
+        Entry(EntityRef entity) {
+            this.entity = entity;
+        }
+
+        float distanceSquared(Vector3f position) {
+            float dx = x - position.x;
+            float dy = y - position.y;
+            float dz = z - position.z;
+            return dx * dx + dy * dy + dz * dz;
+        }
+
+        boolean isIn(AABB region) {
+            return x > region.minX() && x <= region.maxX() && y > region.minY() && y <= region.maxY()
+                    && z > region.minZ() && z <= region.maxZ();
+        }
+    }
+
+    /**
+     * The closest entries offered so far, kept sorted by distance.
+     */
+    private static final class NearestEntries {
+        private final Entry[] entries;
+        private final float[] distancesSquared;
+        private final float maxDistanceSquared;
+        private int size;
+
+        NearestEntries(int capacity, float maxDistanceSquared) {
+            this.entries = new Entry[capacity];
+            this.distancesSquared = new float[capacity];
+            this.maxDistanceSquared = maxDistanceSquared;
+        }
+
+        void offer(Entry entry, float distanceSquared, Predicate<EntityRef> filter) {
+            if (distanceSquared > maxDistanceSquared || (isFull() && distanceSquared >= worstDistanceSquared())) {
+                return;
+            }
+            if (!accepts(filter, entry)) {
+                return;
+            }
+            int index = isFull() ? size - 1 : size++;
+            while (index > 0 && distancesSquared[index - 1] > distanceSquared) {
+                entries[index] = entries[index - 1];
+                distancesSquared[index] = distancesSquared[index - 1];
+                index--;
+            }
+            entries[index] = entry;
+            distancesSquared[index] = distanceSquared;
+        }
+
+        boolean contains(Entry entry) {
+            for (int i = 0; i < size; i++) {
+                if (entries[i] == entry) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean isFull() {
+            return size == entries.length;
+        }
+
+        float worstDistanceSquared() {
+            return distancesSquared[size - 1];
+        }
+
+        List<EntityRef> toList() {
+            List<EntityRef> result = Lists.newArrayListWithCapacity(size);
+            for (int i = 0; i < size; i++) {
+                result.add(entries[i].entity);
+            }
+            return result;
+        }
+    }
+}
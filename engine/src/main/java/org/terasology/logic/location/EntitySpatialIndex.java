@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.location;
+
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.math.AABB;
+import org.terasology.math.geom.Vector3f;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Finds entities by their world position. Every active entity with a {@link LocationComponent} is indexed, at the
+ * position it had when its location was last saved.
+ * <p>
+ * Queries that take a result collection add to it without clearing it, so a collection can be reused between queries.
+ *
+ */
+public interface EntitySpatialIndex {
+
+    /**
+     * @param position
+     * @param count       The maximum number of entities to return
+     * @param maxDistance The maximum distance of the entities from the position
+     * @return The entities nearest to the position, nearest first
+     */
+    List<EntityRef> getNearest(Vector3f position, int count, float maxDistance);
+
+    /**
+     * @param position
+     * @param count       The maximum number of entities to return
+     * @param maxDistance The maximum distance of the entities from the position
+     * @param filter      Only entities accepted by this are returned
+     * @return The entities accepted by the filter nearest to the position, nearest first
+     */
+    List<EntityRef> getNearest(Vector3f position, int count, float maxDistance, Predicate<EntityRef> filter);
+
+    /**
+     * @param position
+     * @param radius
+     * @return The entities within the given distance of the position, in no particular order
+     */
+    List<EntityRef> getInRadius(Vector3f position, float radius);
+
+    /**
+     * Adds the entities within the given distance of the position to the result, in no particular order.
+     *
+     * @param position
+     * @param radius
+     * @param filter   Only entities accepted by this are added, may be null
+     * @param result
+     */
+    void getInRadius(Vector3f position, float radius, Predicate<EntityRef> filter, Collection<EntityRef> result);
+
+    /**
+     * @param region
+     * @return The entities within the region, in no particular order
+     */
+    List<EntityRef> getInRegion(AABB region);
+
+    /**
+     * Adds the entities within the region to the result, in no particular order.
+     *
+     * @param region
+     * @param filter Only entities accepted by this are added, may be null
+     * @param result
+     */
+    void getInRegion(AABB region, Predicate<EntityRef> filter, Collection<EntityRef> result);
+}
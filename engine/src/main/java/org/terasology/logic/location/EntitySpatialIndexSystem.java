@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.location;
+
+import com.google.common.collect.Lists;
+import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnChangedComponent;
+import org.terasology.entitySystem.event.ReceiveEvent;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.math.AABB;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.registry.In;
+import org.terasology.registry.Share;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Keeps an {@link EntitySpatialHash} of all active entities with a location up to date as their locations are saved.
+ * When an entity moves, its children are moved with it.
+ *
+ */
+@RegisterSystem
+@Share(EntitySpatialIndex.class)
+public class EntitySpatialIndexSystem extends BaseComponentSystem implements EntitySpatialIndex {
+    private static final float CELL_SIZE = 16;
+
+    @In
+    private EntityManager entityManager;
+
+    private final EntitySpatialHash index = new EntitySpatialHash(CELL_SIZE);
+    private final Vector3f worldPosition = new Vector3f();
+
+    @Override
+    public void postBegin() {
+        for (EntityRef entity : entityManager.getEntitiesWith(LocationComponent.class)) {
+            updateEntity(entity, entity.getComponent(LocationComponent.class));
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        index.clear();
+    }
+
+    @ReceiveEvent(components = LocationComponent.class)
+    public void onLocationActivated(OnActivatedComponent event, EntityRef entity, LocationComponent location) {
+        updateEntity(entity, location);
+    }
+
+    @ReceiveEvent(components = LocationComponent.class)
+    public void onLocationChanged(OnChangedComponent event, EntityRef entity, LocationComponent location) {
+        updateEntity(entity, location);
+    }
+
+    @ReceiveEvent(components = LocationComponent.class)
+    public void onLocationDeactivated(BeforeDeactivateComponent event, EntityRef entity) {
+        index.remove(entity);
+    }
+
+    private void updateEntity(EntityRef entity, LocationComponent location) {
+        location.getWorldPosition(worldPosition);
+        if (Float.isNaN(worldPosition.x) || Float.isNaN(worldPosition.y) || Float.isNaN(worldPosition.z)) {
+            index.remove(entity);
+        } else {
+            index.update(entity, worldPosition);
+        }
+        for (EntityRef child : location.getChildren()) {
+            LocationComponent childLocation = child.getComponent(LocationComponent.class);
+            if (childLocation != null && index.contains(child)) {
+                updateEntity(child, childLocation);
+            }
+        }
+    }
+
+    @Override
+    public List<EntityRef> getNearest(Vector3f position, int count, float maxDistance) {
+        return index.getNearest(position, count, maxDistance, null);
+    }
+
+    @Override
+    public List<EntityRef> getNearest(Vector3f position, int count, float maxDistance, Predicate<EntityRef> filter) {
+        return index.getNearest(position, count, maxDistance, filter);
+    }
+
+    @Override
+    public List<EntityRef> getInRadius(Vector3f position, float radius) {
+        List<EntityRef> result = Lists.newArrayList();
+        index.getInRadius(position, radius, null, result);
+        return result;
+    }
+
+    @Override
+    public void getInRadius(Vector3f position, float radius, Predicate<EntityRef> filter, Collection<EntityRef> result) {
+        index.getInRadius(position, radius, filter, result);
+    }
+
+    @Override
+    public List<EntityRef> getInRegion(AABB region) {
+        List<EntityRef> result = Lists.newArrayList();
+        index.getInRegion(region, null, result);
+        return result;
+    }
+
+    @Override
+    public void getInRegion(AABB region, Predicate<EntityRef> filter, Collection<EntityRef> result) {
+        index.getInRegion(region, filter, result);
+    }
+}
@@ -46,10 +46,10 @@ public final class LocationComponent implements Component, ReplicationCheck {
     List<EntityRef> children = Lists.newArrayList();
 
     // Standard position/rotation
-    @Replicate
+    @Replicate(quantization = 1f / 1024)
     @TextField
     Vector3f position = new Vector3f();
-    @Replicate
+    @Replicate(quantization = 1f / 4096)
     Quat4f rotation = new Quat4f(0, 0, 0, 1);
     @Replicate
     float scale = 1.0f;
@@ -35,9 +35,8 @@ public ChunkMeshInfo(ChunkMesh mesh) {
 
         if (!mesh.isGenerated()) {
             for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
-                final ChunkMesh.VertexElements element = mesh.getVertexElements(type);
-                vertices += element.finalVertices.limit();
-                indices += element.finalIndices.limit();
+                vertices += mesh.getBufferedVertexCount(type);
+                indices += mesh.getBufferedIndexCount(type);
             }
         }
 
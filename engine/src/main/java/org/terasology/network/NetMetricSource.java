@@ -42,4 +42,20 @@ public interface NetMetricSource {
      * @return The amount of bytes sent since last time this method was called
      */
     int getSentBytesSinceLastCall();
+
+    /**
+     * @param priority
+     * @return The amount of items of the given priority waiting to be sent, as of the last send
+     */
+    default int getQueuedItems(SendPriority priority) {
+        return 0;
+    }
+
+    /**
+     * @param priority
+     * @return The amount of bytes of the given priority sent since last time this method was called for it
+     */
+    default int getSentBytesSinceLastCall(SendPriority priority) {
+        return 0;
+    }
 }
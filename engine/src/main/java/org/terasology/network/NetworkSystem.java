@@ -65,6 +65,36 @@ public interface NetworkSystem extends BlockRegistrationListener {
 
     int getOutgoingBytesDelta();
 
+    /**
+     * @return The number of chunks served from the server's encoded chunk cache since the last call
+     */
+    default int getChunkCacheHitsDelta() {
+        return 0;
+    }
+
+    /**
+     * @return The number of chunks the server had to encode for sending since the last call
+     */
+    default int getChunkCacheMissesDelta() {
+        return 0;
+    }
+
+    /**
+     * @param priority
+     * @return The number of items of the given priority waiting to be sent to clients, as of their last send
+     */
+    default int getQueuedItems(SendPriority priority) {
+        return 0;
+    }
+
+    /**
+     * @param priority
+     * @return The number of bytes of the given priority sent to clients since the last call
+     */
+    default int getOutgoingBytesDelta(SendPriority priority) {
+        return 0;
+    }
+
     void forceDisconnect(Client client);
 
     void setContext(Context context);
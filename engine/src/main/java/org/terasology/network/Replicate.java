@@ -37,4 +37,10 @@
      * @return Whether the field should only be replicated when the entity initially becomes relevant to a client
      */
     boolean initialOnly() default false;
+
+    /**
+     * @return The step floating point components of the field are rounded to when sent as an update to clients that
+     * do not own the entity, with changes smaller than the step not being sent at all. 0 for no quantization.
+     */
+    float quantization() default 0;
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network;
+
+/**
+ * The classes of data sent from the server to each client, in order of priority. Each class receives a share of the
+ * client's bandwidth according to its priority, and lower classes use whatever higher classes leave unused.
+ *
+ */
+public enum SendPriority {
+    /**
+     * Entities owned by the client, such as its character. These are always sent immediately.
+     */
+    OWN_CHARACTER,
+
+    /**
+     * Other entities relevant to the client, nearest first.
+     */
+    NEARBY_ENTITIES,
+
+    /**
+     * Events sent to entities or blocks relevant to the client.
+     */
+    EVENTS,
+
+    /**
+     * Chunks close to the client's character.
+     */
+    NEAR_CHUNKS,
+
+    /**
+     * The remaining chunks within the client's view distance.
+     */
+    FAR_CHUNKS
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.protobuf.ByteString;
+import org.terasology.math.ChunkMath;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.protobuf.EntityData;
+import org.terasology.world.WorldChangeListener;
+import org.terasology.world.biomes.Biome;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.liquid.LiquidData;
+import org.terasology.world.propagation.BlockChange;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Server-wide cache of encoded chunks, so that a chunk sent to many clients is only encoded (and optionally
+ * compressed) once. Entries are dropped whenever a block, liquid or biome in the chunk changes through the world
+ * provider, or the chunk is unloaded (see {@link EncodedChunkCacheSystem}). Chunks are encoded from the threads of
+ * several clients at once, so all of this is thread safe.
+ * <p>
+ * Entries only hold weak references to their chunks, so the cache never keeps an unloaded chunk's blocks in memory.
+ *
+ */
+public class EncodedChunkCache implements WorldChangeListener {
+
+    private static final int MAX_CACHED_CHUNKS = 4096;
+
+    private final Cache<Vector3i, CachedChunk> cache = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_CHUNKS).build();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param chunk
+     * @return The chunk encoded for sending to clients
+     */
+    public EntityData.ChunkStore getEncoded(Chunk chunk) {
+        return getCachedChunk(chunk).store;
+    }
+
+    /**
+     * @param chunk
+     * @return The encoded chunk, deflated
+     */
+    public ByteString getCompressed(Chunk chunk) {
+        CachedChunk cachedChunk = getCachedChunk(chunk);
+        if (cachedChunk.compressed == null) {
+            cachedChunk.compressed = compress(cachedChunk.store);
+        }
+        return cachedChunk.compressed;
+    }
+
+    private CachedChunk getCachedChunk(Chunk chunk) {
+        CachedChunk cachedChunk = cache.getIfPresent(chunk.getPosition());
+        if (cachedChunk == null || cachedChunk.chunk.get() != chunk) {
+            misses.increment();
+            cachedChunk = new CachedChunk(chunk, chunk.encode().build());
+            cache.put(new Vector3i(chunk.getPosition()), cachedChunk);
+        } else {
+            hits.increment();
+        }
+        return cachedChunk;
+    }
+
+    public void invalidate(Vector3i chunkPos) {
+        cache.invalidate(chunkPos);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * @return The number of times a chunk was served from the cache since the last call
+     */
+    public int getHitsSinceLastCall() {
+        return (int) hits.sumThenReset();
+    }
+
+    /**
+     * @return The number of times a chunk had to be encoded since the last call
+     */
+    public int getMissesSinceLastCall() {
+        return (int) misses.sumThenReset();
+    }
+
+    @Override
+    public void onBlockChanged(Vector3i pos, Block newBlock, Block originalBlock) {
+        invalidate(ChunkMath.calcChunkPos(pos));
+    }
+
+    @Override
+    public void onBlocksChanged(Vector3i chunkPos, Collection<BlockChange> changes) {
+        invalidate(chunkPos);
+    }
+
+    @Override
+    public void onBiomeChanged(Vector3i pos, Biome newBiome, Biome originalBiome) {
+        invalidate(ChunkMath.calcChunkPos(pos));
+    }
+
+    @Override
+    public void onLiquidChanged(Vector3i pos, LiquidData newState, LiquidData originalState) {
+        invalidate(ChunkMath.calcChunkPos(pos));
+    }
+
+    public static ByteString compress(EntityData.ChunkStore store) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream deflaterStream = new DeflaterOutputStream(out, deflater)) {
+            store.writeTo(deflaterStream);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to compress chunk", e);
+        } finally {
+            deflater.end();
+        }
+        return ByteString.copyFrom(out.toByteArray());
+    }
+
+    public static EntityData.ChunkStore decompress(ByteString data) throws IOException {
+        try (InflaterInputStream inflaterStream = new InflaterInputStream(data.newInput())) {
+            return EntityData.ChunkStore.parseFrom(inflaterStream);
+        }
+    }
+
+    private static final class CachedChunk {
+        private final WeakReference<Chunk> chunk;
+        private final EntityData.ChunkStore store;
+        private volatile ByteString compressed;
+
+        private CachedChunk(Chunk chunk, EntityData.ChunkStore store) {
+            this.chunk = new WeakReference<>(chunk);
+            this.store = store;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.event.ReceiveEvent;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterMode;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.network.NetworkSystem;
+import org.terasology.registry.In;
+import org.terasology.world.WorldComponent;
+import org.terasology.world.chunks.event.BeforeChunkUnload;
+
+/**
+ * Drops unloaded chunks from the server's {@link EncodedChunkCache}.
+ *
+ */
+@RegisterSystem(RegisterMode.AUTHORITY)
+public class EncodedChunkCacheSystem extends BaseComponentSystem {
+
+    @In
+    private NetworkSystem networkSystem;
+
+    @ReceiveEvent(components = WorldComponent.class)
+    public void onChunkUnloaded(BeforeChunkUnload event, EntityRef worldEntity) {
+        if (networkSystem instanceof NetworkSystemImpl) {
+            EncodedChunkCache cache = ((NetworkSystemImpl) networkSystem).getEncodedChunkCache();
+            if (cache != null) {
+                cache.invalidate(event.getChunkPos());
+            }
+        }
+    }
+}
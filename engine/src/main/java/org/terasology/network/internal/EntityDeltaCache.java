@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.common.collect.Maps;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.network.serialization.ServerComponentFieldCheck;
+import org.terasology.persistence.serializers.NetworkEntitySerializer;
+import org.terasology.protobuf.EntityData;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Shares serialized entity deltas between clients within a single net tick.
+ * <p>
+ * Clients that see the same changes to an entity receive the same packed delta, so a dirty entity is serialized at
+ * most once for its owner and once for everyone else, no matter how many clients it is replicated to. The cache must
+ * be cleared at the end of each net tick.
+ *
+ */
+public class EntityDeltaCache {
+
+    private final NetworkEntitySerializer entitySerializer;
+    private final Map<DeltaKey, Optional<EntityData.PackedEntity>> deltas = Maps.newHashMap();
+    private final DeltaKey lookupKey = new DeltaKey();
+
+    private int serializations;
+    private long serializeTime;
+
+    public EntityDeltaCache(NetworkEntitySerializer entitySerializer) {
+        this.entitySerializer = entitySerializer;
+    }
+
+    /**
+     * @param netId
+     * @param entity
+     * @param owner   Whether the delta is for the owner of the entity
+     * @param added
+     * @param changed
+     * @param removed
+     * @return The packed delta of the entity, or null if there is nothing to send
+     */
+    public EntityData.PackedEntity getDelta(int netId, EntityRef entity, boolean owner,
+                                            Set<Class<? extends Component>> added,
+                                            Set<Class<? extends Component>> changed,
+                                            Set<Class<? extends Component>> removed) {
+        lookupKey.netId = netId;
+        lookupKey.owner = owner;
+        setComponentIds(lookupKey.added, added);
+        setComponentIds(lookupKey.changed, changed);
+        setComponentIds(lookupKey.removed, removed);
+        Optional<EntityData.PackedEntity> delta = deltas.get(lookupKey);
+        if (delta == null) {
+            long startTime = System.nanoTime();
+            delta = Optional.ofNullable(entitySerializer.serialize(entity, added, changed, removed,
+                    new ServerComponentFieldCheck(owner, false)));
+            serializeTime += System.nanoTime() - startTime;
+            serializations++;
+            deltas.put(lookupKey.copy(), delta);
+        }
+        return delta.orElse(null);
+    }
+
+    public void clear() {
+        deltas.clear();
+    }
+
+    /**
+     * @return The number of entity deltas serialized since the last call
+     */
+    public int getSerializationsSinceLastCall() {
+        int result = serializations;
+        serializations = 0;
+        return result;
+    }
+
+    /**
+     * @return The time spent serializing entity deltas since the last call, in nanoseconds
+     */
+    public long getSerializeTimeSinceLastCall() {
+        long result = serializeTime;
+        serializeTime = 0;
+        return result;
+    }
+
+    /**
+     * Components without a network id are never serialized, so they can be left out of the key.
+     */
+    private void setComponentIds(BitSet ids, Set<Class<? extends Component>> componentTypes) {
+        ids.clear();
+        for (Class<? extends Component> componentType : componentTypes) {
+            Integer id = entitySerializer.getComponentId(componentType);
+            if (id != null) {
+                ids.set(id);
+            }
+        }
+    }
+
+    /**
+     * Identifies a delta by the network ids of the added, changed and removed components, so that the key used for
+     * lookups can be refilled for every call and only copied when a new delta is stored.
+     */
+    private static final class DeltaKey {
+        private int netId;
+        private boolean owner;
+        private final BitSet added;
+        private final BitSet changed;
+        private final BitSet removed;
+
+        private DeltaKey() {
+            this(new BitSet(), new BitSet(), new BitSet());
+        }
+
+        private DeltaKey(BitSet added, BitSet changed, BitSet removed) {
+            this.added = added;
+            this.changed = changed;
+            this.removed = removed;
+        }
+
+        private DeltaKey copy() {
+            DeltaKey result = new DeltaKey((BitSet) added.clone(), (BitSet) changed.clone(), (BitSet) removed.clone());
+            result.netId = netId;
+            result.owner = owner;
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj instanceof DeltaKey) {
+                DeltaKey other = (DeltaKey) obj;
+                return netId == other.netId && owner == other.owner && added.equals(other.added)
+                        && changed.equals(other.changed) && removed.equals(other.removed);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = 31 * netId + (owner ? 1 : 0);
+            result = 31 * result + added.hashCode();
+            result = 31 * result + changed.hashCode();
+            return 31 * result + removed.hashCode();
+        }
+    }
+}
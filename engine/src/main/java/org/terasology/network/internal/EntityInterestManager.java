@@ -0,0 +1,249 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.SetMultimap;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.ChunkMath;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.network.ClientComponent;
+import org.terasology.network.NetworkComponent;
+import org.terasology.world.block.BlockComponent;
+
+import java.math.RoundingMode;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Decides which {@link org.terasology.network.NetworkComponent.ReplicateMode#RELEVANT} entities are replicated to
+ * which clients.
+ * <p>
+ * An entity is of interest to a client if the client owns it, if it has no position, or if the chunk it is in lies
+ * within the client's view distance of the client's character. Entities attached to another entity are placed at the
+ * root of their location hierarchy, and follow it as it moves. Entities entering or leaving a client's interest are
+ * marked as initial or removed on that client, which turns into create and remove entity messages.
+ *
+ */
+class EntityInterestManager {
+
+    private static final int LOCATION_DEPTH_LIMIT = 50;
+
+    private final NetworkSystemImpl networkSystem;
+
+    /**
+     * The chunk each tracked entity is in, or null for entities without a position
+     */
+    private final TIntObjectMap<Vector3i> entityChunks = new TIntObjectHashMap<>();
+    private final SetMultimap<Vector3i, Integer> chunkEntities = HashMultimap.create();
+    private final Map<NetClient, Region3i> clientRegions = Maps.newLinkedHashMap();
+
+    EntityInterestManager(NetworkSystemImpl networkSystem) {
+        this.networkSystem = networkSystem;
+    }
+
+    void addClient(NetClient client) {
+        clientRegions.put(client, null);
+        for (int netId : entityChunks.keys()) {
+            if (isOfInterest(client, null, netId, entityChunks.get(netId))) {
+                client.setNetInitial(netId);
+            }
+        }
+    }
+
+    void removeClient(NetClient client) {
+        clientRegions.remove(client);
+    }
+
+    /**
+     * Starts tracking an entity, replicating it to every client interested in it.
+     */
+    void addEntity(int netId, EntityRef entity) {
+        Vector3i chunkPos = calcEntityChunk(entity);
+        entityChunks.put(netId, chunkPos);
+        if (chunkPos != null) {
+            chunkEntities.put(chunkPos, netId);
+        }
+        for (Map.Entry<NetClient, Region3i> entry : clientRegions.entrySet()) {
+            if (isOfInterest(entry.getKey(), entry.getValue(), netId, chunkPos)) {
+                entry.getKey().setNetInitial(netId);
+            }
+        }
+    }
+
+    void removeEntity(int netId) {
+        Vector3i chunkPos = entityChunks.remove(netId);
+        if (chunkPos != null) {
+            chunkEntities.remove(chunkPos, netId);
+        }
+    }
+
+    void clear() {
+        entityChunks.clear();
+        chunkEntities.clear();
+        clientRegions.clear();
+    }
+
+    /**
+     * Re-evaluates interest in an entity after it moved or changed owner. When it moved, so did the entities attached
+     * to it.
+     *
+     * @param ownershipChanged Whether interest has to be re-evaluated even if the entity stayed in the same chunk
+     */
+    void updateEntity(int netId, EntityRef entity, boolean ownershipChanged) {
+        if (entityChunks.containsKey(netId)) {
+            updateInterest(netId, entity, ownershipChanged);
+        }
+        if (!ownershipChanged) {
+            updateAttachedEntities(entity, 0);
+        }
+    }
+
+    private void updateAttachedEntities(EntityRef entity, int depth) {
+        LocationComponent loc = entity.getComponent(LocationComponent.class);
+        if (loc == null || depth >= LOCATION_DEPTH_LIMIT) {
+            return;
+        }
+        for (EntityRef child : loc.getChildren()) {
+            NetworkComponent netComp = child.getComponent(NetworkComponent.class);
+            if (netComp != null && entityChunks.containsKey(netComp.getNetworkId())) {
+                updateInterest(netComp.getNetworkId(), child, false);
+            }
+            updateAttachedEntities(child, depth + 1);
+        }
+    }
+
+    private void updateInterest(int netId, EntityRef entity, boolean ownershipChanged) {
+        Vector3i oldChunkPos = entityChunks.get(netId);
+        Vector3i newChunkPos = calcEntityChunk(entity);
+        boolean moved = (oldChunkPos == null) ? newChunkPos != null : !oldChunkPos.equals(newChunkPos);
+        if (!moved && !ownershipChanged) {
+            return;
+        }
+        if (moved) {
+            if (oldChunkPos != null) {
+                chunkEntities.remove(oldChunkPos, netId);
+            }
+            if (newChunkPos != null) {
+                chunkEntities.put(newChunkPos, netId);
+            }
+            entityChunks.put(netId, newChunkPos);
+        }
+        for (Map.Entry<NetClient, Region3i> entry : clientRegions.entrySet()) {
+            applyInterest(entry.getKey(), netId, isOfInterest(entry.getKey(), entry.getValue(), netId, newChunkPos));
+        }
+    }
+
+    /**
+     * Updates the region of interest of each client from the position of its character, replicating or removing the
+     * entities in the chunks that entered or left the region.
+     */
+    void update() {
+        for (Map.Entry<NetClient, Region3i> entry : clientRegions.entrySet()) {
+            NetClient client = entry.getKey();
+            Region3i oldRegion = entry.getValue();
+            Region3i newRegion = calcClientRegion(client);
+            if (newRegion == null || newRegion.equals(oldRegion)) {
+                continue;
+            }
+            entry.setValue(newRegion);
+            if (oldRegion == null) {
+                updateChunkInterest(client, newRegion, newRegion.iterator());
+            } else {
+                updateChunkInterest(client, newRegion, newRegion.subtract(oldRegion));
+                updateChunkInterest(client, newRegion, oldRegion.subtract(newRegion));
+            }
+        }
+    }
+
+    /**
+     * Re-evaluates the interest of the client in the entities of the given chunks, which entered or left its region.
+     */
+    private void updateChunkInterest(NetClient client, Region3i region, Iterator<Vector3i> chunkPositions) {
+        while (chunkPositions.hasNext()) {
+            Vector3i chunkPos = chunkPositions.next();
+            if (chunkEntities.containsKey(chunkPos)) {
+                for (int netId : chunkEntities.get(chunkPos)) {
+                    applyInterest(client, netId, isOfInterest(client, region, netId, chunkPos));
+                }
+            }
+        }
+    }
+
+    private void applyInterest(NetClient client, int netId, boolean interested) {
+        boolean replicated = client.isNetRelevant(netId);
+        if (interested && !replicated) {
+            client.setNetInitial(netId);
+        } else if (!interested && replicated) {
+            client.setNetRemoved(netId);
+        }
+    }
+
+    private boolean isOfInterest(NetClient client, Region3i region, int netId, Vector3i chunkPos) {
+        if (chunkPos == null || (region != null && region.encompasses(chunkPos))) {
+            return true;
+        }
+        return networkSystem.getNetOwner(networkSystem.getEntity(netId)) == client;
+    }
+
+    private Region3i calcClientRegion(NetClient client) {
+        ClientComponent clientComp = client.getEntity().getComponent(ClientComponent.class);
+        if (clientComp == null) {
+            return null;
+        }
+        LocationComponent loc = clientComp.character.getComponent(LocationComponent.class);
+        if (loc == null) {
+            return null;
+        }
+        Vector3f worldPos = loc.getWorldPosition();
+        if (Float.isNaN(worldPos.x)) {
+            return null;
+        }
+        Vector3i center = ChunkMath.calcChunkPos(new Vector3i(worldPos, RoundingMode.HALF_UP));
+        Vector3i distance = client.getViewDistance().getChunkDistance();
+        return Region3i.createFromCenterExtents(center, new Vector3i(distance.x / 2, distance.y / 2, distance.z / 2));
+    }
+
+    /**
+     * @return The chunk the root of the entity's location hierarchy is in, or null if it does not have a position
+     */
+    private static Vector3i calcEntityChunk(EntityRef entity) {
+        EntityRef root = entity;
+        LocationComponent loc = entity.getComponent(LocationComponent.class);
+        for (int depth = 0; loc != null && loc.getParent().exists() && depth < LOCATION_DEPTH_LIMIT; depth++) {
+            root = loc.getParent();
+            loc = root.getComponent(LocationComponent.class);
+        }
+        BlockComponent blockComp = root.getComponent(BlockComponent.class);
+        if (blockComp != null) {
+            return ChunkMath.calcChunkPos(blockComp.getPosition());
+        }
+        if (loc == null) {
+            return null;
+        }
+        Vector3f worldPos = loc.getWorldPosition();
+        if (Float.isNaN(worldPos.x)) {
+            return null;
+        }
+        return ChunkMath.calcChunkPos(new Vector3i(worldPos, RoundingMode.HALF_UP));
+    }
+}
@@ -23,11 +23,19 @@
 import com.google.common.collect.Queues;
 import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
+import com.google.protobuf.ByteString;
 
 import gnu.trove.iterator.TIntIterator;
+import gnu.trove.list.TIntList;
+import gnu.trove.list.TLongList;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
 import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
 
+import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.channel.Channel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,12 +52,14 @@
 import org.terasology.logic.common.DisplayNameComponent;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.ChunkMath;
+import org.terasology.math.geom.Vector3f;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.network.Client;
 import org.terasology.network.ClientComponent;
 import org.terasology.network.ColorComponent;
 import org.terasology.network.NetMetricSource;
 import org.terasology.network.NetworkComponent;
+import org.terasology.network.SendPriority;
 import org.terasology.network.serialization.ServerComponentFieldCheck;
 import org.terasology.persistence.serializers.EventSerializer;
 import org.terasology.persistence.serializers.NetworkEntitySerializer;
@@ -68,9 +78,13 @@
 import org.terasology.world.block.BlockComponent;
 import org.terasology.world.block.family.BlockFamily;
 import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.ChunkProvider;
+import org.terasology.world.propagation.BlockChange;
 
 import java.math.RoundingMode;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -84,7 +98,9 @@
  */
 public class NetClient extends AbstractClient implements WorldChangeListener {
     private static final Logger logger = LoggerFactory.getLogger(NetClient.class);
-    private static final float NET_TICK_RATE = 0.05f;
+    private static final float NET_TICK_SECONDS = 0.05f;
+    private static final int FULL_CHUNK_RESEND_THRESHOLD = ChunkConstants.SIZE_X * ChunkConstants.SIZE_Y * ChunkConstants.SIZE_Z / 8;
+    private static final int NEAR_CHUNK_DISTANCE = 2;
 
     private Time time;
     private NetworkSystemImpl networkSystem;
@@ -92,7 +108,8 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private NetworkEntitySerializer entitySerializer;
     private EventSerializer eventSerializer;
     private EventLibrary eventLibrary;
-    private NetMetricSource metricSource;
+    private SendScheduler sendScheduler;
+    private final NetMessageWriter messageWriter = new NetMessageWriter();
     private BiomeManager biomeManager;
 
     // Relevance
@@ -103,27 +120,38 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private TIntSet netInitial = new TIntHashSet();
     private TIntSet netDirty = new TIntHashSet();
     private TIntSet netRemoved = new TIntHashSet();
+    // Creates that did not fit the budget, kept until they do unless the entity changes in the meantime
+    private TIntObjectMap<EntityData.PackedEntity> blockedInitialEntities = new TIntObjectHashMap<>();
     private SetMultimap<Integer, Class<? extends Component>> dirtyComponents = LinkedHashMultimap.create();
     private SetMultimap<Integer, Class<? extends Component>> addedComponents = LinkedHashMultimap.create();
     private SetMultimap<Integer, Class<? extends Component>> removedComponents = LinkedHashMultimap.create();
+    private ReplicationBaseline baseline;
 
     private String preferredName = "Player";
     private long lastReceivedTime;
     private ViewDistance viewDistance = ViewDistance.NEAR;
-    private float chunkSendCounter = 1.0f;
-
-    private float chunkSendRate = 0.05469f;
-
     private PublicIdentityCertificate identity;
 
     // Outgoing messages
-    private BlockingQueue<NetData.BlockChangeMessage> queuedOutgoingBlockChanges = Queues.newLinkedBlockingQueue();
+    private final Map<Vector3i, Map<Vector3i, Block>> queuedOutgoingBlockChanges = Maps.newLinkedHashMap();
     private BlockingQueue<NetData.BiomeChangeMessage> queuedOutgoingBiomeChanges = Queues.newLinkedBlockingQueue();
     private List<NetData.EventMessage> queuedOutgoingEvents = Lists.newArrayList();
     private final List<BlockFamily> newlyRegisteredFamilies = Lists.newArrayList();
 
     private Map<Vector3i, Chunk> readyChunks = Maps.newLinkedHashMap();
     private Set<Vector3i> invalidatedChunks = Sets.newLinkedHashSet();
+    // The ready chunks by distance to the character, only sorted again when they or the character's chunk change
+    private final List<Vector3i> nearChunks = Lists.newArrayList();
+    private final List<Vector3i> farChunks = Lists.newArrayList();
+    private final Vector3i chunkOrderCenter = new Vector3i();
+    private boolean chunkOrderChanged = true;
+
+    // Reused each net tick to sort the entities to send by priority
+    private final TIntList ownedInitial = new TIntArrayList();
+    private final TIntList otherInitial = new TIntArrayList();
+    private final TIntList ownedDirty = new TIntArrayList();
+    private final TIntList otherDirty = new TIntArrayList();
+    private final TLongList otherDirtyByDistance = new TLongArrayList();
 
 
     // Incoming messages
@@ -138,7 +166,7 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
 
     public NetClient(Channel channel, NetworkSystemImpl networkSystem, PublicIdentityCertificate identity) {
         this.channel = channel;
-        metricSource = (NetMetricSource) channel.getPipeline().get(MetricRecordingHandler.NAME);
+        sendScheduler = new SendScheduler((NetMetricSource) channel.getPipeline().get(MetricRecordingHandler.NAME));
         this.networkSystem = networkSystem;
         this.time = CoreRegistry.get(Time.class);
         this.identity = identity;
@@ -216,21 +244,20 @@ public void disconnect() {
     @Override
     public void update(boolean netTick) {
         if (netTick) {
-            NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder();
-            message.setTime(time.getGameTimeInMs());
-            sendRegisteredBlocks(message);
-            sendChunkInvalidations(message);
-            sendNewChunks(message);
-            sendRemovedEntities(message);
-            sendInitialEntities(message);
-            sendDirtyEntities(message);
-            sendEvents(message);
-            send(message.build());
+            messageWriter.begin();
+            messageWriter.setTime(time.getGameTimeInMs());
+            sendRegisteredBlocks(messageWriter);
+            sendChunkInvalidations(messageWriter);
+            sendBlockChanges(messageWriter);
+            sendBiomeChanges(messageWriter);
+            sendRemovedEntities(messageWriter);
+            sendScheduled(messageWriter);
+            send(messageWriter.finish());
         }
         processReceivedMessages();
     }
 
-    private void sendRegisteredBlocks(NetData.NetMessage.Builder message) {
+    private void sendRegisteredBlocks(NetMessageWriter message) {
         synchronized (newlyRegisteredFamilies) {
             for (BlockFamily family : newlyRegisteredFamilies) {
                 NetData.BlockFamilyRegisteredMessage.Builder blockRegMessage = NetData.BlockFamilyRegisteredMessage.newBuilder();
@@ -238,47 +265,138 @@ private void sendRegisteredBlocks(NetData.NetMessage.Builder message) {
                     blockRegMessage.addBlockUri(block.getURI().toString());
                     blockRegMessage.addBlockId(block.getId());
                 }
-                message.addBlockFamilyRegistered(blockRegMessage);
+                message.addBlockFamilyRegistered(blockRegMessage.build());
             }
             newlyRegisteredFamilies.clear();
         }
     }
 
-    private void sendNewChunks(NetData.NetMessage.Builder message) {
-        if (!readyChunks.isEmpty()) {
-            chunkSendCounter += chunkSendRate * NET_TICK_RATE * networkSystem.getBandwidthPerClient();
-            if (chunkSendCounter > 1.0f) {
-                chunkSendCounter -= 1.0f;
-                Vector3i center = new Vector3i();
-                LocationComponent loc = getEntity().getComponent(ClientComponent.class).character.getComponent(LocationComponent.class);
-                if (loc != null) {
-                    center.set(ChunkMath.calcChunkPos(new Vector3i(loc.getWorldPosition(), RoundingMode.HALF_UP)));
+    /**
+     * Sends entities, events and chunks within the client's bandwidth budget for this tick, by priority. Whatever does
+     * not fit is kept for the next tick.
+     */
+    private void sendScheduled(NetMessageWriter message) {
+        Vector3f characterPos = null;
+        LocationComponent loc = getEntity().getComponent(ClientComponent.class).character.getComponent(LocationComponent.class);
+        if (loc != null) {
+            characterPos = loc.getWorldPosition();
+        }
+
+        ownedInitial.resetQuick();
+        otherInitial.resetQuick();
+        TIntIterator initialIterator = netInitial.iterator();
+        while (initialIterator.hasNext()) {
+            int netId = initialIterator.next();
+            if (networkSystem.getOwner(networkSystem.getEntity(netId)) == this) {
+                ownedInitial.add(netId);
+            } else {
+                otherInitial.add(netId);
+            }
+        }
+        ownedInitial.sort();
+        otherInitial.sort();
+        ownedDirty.resetQuick();
+        otherDirtyByDistance.resetQuick();
+        TIntIterator dirtyIterator = netDirty.iterator();
+        while (dirtyIterator.hasNext()) {
+            int netId = dirtyIterator.next();
+            EntityRef entity = networkSystem.getEntity(netId);
+            if (networkSystem.getOwner(entity) == this) {
+                ownedDirty.add(netId);
+            } else {
+                // The distance is looked up once per entity and sorted on together with the id
+                float distance = (characterPos != null) ? distanceSquared(entity, characterPos) : 0;
+                otherDirtyByDistance.add(((long) Float.floatToIntBits(distance) << 32) | (netId & 0xFFFFFFFFL));
+            }
+        }
+        otherDirtyByDistance.sort();
+        otherDirty.resetQuick();
+        for (int i = 0; i < otherDirtyByDistance.size(); i++) {
+            otherDirty.add((int) otherDirtyByDistance.get(i));
+        }
+
+        Vector3i centerChunk = new Vector3i();
+        if (characterPos != null) {
+            centerChunk.set(ChunkMath.calcChunkPos(new Vector3i(characterPos, RoundingMode.HALF_UP)));
+        }
+        if (chunkOrderChanged || !centerChunk.equals(chunkOrderCenter)) {
+            sortReadyChunks(centerChunk);
+        }
+
+        sendScheduler.setQueued(SendPriority.OWN_CHARACTER, ownedInitial.size() + ownedDirty.size());
+        sendScheduler.setQueued(SendPriority.NEARBY_ENTITIES, otherInitial.size() + otherDirty.size());
+        sendScheduler.setQueued(SendPriority.EVENTS, queuedOutgoingEvents.size());
+        sendScheduler.setQueued(SendPriority.NEAR_CHUNKS, nearChunks.size());
+        sendScheduler.setQueued(SendPriority.FAR_CHUNKS, farChunks.size());
+        sendScheduler.beginTick(SendScheduler.bytesPerTick(networkSystem.getBandwidthPerClient(), NET_TICK_SECONDS));
+
+        sendEntities(message, SendPriority.OWN_CHARACTER, ownedInitial, ownedDirty);
+        sendEntities(message, SendPriority.NEARBY_ENTITIES, otherInitial, otherDirty);
+        sendEvents(message);
+        sendChunks(message, SendPriority.NEAR_CHUNKS, nearChunks);
+        sendChunks(message, SendPriority.FAR_CHUNKS, farChunks);
+    }
+
+    private void sortReadyChunks(Vector3i centerChunk) {
+        nearChunks.clear();
+        farChunks.clear();
+        for (Vector3i chunkPos : readyChunks.keySet()) {
+            if (Math.abs(chunkPos.x - centerChunk.x) <= NEAR_CHUNK_DISTANCE && Math.abs(chunkPos.y - centerChunk.y) <= NEAR_CHUNK_DISTANCE
+                    && Math.abs(chunkPos.z - centerChunk.z) <= NEAR_CHUNK_DISTANCE) {
+                nearChunks.add(chunkPos);
+            } else {
+                farChunks.add(chunkPos);
+            }
+        }
+        nearChunks.sort(Comparator.comparingInt(chunkPos -> chunkPos.distanceSquared(centerChunk)));
+        farChunks.sort(Comparator.comparingInt(chunkPos -> chunkPos.distanceSquared(centerChunk)));
+        chunkOrderCenter.set(centerChunk);
+        chunkOrderChanged = false;
+    }
+
+    private static float distanceSquared(EntityRef entity, Vector3f pos) {
+        LocationComponent loc = entity.getComponent(LocationComponent.class);
+        if (loc == null) {
+            return 0;
+        }
+        return loc.getWorldPosition().distanceSquared(pos);
+    }
+
+    private void sendChunks(NetMessageWriter message, SendPriority priority, List<Vector3i> chunkPositions) {
+        EncodedChunkCache chunkCache = networkSystem.getEncodedChunkCache();
+        int sentCount = 0;
+        for (Vector3i pos : chunkPositions) {
+            Chunk chunk = readyChunks.get(pos);
+            if (chunkCache != null && networkSystem.isPrecompressingChunks()) {
+                ByteString compressedChunk = chunkCache.getCompressed(chunk);
+                if (!sendScheduler.canSend(priority, compressedChunk.size())) {
+                    break;
                 }
-                Vector3i pos = null;
-                int distance = Integer.MAX_VALUE;
-                for (Vector3i chunkPos : readyChunks.keySet()) {
-                    int chunkDistance = chunkPos.distanceSquared(center);
-                    if (pos == null || chunkDistance < distance) {
-                        pos = chunkPos;
-                        distance = chunkDistance;
-                    }
+                sendScheduler.sent(priority, compressedChunk.size());
+                message.addCompressedChunkInfo(compressedChunk);
+            } else {
+                EntityData.ChunkStore chunkStore = (chunkCache != null) ? chunkCache.getEncoded(chunk) : chunk.encode();
+                if (!sendScheduler.canSend(priority, chunkStore.getSerializedSize())) {
+                    break;
                 }
-                Chunk chunk = readyChunks.remove(pos);
-                relevantChunks.add(pos);
-                message.addChunkInfo(chunk.encode());
+                sendScheduler.sent(priority, chunkStore.getSerializedSize());
+                message.addChunkInfo(chunkStore);
             }
-        } else {
-            chunkSendCounter = 1.0f;
+            readyChunks.remove(pos);
+            relevantChunks.add(pos);
+            sentCount++;
         }
+        chunkPositions.subList(0, sentCount).clear();
+        sendScheduler.finish(priority, chunkPositions.size());
     }
 
-    private void sendChunkInvalidations(NetData.NetMessage.Builder message) {
+    private void sendChunkInvalidations(NetMessageWriter message) {
         Iterator<Vector3i> i = invalidatedChunks.iterator();
         while (i.hasNext()) {
             Vector3i pos = i.next();
             i.remove();
             relevantChunks.remove(pos);
-            message.addInvalidateChunk(NetData.InvalidateChunkMessage.newBuilder().setPos(NetMessageUtil.convert(pos)));
+            message.addInvalidateChunk(pos);
         }
         invalidatedChunks.clear();
     }
@@ -291,14 +409,27 @@ public void setNetRemoved(int netId) {
         if (!netInitial.remove(netId)) {
             netRemoved.add(netId);
         }
+        blockedInitialEntities.remove(netId);
         dirtyComponents.keySet().remove(netId);
         addedComponents.keySet().remove(netId);
         removedComponents.keySet().remove(netId);
         netDirty.remove(netId);
         netRelevant.remove(netId);
+        if (baseline != null) {
+            baseline.remove(netId);
+        }
+    }
+
+    /**
+     * @param netId
+     * @return Whether the entity has been or is about to be replicated to this client
+     */
+    public boolean isNetRelevant(int netId) {
+        return netRelevant.contains(netId) || netInitial.contains(netId);
     }
 
     public void setComponentAdded(int networkId, Class<? extends Component> component) {
+        blockedInitialEntities.remove(networkId);
         if (netRelevant.contains(networkId) && !netInitial.contains(networkId)) {
             if (removedComponents.remove(networkId, component)) {
                 dirtyComponents.put(networkId, component);
@@ -310,6 +441,7 @@ public void setComponentAdded(int networkId, Class<? extends Component> componen
     }
 
     public void setComponentRemoved(int networkId, Class<? extends Component> component) {
+        blockedInitialEntities.remove(networkId);
         if (netRelevant.contains(networkId) && !netInitial.contains(networkId)) {
             if (!addedComponents.remove(networkId, component)) {
                 removedComponents.put(networkId, component);
@@ -321,6 +453,7 @@ public void setComponentRemoved(int networkId, Class<? extends Component> compon
     }
 
     public void setComponentDirty(int netId, Class<? extends Component> componentType) {
+        blockedInitialEntities.remove(netId);
         if (netRelevant.contains(netId) && !netInitial.contains(netId) && !addedComponents.get(netId).contains(componentType)) {
             dirtyComponents.put(netId, componentType);
             netDirty.add(netId);
@@ -330,6 +463,7 @@ public void setComponentDirty(int netId, Class<? extends Component> componentTyp
     public void connected(EntityManager entityManager, NetworkEntitySerializer newEntitySerializer,
                           EventSerializer newEventSerializer, EventLibrary newEventLibrary) {
         this.entitySerializer = newEntitySerializer;
+        this.baseline = new ReplicationBaseline(newEntitySerializer);
         this.eventSerializer = newEventSerializer;
         this.eventLibrary = newEventLibrary;
 
@@ -378,29 +512,62 @@ void send(NetData.NetMessage data) {
         channel.write(data);
     }
 
+    /**
+     * Sends a message written by the client's message writer. The server pipeline consumes the buffer before the write
+     * returns, so the writer can be reused straight away.
+     */
+    private void send(ChannelBuffer data) {
+        logger.trace("Sending packet with size {}", data.readableBytes());
+        sentMessages.incrementAndGet();
+        sentBytes.addAndGet(data.readableBytes());
+        channel.write(data);
+    }
+
     @Override
     public void onChunkRelevant(Vector3i pos, Chunk chunk) {
         invalidatedChunks.remove(pos);
         readyChunks.put(pos, chunk);
+        chunkOrderChanged = true;
     }
 
     @Override
     public void onChunkIrrelevant(Vector3i pos) {
         readyChunks.remove(pos);
         invalidatedChunks.add(pos);
+        chunkOrderChanged = true;
     }
 
     @Override
     public void onBlockChanged(Vector3i pos, Block newBlock, Block originalBlock) {
         Vector3i chunkPos = ChunkMath.calcChunkPos(pos);
         if (relevantChunks.contains(chunkPos)) {
-            queuedOutgoingBlockChanges.add(NetData.BlockChangeMessage.newBuilder()
-                    .setPos(NetMessageUtil.convert(pos))
-                    .setNewBlock(newBlock.getId())
-                    .build());
+            synchronized (queuedOutgoingBlockChanges) {
+                getQueuedBlockChanges(chunkPos).put(new Vector3i(pos), newBlock);
+            }
         }
     }
 
+    @Override
+    public void onBlocksChanged(Vector3i chunkPos, Collection<BlockChange> changes) {
+        if (relevantChunks.contains(chunkPos)) {
+            synchronized (queuedOutgoingBlockChanges) {
+                Map<Vector3i, Block> chunkChanges = getQueuedBlockChanges(chunkPos);
+                for (BlockChange change : changes) {
+                    chunkChanges.put(new Vector3i(change.getPosition()), change.getTo());
+                }
+            }
+        }
+    }
+
+    private Map<Vector3i, Block> getQueuedBlockChanges(Vector3i chunkPos) {
+        Map<Vector3i, Block> chunkChanges = queuedOutgoingBlockChanges.get(chunkPos);
+        if (chunkChanges == null) {
+            chunkChanges = Maps.newHashMap();
+            queuedOutgoingBlockChanges.put(new Vector3i(chunkPos), chunkChanges);
+        }
+        return chunkChanges;
+    }
+
     @Override
     public void onBiomeChanged(Vector3i pos, Biome newBiome, Biome originalBiome) {
         Vector3i chunkPos = ChunkMath.calcChunkPos(pos);
@@ -425,17 +592,68 @@ private void processReceivedMessages() {
         }
     }
 
-    private void sendEvents(NetData.NetMessage.Builder message) {
-        List<NetData.BlockChangeMessage> blockChanges = Lists.newArrayListWithExpectedSize(queuedOutgoingBlockChanges.size());
-        queuedOutgoingBlockChanges.drainTo(blockChanges);
-        message.addAllBlockChange(blockChanges);
+    /**
+     * Sends the block changes of each chunk as a single region update. Chunks with too many changes are resent whole
+     * instead.
+     * <p>
+     * A resent chunk replaces the client's copy, which the client then relights before it is displayed again, so the
+     * chunk disappears for a few frames. This is accepted for edits large enough to pass the threshold, which rewrite
+     * much of the chunk's appearance anyway; smaller edits are always applied in place.
+     */
+    private void sendBlockChanges(NetMessageWriter message) {
+        Map<Vector3i, Map<Vector3i, Block>> blockChanges;
+        synchronized (queuedOutgoingBlockChanges) {
+            if (queuedOutgoingBlockChanges.isEmpty()) {
+                return;
+            }
+            blockChanges = Maps.newLinkedHashMap(queuedOutgoingBlockChanges);
+            queuedOutgoingBlockChanges.clear();
+        }
+        for (Map.Entry<Vector3i, Map<Vector3i, Block>> entry : blockChanges.entrySet()) {
+            Vector3i chunkPos = entry.getKey();
+            if (!relevantChunks.contains(chunkPos) || readyChunks.containsKey(chunkPos)) {
+                // Either the client no longer has the chunk, or it will receive it with these changes included
+                continue;
+            }
+            if (entry.getValue().size() > FULL_CHUNK_RESEND_THRESHOLD) {
+                ChunkProvider chunkProvider = CoreRegistry.get(ChunkProvider.class);
+                Chunk chunk = (chunkProvider != null) ? chunkProvider.getChunk(chunkPos) : null;
+                if (chunk != null) {
+                    readyChunks.put(chunkPos, chunk);
+                    chunkOrderChanged = true;
+                    continue;
+                }
+            }
+            message.addBlockRegionChange(NetMessageUtil.encodeBlockRegionChange(entry.getValue()));
+        }
+    }
 
-        List<NetData.BiomeChangeMessage> biomeChanges = Lists.newArrayListWithExpectedSize(queuedOutgoingBiomeChanges.size());
-        queuedOutgoingBiomeChanges.drainTo(biomeChanges);
-        message.addAllBiomeChange(biomeChanges);
+    private void sendBiomeChanges(NetMessageWriter message) {
+        NetData.BiomeChangeMessage biomeChange;
+        while ((biomeChange = queuedOutgoingBiomeChanges.poll()) != null) {
+            message.addBiomeChange(biomeChange);
+        }
+    }
 
-        message.addAllEvent(queuedOutgoingEvents);
-        queuedOutgoingEvents.clear();
+    /**
+     * Sends queued events in order, stopping at the first that does not fit or that targets an entity the client has
+     * not been sent yet.
+     */
+    private void sendEvents(NetMessageWriter message) {
+        int sentCount = 0;
+        for (NetData.EventMessage event : queuedOutgoingEvents) {
+            if (event.hasTargetId() && netInitial.contains(event.getTargetId())) {
+                break;
+            }
+            if (!sendScheduler.canSend(SendPriority.EVENTS, event.getSerializedSize())) {
+                break;
+            }
+            sendScheduler.sent(SendPriority.EVENTS, event.getSerializedSize());
+            message.addEvent(event);
+            sentCount++;
+        }
+        queuedOutgoingEvents.subList(0, sentCount).clear();
+        sendScheduler.finish(SendPriority.EVENTS, queuedOutgoingEvents.size());
     }
 
     private void processEntityUpdates(NetData.NetMessage message) {
@@ -448,57 +666,102 @@ private void processEntityUpdates(NetData.NetMessage message) {
         }
     }
 
-    private void sendDirtyEntities(NetData.NetMessage.Builder message) {
-        TIntIterator dirtyIterator = netDirty.iterator();
-        while (dirtyIterator.hasNext()) {
-            int netId = dirtyIterator.next();
-            EntityRef entity = networkSystem.getEntity(netId);
-            if (!entity.exists()) {
-                logger.error("Sending non-existent entity update for netId {}", netId);
+    /**
+     * Sends the creation of new entities and then updates to changed entities, stopping at the first that does not fit.
+     */
+    private void sendEntities(NetMessageWriter message, SendPriority priority, TIntList initial, TIntList dirty) {
+        int remaining = initial.size() + dirty.size();
+        for (int i = 0; i < initial.size(); i++) {
+            if (!sendInitialEntity(message, priority, initial.get(i))) {
+                sendScheduler.finish(priority, remaining);
+                return;
             }
-            boolean isOwner = networkSystem.getOwner(entity) == this;
-            EntityData.PackedEntity entityData = entitySerializer.serialize(entity, addedComponents.get(netId), dirtyComponents.get(netId), removedComponents.get(netId),
-                    new ServerComponentFieldCheck(isOwner, false));
-            if (entityData != null) {
-                message.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setEntity(entityData).setNetId(netId));
+            remaining--;
+        }
+        for (int i = 0; i < dirty.size(); i++) {
+            if (!sendDirtyEntity(message, priority, dirty.get(i))) {
+                break;
             }
+            remaining--;
         }
-        netDirty.clear();
-        addedComponents.clear();
-        removedComponents.clear();
-        dirtyComponents.clear();
+        sendScheduler.finish(priority, remaining);
     }
 
-    private void sendRemovedEntities(NetData.NetMessage.Builder message) {
+    /**
+     * @return Whether the update was sent, or there was nothing to send
+     */
+    private boolean sendDirtyEntity(NetMessageWriter message, SendPriority priority, int netId) {
+        EntityRef entity = networkSystem.getEntity(netId);
+        if (!entity.exists()) {
+            logger.error("Sending non-existent entity update for netId {}", netId);
+        }
+        boolean isOwner = networkSystem.getOwner(entity) == this;
+        EntityData.PackedEntity entityData = networkSystem.getEntityDeltaCache().getDelta(netId, entity, isOwner,
+                addedComponents.get(netId), dirtyComponents.get(netId), removedComponents.get(netId));
+        if (entityData != null) {
+            // The baseline can only shrink the update, so if the full update fits the filtered one does
+            if (!sendScheduler.canSend(priority, entityData.getSerializedSize())) {
+                return false;
+            }
+            if (isOwner) {
+                baseline.remove(netId);
+            } else {
+                entityData = baseline.filter(netId, entityData, addedComponents.get(netId));
+            }
+        }
+        if (entityData != null) {
+            sendScheduler.sent(priority, NetMessageWriter.updateEntitySize(netId, entityData));
+            message.addUpdateEntity(netId, entityData);
+        }
+        netDirty.remove(netId);
+        addedComponents.removeAll(netId);
+        removedComponents.removeAll(netId);
+        dirtyComponents.removeAll(netId);
+        return true;
+    }
+
+    private void sendRemovedEntities(NetMessageWriter message) {
         TIntIterator initialIterator = netRemoved.iterator();
         while (initialIterator.hasNext()) {
-            message.addRemoveEntity(NetData.RemoveEntityMessage.newBuilder().setNetId(initialIterator.next()));
+            message.addRemoveEntity(initialIterator.next());
         }
         netRemoved.clear();
     }
 
-    private void sendInitialEntities(NetData.NetMessage.Builder message) {
-        int[] initial = netInitial.toArray();
-        netInitial.clear();
-        Arrays.sort(initial);
-        for (int netId : initial) {
+    /**
+     * @return Whether the entity was sent, or could not be sent at all
+     */
+    private boolean sendInitialEntity(NetMessageWriter message, SendPriority priority, int netId) {
+        EntityRef entity = networkSystem.getEntity(netId);
+        if (!entity.hasComponent(NetworkComponent.class)) {
+            logger.error("Sending net entity with no network component: {} - {}", netId, entity);
+            netInitial.remove(netId);
             netRelevant.add(netId);
-            EntityRef entity = networkSystem.getEntity(netId);
-            if (!entity.hasComponent(NetworkComponent.class)) {
-                logger.error("Sending net entity with no network component: {} - {}", netId, entity);
-                continue;
-            }
-            // Note: Send owner->server fields on initial create
-            Client owner = networkSystem.getOwner(entity);
-            EntityData.PackedEntity entityData = entitySerializer.serialize(entity, true, new ServerComponentFieldCheck(owner == this, true)).build();
-            NetData.CreateEntityMessage.Builder createMessage = NetData.CreateEntityMessage.newBuilder().setEntity(entityData);
-            BlockComponent blockComponent = entity.getComponent(BlockComponent.class);
-            if (blockComponent != null) {
-                createMessage.setBlockPos(NetMessageUtil.convert(blockComponent.getPosition()));
-            }
-            message.addCreateEntity(createMessage);
+            return true;
         }
-
+        // Note: Send owner->server fields on initial create
+        Client owner = networkSystem.getOwner(entity);
+        EntityData.PackedEntity entityData = blockedInitialEntities.remove(netId);
+        if (entityData == null) {
+            entityData = entitySerializer.serialize(entity, true, new ServerComponentFieldCheck(owner == this, true)).build();
+        }
+        BlockComponent blockComponent = entity.getComponent(BlockComponent.class);
+        Vector3i blockPos = (blockComponent != null) ? blockComponent.getPosition() : null;
+        int size = NetMessageWriter.createEntitySize(entityData, blockPos);
+        if (!sendScheduler.canSend(priority, size)) {
+            blockedInitialEntities.put(netId, entityData);
+            return false;
+        }
+        sendScheduler.sent(priority, size);
+        netInitial.remove(netId);
+        netRelevant.add(netId);
+        if (owner == this) {
+            baseline.remove(netId);
+        } else {
+            baseline.record(netId, entityData);
+        }
+        message.addCreateEntity(entityData, blockPos);
+        return true;
     }
 
     private void processEvents(NetData.NetMessage message) {
@@ -548,7 +811,7 @@ public void messageReceived(NetData.NetMessage message) {
     }
 
     public NetMetricSource getMetrics() {
-        return metricSource;
+        return sendScheduler;
     }
 
     @Override
@@ -16,12 +16,19 @@
 
 package org.terasology.network.internal;
 
+import com.google.common.collect.Maps;
 import com.google.protobuf.ByteString;
+import gnu.trove.map.TShortIntMap;
+import gnu.trove.map.hash.TShortIntHashMap;
 import org.terasology.identity.PublicIdentityCertificate;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.protobuf.NetData;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
 
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Map;
 
 /**
  * Utility class for converting types between network representation and usable objects
@@ -54,4 +61,99 @@ public static PublicIdentityCertificate convert(NetData.Certificate data) {
                 new BigInteger(data.getExponent().toByteArray()),
                 new BigInteger(data.getSignature().toByteArray()));
     }
+
+    /**
+     * Encodes block changes as the runs of changed blocks within their bounding region. The changes are expected to lie
+     * within a single chunk. Only the changed positions are visited, with the unchanged blocks between them encoded as
+     * the gaps between their region indices.
+     *
+     * @param changes The new block for each changed position
+     * @return The encoded changes
+     */
+    public static NetData.BlockRegionChangeMessage encodeBlockRegionChange(Map<Vector3i, Block> changes) {
+        Vector3i min = new Vector3i(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        Vector3i max = new Vector3i(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE);
+        for (Vector3i pos : changes.keySet()) {
+            min.min(pos);
+            max.max(pos);
+        }
+        Vector3i size = new Vector3i(max.x - min.x + 1, max.y - min.y + 1, max.z - min.z + 1);
+
+        // Sort the changes by region index, carrying the position in the low bits to find the block again
+        Block[] blocks = new Block[changes.size()];
+        long[] sortedChanges = new long[changes.size()];
+        int changeIndex = 0;
+        for (Map.Entry<Vector3i, Block> change : changes.entrySet()) {
+            Vector3i pos = change.getKey();
+            long regionIndex = ((pos.y - min.y) * size.z + pos.z - min.z) * size.x + pos.x - min.x;
+            blocks[changeIndex] = change.getValue();
+            sortedChanges[changeIndex] = regionIndex << 32 | changeIndex;
+            changeIndex++;
+        }
+        Arrays.sort(sortedChanges);
+
+        NetData.BlockRegionChangeMessage.Builder message = NetData.BlockRegionChangeMessage.newBuilder();
+        message.setMin(convert(min));
+        message.setSize(convert(size));
+        TShortIntMap palette = new TShortIntHashMap();
+        int runValue = 0;
+        int runLength = 0;
+        int nextIndex = 0;
+        for (long sortedChange : sortedChanges) {
+            int regionIndex = (int) (sortedChange >>> 32);
+            Block block = blocks[(int) sortedChange];
+            if (regionIndex > nextIndex) {
+                if (runValue != 0 && runLength > 0) {
+                    message.addRuns(runLength).addRuns(runValue);
+                    runLength = 0;
+                }
+                runValue = 0;
+                runLength += regionIndex - nextIndex;
+            }
+            if (!palette.containsKey(block.getId())) {
+                palette.put(block.getId(), palette.size());
+                message.addPalette(block.getId());
+            }
+            int value = palette.get(block.getId()) + 1;
+            if (value != runValue && runLength > 0) {
+                message.addRuns(runLength).addRuns(runValue);
+                runLength = 0;
+            }
+            runValue = value;
+            runLength++;
+            nextIndex = regionIndex + 1;
+        }
+        message.addRuns(runLength).addRuns(runValue);
+        return message.build();
+    }
+
+    /**
+     * @param message
+     * @param blockManager
+     * @return The new block for each changed position
+     */
+    public static Map<Vector3i, Block> decodeBlockRegionChange(NetData.BlockRegionChangeMessage message, BlockManager blockManager) {
+        Block[] palette = new Block[message.getPaletteCount()];
+        for (int i = 0; i < palette.length; ++i) {
+            palette[i] = blockManager.getBlock((short) message.getPalette(i));
+        }
+        Vector3i min = convert(message.getMin());
+        Vector3i size = convert(message.getSize());
+        Map<Vector3i, Block> result = Maps.newLinkedHashMap();
+        int index = 0;
+        for (int run = 0; run + 1 < message.getRunsCount(); run += 2) {
+            int runLength = message.getRuns(run);
+            int value = message.getRuns(run + 1);
+            if (value > 0) {
+                for (int i = index; i < index + runLength; ++i) {
+                    int x = i % size.x;
+                    int z = (i / size.x) % size.z;
+                    int y = i / (size.x * size.z);
+                    result.put(new Vector3i(min.x + x, min.y + y, min.z + z), palette[value - 1]);
+                }
+            }
+            index += runLength;
+        }
+        return result;
+    }
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.WireFormat;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBufferOutputStream;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.protobuf.EntityData;
+import org.terasology.protobuf.NetData;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link NetData.NetMessage} field by field straight into a reusable buffer, without building the message or
+ * its per entity sub-messages. The result is framed with its varint length, as the protobuf frame encoder would.
+ * <p>
+ * The buffer returned by {@link #finish()} is only valid until the next {@link #begin()}. It can be written to a channel
+ * whose pipeline copies it before the write returns, as {@link ServerMessageEncoder} does.
+ *
+ */
+public class NetMessageWriter {
+    private static final int MAX_LENGTH_PREFIX = 5;
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final ChannelBuffer buffer = ChannelBuffers.dynamicBuffer(INITIAL_CAPACITY);
+    private final CodedOutputStream output = CodedOutputStream.newInstance(new ChannelBufferOutputStream(buffer));
+
+    /**
+     * Starts a new message, discarding the previous one.
+     */
+    public void begin() {
+        flush();
+        buffer.clear();
+        buffer.writerIndex(MAX_LENGTH_PREFIX);
+    }
+
+    /**
+     * @return The framed message, valid until the next call to {@link #begin()}
+     */
+    public ChannelBuffer finish() {
+        flush();
+        int length = buffer.writerIndex() - MAX_LENGTH_PREFIX;
+        int start = MAX_LENGTH_PREFIX - CodedOutputStream.computeRawVarint32Size(length);
+        int index = start;
+        while ((length & ~0x7F) != 0) {
+            buffer.setByte(index++, (length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        buffer.setByte(index, length);
+        buffer.readerIndex(start);
+        return buffer;
+    }
+
+    public void setTime(long time) {
+        try {
+            output.writeInt64(NetData.NetMessage.TIME_FIELD_NUMBER, time);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write to memory buffer", e);
+        }
+    }
+
+    public void addChunkInfo(EntityData.ChunkStore chunk) {
+        writeMessage(NetData.NetMessage.CHUNKINFO_FIELD_NUMBER, chunk);
+    }
+
+    public void addCompressedChunkInfo(ByteString compressedChunk) {
+        try {
+            output.writeBytes(NetData.NetMessage.COMPRESSEDCHUNKINFO_FIELD_NUMBER, compressedChunk);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write to memory buffer", e);
+        }
+    }
+
+    public void addInvalidateChunk(Vector3i pos) {
+        try {
+            output.writeTag(NetData.NetMessage.INVALIDATECHUNK_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeRawVarint32(vector3iFieldSize(NetData.InvalidateChunkMessage.POS_FIELD_NUMBER, pos));
+            writeVector3i(NetData.InvalidateChunkMessage.POS_FIELD_NUMBER, pos);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write to memory buffer", e);
+        }
+    }
+
+    public void addBlockRegionChange(NetData.BlockRegionChangeMessage blockRegionChange) {
+        writeMessage(NetData.NetMessage.BLOCKREGIONCHANGE_FIELD_NUMBER, blockRegionChange);
+    }
+
+    public void addBiomeChange(NetData.BiomeChangeMessage biomeChange) {
+        writeMessage(NetData.NetMessage.BIOMECHANGE_FIELD_NUMBER, biomeChange);
+    }
+
+    public void addBlockFamilyRegistered(NetData.BlockFamilyRegisteredMessage blockFamilyRegistered) {
+        writeMessage(NetData.NetMessage.BLOCKFAMILYREGISTERED_FIELD_NUMBER, blockFamilyRegistered);
+    }
+
+    public void addEvent(NetData.EventMessage event) {
+        writeMessage(NetData.NetMessage.EVENT_FIELD_NUMBER, event);
+    }
+
+    /**
+     * @param entity
+     * @param blockPos The position of the block the entity belongs to, or null
+     */
+    public void addCreateEntity(EntityData.PackedEntity entity, Vector3i blockPos) {
+        try {
+            output.writeTag(NetData.NetMessage.CREATEENTITY_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeRawVarint32(createEntitySize(entity, blockPos));
+            output.writeMessage(NetData.CreateEntityMessage.ENTITY_FIELD_NUMBER, entity);
+            if (blockPos != null) {
+                writeVector3i(NetData.CreateEntityMessage.BLOCKPOS_FIELD_NUMBER, blockPos);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write to memory buffer", e);
+        }
+    }
+
+    public void addUpdateEntity(int netId, EntityData.PackedEntity entity) {
+        try {
+            output.writeTag(NetData.NetMessage.UPDATEENTITY_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeRawVarint32(updateEntitySize(netId, entity));
+            output.writeMessage(NetData.UpdateEntityMessage.ENTITY_FIELD_NUMBER, entity);
+            output.writeInt32(NetData.UpdateEntityMessage.NETID_FIELD_NUMBER, netId);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write to memory buffer", e);
+        }
+    }
+
+    public void addRemoveEntity(int netId) {
+        try {
+            output.writeTag(NetData.NetMessage.REMOVEENTITY_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeRawVarint32(CodedOutputStream.computeInt32Size(NetData.RemoveEntityMessage.NETID_FIELD_NUMBER, netId));
+            output.writeInt32(NetData.RemoveEntityMessage.NETID_FIELD_NUMBER, netId);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write to memory buffer", e);
+        }
+    }
+
+    /**
+     * @return The serialized size of the CreateEntityMessage that {@link #addCreateEntity} writes
+     */
+    public static int createEntitySize(EntityData.PackedEntity entity, Vector3i blockPos) {
+        int size = CodedOutputStream.computeMessageSize(NetData.CreateEntityMessage.ENTITY_FIELD_NUMBER, entity);
+        if (blockPos != null) {
+            size += vector3iFieldSize(NetData.CreateEntityMessage.BLOCKPOS_FIELD_NUMBER, blockPos);
+        }
+        return size;
+    }
+
+    /**
+     * @return The serialized size of the UpdateEntityMessage that {@link #addUpdateEntity} writes
+     */
+    public static int updateEntitySize(int netId, EntityData.PackedEntity entity) {
+        return CodedOutputStream.computeMessageSize(NetData.UpdateEntityMessage.ENTITY_FIELD_NUMBER, entity)
+                + CodedOutputStream.computeInt32Size(NetData.UpdateEntityMessage.NETID_FIELD_NUMBER, netId);
+    }
+
+    private void flush() {
+        try {
+            output.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write to memory buffer", e);
+        }
+    }
+
+    private void writeMessage(int fieldNumber, MessageLite message) {
+        try {
+            output.writeMessage(fieldNumber, message);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write to memory buffer", e);
+        }
+    }
+
+    private void writeVector3i(int fieldNumber, Vector3i pos) throws IOException {
+        output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeRawVarint32(vector3iSize(pos));
+        output.writeInt32(NetData.Vector3iData.X_FIELD_NUMBER, pos.x);
+        output.writeInt32(NetData.Vector3iData.Y_FIELD_NUMBER, pos.y);
+        output.writeInt32(NetData.Vector3iData.Z_FIELD_NUMBER, pos.z);
+    }
+
+    private static int vector3iFieldSize(int fieldNumber, Vector3i pos) {
+        int size = vector3iSize(pos);
+        return CodedOutputStream.computeTagSize(fieldNumber) + CodedOutputStream.computeRawVarint32Size(size) + size;
+    }
+
+    private static int vector3iSize(Vector3i pos) {
+        return CodedOutputStream.computeInt32Size(NetData.Vector3iData.X_FIELD_NUMBER, pos.x)
+                + CodedOutputStream.computeInt32Size(NetData.Vector3iData.Y_FIELD_NUMBER, pos.y)
+                + CodedOutputStream.computeInt32Size(NetData.Vector3iData.Z_FIELD_NUMBER, pos.z);
+    }
+}
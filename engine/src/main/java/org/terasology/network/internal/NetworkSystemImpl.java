@@ -57,6 +57,7 @@
 import org.terasology.entitySystem.metadata.ComponentMetadata;
 import org.terasology.entitySystem.metadata.EventLibrary;
 import org.terasology.entitySystem.metadata.EventMetadata;
+import org.terasology.logic.location.LocationComponent;
 import org.terasology.module.Module;
 import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.network.Client;
@@ -64,6 +65,7 @@
 import org.terasology.network.NetworkComponent;
 import org.terasology.network.NetworkMode;
 import org.terasology.network.NetworkSystem;
+import org.terasology.network.SendPriority;
 import org.terasology.network.Server;
 import org.terasology.network.events.ConnectedEvent;
 import org.terasology.network.events.DisconnectedEvent;
@@ -87,6 +89,7 @@
 import org.terasology.world.WorldProvider;
 import org.terasology.world.biomes.Biome;
 import org.terasology.world.biomes.BiomeManager;
+import org.terasology.world.block.BlockComponent;
 import org.terasology.world.block.BlockManager;
 import org.terasology.world.block.family.BlockFamily;
 import org.terasology.world.chunks.remoteChunkProvider.RemoteChunkProvider;
@@ -127,6 +130,7 @@ public class NetworkSystemImpl implements EntityChangeSubscriber, NetworkSystem
     private EventLibrary eventLibrary;
     private EventSerializer eventSerializer;
     private NetworkEntitySerializer entitySerializer;
+    private EntityDeltaCache entityDeltaCache;
     private BlockManager blockManager;
     private BiomeManager biomeManager;
     private OwnershipHelper ownershipHelper;
@@ -149,7 +153,10 @@ public class NetworkSystemImpl implements EntityChangeSubscriber, NetworkSystem
     private Map<EntityRef, Client> clientPlayerLookup = Maps.newHashMap();
     private Map<EntityRef, EntityRef> ownerLookup = Maps.newHashMap();
     private SetMultimap<EntityRef, EntityRef> ownedLookup = HashMultimap.create();
+    private final EntityInterestManager interestManager = new EntityInterestManager(this);
     private StorageManager storageManager;
+    private EncodedChunkCache encodedChunkCache;
+    private WorldProvider cacheWorldProvider;
 
     // Client only
     private ServerImpl server;
@@ -172,6 +179,7 @@ public void host(int port, boolean dedicatedServer) throws HostingFailedExceptio
                     registerNetworkEntity(entity);
                 }
                 generateSerializationTables();
+                startChunkCache();
 
                 factory = new NioServerSocketChannelFactory(Executors.newCachedThreadPool(), Executors.newCachedThreadPool());
                 ServerBootstrap bootstrap = new ServerBootstrap(factory);
@@ -214,6 +222,33 @@ public void host(int port, boolean dedicatedServer) throws HostingFailedExceptio
         }
     }
 
+    private void startChunkCache() {
+        encodedChunkCache = new EncodedChunkCache();
+        cacheWorldProvider = context.get(WorldProvider.class);
+        if (cacheWorldProvider != null) {
+            cacheWorldProvider.registerListener(encodedChunkCache);
+        }
+    }
+
+    private void stopChunkCache() {
+        if (cacheWorldProvider != null) {
+            cacheWorldProvider.unregisterListener(encodedChunkCache);
+            cacheWorldProvider = null;
+        }
+        encodedChunkCache = null;
+    }
+
+    /**
+     * @return The cache of encoded chunks shared by all clients, or null if not hosting
+     */
+    EncodedChunkCache getEncodedChunkCache() {
+        return encodedChunkCache;
+    }
+
+    boolean isPrecompressingChunks() {
+        return config.isPrecompressChunks();
+    }
+
     @Override
     public JoinStatus join(String address, int port) throws InterruptedException {
         if (mode == NetworkMode.NONE) {
@@ -263,6 +298,7 @@ public void shutdown() {
         }
         processPendingDisconnects();
         clientList.forEach(this::processRemovedClient);
+        stopChunkCache();
         server = null;
         nextNetId = 1;
         netIdToEntityId.clear();
@@ -282,12 +318,14 @@ public void shutdown() {
         componentLibrary = null;
         eventSerializer = null;
         entitySerializer = null;
+        entityDeltaCache = null;
         clientList.clear();
         netClientList.clear();
         blockManager = null;
         biomeManager = null;
         ownerLookup.clear();
         ownedLookup.clear();
+        interestManager.clear();
         ownershipHelper = null;
         storageManager = null;
         logger.info("Network shutdown");
@@ -314,10 +352,18 @@ public void update() {
                     nextNetworkTick += NET_TICK_RATE;
                     netTick = true;
                 }
+                if (netTick && mode.isServer()) {
+                    PerformanceMonitor.startActivity("Entity interest update");
+                    interestManager.update();
+                    PerformanceMonitor.endActivity();
+                }
                 PerformanceMonitor.startActivity("Client update");
                 for (Client client : clientList) {
                     client.update(netTick);
                 }
+                if (netTick && entityDeltaCache != null) {
+                    entityDeltaCache.clear();
+                }
                 PerformanceMonitor.endActivity();
                 if (server != null) {
                     server.update(netTick);
@@ -425,9 +471,11 @@ public void registerNetworkEntity(EntityRef entity) {
                         clientPlayer.setNetInitial(netComponent.getNetworkId());
                     }
                     break;
+                case RELEVANT:
+                    interestManager.addEntity(netComponent.getNetworkId(), entity);
+                    break;
                 default:
                     for (NetClient client : netClientList) {
-                        // TODO: Relevance Check
                         client.setNetInitial(netComponent.getNetworkId());
                     }
                     break;
@@ -494,6 +542,8 @@ private void recursiveUpdateOwnership(EntityRef entity, NetClient lastOwner, Net
                 if (newOwner != null) {
                     newOwner.setNetInitial(networkComponent.getNetworkId());
                 }
+            } else if (networkComponent.replicateMode == NetworkComponent.ReplicateMode.RELEVANT) {
+                interestManager.updateEntity(networkComponent.getNetworkId(), entity, true);
             }
             for (EntityRef owned : ownedLookup.get(entity)) {
                 recursiveUpdateOwnership(owned, lastOwner, newOwner);
@@ -512,8 +562,11 @@ public void unregisterNetworkEntity(EntityRef entity) {
                 logger.debug("Unregistering network entity: {} with netId {}", entity, netComponent.getNetworkId());
                 netIdToEntityId.remove(netComponent.getNetworkId());
                 if (mode.isServer()) {
+                    interestManager.removeEntity(netComponent.getNetworkId());
                     for (NetClient client : netClientList) {
-                        client.setNetRemoved(netComponent.getNetworkId());
+                        if (client.isNetRelevant(netComponent.getNetworkId())) {
+                            client.setNetRemoved(netComponent.getNetworkId());
+                        }
                     }
                 }
                 netComponent.setNetworkId(NULL_NET_ID);
@@ -546,6 +599,7 @@ public void connectToEntitySystem(EngineEntityManager newEntityManager, EventLib
         eventSerializer = new EventSerializer(eventLibrary, typeSerializationLibrary);
         entitySerializer = new NetworkEntitySerializer(newEntityManager, entityManager.getComponentLibrary(), typeSerializationLibrary);
         entitySerializer.setComponentSerializeCheck(new NetComponentSerializeCheck());
+        entityDeltaCache = new EntityDeltaCache(entitySerializer);
 
         if (mode == NetworkMode.CLIENT) {
             entityManager.setEntityRefStrategy(new NetworkClientRefStrategy(this));
@@ -563,6 +617,9 @@ public void onEntityComponentAdded(EntityRef entity, Class<? extends Component>
         NetworkComponent netComp = entity.getComponent(NetworkComponent.class);
         if (netComp != null && netComp.getNetworkId() != NULL_NET_ID) {
             if (mode.isServer()) {
+                if (isPositionComponent(component)) {
+                    interestManager.updateEntity(netComp.getNetworkId(), entity, false);
+                }
                 if (metadata.isReplicated()) {
                     for (NetClient client : netClientList) {
                         logger.info("Component {} added to {}", component, entity);
@@ -580,6 +637,9 @@ public void onEntityComponentRemoved(EntityRef entity, Class<? extends Component
         NetworkComponent netComp = entity.getComponent(NetworkComponent.class);
         if (netComp != null && netComp.getNetworkId() != NULL_NET_ID) {
             if (mode.isServer()) {
+                if (isPositionComponent(component)) {
+                    interestManager.updateEntity(netComp.getNetworkId(), entity, false);
+                }
                 if (metadata.isReplicated()) {
                     for (NetClient client : netClientList) {
                         logger.info("Component {} removed from {}", component, entity);
@@ -611,6 +671,9 @@ public void onEntityComponentChange(EntityRef entity, Class<? extends Component>
             switch (mode) {
                 case LISTEN_SERVER:
                 case DEDICATED_SERVER:
+                    if (isPositionComponent(component)) {
+                        interestManager.updateEntity(netComp.getNetworkId(), entity, false);
+                    }
                     if (metadata.isReplicated()) {
                         for (NetClient client : netClientList) {
                             client.setComponentDirty(netComp.getNetworkId(), component);
@@ -629,6 +692,10 @@ public void onEntityComponentChange(EntityRef entity, Class<? extends Component>
         updatedOwnedEntities(entity, component, metadata);
     }
 
+    private static boolean isPositionComponent(Class<? extends Component> component) {
+        return component == LocationComponent.class || component == BlockComponent.class;
+    }
+
     private void updatedOwnedEntities(EntityRef entity, Class<? extends Component> component, ComponentMetadata<? extends Component> metadata) {
         if (mode.isAuthority() && metadata.isReferenceOwner()) {
             for (EntityRef ownedEntity : ownershipHelper.listOwnedEntities(entity.getComponent(component))) {
@@ -726,6 +793,48 @@ public int getOutgoingBytesDelta() {
         }
     }
 
+    @Override
+    public int getQueuedItems(SendPriority priority) {
+        int total = 0;
+        if (mode.isServer()) {
+            for (NetClient client : netClientList) {
+                total += client.getMetrics().getQueuedItems(priority);
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int getOutgoingBytesDelta(SendPriority priority) {
+        int total = 0;
+        if (mode.isServer()) {
+            for (NetClient client : netClientList) {
+                total += client.getMetrics().getSentBytesSinceLastCall(priority);
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int getChunkCacheHitsDelta() {
+        if (encodedChunkCache != null) {
+            return encodedChunkCache.getHitsSinceLastCall();
+        }
+        return 0;
+    }
+
+    @Override
+    public int getChunkCacheMissesDelta() {
+        if (encodedChunkCache != null) {
+            return encodedChunkCache.getMissesSinceLastCall();
+        }
+        return 0;
+    }
+
+    EntityDeltaCache getEntityDeltaCache() {
+        return entityDeltaCache;
+    }
+
     long getEntityId(int netId) {
         return netIdToEntityId.get(netId);
     }
@@ -786,6 +895,7 @@ private void processRemovedClient(Client client) {
         if (client instanceof NetClient) {
             NetClient netClient = (NetClient) client;
             netClientList.remove(netClient);
+            interestManager.removeClient(netClient);
         }
         clientList.remove(client);
         clientPlayerLookup.remove(client.getEntity());
@@ -817,13 +927,15 @@ private void processNewClient(NetClient client) {
                             client.setNetInitial(netComp.getNetworkId());
                         }
                         break;
+                    case RELEVANT:
+                        break;
                     default:
-                        // TODO: Relevance Check
                         client.setNetInitial(netComp.getNetworkId());
                         break;
                 }
             }
         }
+        interestManager.addClient(client);
     }
 
     private void connectClient(Client client) {
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.common.primitives.UnsignedBytes;
+import com.google.protobuf.ByteString;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.metadata.ComponentMetadata;
+import org.terasology.entitySystem.metadata.ReplicatedFieldMetadata;
+import org.terasology.persistence.serializers.NetworkEntitySerializer;
+import org.terasology.protobuf.EntityData;
+
+import java.util.Set;
+
+/**
+ * The field values last sent to a single client, per entity.
+ * <p>
+ * Updates to an entity are filtered against the baseline so that only fields whose value differs from what the client
+ * already has are sent. As the connection is reliable and ordered, a sent value is a value the client will have
+ * applied before the next update. Fields that declare a {@link org.terasology.network.Replicate#quantization()} are
+ * rounded to it before being compared and sent. If there is no baseline for an entity, or a component is newly added,
+ * all its fields are sent.
+ * <p>
+ * Baselines are only kept for clients that do not own the entity, as owners may predict changes to replicated fields
+ * locally and need every correction.
+ * <p>
+ * Filtered updates keep the serializer's format, which names each sent field by a one byte field id. As an update
+ * mostly carries one or two fields of a component, that is no larger than a bitmask over all the component's fields,
+ * and clients need no separate decoding path for it.
+ *
+ */
+public class ReplicationBaseline {
+
+    private final NetworkEntitySerializer entitySerializer;
+
+    /**
+     * Per network id, the last sent value of each field, keyed by component id and field id.
+     */
+    private final TIntObjectMap<TIntObjectMap<EntityData.Value>> baselines = new TIntObjectHashMap<>();
+
+    public ReplicationBaseline(NetworkEntitySerializer entitySerializer) {
+        this.entitySerializer = entitySerializer;
+    }
+
+    /**
+     * Replaces the baseline of an entity with the fields of a full send of it.
+     *
+     * @param netId
+     * @param entityData
+     */
+    void record(int netId, EntityData.PackedEntity entityData) {
+        TIntObjectMap<EntityData.Value> fields = new TIntObjectHashMap<>();
+        int fieldPos = 0;
+        for (int componentIndex = 0; componentIndex < entityData.getComponentIdCount(); ++componentIndex) {
+            int componentId = entityData.getComponentId(componentIndex);
+            ComponentMetadata<?> metadata = getMetadata(componentId);
+            int fieldCount = UnsignedBytes.toInt(entityData.getComponentFieldCounts().byteAt(componentIndex));
+            for (int fieldIndex = 0; fieldIndex < fieldCount; ++fieldIndex) {
+                byte fieldId = entityData.getFieldIds().byteAt(fieldPos);
+                fields.put(key(componentId, fieldId), quantize(metadata, fieldId, entityData.getFieldValue(fieldPos)));
+                fieldPos++;
+            }
+        }
+        baselines.put(netId, fields);
+    }
+
+    /**
+     * Drops the baseline of an entity, so that the next update of each of its components is sent in full.
+     *
+     * @param netId
+     */
+    void remove(int netId) {
+        baselines.remove(netId);
+    }
+
+    void clear() {
+        baselines.clear();
+    }
+
+    /**
+     * Removes all fields from an update that the client already has, and updates the baseline to the fields sent.
+     *
+     * @param netId
+     * @param delta The update, as serialized for all clients not owning the entity
+     * @param added The components the update adds to the entity
+     * @return The update to send to this client, or null if there is nothing left to send
+     */
+    public EntityData.PackedEntity filter(int netId, EntityData.PackedEntity delta,
+                                          Set<Class<? extends Component>> added) {
+        TIntObjectMap<EntityData.Value> fields = baselines.get(netId);
+        if (fields == null) {
+            fields = new TIntObjectHashMap<>();
+            baselines.put(netId, fields);
+        }
+
+        EntityData.PackedEntity.Builder result = EntityData.PackedEntity.newBuilder();
+        ByteString.Output fieldIds = ByteString.newOutput();
+        ByteString.Output componentFieldCounts = ByteString.newOutput();
+        boolean modified = false;
+        int fieldPos = 0;
+        for (int componentIndex = 0; componentIndex < delta.getComponentIdCount(); ++componentIndex) {
+            int componentId = delta.getComponentId(componentIndex);
+            ComponentMetadata<?> metadata = getMetadata(componentId);
+            boolean full = metadata != null && added.contains(metadata.getType());
+            if (full) {
+                removeComponent(fields, componentId);
+            }
+            int fieldCount = UnsignedBytes.toInt(delta.getComponentFieldCounts().byteAt(componentIndex));
+            byte sentCount = 0;
+            for (int fieldIndex = 0; fieldIndex < fieldCount; ++fieldIndex) {
+                byte fieldId = delta.getFieldIds().byteAt(fieldPos);
+                EntityData.Value value = delta.getFieldValue(fieldPos);
+                fieldPos++;
+
+                EntityData.Value sentValue = quantize(metadata, fieldId, value);
+                int key = key(componentId, fieldId);
+                if (!full && sentValue.equals(fields.get(key))) {
+                    modified = true;
+                    continue;
+                }
+                modified |= sentValue != value;
+                fields.put(key, sentValue);
+                fieldIds.write(fieldId);
+                result.addFieldValue(sentValue);
+                sentCount++;
+            }
+            if (sentCount > 0 || full) {
+                result.addComponentId(componentId);
+                componentFieldCounts.write(sentCount);
+            } else {
+                modified = true;
+            }
+        }
+        for (int componentId : delta.getRemovedComponentList()) {
+            removeComponent(fields, componentId);
+        }
+
+        if (!modified) {
+            return delta;
+        }
+        if (result.getComponentIdCount() == 0 && delta.getRemovedComponentCount() == 0) {
+            return null;
+        }
+        result.addAllRemovedComponent(delta.getRemovedComponentList());
+        result.setFieldIds(fieldIds.toByteString());
+        result.setComponentFieldCounts(componentFieldCounts.toByteString());
+        return result.build();
+    }
+
+    private ComponentMetadata<?> getMetadata(int componentId) {
+        Class<? extends Component> componentType = entitySerializer.getComponentType(componentId);
+        if (componentType == null) {
+            return null;
+        }
+        return entitySerializer.getComponentLibrary().getMetadata(componentType);
+    }
+
+    private static void removeComponent(TIntObjectMap<EntityData.Value> fields, int componentId) {
+        fields.retainEntries((key, value) -> (key >>> 8) != componentId);
+    }
+
+    private static int key(int componentId, byte fieldId) {
+        return componentId << 8 | UnsignedBytes.toInt(fieldId);
+    }
+
+    private static EntityData.Value quantize(ComponentMetadata<?> metadata, byte fieldId, EntityData.Value value) {
+        if (metadata == null || value.getFloatCount() == 0 && value.getDoubleCount() == 0) {
+            return value;
+        }
+        ReplicatedFieldMetadata<?, ?> field = metadata.getField(fieldId);
+        if (field == null || !field.isReplicated() || field.getReplicationInfo().quantization() <= 0) {
+            return value;
+        }
+        float step = field.getReplicationInfo().quantization();
+        EntityData.Value.Builder builder = value.toBuilder().clearFloat().clearDouble();
+        for (float f : value.getFloatList()) {
+            builder.addFloat(Math.round(f / step) * step);
+        }
+        for (double d : value.getDoubleList()) {
+            builder.addDouble(Math.round(d / step) * (double) step);
+        }
+        return builder.build();
+    }
+}
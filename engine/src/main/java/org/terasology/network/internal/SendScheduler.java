@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import org.terasology.network.NetMetricSource;
+import org.terasology.network.SendPriority;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Divides the bytes a client may be sent each net tick between the {@link SendPriority} classes.
+ * <p>
+ * This is a deficit round robin: at the start of each tick, every class with items waiting is credited with a share of
+ * the budget in proportion to its weight. Items are sent while they fit within the credit of their class, and credit
+ * left over by a class that empties its queue is passed on to the classes below it. A class that cannot send its next
+ * item keeps its credit for the next tick, so items larger than a single tick's share are sent once enough has been
+ * saved up, and bursts are spread over several ticks. Entities owned by the client are not limited by the budget.
+ * <p>
+ * Usage each tick: {@link #setQueued} for every class, {@link #beginTick}, then for each class in priority order
+ * {@link #canSend}/{@link #sent} per item followed by {@link #finish}.
+ * <p>
+ * Also serves as the client's metric source, adding per class metrics to those recorded on its channel.
+ *
+ */
+class SendScheduler implements NetMetricSource {
+    private static final int[] WEIGHTS = {0, 8, 4, 2, 1};
+
+    private final NetMetricSource channelMetrics;
+
+    private final int[] credit = new int[SendPriority.values().length];
+    private int spare;
+
+    private final AtomicIntegerArray queued = new AtomicIntegerArray(SendPriority.values().length);
+    private final AtomicIntegerArray sentBytes = new AtomicIntegerArray(SendPriority.values().length);
+
+    /**
+     * @param channelMetrics The metrics recorded on the client's channel, may be null
+     */
+    SendScheduler(NetMetricSource channelMetrics) {
+        this.channelMetrics = channelMetrics;
+    }
+
+    /**
+     * @param kilobitsPerSecond The bandwidth available to the client, as configured in kilobits per second
+     * @param tickSeconds       The length of a net tick in seconds
+     * @return The bytes that may be sent to the client each tick
+     */
+    static int bytesPerTick(int kilobitsPerSecond, float tickSeconds) {
+        return (int) (kilobitsPerSecond * 1000L / Byte.SIZE * tickSeconds);
+    }
+
+    void setQueued(SendPriority priority, int items) {
+        queued.set(priority.ordinal(), items);
+    }
+
+    /**
+     * Credits every class with items waiting with its share of the budget.
+     *
+     * @param budget The bytes that may be sent this tick
+     */
+    void beginTick(int budget) {
+        int totalWeight = 0;
+        for (SendPriority priority : SendPriority.values()) {
+            if (queued.get(priority.ordinal()) > 0) {
+                totalWeight += WEIGHTS[priority.ordinal()];
+            }
+        }
+        spare = 0;
+        for (SendPriority priority : SendPriority.values()) {
+            int index = priority.ordinal();
+            if (queued.get(index) == 0) {
+                credit[index] = 0;
+            } else if (totalWeight > 0) {
+                credit[index] += (int) ((long) budget * WEIGHTS[index] / totalWeight);
+            }
+        }
+    }
+
+    /**
+     * @param priority
+     * @param bytes
+     * @return Whether an item of the given size may be sent this tick
+     */
+    boolean canSend(SendPriority priority, int bytes) {
+        return WEIGHTS[priority.ordinal()] == 0 || bytes <= credit[priority.ordinal()] + spare;
+    }
+
+    /**
+     * Charges a sent item against the credit of its class, and then against the spare credit.
+     *
+     * @param priority
+     * @param bytes
+     */
+    void sent(SendPriority priority, int bytes) {
+        int index = priority.ordinal();
+        sentBytes.addAndGet(index, bytes);
+        if (WEIGHTS[index] == 0) {
+            return;
+        }
+        int fromCredit = Math.min(bytes, credit[index]);
+        credit[index] -= fromCredit;
+        spare = Math.max(0, spare - (bytes - fromCredit));
+    }
+
+    /**
+     * Ends sending for a class this tick. If it has nothing left to send, its credit passes to the classes below it.
+     *
+     * @param priority
+     * @param remaining The items of the class still waiting to be sent
+     */
+    void finish(SendPriority priority, int remaining) {
+        int index = priority.ordinal();
+        queued.set(index, remaining);
+        if (remaining == 0) {
+            spare += credit[index];
+            credit[index] = 0;
+        }
+    }
+
+    @Override
+    public int getQueuedItems(SendPriority priority) {
+        return queued.get(priority.ordinal());
+    }
+
+    @Override
+    public int getSentBytesSinceLastCall(SendPriority priority) {
+        return sentBytes.getAndSet(priority.ordinal(), 0);
+    }
+
+    @Override
+    public int getReceivedMessagesSinceLastCall() {
+        return (channelMetrics != null) ? channelMetrics.getReceivedMessagesSinceLastCall() : 0;
+    }
+
+    @Override
+    public int getReceivedBytesSinceLastCall() {
+        return (channelMetrics != null) ? channelMetrics.getReceivedBytesSinceLastCall() : 0;
+    }
+
+    @Override
+    public int getSentMessagesSinceLastCall() {
+        return (channelMetrics != null) ? channelMetrics.getSentMessagesSinceLastCall() : 0;
+    }
+
+    @Override
+    public int getSentBytesSinceLastCall() {
+        return (channelMetrics != null) ? channelMetrics.getSentBytesSinceLastCall() : 0;
+    }
+}
@@ -23,6 +23,7 @@
 import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
 import com.google.common.collect.SetMultimap;
+import com.google.protobuf.ByteString;
 import gnu.trove.iterator.TIntIterator;
 import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
@@ -63,6 +64,7 @@
 import org.terasology.world.chunks.internal.ChunkSerializer;
 import org.terasology.world.chunks.remoteChunkProvider.RemoteChunkProvider;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.Collections;
@@ -99,6 +101,7 @@ public class ServerImpl implements Server {
     private TIntSet netDirty = new TIntHashSet();
     private SetMultimap<Integer, Class<? extends Component>> changedComponents = HashMultimap.create();
     private ListMultimap<Vector3i, NetData.BlockChangeMessage> awaitingChunkReadyBlockUpdates = ArrayListMultimap.create();
+    private ListMultimap<Vector3i, NetData.BlockRegionChangeMessage> awaitingChunkReadyBlockRegionUpdates = ArrayListMultimap.create();
     private ListMultimap<Vector3i, NetData.BiomeChangeMessage> awaitingChunkReadyBiomeUpdates = ArrayListMultimap.create();
 
     private EngineTime time;
@@ -267,6 +270,7 @@ private void processMessages() {
             processReceivedChunks(message);
             processInvalidatedChunks(message);
             processBlockChanges(message);
+            processBlockRegionChanges(message);
             processBiomeChanges(message);
             processRemoveEntities(message);
             message.getCreateEntityList().forEach(this::createEntityMessage);
@@ -308,6 +312,18 @@ private void processBlockChanges(NetData.NetMessage message) {
         }
     }
 
+    private void processBlockRegionChanges(NetData.NetMessage message) {
+        WorldProvider worldProvider = CoreRegistry.get(WorldProvider.class);
+        for (NetData.BlockRegionChangeMessage regionChange : message.getBlockRegionChangeList()) {
+            Vector3i pos = NetMessageUtil.convert(regionChange.getMin());
+            if (worldProvider.isBlockRelevant(pos)) {
+                worldProvider.setBlocks(NetMessageUtil.decodeBlockRegionChange(regionChange, blockManager));
+            } else {
+                awaitingChunkReadyBlockRegionUpdates.put(ChunkMath.calcChunkPos(pos), regionChange);
+            }
+        }
+    }
+
     private void processBiomeChanges(NetData.NetMessage message) {
         for (NetData.BiomeChangeMessage biomeChange : message.getBiomeChangeList()) {
             logger.debug("Received block change to {}", blockManager.getBlock((short) biomeChange.getNewBiome()));
@@ -328,6 +344,7 @@ private void processInvalidatedChunks(NetData.NetMessage message) {
             Vector3i chunkPos = NetMessageUtil.convert(chunk.getPos());
             remoteWorldProvider.invalidateChunks(chunkPos);
             awaitingChunkReadyBlockUpdates.removeAll(chunkPos);
+            awaitingChunkReadyBlockRegionUpdates.removeAll(chunkPos);
             awaitingChunkReadyBiomeUpdates.removeAll(chunkPos);
         }
     }
@@ -337,6 +354,14 @@ private void processReceivedChunks(NetData.NetMessage message) {
             Chunk chunk = ChunkSerializer.decode(chunkInfo, blockManager, biomeManager);
             chunkQueue.offer(chunk);
         }
+        for (ByteString compressedChunkInfo : message.getCompressedChunkInfoList()) {
+            try {
+                Chunk chunk = ChunkSerializer.decode(EncodedChunkCache.decompress(compressedChunkInfo), blockManager, biomeManager);
+                chunkQueue.offer(chunk);
+            } catch (IOException e) {
+                logger.error("Failed to decompress received chunk", e);
+            }
+        }
     }
 
     private void processBlockRegistrations(NetData.NetMessage message) {
@@ -418,6 +443,10 @@ public void onChunkReady(Vector3i chunkPos) {
             worldProvider.setBlock(pos, newBlock);
         }
 
+        for (NetData.BlockRegionChangeMessage message : awaitingChunkReadyBlockRegionUpdates.removeAll(chunkPos)) {
+            worldProvider.setBlocks(NetMessageUtil.decodeBlockRegionChange(message, blockManager));
+        }
+
         List<NetData.BiomeChangeMessage> updateBiomeMessages = awaitingChunkReadyBiomeUpdates.removeAll(chunkPos);
         for (NetData.BiomeChangeMessage message : updateBiomeMessages) {
             Vector3i pos = NetMessageUtil.convert(message.getPos());
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.ChannelStateEvent;
+import org.jboss.netty.channel.Channels;
+import org.jboss.netty.channel.MessageEvent;
+import org.jboss.netty.channel.SimpleChannelHandler;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * Encodes messages sent by the server into the stream the client pipeline expects: each protobuf message is framed with
+ * its varint length, the stream is deflated with a sync flush after every message, and every flushed block is framed
+ * with a 3 byte length. This combines the protobuf, varint length, zlib and length field encoders, but reuses its
+ * buffers between messages so that the only allocation per message is the frame handed on to the channel.
+ * <p>
+ * Accepts protobuf messages, or buffers holding a message already framed with its varint length such as those written
+ * by {@link NetMessageWriter}. Buffers are fully consumed before the write returns, so they may be reused afterwards.
+ *
+ */
+public class ServerMessageEncoder extends SimpleChannelHandler {
+
+    public static final String NAME = "messageEncoder";
+
+    /**
+     * The longest frame the client pipelines accept, including its length field.
+     */
+    public static final int MAX_FRAME_LENGTH = 8388608;
+
+    private static final int LENGTH_FIELD_SIZE = 3;
+    private static final int INITIAL_BUFFER_SIZE = 16384;
+
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    private byte[] input = new byte[INITIAL_BUFFER_SIZE];
+    private byte[] output = new byte[INITIAL_BUFFER_SIZE];
+    private boolean closed;
+
+    @Override
+    public void writeRequested(ChannelHandlerContext ctx, MessageEvent e) throws Exception {
+        Object message = e.getMessage();
+        ChannelBuffer frame;
+        if (message instanceof MessageLite) {
+            frame = encode((MessageLite) message);
+        } else if (message instanceof ChannelBuffer) {
+            frame = encode((ChannelBuffer) message);
+        } else {
+            ctx.sendDownstream(e);
+            return;
+        }
+        Channels.write(ctx, e.getFuture(), frame, e.getRemoteAddress());
+    }
+
+    @Override
+    public void channelClosed(ChannelHandlerContext ctx, ChannelStateEvent e) throws Exception {
+        synchronized (this) {
+            closed = true;
+            deflater.end();
+        }
+        super.channelClosed(ctx, e);
+    }
+
+    private synchronized ChannelBuffer encode(MessageLite message) throws IOException {
+        int size = message.getSerializedSize();
+        int framedSize = CodedOutputStream.computeRawVarint32Size(size) + size;
+        if (input.length < framedSize) {
+            input = new byte[Math.max(framedSize, input.length * 2)];
+        }
+        CodedOutputStream out = CodedOutputStream.newInstance(input, 0, framedSize);
+        out.writeRawVarint32(size);
+        message.writeTo(out);
+        out.checkNoSpaceLeft();
+        return deflate(input, 0, framedSize);
+    }
+
+    private synchronized ChannelBuffer encode(ChannelBuffer message) {
+        int length = message.readableBytes();
+        if (message.hasArray()) {
+            ChannelBuffer frame = deflate(message.array(), message.arrayOffset() + message.readerIndex(), length);
+            message.skipBytes(length);
+            return frame;
+        }
+        if (input.length < length) {
+            input = new byte[Math.max(length, input.length * 2)];
+        }
+        message.readBytes(input, 0, length);
+        return deflate(input, 0, length);
+    }
+
+    private ChannelBuffer deflate(byte[] data, int offset, int length) {
+        if (closed) {
+            throw new IllegalStateException("Channel closed");
+        }
+        deflater.setInput(data, offset, length);
+        int outputLength = LENGTH_FIELD_SIZE;
+        while (true) {
+            outputLength += deflater.deflate(output, outputLength, output.length - outputLength, Deflater.SYNC_FLUSH);
+            if (outputLength < output.length) {
+                break;
+            }
+            output = Arrays.copyOf(output, output.length * 2);
+        }
+        int frameLength = outputLength - LENGTH_FIELD_SIZE;
+        if (outputLength > MAX_FRAME_LENGTH) {
+            throw new IllegalArgumentException("Compressed message too long: " + frameLength);
+        }
+        ChannelBuffer frame = ChannelBuffers.buffer(outputLength);
+        frame.writeMedium(frameLength);
+        frame.writeBytes(output, LENGTH_FIELD_SIZE, frameLength);
+        return frame;
+    }
+}
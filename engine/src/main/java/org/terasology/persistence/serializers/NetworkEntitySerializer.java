@@ -34,6 +34,7 @@
 import org.terasology.entitySystem.metadata.ComponentMetadata;
 import org.terasology.entitySystem.metadata.ReplicatedFieldMetadata;
 import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.math.geom.Quat4f;
 import org.terasology.persistence.typeHandling.PersistedData;
 import org.terasology.persistence.typeHandling.Serializer;
 import org.terasology.persistence.typeHandling.TypeSerializationLibrary;
@@ -82,6 +83,22 @@ public void setIdMapping(Map<Class<? extends Component>, Integer> componentIdMap
         this.idTable = ImmutableBiMap.copyOf(componentIdMapping);
     }
 
+    /**
+     * @param componentType
+     * @return The id the component type is sent with, or null if it has none
+     */
+    public Integer getComponentId(Class<? extends Component> componentType) {
+        return idTable.get(componentType);
+    }
+
+    /**
+     * @param componentId
+     * @return The component type sent with the given id, or null if there is none
+     */
+    public Class<? extends Component> getComponentType(int componentId) {
+        return idTable.inverse().get(componentId);
+    }
+
     public EntityData.PackedEntity.Builder serialize(EntityRef entity, boolean deltaAgainstPrefab, FieldSerializeCheck<Component> fieldCheck) {
         Prefab prefab = entity.getParentPrefab();
         if (prefab != null && deltaAgainstPrefab) {
@@ -235,6 +252,9 @@ public void deserializeOnto(MutableComponentContainer entity, EntityData.PackedE
                 if (fieldMetadata != null && fieldCheck.shouldDeserialize(metadata, fieldMetadata)) {
                     logger.trace("Deserializing field {} of component {} as value {}", fieldMetadata, metadata, entityData.getFieldValue(fieldPos));
                     serializer.deserializeOnto(component, fieldMetadata, new ProtobufPersistedData(entityData.getFieldValue(fieldPos)), deserializationContext);
+                    if (fieldMetadata.isReplicated() && fieldMetadata.getReplicationInfo().quantization() > 0) {
+                        renormalizeQuantized(component, fieldMetadata);
+                    }
                 }
                 fieldPos++;
             }
@@ -255,6 +275,24 @@ public void deserializeOnto(MutableComponentContainer entity, EntityData.PackedE
         }
     }
 
+    /**
+     * Rounding each component of a unit quaternion to the quantization step generally moves it off the unit sphere, so
+     * quantized rotations are renormalized once received.
+     *
+     * @param component
+     * @param fieldMetadata A quantized field of the component
+     */
+    private static void renormalizeQuantized(Component component, ReplicatedFieldMetadata fieldMetadata) {
+        Object value = fieldMetadata.getValue(component);
+        if (value instanceof Quat4f) {
+            Quat4f rotation = (Quat4f) value;
+            if (rotation.x * rotation.x + rotation.y * rotation.y + rotation.z * rotation.z + rotation.w * rotation.w > 0) {
+                rotation.normalize();
+                fieldMetadata.setValue(component, rotation);
+            }
+        }
+    }
+
     public EntityRef deserialize(EntityData.PackedEntity entityData) {
         EntityBuilder target;
         if (entityData.hasParentPrefabUri()) {
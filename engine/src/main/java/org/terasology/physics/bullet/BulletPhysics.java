@@ -57,6 +57,9 @@
 import org.terasology.logic.characters.CharacterMovementComponent;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.AABB;
+import org.terasology.math.ChunkMath;
+import org.terasology.math.Region3i;
+import org.terasology.math.TeraMath;
 import org.terasology.math.VecMath;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.monitoring.PerformanceMonitor;
@@ -79,6 +82,7 @@
 import org.terasology.registry.CoreRegistry;
 import org.terasology.world.BlockEntityRegistry;
 import org.terasology.world.WorldProvider;
+import org.terasology.world.chunks.CoreChunk;
 
 import javax.vecmath.Matrix3f;
 import javax.vecmath.Matrix4f;
@@ -100,6 +104,13 @@ public class BulletPhysics implements PhysicsEngine {
 
     private static final Logger logger = LoggerFactory.getLogger(BulletPhysics.class);
 
+    /**
+     * Resting rigid bodies are put to sleep after this many seconds, rather than Bullet's 2 seconds, so that piles of
+     * dropped items stop being simulated quickly. Bullet's deactivation time is a JVM-wide global, so rather than
+     * changing it, the deactivation timer of each resting body is advanced faster (see {@link #advanceDeactivation}).
+     */
+    private static final float DEACTIVATION_TIME = 0.5f;
+
     private final Deque<RigidBodyRequest> insertionQueue = Lists.newLinkedList();
     private final Deque<BulletRigidBody> removalQueue = Lists.newLinkedList();
 
@@ -113,6 +124,8 @@ public class BulletPhysics implements PhysicsEngine {
     private Map<EntityRef, BulletCharacterMoverCollider> entityColliders = Maps.newHashMap();
     private Map<EntityRef, PairCachingGhostObject> entityTriggers = Maps.newHashMap();
     private List<PhysicsSystem.CollisionPair> collisions = new ArrayList<>();
+    private List<Region3i> simulationRegions;
+    private boolean simulationRegionsChanged;
 
     public BulletPhysics(WorldProvider world) {
         broadphase = new DbvtBroadphase();
@@ -262,6 +275,9 @@ public HitResult rayTrace(org.terasology.math.geom.Vector3f from1, org.terasolog
     @Override
     public void update(float delta) {
         processQueuedBodies();
+        if (simulationRegionsChanged) {
+            applySimulationRegions();
+        }
         applyPendingImpulsesAndForces();
         try {
             PerformanceMonitor.startActivity("Step Simulation");
@@ -274,9 +290,27 @@ public void update(float delta) {
         } catch (Exception e) {
             logger.error("Error running simulation step.", e);
         }
+        advanceDeactivation(delta);
         collisions.addAll(getNewCollisionPairs());
     }
 
+    /**
+     * Bullet advances the deactivation timer of a body while it is slower than its sleeping thresholds, and puts it to
+     * sleep once the timer passes the global deactivation time. Advancing the timers of such bodies further puts them to
+     * sleep after {@link #DEACTIVATION_TIME} instead.
+     */
+    private void advanceDeactivation(float delta) {
+        float extraTime = delta * (BulletGlobals.getDeactivationTime() / DEACTIVATION_TIME - 1);
+        if (extraTime <= 0) {
+            return;
+        }
+        for (BulletRigidBody body : entityRigidBodies.values()) {
+            if (!body.frozen && body.rb.getActivationState() == CollisionObject.ACTIVE_TAG && body.rb.getDeactivationTime() > 0) {
+                body.rb.setDeactivationTime(body.rb.getDeactivationTime() + extraTime);
+            }
+        }
+    }
+
     @Override
     public boolean removeRigidBody(EntityRef entity) {
         BulletRigidBody rigidBody = entityRigidBodies.remove(entity);
@@ -436,6 +470,44 @@ public void awakenArea(org.terasology.math.geom.Vector3f pos, float radius) {
         discreteDynamicsWorld.awakenRigidBodiesInArea(min, max);
     }
 
+    @Override
+    public void setSimulationRegions(Collection<Region3i> regions) {
+        simulationRegions = (regions != null) ? Lists.newArrayList(regions) : null;
+        simulationRegionsChanged = true;
+    }
+
+    @Override
+    public int getActiveRigidBodyCount() {
+        int count = 0;
+        for (BulletRigidBody body : entityRigidBodies.values()) {
+            if (!body.frozen && body.rb.isActive()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int getFrozenRigidBodyCount() {
+        int count = 0;
+        for (BulletRigidBody body : entityRigidBodies.values()) {
+            if (body.frozen) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void onChunkLoaded(CoreChunk chunk) {
+        wrapper.onChunkLoaded(chunk);
+    }
+
+    @Override
+    public void onChunkUnloaded(Vector3i chunkPos) {
+        wrapper.onChunkUnloaded(chunkPos);
+    }
+
     @Override
     public float getEpsilon() {
         return BulletGlobals.SIMD_EPSILON;
@@ -581,12 +653,60 @@ private CharacterCollider createCustomCollider(Vector3f pos, ConvexShape shape,
     private synchronized void processQueuedBodies() {
         while (!insertionQueue.isEmpty()) {
             RigidBodyRequest request = insertionQueue.poll();
-            discreteDynamicsWorld.addRigidBody(request.body.rb, request.groups, request.filter);
+            request.body.groups = request.groups;
+            request.body.filter = request.filter;
+            if (isInSimulationRegion(request.body)) {
+                discreteDynamicsWorld.addRigidBody(request.body.rb, request.groups, request.filter);
+            } else {
+                request.body.frozenActivationState = request.body.rb.getActivationState();
+                request.body.rb.forceActivationState(CollisionObject.ISLAND_SLEEPING);
+                request.body.frozen = true;
+            }
         }
         while (!removalQueue.isEmpty()) {
             BulletRigidBody body = removalQueue.poll();
-            discreteDynamicsWorld.removeRigidBody(body.rb);
+            if (!body.frozen) {
+                discreteDynamicsWorld.removeRigidBody(body.rb);
+            }
+        }
+    }
+
+    /**
+     * Removes rigid bodies that have left every simulation region from the dynamics world, and restores those that
+     * have come back into one. Frozen bodies keep their velocity, and report themselves as inactive. Restored bodies
+     * get back the activation state they had when frozen, so sleeping bodies stay asleep.
+     */
+    private void applySimulationRegions() {
+        simulationRegionsChanged = false;
+        for (BulletRigidBody body : entityRigidBodies.values()) {
+            boolean simulated = isInSimulationRegion(body);
+            if (body.frozen && simulated) {
+                discreteDynamicsWorld.addRigidBody(body.rb, body.groups, body.filter);
+                body.rb.forceActivationState(body.frozenActivationState);
+                body.frozen = false;
+            } else if (!body.frozen && !simulated) {
+                discreteDynamicsWorld.removeRigidBody(body.rb);
+                body.frozenActivationState = body.rb.getActivationState();
+                body.rb.forceActivationState(CollisionObject.ISLAND_SLEEPING);
+                body.frozen = true;
+            }
+        }
+    }
+
+    private boolean isInSimulationRegion(BulletRigidBody body) {
+        if (simulationRegions == null) {
+            return true;
+        }
+        Vector3f pos = body.rb.getCenterOfMassPosition(new Vector3f());
+        int chunkX = ChunkMath.calcChunkPosX(TeraMath.floorToInt(pos.x));
+        int chunkY = ChunkMath.calcChunkPosY(TeraMath.floorToInt(pos.y));
+        int chunkZ = ChunkMath.calcChunkPosZ(TeraMath.floorToInt(pos.z));
+        for (Region3i region : simulationRegions) {
+            if (region.encompasses(chunkX, chunkY, chunkZ)) {
+                return true;
+            }
         }
+        return false;
     }
 
     /**
@@ -780,6 +900,10 @@ private static class BulletRigidBody implements RigidBody {
 
         public final com.bulletphysics.dynamics.RigidBody rb;
         public short collidesWith;
+        private short groups;
+        private short filter;
+        private boolean frozen;
+        private int frozenActivationState;
         private final Transform pooledTransform = new Transform();
         private final Vector3f pendingImpulse = new Vector3f();
         private final Vector3f pendingForce = new Vector3f();
@@ -884,6 +1008,8 @@ private final class BulletCharacterMoverCollider implements CharacterCollider {
         boolean pending = true;
 
         private final Transform temp = new Transform();
+        private final Transform sweepStart = new Transform();
+        private final Transform sweepEnd = new Transform();
 
         //If a class can figure out that its Collider is a BulletCollider, it
         //is allowed to gain direct access to the bullet body:
@@ -922,13 +1048,15 @@ public void setLocation(org.terasology.math.geom.Vector3f loc) {
 
         @Override
         public BulletSweepCallback sweep(org.terasology.math.geom.Vector3f startPos, org.terasology.math.geom.Vector3f endPos, float allowedPenetration, float slopeFactor) {
-            Transform startTransform = new Transform(new Matrix4f(new Quat4f(0, 0, 0, 1), VecMath.to(startPos), 1.0f));
-            Transform endTransform = new Transform(new Matrix4f(new Quat4f(0, 0, 0, 1), VecMath.to(endPos), 1.0f));
+            sweepStart.setIdentity();
+            sweepStart.origin.set(startPos.x, startPos.y, startPos.z);
+            sweepEnd.setIdentity();
+            sweepEnd.origin.set(endPos.x, endPos.y, endPos.z);
             BulletSweepCallback callback = new BulletSweepCallback(collider, new org.terasology.math.geom.Vector3f(0, 1, 0), slopeFactor);
             callback.collisionFilterGroup = collider.getBroadphaseHandle().collisionFilterGroup;
             callback.collisionFilterMask = collider.getBroadphaseHandle().collisionFilterMask;
             callback.collisionFilterMask = (short) (callback.collisionFilterMask & (~StandardCollisionGroup.SENSOR.getFlag()));
-            collider.convexSweepTest((ConvexShape) (collider.getCollisionShape()), startTransform, endTransform, callback, allowedPenetration);
+            collider.convexSweepTest((ConvexShape) (collider.getCollisionShape()), sweepStart, sweepEnd, callback, allowedPenetration);
             return callback;
         }
     }
@@ -17,10 +17,14 @@
 package org.terasology.physics.engine;
 
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.math.Region3i;
 import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
 import org.terasology.physics.CollisionGroup;
 import org.terasology.physics.Physics;
+import org.terasology.world.chunks.CoreChunk;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
@@ -136,6 +140,20 @@ public interface PhysicsEngine extends Physics {
      */
     boolean hasCharacterCollider(EntityRef entity);
 
+    /**
+     * Notifies the physics engine that a chunk has become ready, so that it can cache the collision shapes of its blocks.
+     *
+     * @param chunk The chunk that became ready.
+     */
+    void onChunkLoaded(CoreChunk chunk);
+
+    /**
+     * Notifies the physics engine that a chunk is about to be unloaded.
+     *
+     * @param chunkPos The position of the chunk.
+     */
+    void onChunkUnloaded(Vector3i chunkPos);
+
     /**
      * Warning: Do not remove physics entities while iterating with the returned iterator. <br>
      * You may create a list of entities to remove and remove them afterwards)
@@ -201,6 +219,25 @@ public interface PhysicsEngine extends Physics {
      */
     boolean removeTrigger(EntityRef entity);
 
+    /**
+     * Limits the simulation of rigid bodies to the given regions, typically those around each client. Bodies outside
+     * every region are frozen: they are taken out of the simulation, keeping their state, until a later call puts them
+     * back inside a region.
+     *
+     * @param regions The regions to simulate, in chunk coordinates, or null to simulate everywhere.
+     */
+    void setSimulationRegions(Collection<Region3i> regions);
+
+    /**
+     * @return The number of rigid bodies that are being simulated and are not asleep.
+     */
+    int getActiveRigidBodyCount();
+
+    /**
+     * @return The number of rigid bodies frozen because they are outside every simulation region.
+     */
+    int getFrozenRigidBodyCount();
+
     /**
      * Advances the physics engine with the given amount of time in seconds. As
      * long as this time does not exceed 8/60 seconds, the game speed will be
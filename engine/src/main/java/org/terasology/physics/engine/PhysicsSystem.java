@@ -31,9 +31,14 @@
 import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.logic.location.LocationResynchEvent;
+import org.terasology.math.ChunkMath;
+import org.terasology.math.Region3i;
 import org.terasology.math.geom.Quat4f;
 import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
 import org.terasology.monitoring.PerformanceMonitor;
+import org.terasology.network.Client;
+import org.terasology.network.ClientComponent;
 import org.terasology.network.NetworkComponent;
 import org.terasology.network.NetworkSystem;
 import org.terasology.physics.CollisionGroup;
@@ -50,10 +55,16 @@
 import org.terasology.physics.events.EntityImpactEvent;
 import org.terasology.physics.events.BlockImpactEvent;
 import org.terasology.registry.In;
+import org.terasology.rendering.world.viewDistance.ViewDistance;
 import org.terasology.world.OnChangedBlock;
+import org.terasology.world.WorldComponent;
 import org.terasology.world.WorldProvider;
 import org.terasology.world.block.Block;
 import org.terasology.world.block.BlockComponent;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkProvider;
+import org.terasology.world.chunks.event.BeforeChunkUnload;
+import org.terasology.world.chunks.event.OnChunkLoaded;
 
 import com.google.common.collect.Lists;
 
@@ -72,6 +83,11 @@ public class PhysicsSystem extends BaseComponentSystem implements UpdateSubscrib
 
     private static final Logger logger = LoggerFactory.getLogger(PhysicsSystem.class);
     private static final long TIME_BETWEEN_NETSYNCS = 500;
+    private static final long TIME_BETWEEN_SIMULATION_REGION_UPDATES = 1000;
+    /**
+     * Rigid bodies are only simulated within this many chunks of a client, or within its view distance if smaller.
+     */
+    private static final Vector3i MAX_SIMULATION_DISTANCE = ViewDistance.NEAR.getChunkDistance();
     private static final CollisionGroup[] DEFAULT_COLLISION_GROUP = {StandardCollisionGroup.WORLD, StandardCollisionGroup.CHARACTER, StandardCollisionGroup.DEFAULT};
     private static final float COLLISION_DAMPENING_MULTIPLIER = 0.5f;
     @In
@@ -84,12 +100,16 @@ public class PhysicsSystem extends BaseComponentSystem implements UpdateSubscrib
     private PhysicsEngine physics;
     @In
     private WorldProvider worldProvider;
+    @In
+    private ChunkProvider chunkProvider;
 
     private long lastNetsync;
+    private long lastSimulationRegionUpdate;
 
     @Override
     public void initialise() {
         lastNetsync = 0;
+        lastSimulationRegionUpdate = 0;
     }
 
     @ReceiveEvent(components = {RigidBodyComponent.class, LocationComponent.class}, priority = EventPriority.PRIORITY_NORMAL)
@@ -144,6 +164,19 @@ public void updateRigidBody(OnChangedComponent event, EntityRef entity) {
         physics.updateRigidBody(entity);
     }
 
+    @ReceiveEvent(components = WorldComponent.class)
+    public void onChunkLoaded(OnChunkLoaded event, EntityRef worldEntity) {
+        Chunk chunk = chunkProvider.getChunk(event.getChunkPos());
+        if (chunk != null) {
+            physics.onChunkLoaded(chunk);
+        }
+    }
+
+    @ReceiveEvent(components = WorldComponent.class)
+    public void onChunkUnloaded(BeforeChunkUnload event, EntityRef worldEntity) {
+        physics.onChunkUnloaded(event.getChunkPos());
+    }
+
     @ReceiveEvent(components = {BlockComponent.class})
     public void onBlockAltered(OnChangedBlock event, EntityRef entity) {
         physics.awakenArea(event.getBlockPosition().toVector3f(), 0.6f);
@@ -180,6 +213,11 @@ public void onItemImpact(ImpactEvent event, EntityRef entity) {
     @Override
     public void update(float delta) {
 
+        if (time.getGameTimeInMs() - TIME_BETWEEN_SIMULATION_REGION_UPDATES > lastSimulationRegionUpdate) {
+            updateSimulationRegions();
+            lastSimulationRegionUpdate = time.getGameTimeInMs();
+        }
+
         PerformanceMonitor.startActivity("Physics Renderer");
         physics.update(time.getGameDelta());
         PerformanceMonitor.endActivity();
@@ -262,6 +300,36 @@ public void update(float delta) {
         }
     }
 
+    /**
+     * Restricts the simulation to the region around each client's character, so that dropped items and projectiles
+     * far from every player do not keep being simulated.
+     */
+    private void updateSimulationRegions() {
+        List<Region3i> regions = Lists.newArrayList();
+        for (EntityRef client : entityManager.getEntitiesWith(ClientComponent.class)) {
+            LocationComponent location = client.getComponent(ClientComponent.class).character.getComponent(LocationComponent.class);
+            if (location == null) {
+                location = client.getComponent(LocationComponent.class);
+                if (location == null) {
+                    continue;
+                }
+            }
+            Vector3i distance = new Vector3i(MAX_SIMULATION_DISTANCE);
+            Client owner = networkSystem.getOwner(client);
+            if (owner != null) {
+                Vector3i viewDistance = owner.getViewDistance().getChunkDistance();
+                distance.set(Math.min(distance.x, viewDistance.x), Math.min(distance.y, viewDistance.y), Math.min(distance.z, viewDistance.z));
+            }
+            Vector3i extents = new Vector3i(distance.x / 2, distance.y / 2, distance.z / 2);
+            regions.add(Region3i.createFromCenterExtents(ChunkMath.calcChunkPos(location.getWorldPosition()), extents));
+        }
+        // Without any located client (e.g. while the first player is still joining) there is nothing to restrict the
+        // simulation to, so keep the previous regions rather than freezing every body
+        if (!regions.isEmpty()) {
+            physics.setSimulationRegions(regions);
+        }
+    }
+
     private short getCollisionGroupFlag(EntityRef entity) {
         CollisionGroup collisionGroup = StandardCollisionGroup.NONE;
         if (entity.hasComponent(TriggerComponent.class)) {
@@ -13,59 +13,191 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.terasology.physics.engine;
 
 import com.bulletphysics.collision.shapes.CollisionShape;
 import com.bulletphysics.collision.shapes.voxel.VoxelInfo;
 import com.bulletphysics.collision.shapes.voxel.VoxelPhysicsWorld;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.terasology.math.ChunkMath;
 import org.terasology.math.VecMath;
 import org.terasology.math.geom.Vector3f;
 import org.terasology.math.geom.Vector3i;
+import org.terasology.world.WorldChangeListener;
 import org.terasology.world.WorldProvider;
+import org.terasology.world.biomes.Biome;
 import org.terasology.world.block.Block;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.CoreChunk;
+import org.terasology.world.chunks.blockdata.TeraArray;
+import org.terasology.world.chunks.blockdata.TeraDenseArray16Bit;
+import org.terasology.world.chunks.deflate.TeraStandardDeflator;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * This class links Terasology's voxel world with the physics engine, providing it with the collision information for each block location.
+ * <p>
+ * The collision shapes of ready chunks are cached, so that the many lookups made by character sweeps and the broadphase
+ * do not go through the world provider. Each cached chunk holds a sparse array indexing every block into a shared list
+ * of collision shapes, where index 0 marks blocks without collision. Entries are built when a chunk becomes ready,
+ * patched when its blocks change and dropped when it unloads. Blocks outside cached chunks are looked up in the world.
  *
  */
-public class PhysicsWorldWrapper implements VoxelPhysicsWorld {
+public class PhysicsWorldWrapper implements VoxelPhysicsWorld, WorldChangeListener {
+
+    private static final short NO_COLLISION = 0;
+    private static final VoxelInfo EMPTY = new EmptyVoxelInfo();
 
     private WorldProvider world;
 
+    private final Map<Vector3i, TeraArray> chunkShapes = Maps.newHashMap();
+    private final List<CollisionInfo> shapes = Lists.newArrayList();
+    private final Map<Block, Short> shapeIndices = Maps.newHashMap();
+
+    private final Vector3i lastChunkPos = new Vector3i();
+    private TeraArray lastChunkShapes;
+
     public PhysicsWorldWrapper(WorldProvider world) {
         this.world = world;
+        shapes.add(null);
+        world.registerListener(this);
     }
 
     @Override
     public VoxelInfo getCollisionShapeAt(int x, int y, int z) {
-        Block block = world.getBlock(x, y, z);
-        return new TeraVoxelInfo(block, block.isTargetable(), !block.isPenetrable(), new Vector3i(x, y, z));
+        TeraArray indices = getChunkShapes(ChunkMath.calcChunkPosX(x), ChunkMath.calcChunkPosY(y), ChunkMath.calcChunkPosZ(z));
+        if (indices == null) {
+            Block block = world.getBlock(x, y, z);
+            return new TeraVoxelInfo(createCollisionInfo(block), new Vector3i(x, y, z));
+        }
+        int index = indices.get(ChunkMath.calcBlockPosX(x), ChunkMath.calcBlockPosY(y), ChunkMath.calcBlockPosZ(z));
+        if (index == NO_COLLISION) {
+            return EMPTY;
+        }
+        return new TeraVoxelInfo(shapes.get(index), new Vector3i(x, y, z));
+    }
+
+    /**
+     * Caches the collision shapes of a chunk that has become ready, replacing any previously cached for its position.
+     *
+     * @param chunk
+     */
+    public void onChunkLoaded(CoreChunk chunk) {
+        TeraArray indices = new TeraDenseArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+        Block lastBlock = null;
+        short lastIndex = NO_COLLISION;
+        for (int y = 0; y < ChunkConstants.SIZE_Y; y++) {
+            for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+                    Block block = chunk.getBlock(x, y, z);
+                    if (block != lastBlock) {
+                        lastBlock = block;
+                        lastIndex = getShapeIndex(block);
+                    }
+                    if (lastIndex != NO_COLLISION) {
+                        indices.set(x, y, z, lastIndex);
+                    }
+                }
+            }
+        }
+        Vector3i chunkPos = new Vector3i(chunk.getPosition());
+        chunkShapes.put(chunkPos, new TeraStandardDeflator().deflate(indices));
+        lastChunkShapes = null;
+    }
+
+    /**
+     * Drops the cached collision shapes of a chunk that is about to unload.
+     *
+     * @param chunkPos
+     */
+    public void onChunkUnloaded(Vector3i chunkPos) {
+        chunkShapes.remove(chunkPos);
+        lastChunkShapes = null;
+    }
+
+    @Override
+    public void onBlockChanged(Vector3i pos, Block newBlock, Block originalBlock) {
+        TeraArray indices = getChunkShapes(ChunkMath.calcChunkPosX(pos.x), ChunkMath.calcChunkPosY(pos.y), ChunkMath.calcChunkPosZ(pos.z));
+        if (indices != null) {
+            indices.set(ChunkMath.calcBlockPosX(pos.x), ChunkMath.calcBlockPosY(pos.y), ChunkMath.calcBlockPosZ(pos.z), getShapeIndex(newBlock));
+        }
+    }
+
+    @Override
+    public void onBiomeChanged(Vector3i pos, Biome newBiome, Biome originalBiome) {
     }
 
     public void dispose() {
+        world.unregisterListener(this);
         world = null;
+        chunkShapes.clear();
+        lastChunkShapes = null;
+    }
+
+    private TeraArray getChunkShapes(int chunkX, int chunkY, int chunkZ) {
+        if (lastChunkShapes == null || lastChunkPos.x != chunkX || lastChunkPos.y != chunkY || lastChunkPos.z != chunkZ) {
+            lastChunkPos.set(chunkX, chunkY, chunkZ);
+            lastChunkShapes = chunkShapes.get(lastChunkPos);
+            if (lastChunkShapes == null) {
+                return null;
+            }
+        }
+        return lastChunkShapes;
+    }
+
+    private short getShapeIndex(Block block) {
+        Short index = shapeIndices.get(block);
+        if (index == null) {
+            CollisionInfo info = createCollisionInfo(block);
+            if (info.colliding || info.blocking) {
+                index = (short) shapes.size();
+                shapes.add(info);
+            } else {
+                index = NO_COLLISION;
+            }
+            shapeIndices.put(block, index);
+        }
+        return index;
+    }
+
+    private static CollisionInfo createCollisionInfo(Block block) {
+        CollisionShape shape = block.getCollisionShape();
+        return new CollisionInfo(shape, block.getCollisionOffset(), shape != null && block.isTargetable(), shape != null && !block.isPenetrable());
+    }
+
+    /**
+     * The collision information shared by all placements of a block.
+     */
+    private static final class CollisionInfo {
+        private final CollisionShape shape;
+        private final Vector3f offset;
+        private final boolean colliding;
+        private final boolean blocking;
+
+        CollisionInfo(CollisionShape shape, Vector3f offset, boolean colliding, boolean blocking) {
+            this.shape = shape;
+            this.offset = offset;
+            this.colliding = colliding;
+            this.blocking = blocking;
+        }
     }
 
     private static class TeraVoxelInfo implements VoxelInfo {
 
-        private boolean colliding;
-        private boolean blocking;
-        private CollisionShape shape;
-        private Vector3i position;
-        private Vector3f offset;
-
-         TeraVoxelInfo(Block block, boolean colliding, boolean blocking, Vector3i position) {
-            this.shape = block.getCollisionShape();
-            this.offset = block.getCollisionOffset();
-            this.colliding = shape != null && colliding;
-            this.blocking = shape != null && blocking;
+        private final CollisionInfo info;
+        private final Vector3i position;
+
+        TeraVoxelInfo(CollisionInfo info, Vector3i position) {
+            this.info = info;
             this.position = position;
         }
 
         @Override
         public boolean isColliding() {
-            return colliding;
+            return info.colliding;
         }
 
         @Override
@@ -75,17 +207,17 @@ public Object getUserData() {
 
         @Override
         public CollisionShape getCollisionShape() {
-            return shape;
+            return info.shape;
         }
 
         @Override
         public javax.vecmath.Vector3f getCollisionOffset() {
-            return VecMath.to(offset);
+            return VecMath.to(info.offset);
         }
 
         @Override
         public boolean isBlocking() {
-            return blocking;
+            return info.blocking;
         }
 
         @Override
@@ -100,4 +232,42 @@ public float getRestitution() {
             return 0;
         }
     }
+
+    private static class EmptyVoxelInfo implements VoxelInfo {
+
+        @Override
+        public boolean isColliding() {
+            return false;
+        }
+
+        @Override
+        public Object getUserData() {
+            return null;
+        }
+
+        @Override
+        public CollisionShape getCollisionShape() {
+            return null;
+        }
+
+        @Override
+        public javax.vecmath.Vector3f getCollisionOffset() {
+            return new javax.vecmath.Vector3f();
+        }
+
+        @Override
+        public boolean isBlocking() {
+            return false;
+        }
+
+        @Override
+        public float getFriction() {
+            return 0;
+        }
+
+        @Override
+        public float getRestitution() {
+            return 0;
+        }
+    }
 }
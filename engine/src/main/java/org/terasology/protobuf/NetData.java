@@ -214,6 +214,55 @@ org.terasology.protobuf.NetData.EventMessageOrBuilder getEventOrBuilder(
     org.terasology.protobuf.NetData.BiomeChangeMessageOrBuilder getBiomeChangeOrBuilder(
         int index);
 
+    /**
+     * <code>repeated bytes compressedChunkInfo = 11;</code>
+     *
+     * <pre>
+     * Deflate-compressed ChunkStore
+     * </pre>
+     */
+    java.util.List<com.google.protobuf.ByteString> getCompressedChunkInfoList();
+    /**
+     * <code>repeated bytes compressedChunkInfo = 11;</code>
+     *
+     * <pre>
+     * Deflate-compressed ChunkStore
+     * </pre>
+     */
+    int getCompressedChunkInfoCount();
+    /**
+     * <code>repeated bytes compressedChunkInfo = 11;</code>
+     *
+     * <pre>
+     * Deflate-compressed ChunkStore
+     * </pre>
+     */
+    com.google.protobuf.ByteString getCompressedChunkInfo(int index);
+
+    /**
+     * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+     */
+    java.util.List<org.terasology.protobuf.NetData.BlockRegionChangeMessage> 
+        getBlockRegionChangeList();
+    /**
+     * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+     */
+    org.terasology.protobuf.NetData.BlockRegionChangeMessage getBlockRegionChange(int index);
+    /**
+     * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+     */
+    int getBlockRegionChangeCount();
+    /**
+     * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+     */
+    java.util.List<? extends org.terasology.protobuf.NetData.BlockRegionChangeMessageOrBuilder> 
+        getBlockRegionChangeOrBuilderList();
+    /**
+     * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+     */
+    org.terasology.protobuf.NetData.BlockRegionChangeMessageOrBuilder getBlockRegionChangeOrBuilder(
+        int index);
+
     /**
      * <code>optional .ServerInfoRequest serverInfoRequest = 15;</code>
      */
@@ -526,6 +575,22 @@ private NetMessage(
               biomeChange_.add(input.readMessage(org.terasology.protobuf.NetData.BiomeChangeMessage.PARSER, extensionRegistry));
               break;
             }
+            case 90: {
+              if (!((mutable_bitField0_ & 0x00000200) == 0x00000200)) {
+                compressedChunkInfo_ = new java.util.ArrayList<com.google.protobuf.ByteString>();
+                mutable_bitField0_ |= 0x00000200;
+              }
+              compressedChunkInfo_.add(input.readBytes());
+              break;
+            }
+            case 98: {
+              if (!((mutable_bitField0_ & 0x00000400) == 0x00000400)) {
+                blockRegionChange_ = new java.util.ArrayList<org.terasology.protobuf.NetData.BlockRegionChangeMessage>();
+                mutable_bitField0_ |= 0x00000400;
+              }
+              blockRegionChange_.add(input.readMessage(org.terasology.protobuf.NetData.BlockRegionChangeMessage.PARSER, extensionRegistry));
+              break;
+            }
             case 122: {
               org.terasology.protobuf.NetData.ServerInfoRequest.Builder subBuilder = null;
               if (((bitField0_ & 0x00000002) == 0x00000002)) {
@@ -553,9 +618,9 @@ private NetMessage(
               break;
             }
             case 138: {
-              if (!((mutable_bitField0_ & 0x00000800) == 0x00000800)) {
+              if (!((mutable_bitField0_ & 0x00002000) == 0x00002000)) {
                 blockFamilyRegistered_ = new java.util.ArrayList<org.terasology.protobuf.NetData.BlockFamilyRegisteredMessage>();
-                mutable_bitField0_ |= 0x00000800;
+                mutable_bitField0_ |= 0x00002000;
               }
               blockFamilyRegistered_.add(input.readMessage(org.terasology.protobuf.NetData.BlockFamilyRegisteredMessage.PARSER, extensionRegistry));
               break;
@@ -574,9 +639,9 @@ private NetMessage(
               break;
             }
             case 154: {
-              if (!((mutable_bitField0_ & 0x00002000) == 0x00002000)) {
+              if (!((mutable_bitField0_ & 0x00008000) == 0x00008000)) {
                 moduleRequest_ = new java.util.ArrayList<org.terasology.protobuf.NetData.ModuleRequest>();
-                mutable_bitField0_ |= 0x00002000;
+                mutable_bitField0_ |= 0x00008000;
               }
               moduleRequest_.add(input.readMessage(org.terasology.protobuf.NetData.ModuleRequest.PARSER, extensionRegistry));
               break;
@@ -704,10 +769,16 @@ private NetMessage(
         if (((mutable_bitField0_ & 0x00000100) == 0x00000100)) {
           biomeChange_ = java.util.Collections.unmodifiableList(biomeChange_);
         }
-        if (((mutable_bitField0_ & 0x00000800) == 0x00000800)) {
-          blockFamilyRegistered_ = java.util.Collections.unmodifiableList(blockFamilyRegistered_);
+        if (((mutable_bitField0_ & 0x00000200) == 0x00000200)) {
+          compressedChunkInfo_ = java.util.Collections.unmodifiableList(compressedChunkInfo_);
+        }
+        if (((mutable_bitField0_ & 0x00000400) == 0x00000400)) {
+          blockRegionChange_ = java.util.Collections.unmodifiableList(blockRegionChange_);
         }
         if (((mutable_bitField0_ & 0x00002000) == 0x00002000)) {
+          blockFamilyRegistered_ = java.util.Collections.unmodifiableList(blockFamilyRegistered_);
+        }
+        if (((mutable_bitField0_ & 0x00008000) == 0x00008000)) {
           moduleRequest_ = java.util.Collections.unmodifiableList(moduleRequest_);
         }
         this.unknownFields = unknownFields.build();
@@ -1037,6 +1108,75 @@ public org.terasology.protobuf.NetData.BiomeChangeMessageOrBuilder getBiomeChang
       return biomeChange_.get(index);
     }
 
+    public static final int COMPRESSEDCHUNKINFO_FIELD_NUMBER = 11;
+    private java.util.List<com.google.protobuf.ByteString> compressedChunkInfo_;
+    /**
+     * <code>repeated bytes compressedChunkInfo = 11;</code>
+     *
+     * <pre>
+     * Deflate-compressed ChunkStore
+     * </pre>
+     */
+    public java.util.List<com.google.protobuf.ByteString>
+        getCompressedChunkInfoList() {
+      return compressedChunkInfo_;
+    }
+    /**
+     * <code>repeated bytes compressedChunkInfo = 11;</code>
+     *
+     * <pre>
+     * Deflate-compressed ChunkStore
+     * </pre>
+     */
+    public int getCompressedChunkInfoCount() {
+      return compressedChunkInfo_.size();
+    }
+    /**
+     * <code>repeated bytes compressedChunkInfo = 11;</code>
+     *
+     * <pre>
+     * Deflate-compressed ChunkStore
+     * </pre>
+     */
+    public com.google.protobuf.ByteString getCompressedChunkInfo(int index) {
+      return compressedChunkInfo_.get(index);
+    }
+
+    public static final int BLOCKREGIONCHANGE_FIELD_NUMBER = 12;
+    private java.util.List<org.terasology.protobuf.NetData.BlockRegionChangeMessage> blockRegionChange_;
+    /**
+     * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+     */
+    public java.util.List<org.terasology.protobuf.NetData.BlockRegionChangeMessage> getBlockRegionChangeList() {
+      return blockRegionChange_;
+    }
+    /**
+     * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+     */
+    public java.util.List<? extends org.terasology.protobuf.NetData.BlockRegionChangeMessageOrBuilder> 
+        getBlockRegionChangeOrBuilderList() {
+      return blockRegionChange_;
+    }
+    /**
+     * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+     */
+    public int getBlockRegionChangeCount() {
+      return blockRegionChange_.size();
+    }
+    /**
+     * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+     */
+    public org.terasology.protobuf.NetData.BlockRegionChangeMessage getBlockRegionChange(int index) {
+      return blockRegionChange_.get(index);
+    }
+    /**
+     * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+     */
+    public org.terasology.protobuf.NetData.BlockRegionChangeMessageOrBuilder getBlockRegionChangeOrBuilder(
+        int index) {
+      return blockRegionChange_.get(index);
+    }
+
     public static final int SERVERINFOREQUEST_FIELD_NUMBER = 15;
     private org.terasology.protobuf.NetData.ServerInfoRequest serverInfoRequest_;
     /**
@@ -1339,6 +1479,8 @@ private void initFields() {
       event_ = java.util.Collections.emptyList();
       time_ = 0L;
       biomeChange_ = java.util.Collections.emptyList();
+      compressedChunkInfo_ = java.util.Collections.emptyList();
+      blockRegionChange_ = java.util.Collections.emptyList();
       serverInfoRequest_ = org.terasology.protobuf.NetData.ServerInfoRequest.getDefaultInstance();
       serverInfo_ = org.terasology.protobuf.NetData.ServerInfoMessage.getDefaultInstance();
       blockFamilyRegistered_ = java.util.Collections.emptyList();
@@ -1406,6 +1548,12 @@ public final boolean isInitialized() {
           return false;
         }
       }
+      for (int i = 0; i < getBlockRegionChangeCount(); i++) {
+        if (!getBlockRegionChange(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
       if (hasServerInfoRequest()) {
         if (!getServerInfoRequest().isInitialized()) {
           memoizedIsInitialized = 0;
@@ -1519,6 +1667,12 @@ public void writeTo(com.google.protobuf.CodedOutputStream output)
       for (int i = 0; i < biomeChange_.size(); i++) {
         output.writeMessage(10, biomeChange_.get(i));
       }
+      for (int i = 0; i < compressedChunkInfo_.size(); i++) {
+        output.writeBytes(11, compressedChunkInfo_.get(i));
+      }
+      for (int i = 0; i < blockRegionChange_.size(); i++) {
+        output.writeMessage(12, blockRegionChange_.get(i));
+      }
       if (((bitField0_ & 0x00000002) == 0x00000002)) {
         output.writeMessage(15, serverInfoRequest_);
       }
@@ -1601,6 +1755,19 @@ public int getSerializedSize() {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(10, biomeChange_.get(i));
       }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < compressedChunkInfo_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeBytesSizeNoTag(compressedChunkInfo_.get(i));
+        }
+        size += dataSize;
+        size += 1 * getCompressedChunkInfoList().size();
+      }
+      for (int i = 0; i < blockRegionChange_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(12, blockRegionChange_.get(i));
+      }
       if (((bitField0_ & 0x00000002) == 0x00000002)) {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(15, serverInfoRequest_);
@@ -1768,6 +1935,7 @@ private void maybeForceBuilderInitialization() {
           getUpdateEntityFieldBuilder();
           getEventFieldBuilder();
           getBiomeChangeFieldBuilder();
+          getBlockRegionChangeFieldBuilder();
           getServerInfoRequestFieldBuilder();
           getServerInfoFieldBuilder();
           getBlockFamilyRegisteredFieldBuilder();
@@ -1838,21 +2006,29 @@ public Builder clear() {
         } else {
           biomeChangeBuilder_.clear();
         }
+        compressedChunkInfo_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000200);
+        if (blockRegionChangeBuilder_ == null) {
+          blockRegionChange_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000400);
+        } else {
+          blockRegionChangeBuilder_.clear();
+        }
         if (serverInfoRequestBuilder_ == null) {
           serverInfoRequest_ = org.terasology.protobuf.NetData.ServerInfoRequest.getDefaultInstance();
         } else {
           serverInfoRequestBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00000200);
+        bitField0_ = (bitField0_ & ~0x00000800);
         if (serverInfoBuilder_ == null) {
           serverInfo_ = org.terasology.protobuf.NetData.ServerInfoMessage.getDefaultInstance();
         } else {
           serverInfoBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00000400);
+        bitField0_ = (bitField0_ & ~0x00001000);
         if (blockFamilyRegisteredBuilder_ == null) {
           blockFamilyRegistered_ = java.util.Collections.emptyList();
-          bitField0_ = (bitField0_ & ~0x00000800);
+          bitField0_ = (bitField0_ & ~0x00002000);
         } else {
           blockFamilyRegisteredBuilder_.clear();
         }
@@ -1861,10 +2037,10 @@ public Builder clear() {
         } else {
           joinBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00001000);
+        bitField0_ = (bitField0_ & ~0x00004000);
         if (moduleRequestBuilder_ == null) {
           moduleRequest_ = java.util.Collections.emptyList();
-          bitField0_ = (bitField0_ & ~0x00002000);
+          bitField0_ = (bitField0_ & ~0x00008000);
         } else {
           moduleRequestBuilder_.clear();
         }
@@ -1873,43 +2049,43 @@ public Builder clear() {
         } else {
           moduleDataHeaderBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00004000);
+        bitField0_ = (bitField0_ & ~0x00010000);
         if (moduleDataBuilder_ == null) {
           moduleData_ = org.terasology.protobuf.NetData.ModuleData.getDefaultInstance();
         } else {
           moduleDataBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00008000);
+        bitField0_ = (bitField0_ & ~0x00020000);
         if (joinCompleteBuilder_ == null) {
           joinComplete_ = org.terasology.protobuf.NetData.JoinCompleteMessage.getDefaultInstance();
         } else {
           joinCompleteBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00010000);
+        bitField0_ = (bitField0_ & ~0x00040000);
         if (handshakeHelloBuilder_ == null) {
           handshakeHello_ = org.terasology.protobuf.NetData.HandshakeHello.getDefaultInstance();
         } else {
           handshakeHelloBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00020000);
+        bitField0_ = (bitField0_ & ~0x00080000);
         if (newIdentityRequestBuilder_ == null) {
           newIdentityRequest_ = org.terasology.protobuf.NetData.NewIdentityRequest.getDefaultInstance();
         } else {
           newIdentityRequestBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00040000);
+        bitField0_ = (bitField0_ & ~0x00100000);
         if (provisionIdentityBuilder_ == null) {
           provisionIdentity_ = org.terasology.protobuf.NetData.ProvisionIdentity.getDefaultInstance();
         } else {
           provisionIdentityBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00080000);
+        bitField0_ = (bitField0_ & ~0x00200000);
         if (handshakeVerificationBuilder_ == null) {
           handshakeVerification_ = org.terasology.protobuf.NetData.HandshakeVerification.getDefaultInstance();
         } else {
           handshakeVerificationBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00100000);
+        bitField0_ = (bitField0_ & ~0x00400000);
         return this;
       }
 
@@ -2014,7 +2190,21 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.biomeChange_ = biomeChangeBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00000200) == 0x00000200)) {
+        if (((bitField0_ & 0x00000200) == 0x00000200)) {
+          compressedChunkInfo_ = java.util.Collections.unmodifiableList(compressedChunkInfo_);
+          bitField0_ = (bitField0_ & ~0x00000200);
+        }
+        result.compressedChunkInfo_ = compressedChunkInfo_;
+        if (blockRegionChangeBuilder_ == null) {
+          if (((bitField0_ & 0x00000400) == 0x00000400)) {
+            blockRegionChange_ = java.util.Collections.unmodifiableList(blockRegionChange_);
+            bitField0_ = (bitField0_ & ~0x00000400);
+          }
+          result.blockRegionChange_ = blockRegionChange_;
+        } else {
+          result.blockRegionChange_ = blockRegionChangeBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000800) == 0x00000800)) {
           to_bitField0_ |= 0x00000002;
         }
         if (serverInfoRequestBuilder_ == null) {
@@ -2022,7 +2212,7 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.serverInfoRequest_ = serverInfoRequestBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00000400) == 0x00000400)) {
+        if (((from_bitField0_ & 0x00001000) == 0x00001000)) {
           to_bitField0_ |= 0x00000004;
         }
         if (serverInfoBuilder_ == null) {
@@ -2031,15 +2221,15 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
           result.serverInfo_ = serverInfoBuilder_.build();
         }
         if (blockFamilyRegisteredBuilder_ == null) {
-          if (((bitField0_ & 0x00000800) == 0x00000800)) {
+          if (((bitField0_ & 0x00002000) == 0x00002000)) {
             blockFamilyRegistered_ = java.util.Collections.unmodifiableList(blockFamilyRegistered_);
-            bitField0_ = (bitField0_ & ~0x00000800);
+            bitField0_ = (bitField0_ & ~0x00002000);
           }
           result.blockFamilyRegistered_ = blockFamilyRegistered_;
         } else {
           result.blockFamilyRegistered_ = blockFamilyRegisteredBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00001000) == 0x00001000)) {
+        if (((from_bitField0_ & 0x00004000) == 0x00004000)) {
           to_bitField0_ |= 0x00000008;
         }
         if (joinBuilder_ == null) {
@@ -2048,15 +2238,15 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
           result.join_ = joinBuilder_.build();
         }
         if (moduleRequestBuilder_ == null) {
-          if (((bitField0_ & 0x00002000) == 0x00002000)) {
+          if (((bitField0_ & 0x00008000) == 0x00008000)) {
             moduleRequest_ = java.util.Collections.unmodifiableList(moduleRequest_);
-            bitField0_ = (bitField0_ & ~0x00002000);
+            bitField0_ = (bitField0_ & ~0x00008000);
           }
           result.moduleRequest_ = moduleRequest_;
         } else {
           result.moduleRequest_ = moduleRequestBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00004000) == 0x00004000)) {
+        if (((from_bitField0_ & 0x00010000) == 0x00010000)) {
           to_bitField0_ |= 0x00000010;
         }
         if (moduleDataHeaderBuilder_ == null) {
@@ -2064,7 +2254,7 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.moduleDataHeader_ = moduleDataHeaderBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00008000) == 0x00008000)) {
+        if (((from_bitField0_ & 0x00020000) == 0x00020000)) {
           to_bitField0_ |= 0x00000020;
         }
         if (moduleDataBuilder_ == null) {
@@ -2072,7 +2262,7 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.moduleData_ = moduleDataBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00010000) == 0x00010000)) {
+        if (((from_bitField0_ & 0x00040000) == 0x00040000)) {
           to_bitField0_ |= 0x00000040;
         }
         if (joinCompleteBuilder_ == null) {
@@ -2080,7 +2270,7 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.joinComplete_ = joinCompleteBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00020000) == 0x00020000)) {
+        if (((from_bitField0_ & 0x00080000) == 0x00080000)) {
           to_bitField0_ |= 0x00000080;
         }
         if (handshakeHelloBuilder_ == null) {
@@ -2088,7 +2278,7 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.handshakeHello_ = handshakeHelloBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00040000) == 0x00040000)) {
+        if (((from_bitField0_ & 0x00100000) == 0x00100000)) {
           to_bitField0_ |= 0x00000100;
         }
         if (newIdentityRequestBuilder_ == null) {
@@ -2096,7 +2286,7 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.newIdentityRequest_ = newIdentityRequestBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00080000) == 0x00080000)) {
+        if (((from_bitField0_ & 0x00200000) == 0x00200000)) {
           to_bitField0_ |= 0x00000200;
         }
         if (provisionIdentityBuilder_ == null) {
@@ -2104,7 +2294,7 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.provisionIdentity_ = provisionIdentityBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00100000) == 0x00100000)) {
+        if (((from_bitField0_ & 0x00400000) == 0x00400000)) {
           to_bitField0_ |= 0x00000400;
         }
         if (handshakeVerificationBuilder_ == null) {
@@ -2339,6 +2529,42 @@ public Builder mergeFrom(org.terasology.protobuf.NetData.NetMessage other) {
             }
           }
         }
+        if (!other.compressedChunkInfo_.isEmpty()) {
+          if (compressedChunkInfo_.isEmpty()) {
+            compressedChunkInfo_ = other.compressedChunkInfo_;
+            bitField0_ = (bitField0_ & ~0x00000200);
+          } else {
+            ensureCompressedChunkInfoIsMutable();
+            compressedChunkInfo_.addAll(other.compressedChunkInfo_);
+          }
+          onChanged();
+        }
+        if (blockRegionChangeBuilder_ == null) {
+          if (!other.blockRegionChange_.isEmpty()) {
+            if (blockRegionChange_.isEmpty()) {
+              blockRegionChange_ = other.blockRegionChange_;
+              bitField0_ = (bitField0_ & ~0x00000400);
+            } else {
+              ensureBlockRegionChangeIsMutable();
+              blockRegionChange_.addAll(other.blockRegionChange_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.blockRegionChange_.isEmpty()) {
+            if (blockRegionChangeBuilder_.isEmpty()) {
+              blockRegionChangeBuilder_.dispose();
+              blockRegionChangeBuilder_ = null;
+              blockRegionChange_ = other.blockRegionChange_;
+              bitField0_ = (bitField0_ & ~0x00000400);
+              blockRegionChangeBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getBlockRegionChangeFieldBuilder() : null;
+            } else {
+              blockRegionChangeBuilder_.addAllMessages(other.blockRegionChange_);
+            }
+          }
+        }
         if (other.hasServerInfoRequest()) {
           mergeServerInfoRequest(other.getServerInfoRequest());
         }
@@ -2349,7 +2575,7 @@ public Builder mergeFrom(org.terasology.protobuf.NetData.NetMessage other) {
           if (!other.blockFamilyRegistered_.isEmpty()) {
             if (blockFamilyRegistered_.isEmpty()) {
               blockFamilyRegistered_ = other.blockFamilyRegistered_;
-              bitField0_ = (bitField0_ & ~0x00000800);
+              bitField0_ = (bitField0_ & ~0x00002000);
             } else {
               ensureBlockFamilyRegisteredIsMutable();
               blockFamilyRegistered_.addAll(other.blockFamilyRegistered_);
@@ -2362,7 +2588,7 @@ public Builder mergeFrom(org.terasology.protobuf.NetData.NetMessage other) {
               blockFamilyRegisteredBuilder_.dispose();
               blockFamilyRegisteredBuilder_ = null;
               blockFamilyRegistered_ = other.blockFamilyRegistered_;
-              bitField0_ = (bitField0_ & ~0x00000800);
+              bitField0_ = (bitField0_ & ~0x00002000);
               blockFamilyRegisteredBuilder_ = 
                 com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
                    getBlockFamilyRegisteredFieldBuilder() : null;
@@ -2378,7 +2604,7 @@ public Builder mergeFrom(org.terasology.protobuf.NetData.NetMessage other) {
           if (!other.moduleRequest_.isEmpty()) {
             if (moduleRequest_.isEmpty()) {
               moduleRequest_ = other.moduleRequest_;
-              bitField0_ = (bitField0_ & ~0x00002000);
+              bitField0_ = (bitField0_ & ~0x00008000);
             } else {
               ensureModuleRequestIsMutable();
               moduleRequest_.addAll(other.moduleRequest_);
@@ -2391,7 +2617,7 @@ public Builder mergeFrom(org.terasology.protobuf.NetData.NetMessage other) {
               moduleRequestBuilder_.dispose();
               moduleRequestBuilder_ = null;
               moduleRequest_ = other.moduleRequest_;
-              bitField0_ = (bitField0_ & ~0x00002000);
+              bitField0_ = (bitField0_ & ~0x00008000);
               moduleRequestBuilder_ = 
                 com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
                    getModuleRequestFieldBuilder() : null;
@@ -2475,6 +2701,12 @@ public final boolean isInitialized() {
             return false;
           }
         }
+        for (int i = 0; i < getBlockRegionChangeCount(); i++) {
+          if (!getBlockRegionChange(i).isInitialized()) {
+            
+            return false;
+          }
+        }
         if (hasServerInfoRequest()) {
           if (!getServerInfoRequest().isInitialized()) {
             
@@ -4525,92 +4757,432 @@ public org.terasology.protobuf.NetData.BiomeChangeMessage.Builder addBiomeChange
         return biomeChangeBuilder_;
       }
 
-      private org.terasology.protobuf.NetData.ServerInfoRequest serverInfoRequest_ = org.terasology.protobuf.NetData.ServerInfoRequest.getDefaultInstance();
-      private com.google.protobuf.SingleFieldBuilder<
-          org.terasology.protobuf.NetData.ServerInfoRequest, org.terasology.protobuf.NetData.ServerInfoRequest.Builder, org.terasology.protobuf.NetData.ServerInfoRequestOrBuilder> serverInfoRequestBuilder_;
+      private java.util.List<com.google.protobuf.ByteString> compressedChunkInfo_ = java.util.Collections.emptyList();
+      private void ensureCompressedChunkInfoIsMutable() {
+        if (!((bitField0_ & 0x00000200) == 0x00000200)) {
+          compressedChunkInfo_ = new java.util.ArrayList<com.google.protobuf.ByteString>(compressedChunkInfo_);
+          bitField0_ |= 0x00000200;
+         }
+      }
       /**
-       * <code>optional .ServerInfoRequest serverInfoRequest = 15;</code>
+       * <code>repeated bytes compressedChunkInfo = 11;</code>
+       *
+       * <pre>
+       * Deflate-compressed ChunkStore
+       * </pre>
        */
-      public boolean hasServerInfoRequest() {
-        return ((bitField0_ & 0x00000200) == 0x00000200);
+      public java.util.List<com.google.protobuf.ByteString>
+          getCompressedChunkInfoList() {
+        return java.util.Collections.unmodifiableList(compressedChunkInfo_);
       }
       /**
-       * <code>optional .ServerInfoRequest serverInfoRequest = 15;</code>
+       * <code>repeated bytes compressedChunkInfo = 11;</code>
+       *
+       * <pre>
+       * Deflate-compressed ChunkStore
+       * </pre>
        */
-      public org.terasology.protobuf.NetData.ServerInfoRequest getServerInfoRequest() {
-        if (serverInfoRequestBuilder_ == null) {
-          return serverInfoRequest_;
-        } else {
-          return serverInfoRequestBuilder_.getMessage();
-        }
+      public int getCompressedChunkInfoCount() {
+        return compressedChunkInfo_.size();
       }
       /**
-       * <code>optional .ServerInfoRequest serverInfoRequest = 15;</code>
+       * <code>repeated bytes compressedChunkInfo = 11;</code>
+       *
+       * <pre>
+       * Deflate-compressed ChunkStore
+       * </pre>
        */
-      public Builder setServerInfoRequest(org.terasology.protobuf.NetData.ServerInfoRequest value) {
-        if (serverInfoRequestBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
-          }
-          serverInfoRequest_ = value;
-          onChanged();
-        } else {
-          serverInfoRequestBuilder_.setMessage(value);
-        }
-        bitField0_ |= 0x00000200;
-        return this;
+      public com.google.protobuf.ByteString getCompressedChunkInfo(int index) {
+        return compressedChunkInfo_.get(index);
       }
       /**
-       * <code>optional .ServerInfoRequest serverInfoRequest = 15;</code>
+       * <code>repeated bytes compressedChunkInfo = 11;</code>
+       *
+       * <pre>
+       * Deflate-compressed ChunkStore
+       * </pre>
        */
-      public Builder setServerInfoRequest(
-          org.terasology.protobuf.NetData.ServerInfoRequest.Builder builderForValue) {
-        if (serverInfoRequestBuilder_ == null) {
-          serverInfoRequest_ = builderForValue.build();
-          onChanged();
-        } else {
-          serverInfoRequestBuilder_.setMessage(builderForValue.build());
-        }
-        bitField0_ |= 0x00000200;
+      public Builder setCompressedChunkInfo(
+          int index, com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureCompressedChunkInfoIsMutable();
+        compressedChunkInfo_.set(index, value);
+        onChanged();
         return this;
       }
       /**
-       * <code>optional .ServerInfoRequest serverInfoRequest = 15;</code>
+       * <code>repeated bytes compressedChunkInfo = 11;</code>
+       *
+       * <pre>
+       * Deflate-compressed ChunkStore
+       * </pre>
        */
-      public Builder mergeServerInfoRequest(org.terasology.protobuf.NetData.ServerInfoRequest value) {
-        if (serverInfoRequestBuilder_ == null) {
-          if (((bitField0_ & 0x00000200) == 0x00000200) &&
-              serverInfoRequest_ != org.terasology.protobuf.NetData.ServerInfoRequest.getDefaultInstance()) {
-            serverInfoRequest_ =
-              org.terasology.protobuf.NetData.ServerInfoRequest.newBuilder(serverInfoRequest_).mergeFrom(value).buildPartial();
-          } else {
-            serverInfoRequest_ = value;
-          }
-          onChanged();
-        } else {
-          serverInfoRequestBuilder_.mergeFrom(value);
-        }
-        bitField0_ |= 0x00000200;
+      public Builder addCompressedChunkInfo(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureCompressedChunkInfoIsMutable();
+        compressedChunkInfo_.add(value);
+        onChanged();
         return this;
       }
       /**
-       * <code>optional .ServerInfoRequest serverInfoRequest = 15;</code>
+       * <code>repeated bytes compressedChunkInfo = 11;</code>
+       *
+       * <pre>
+       * Deflate-compressed ChunkStore
+       * </pre>
        */
-      public Builder clearServerInfoRequest() {
-        if (serverInfoRequestBuilder_ == null) {
-          serverInfoRequest_ = org.terasology.protobuf.NetData.ServerInfoRequest.getDefaultInstance();
-          onChanged();
-        } else {
-          serverInfoRequestBuilder_.clear();
-        }
+      public Builder addAllCompressedChunkInfo(
+          java.lang.Iterable<? extends com.google.protobuf.ByteString> values) {
+        ensureCompressedChunkInfoIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, compressedChunkInfo_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated bytes compressedChunkInfo = 11;</code>
+       *
+       * <pre>
+       * Deflate-compressed ChunkStore
+       * </pre>
+       */
+      public Builder clearCompressedChunkInfo() {
+        compressedChunkInfo_ = java.util.Collections.emptyList();
         bitField0_ = (bitField0_ & ~0x00000200);
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<org.terasology.protobuf.NetData.BlockRegionChangeMessage> blockRegionChange_ =
+        java.util.Collections.emptyList();
+      private void ensureBlockRegionChangeIsMutable() {
+        if (!((bitField0_ & 0x00000400) == 0x00000400)) {
+          blockRegionChange_ = new java.util.ArrayList<org.terasology.protobuf.NetData.BlockRegionChangeMessage>(blockRegionChange_);
+          bitField0_ |= 0x00000400;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.terasology.protobuf.NetData.BlockRegionChangeMessage, org.terasology.protobuf.NetData.BlockRegionChangeMessage.Builder, org.terasology.protobuf.NetData.BlockRegionChangeMessageOrBuilder> blockRegionChangeBuilder_;
+
+      /**
+       * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+       */
+      public java.util.List<org.terasology.protobuf.NetData.BlockRegionChangeMessage> getBlockRegionChangeList() {
+        if (blockRegionChangeBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(blockRegionChange_);
+        } else {
+          return blockRegionChangeBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+       */
+      public int getBlockRegionChangeCount() {
+        if (blockRegionChangeBuilder_ == null) {
+          return blockRegionChange_.size();
+        } else {
+          return blockRegionChangeBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+       */
+      public org.terasology.protobuf.NetData.BlockRegionChangeMessage getBlockRegionChange(int index) {
+        if (blockRegionChangeBuilder_ == null) {
+          return blockRegionChange_.get(index);
+        } else {
+          return blockRegionChangeBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+       */
+      public Builder setBlockRegionChange(
+          int index, org.terasology.protobuf.NetData.BlockRegionChangeMessage value) {
+        if (blockRegionChangeBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureBlockRegionChangeIsMutable();
+          blockRegionChange_.set(index, value);
+          onChanged();
+        } else {
+          blockRegionChangeBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+       */
+      public Builder setBlockRegionChange(
+          int index, org.terasology.protobuf.NetData.BlockRegionChangeMessage.Builder builderForValue) {
+        if (blockRegionChangeBuilder_ == null) {
+          ensureBlockRegionChangeIsMutable();
+          blockRegionChange_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          blockRegionChangeBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+       */
+      public Builder addBlockRegionChange(org.terasology.protobuf.NetData.BlockRegionChangeMessage value) {
+        if (blockRegionChangeBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureBlockRegionChangeIsMutable();
+          blockRegionChange_.add(value);
+          onChanged();
+        } else {
+          blockRegionChangeBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+       */
+      public Builder addBlockRegionChange(
+          int index, org.terasology.protobuf.NetData.BlockRegionChangeMessage value) {
+        if (blockRegionChangeBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureBlockRegionChangeIsMutable();
+          blockRegionChange_.add(index, value);
+          onChanged();
+        } else {
+          blockRegionChangeBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+       */
+      public Builder addBlockRegionChange(
+          org.terasology.protobuf.NetData.BlockRegionChangeMessage.Builder builderForValue) {
+        if (blockRegionChangeBuilder_ == null) {
+          ensureBlockRegionChangeIsMutable();
+          blockRegionChange_.add(builderForValue.build());
+          onChanged();
+        } else {
+          blockRegionChangeBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+       */
+      public Builder addBlockRegionChange(
+          int index, org.terasology.protobuf.NetData.BlockRegionChangeMessage.Builder builderForValue) {
+        if (blockRegionChangeBuilder_ == null) {
+          ensureBlockRegionChangeIsMutable();
+          blockRegionChange_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          blockRegionChangeBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+       */
+      public Builder addAllBlockRegionChange(
+          java.lang.Iterable<? extends org.terasology.protobuf.NetData.BlockRegionChangeMessage> values) {
+        if (blockRegionChangeBuilder_ == null) {
+          ensureBlockRegionChangeIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, blockRegionChange_);
+          onChanged();
+        } else {
+          blockRegionChangeBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+       */
+      public Builder clearBlockRegionChange() {
+        if (blockRegionChangeBuilder_ == null) {
+          blockRegionChange_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000400);
+          onChanged();
+        } else {
+          blockRegionChangeBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+       */
+      public Builder removeBlockRegionChange(int index) {
+        if (blockRegionChangeBuilder_ == null) {
+          ensureBlockRegionChangeIsMutable();
+          blockRegionChange_.remove(index);
+          onChanged();
+        } else {
+          blockRegionChangeBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+       */
+      public org.terasology.protobuf.NetData.BlockRegionChangeMessage.Builder getBlockRegionChangeBuilder(
+          int index) {
+        return getBlockRegionChangeFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+       */
+      public org.terasology.protobuf.NetData.BlockRegionChangeMessageOrBuilder getBlockRegionChangeOrBuilder(
+          int index) {
+        if (blockRegionChangeBuilder_ == null) {
+          return blockRegionChange_.get(index);  } else {
+          return blockRegionChangeBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+       */
+      public java.util.List<? extends org.terasology.protobuf.NetData.BlockRegionChangeMessageOrBuilder> 
+           getBlockRegionChangeOrBuilderList() {
+        if (blockRegionChangeBuilder_ != null) {
+          return blockRegionChangeBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(blockRegionChange_);
+        }
+      }
+      /**
+       * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+       */
+      public org.terasology.protobuf.NetData.BlockRegionChangeMessage.Builder addBlockRegionChangeBuilder() {
+        return getBlockRegionChangeFieldBuilder().addBuilder(
+            org.terasology.protobuf.NetData.BlockRegionChangeMessage.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+       */
+      public org.terasology.protobuf.NetData.BlockRegionChangeMessage.Builder addBlockRegionChangeBuilder(
+          int index) {
+        return getBlockRegionChangeFieldBuilder().addBuilder(
+            index, org.terasology.protobuf.NetData.BlockRegionChangeMessage.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .BlockRegionChangeMessage blockRegionChange = 12;</code>
+       */
+      public java.util.List<org.terasology.protobuf.NetData.BlockRegionChangeMessage.Builder> 
+           getBlockRegionChangeBuilderList() {
+        return getBlockRegionChangeFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.terasology.protobuf.NetData.BlockRegionChangeMessage, org.terasology.protobuf.NetData.BlockRegionChangeMessage.Builder, org.terasology.protobuf.NetData.BlockRegionChangeMessageOrBuilder> 
+          getBlockRegionChangeFieldBuilder() {
+        if (blockRegionChangeBuilder_ == null) {
+          blockRegionChangeBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              org.terasology.protobuf.NetData.BlockRegionChangeMessage, org.terasology.protobuf.NetData.BlockRegionChangeMessage.Builder, org.terasology.protobuf.NetData.BlockRegionChangeMessageOrBuilder>(
+                  blockRegionChange_,
+                  ((bitField0_ & 0x00000400) == 0x00000400),
+                  getParentForChildren(),
+                  isClean());
+          blockRegionChange_ = null;
+        }
+        return blockRegionChangeBuilder_;
+      }
+
+      private org.terasology.protobuf.NetData.ServerInfoRequest serverInfoRequest_ = org.terasology.protobuf.NetData.ServerInfoRequest.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          org.terasology.protobuf.NetData.ServerInfoRequest, org.terasology.protobuf.NetData.ServerInfoRequest.Builder, org.terasology.protobuf.NetData.ServerInfoRequestOrBuilder> serverInfoRequestBuilder_;
+      /**
+       * <code>optional .ServerInfoRequest serverInfoRequest = 15;</code>
+       */
+      public boolean hasServerInfoRequest() {
+        return ((bitField0_ & 0x00000800) == 0x00000800);
+      }
+      /**
+       * <code>optional .ServerInfoRequest serverInfoRequest = 15;</code>
+       */
+      public org.terasology.protobuf.NetData.ServerInfoRequest getServerInfoRequest() {
+        if (serverInfoRequestBuilder_ == null) {
+          return serverInfoRequest_;
+        } else {
+          return serverInfoRequestBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>optional .ServerInfoRequest serverInfoRequest = 15;</code>
+       */
+      public Builder setServerInfoRequest(org.terasology.protobuf.NetData.ServerInfoRequest value) {
+        if (serverInfoRequestBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          serverInfoRequest_ = value;
+          onChanged();
+        } else {
+          serverInfoRequestBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000800;
+        return this;
+      }
+      /**
+       * <code>optional .ServerInfoRequest serverInfoRequest = 15;</code>
+       */
+      public Builder setServerInfoRequest(
+          org.terasology.protobuf.NetData.ServerInfoRequest.Builder builderForValue) {
+        if (serverInfoRequestBuilder_ == null) {
+          serverInfoRequest_ = builderForValue.build();
+          onChanged();
+        } else {
+          serverInfoRequestBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000800;
+        return this;
+      }
+      /**
+       * <code>optional .ServerInfoRequest serverInfoRequest = 15;</code>
+       */
+      public Builder mergeServerInfoRequest(org.terasology.protobuf.NetData.ServerInfoRequest value) {
+        if (serverInfoRequestBuilder_ == null) {
+          if (((bitField0_ & 0x00000800) == 0x00000800) &&
+              serverInfoRequest_ != org.terasology.protobuf.NetData.ServerInfoRequest.getDefaultInstance()) {
+            serverInfoRequest_ =
+              org.terasology.protobuf.NetData.ServerInfoRequest.newBuilder(serverInfoRequest_).mergeFrom(value).buildPartial();
+          } else {
+            serverInfoRequest_ = value;
+          }
+          onChanged();
+        } else {
+          serverInfoRequestBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000800;
+        return this;
+      }
+      /**
+       * <code>optional .ServerInfoRequest serverInfoRequest = 15;</code>
+       */
+      public Builder clearServerInfoRequest() {
+        if (serverInfoRequestBuilder_ == null) {
+          serverInfoRequest_ = org.terasology.protobuf.NetData.ServerInfoRequest.getDefaultInstance();
+          onChanged();
+        } else {
+          serverInfoRequestBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000800);
         return this;
       }
       /**
        * <code>optional .ServerInfoRequest serverInfoRequest = 15;</code>
        */
       public org.terasology.protobuf.NetData.ServerInfoRequest.Builder getServerInfoRequestBuilder() {
-        bitField0_ |= 0x00000200;
+        bitField0_ |= 0x00000800;
         onChanged();
         return getServerInfoRequestFieldBuilder().getBuilder();
       }
@@ -4648,7 +5220,7 @@ public org.terasology.protobuf.NetData.ServerInfoRequestOrBuilder getServerInfoR
        * <code>optional .ServerInfoMessage serverInfo = 16;</code>
        */
       public boolean hasServerInfo() {
-        return ((bitField0_ & 0x00000400) == 0x00000400);
+        return ((bitField0_ & 0x00001000) == 0x00001000);
       }
       /**
        * <code>optional .ServerInfoMessage serverInfo = 16;</code>
@@ -4673,7 +5245,7 @@ public Builder setServerInfo(org.terasology.protobuf.NetData.ServerInfoMessage v
         } else {
           serverInfoBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00000400;
+        bitField0_ |= 0x00001000;
         return this;
       }
       /**
@@ -4687,7 +5259,7 @@ public Builder setServerInfo(
         } else {
           serverInfoBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00000400;
+        bitField0_ |= 0x00001000;
         return this;
       }
       /**
@@ -4695,7 +5267,7 @@ public Builder setServerInfo(
        */
       public Builder mergeServerInfo(org.terasology.protobuf.NetData.ServerInfoMessage value) {
         if (serverInfoBuilder_ == null) {
-          if (((bitField0_ & 0x00000400) == 0x00000400) &&
+          if (((bitField0_ & 0x00001000) == 0x00001000) &&
               serverInfo_ != org.terasology.protobuf.NetData.ServerInfoMessage.getDefaultInstance()) {
             serverInfo_ =
               org.terasology.protobuf.NetData.ServerInfoMessage.newBuilder(serverInfo_).mergeFrom(value).buildPartial();
@@ -4706,7 +5278,7 @@ public Builder mergeServerInfo(org.terasology.protobuf.NetData.ServerInfoMessage
         } else {
           serverInfoBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00000400;
+        bitField0_ |= 0x00001000;
         return this;
       }
       /**
@@ -4719,14 +5291,14 @@ public Builder clearServerInfo() {
         } else {
           serverInfoBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00000400);
+        bitField0_ = (bitField0_ & ~0x00001000);
         return this;
       }
       /**
        * <code>optional .ServerInfoMessage serverInfo = 16;</code>
        */
       public org.terasology.protobuf.NetData.ServerInfoMessage.Builder getServerInfoBuilder() {
-        bitField0_ |= 0x00000400;
+        bitField0_ |= 0x00001000;
         onChanged();
         return getServerInfoFieldBuilder().getBuilder();
       }
@@ -4760,9 +5332,9 @@ public org.terasology.protobuf.NetData.ServerInfoMessageOrBuilder getServerInfoO
       private java.util.List<org.terasology.protobuf.NetData.BlockFamilyRegisteredMessage> blockFamilyRegistered_ =
         java.util.Collections.emptyList();
       private void ensureBlockFamilyRegisteredIsMutable() {
-        if (!((bitField0_ & 0x00000800) == 0x00000800)) {
+        if (!((bitField0_ & 0x00002000) == 0x00002000)) {
           blockFamilyRegistered_ = new java.util.ArrayList<org.terasology.protobuf.NetData.BlockFamilyRegisteredMessage>(blockFamilyRegistered_);
-          bitField0_ |= 0x00000800;
+          bitField0_ |= 0x00002000;
          }
       }
 
@@ -4912,7 +5484,7 @@ public Builder addAllBlockFamilyRegistered(
       public Builder clearBlockFamilyRegistered() {
         if (blockFamilyRegisteredBuilder_ == null) {
           blockFamilyRegistered_ = java.util.Collections.emptyList();
-          bitField0_ = (bitField0_ & ~0x00000800);
+          bitField0_ = (bitField0_ & ~0x00002000);
           onChanged();
         } else {
           blockFamilyRegisteredBuilder_.clear();
@@ -4989,7 +5561,7 @@ public org.terasology.protobuf.NetData.BlockFamilyRegisteredMessage.Builder addB
           blockFamilyRegisteredBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
               org.terasology.protobuf.NetData.BlockFamilyRegisteredMessage, org.terasology.protobuf.NetData.BlockFamilyRegisteredMessage.Builder, org.terasology.protobuf.NetData.BlockFamilyRegisteredMessageOrBuilder>(
                   blockFamilyRegistered_,
-                  ((bitField0_ & 0x00000800) == 0x00000800),
+                  ((bitField0_ & 0x00002000) == 0x00002000),
                   getParentForChildren(),
                   isClean());
           blockFamilyRegistered_ = null;
@@ -5004,7 +5576,7 @@ public org.terasology.protobuf.NetData.BlockFamilyRegisteredMessage.Builder addB
        * <code>optional .JoinMessage join = 18;</code>
        */
       public boolean hasJoin() {
-        return ((bitField0_ & 0x00001000) == 0x00001000);
+        return ((bitField0_ & 0x00004000) == 0x00004000);
       }
       /**
        * <code>optional .JoinMessage join = 18;</code>
@@ -5029,7 +5601,7 @@ public Builder setJoin(org.terasology.protobuf.NetData.JoinMessage value) {
         } else {
           joinBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00001000;
+        bitField0_ |= 0x00004000;
         return this;
       }
       /**
@@ -5043,7 +5615,7 @@ public Builder setJoin(
         } else {
           joinBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00001000;
+        bitField0_ |= 0x00004000;
         return this;
       }
       /**
@@ -5051,7 +5623,7 @@ public Builder setJoin(
        */
       public Builder mergeJoin(org.terasology.protobuf.NetData.JoinMessage value) {
         if (joinBuilder_ == null) {
-          if (((bitField0_ & 0x00001000) == 0x00001000) &&
+          if (((bitField0_ & 0x00004000) == 0x00004000) &&
               join_ != org.terasology.protobuf.NetData.JoinMessage.getDefaultInstance()) {
             join_ =
               org.terasology.protobuf.NetData.JoinMessage.newBuilder(join_).mergeFrom(value).buildPartial();
@@ -5062,7 +5634,7 @@ public Builder mergeJoin(org.terasology.protobuf.NetData.JoinMessage value) {
         } else {
           joinBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00001000;
+        bitField0_ |= 0x00004000;
         return this;
       }
       /**
@@ -5075,14 +5647,14 @@ public Builder clearJoin() {
         } else {
           joinBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00001000);
+        bitField0_ = (bitField0_ & ~0x00004000);
         return this;
       }
       /**
        * <code>optional .JoinMessage join = 18;</code>
        */
       public org.terasology.protobuf.NetData.JoinMessage.Builder getJoinBuilder() {
-        bitField0_ |= 0x00001000;
+        bitField0_ |= 0x00004000;
         onChanged();
         return getJoinFieldBuilder().getBuilder();
       }
@@ -5116,9 +5688,9 @@ public org.terasology.protobuf.NetData.JoinMessageOrBuilder getJoinOrBuilder() {
       private java.util.List<org.terasology.protobuf.NetData.ModuleRequest> moduleRequest_ =
         java.util.Collections.emptyList();
       private void ensureModuleRequestIsMutable() {
-        if (!((bitField0_ & 0x00002000) == 0x00002000)) {
+        if (!((bitField0_ & 0x00008000) == 0x00008000)) {
           moduleRequest_ = new java.util.ArrayList<org.terasology.protobuf.NetData.ModuleRequest>(moduleRequest_);
-          bitField0_ |= 0x00002000;
+          bitField0_ |= 0x00008000;
          }
       }
 
@@ -5268,7 +5840,7 @@ public Builder addAllModuleRequest(
       public Builder clearModuleRequest() {
         if (moduleRequestBuilder_ == null) {
           moduleRequest_ = java.util.Collections.emptyList();
-          bitField0_ = (bitField0_ & ~0x00002000);
+          bitField0_ = (bitField0_ & ~0x00008000);
           onChanged();
         } else {
           moduleRequestBuilder_.clear();
@@ -5345,7 +5917,7 @@ public org.terasology.protobuf.NetData.ModuleRequest.Builder addModuleRequestBui
           moduleRequestBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
               org.terasology.protobuf.NetData.ModuleRequest, org.terasology.protobuf.NetData.ModuleRequest.Builder, org.terasology.protobuf.NetData.ModuleRequestOrBuilder>(
                   moduleRequest_,
-                  ((bitField0_ & 0x00002000) == 0x00002000),
+                  ((bitField0_ & 0x00008000) == 0x00008000),
                   getParentForChildren(),
                   isClean());
           moduleRequest_ = null;
@@ -5360,7 +5932,7 @@ public org.terasology.protobuf.NetData.ModuleRequest.Builder addModuleRequestBui
        * <code>optional .ModuleDataHeader moduleDataHeader = 20;</code>
        */
       public boolean hasModuleDataHeader() {
-        return ((bitField0_ & 0x00004000) == 0x00004000);
+        return ((bitField0_ & 0x00010000) == 0x00010000);
       }
       /**
        * <code>optional .ModuleDataHeader moduleDataHeader = 20;</code>
@@ -5385,7 +5957,7 @@ public Builder setModuleDataHeader(org.terasology.protobuf.NetData.ModuleDataHea
         } else {
           moduleDataHeaderBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00004000;
+        bitField0_ |= 0x00010000;
         return this;
       }
       /**
@@ -5399,7 +5971,7 @@ public Builder setModuleDataHeader(
         } else {
           moduleDataHeaderBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00004000;
+        bitField0_ |= 0x00010000;
         return this;
       }
       /**
@@ -5407,7 +5979,7 @@ public Builder setModuleDataHeader(
        */
       public Builder mergeModuleDataHeader(org.terasology.protobuf.NetData.ModuleDataHeader value) {
         if (moduleDataHeaderBuilder_ == null) {
-          if (((bitField0_ & 0x00004000) == 0x00004000) &&
+          if (((bitField0_ & 0x00010000) == 0x00010000) &&
               moduleDataHeader_ != org.terasology.protobuf.NetData.ModuleDataHeader.getDefaultInstance()) {
             moduleDataHeader_ =
               org.terasology.protobuf.NetData.ModuleDataHeader.newBuilder(moduleDataHeader_).mergeFrom(value).buildPartial();
@@ -5418,7 +5990,7 @@ public Builder mergeModuleDataHeader(org.terasology.protobuf.NetData.ModuleDataH
         } else {
           moduleDataHeaderBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00004000;
+        bitField0_ |= 0x00010000;
         return this;
       }
       /**
@@ -5431,14 +6003,14 @@ public Builder clearModuleDataHeader() {
         } else {
           moduleDataHeaderBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00004000);
+        bitField0_ = (bitField0_ & ~0x00010000);
         return this;
       }
       /**
        * <code>optional .ModuleDataHeader moduleDataHeader = 20;</code>
        */
       public org.terasology.protobuf.NetData.ModuleDataHeader.Builder getModuleDataHeaderBuilder() {
-        bitField0_ |= 0x00004000;
+        bitField0_ |= 0x00010000;
         onChanged();
         return getModuleDataHeaderFieldBuilder().getBuilder();
       }
@@ -5476,7 +6048,7 @@ public org.terasology.protobuf.NetData.ModuleDataHeaderOrBuilder getModuleDataHe
        * <code>optional .ModuleData moduleData = 21;</code>
        */
       public boolean hasModuleData() {
-        return ((bitField0_ & 0x00008000) == 0x00008000);
+        return ((bitField0_ & 0x00020000) == 0x00020000);
       }
       /**
        * <code>optional .ModuleData moduleData = 21;</code>
@@ -5501,7 +6073,7 @@ public Builder setModuleData(org.terasology.protobuf.NetData.ModuleData value) {
         } else {
           moduleDataBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00008000;
+        bitField0_ |= 0x00020000;
         return this;
       }
       /**
@@ -5515,7 +6087,7 @@ public Builder setModuleData(
         } else {
           moduleDataBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00008000;
+        bitField0_ |= 0x00020000;
         return this;
       }
       /**
@@ -5523,7 +6095,7 @@ public Builder setModuleData(
        */
       public Builder mergeModuleData(org.terasology.protobuf.NetData.ModuleData value) {
         if (moduleDataBuilder_ == null) {
-          if (((bitField0_ & 0x00008000) == 0x00008000) &&
+          if (((bitField0_ & 0x00020000) == 0x00020000) &&
               moduleData_ != org.terasology.protobuf.NetData.ModuleData.getDefaultInstance()) {
             moduleData_ =
               org.terasology.protobuf.NetData.ModuleData.newBuilder(moduleData_).mergeFrom(value).buildPartial();
@@ -5534,7 +6106,7 @@ public Builder mergeModuleData(org.terasology.protobuf.NetData.ModuleData value)
         } else {
           moduleDataBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00008000;
+        bitField0_ |= 0x00020000;
         return this;
       }
       /**
@@ -5547,14 +6119,14 @@ public Builder clearModuleData() {
         } else {
           moduleDataBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00008000);
+        bitField0_ = (bitField0_ & ~0x00020000);
         return this;
       }
       /**
        * <code>optional .ModuleData moduleData = 21;</code>
        */
       public org.terasology.protobuf.NetData.ModuleData.Builder getModuleDataBuilder() {
-        bitField0_ |= 0x00008000;
+        bitField0_ |= 0x00020000;
         onChanged();
         return getModuleDataFieldBuilder().getBuilder();
       }
@@ -5592,7 +6164,7 @@ public org.terasology.protobuf.NetData.ModuleDataOrBuilder getModuleDataOrBuilde
        * <code>optional .JoinCompleteMessage joinComplete = 22;</code>
        */
       public boolean hasJoinComplete() {
-        return ((bitField0_ & 0x00010000) == 0x00010000);
+        return ((bitField0_ & 0x00040000) == 0x00040000);
       }
       /**
        * <code>optional .JoinCompleteMessage joinComplete = 22;</code>
@@ -5617,7 +6189,7 @@ public Builder setJoinComplete(org.terasology.protobuf.NetData.JoinCompleteMessa
         } else {
           joinCompleteBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00010000;
+        bitField0_ |= 0x00040000;
         return this;
       }
       /**
@@ -5631,7 +6203,7 @@ public Builder setJoinComplete(
         } else {
           joinCompleteBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00010000;
+        bitField0_ |= 0x00040000;
         return this;
       }
       /**
@@ -5639,7 +6211,7 @@ public Builder setJoinComplete(
        */
       public Builder mergeJoinComplete(org.terasology.protobuf.NetData.JoinCompleteMessage value) {
         if (joinCompleteBuilder_ == null) {
-          if (((bitField0_ & 0x00010000) == 0x00010000) &&
+          if (((bitField0_ & 0x00040000) == 0x00040000) &&
               joinComplete_ != org.terasology.protobuf.NetData.JoinCompleteMessage.getDefaultInstance()) {
             joinComplete_ =
               org.terasology.protobuf.NetData.JoinCompleteMessage.newBuilder(joinComplete_).mergeFrom(value).buildPartial();
@@ -5650,7 +6222,7 @@ public Builder mergeJoinComplete(org.terasology.protobuf.NetData.JoinCompleteMes
         } else {
           joinCompleteBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00010000;
+        bitField0_ |= 0x00040000;
         return this;
       }
       /**
@@ -5663,14 +6235,14 @@ public Builder clearJoinComplete() {
         } else {
           joinCompleteBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00010000);
+        bitField0_ = (bitField0_ & ~0x00040000);
         return this;
       }
       /**
        * <code>optional .JoinCompleteMessage joinComplete = 22;</code>
        */
       public org.terasology.protobuf.NetData.JoinCompleteMessage.Builder getJoinCompleteBuilder() {
-        bitField0_ |= 0x00010000;
+        bitField0_ |= 0x00040000;
         onChanged();
         return getJoinCompleteFieldBuilder().getBuilder();
       }
@@ -5712,7 +6284,7 @@ public org.terasology.protobuf.NetData.JoinCompleteMessageOrBuilder getJoinCompl
        * </pre>
        */
       public boolean hasHandshakeHello() {
-        return ((bitField0_ & 0x00020000) == 0x00020000);
+        return ((bitField0_ & 0x00080000) == 0x00080000);
       }
       /**
        * <code>optional .HandshakeHello handshakeHello = 100;</code>
@@ -5745,7 +6317,7 @@ public Builder setHandshakeHello(org.terasology.protobuf.NetData.HandshakeHello
         } else {
           handshakeHelloBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00020000;
+        bitField0_ |= 0x00080000;
         return this;
       }
       /**
@@ -5763,7 +6335,7 @@ public Builder setHandshakeHello(
         } else {
           handshakeHelloBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00020000;
+        bitField0_ |= 0x00080000;
         return this;
       }
       /**
@@ -5775,7 +6347,7 @@ public Builder setHandshakeHello(
        */
       public Builder mergeHandshakeHello(org.terasology.protobuf.NetData.HandshakeHello value) {
         if (handshakeHelloBuilder_ == null) {
-          if (((bitField0_ & 0x00020000) == 0x00020000) &&
+          if (((bitField0_ & 0x00080000) == 0x00080000) &&
               handshakeHello_ != org.terasology.protobuf.NetData.HandshakeHello.getDefaultInstance()) {
             handshakeHello_ =
               org.terasology.protobuf.NetData.HandshakeHello.newBuilder(handshakeHello_).mergeFrom(value).buildPartial();
@@ -5786,7 +6358,7 @@ public Builder mergeHandshakeHello(org.terasology.protobuf.NetData.HandshakeHell
         } else {
           handshakeHelloBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00020000;
+        bitField0_ |= 0x00080000;
         return this;
       }
       /**
@@ -5803,7 +6375,7 @@ public Builder clearHandshakeHello() {
         } else {
           handshakeHelloBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00020000);
+        bitField0_ = (bitField0_ & ~0x00080000);
         return this;
       }
       /**
@@ -5814,7 +6386,7 @@ public Builder clearHandshakeHello() {
        * </pre>
        */
       public org.terasology.protobuf.NetData.HandshakeHello.Builder getHandshakeHelloBuilder() {
-        bitField0_ |= 0x00020000;
+        bitField0_ |= 0x00080000;
         onChanged();
         return getHandshakeHelloFieldBuilder().getBuilder();
       }
@@ -5860,7 +6432,7 @@ public org.terasology.protobuf.NetData.HandshakeHelloOrBuilder getHandshakeHello
        * <code>optional .NewIdentityRequest newIdentityRequest = 101;</code>
        */
       public boolean hasNewIdentityRequest() {
-        return ((bitField0_ & 0x00040000) == 0x00040000);
+        return ((bitField0_ & 0x00100000) == 0x00100000);
       }
       /**
        * <code>optional .NewIdentityRequest newIdentityRequest = 101;</code>
@@ -5885,7 +6457,7 @@ public Builder setNewIdentityRequest(org.terasology.protobuf.NetData.NewIdentity
         } else {
           newIdentityRequestBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00040000;
+        bitField0_ |= 0x00100000;
         return this;
       }
       /**
@@ -5899,7 +6471,7 @@ public Builder setNewIdentityRequest(
         } else {
           newIdentityRequestBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00040000;
+        bitField0_ |= 0x00100000;
         return this;
       }
       /**
@@ -5907,7 +6479,7 @@ public Builder setNewIdentityRequest(
        */
       public Builder mergeNewIdentityRequest(org.terasology.protobuf.NetData.NewIdentityRequest value) {
         if (newIdentityRequestBuilder_ == null) {
-          if (((bitField0_ & 0x00040000) == 0x00040000) &&
+          if (((bitField0_ & 0x00100000) == 0x00100000) &&
               newIdentityRequest_ != org.terasology.protobuf.NetData.NewIdentityRequest.getDefaultInstance()) {
             newIdentityRequest_ =
               org.terasology.protobuf.NetData.NewIdentityRequest.newBuilder(newIdentityRequest_).mergeFrom(value).buildPartial();
@@ -5918,7 +6490,7 @@ public Builder mergeNewIdentityRequest(org.terasology.protobuf.NetData.NewIdenti
         } else {
           newIdentityRequestBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00040000;
+        bitField0_ |= 0x00100000;
         return this;
       }
       /**
@@ -5931,14 +6503,14 @@ public Builder clearNewIdentityRequest() {
         } else {
           newIdentityRequestBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00040000);
+        bitField0_ = (bitField0_ & ~0x00100000);
         return this;
       }
       /**
        * <code>optional .NewIdentityRequest newIdentityRequest = 101;</code>
        */
       public org.terasology.protobuf.NetData.NewIdentityRequest.Builder getNewIdentityRequestBuilder() {
-        bitField0_ |= 0x00040000;
+        bitField0_ |= 0x00100000;
         onChanged();
         return getNewIdentityRequestFieldBuilder().getBuilder();
       }
@@ -5976,7 +6548,7 @@ public org.terasology.protobuf.NetData.NewIdentityRequestOrBuilder getNewIdentit
        * <code>optional .ProvisionIdentity provisionIdentity = 102;</code>
        */
       public boolean hasProvisionIdentity() {
-        return ((bitField0_ & 0x00080000) == 0x00080000);
+        return ((bitField0_ & 0x00200000) == 0x00200000);
       }
       /**
        * <code>optional .ProvisionIdentity provisionIdentity = 102;</code>
@@ -6001,7 +6573,7 @@ public Builder setProvisionIdentity(org.terasology.protobuf.NetData.ProvisionIde
         } else {
           provisionIdentityBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00080000;
+        bitField0_ |= 0x00200000;
         return this;
       }
       /**
@@ -6015,7 +6587,7 @@ public Builder setProvisionIdentity(
         } else {
           provisionIdentityBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00080000;
+        bitField0_ |= 0x00200000;
         return this;
       }
       /**
@@ -6023,7 +6595,7 @@ public Builder setProvisionIdentity(
        */
       public Builder mergeProvisionIdentity(org.terasology.protobuf.NetData.ProvisionIdentity value) {
         if (provisionIdentityBuilder_ == null) {
-          if (((bitField0_ & 0x00080000) == 0x00080000) &&
+          if (((bitField0_ & 0x00200000) == 0x00200000) &&
               provisionIdentity_ != org.terasology.protobuf.NetData.ProvisionIdentity.getDefaultInstance()) {
             provisionIdentity_ =
               org.terasology.protobuf.NetData.ProvisionIdentity.newBuilder(provisionIdentity_).mergeFrom(value).buildPartial();
@@ -6034,7 +6606,7 @@ public Builder mergeProvisionIdentity(org.terasology.protobuf.NetData.ProvisionI
         } else {
           provisionIdentityBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00080000;
+        bitField0_ |= 0x00200000;
         return this;
       }
       /**
@@ -6047,14 +6619,14 @@ public Builder clearProvisionIdentity() {
         } else {
           provisionIdentityBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00080000);
+        bitField0_ = (bitField0_ & ~0x00200000);
         return this;
       }
       /**
        * <code>optional .ProvisionIdentity provisionIdentity = 102;</code>
        */
       public org.terasology.protobuf.NetData.ProvisionIdentity.Builder getProvisionIdentityBuilder() {
-        bitField0_ |= 0x00080000;
+        bitField0_ |= 0x00200000;
         onChanged();
         return getProvisionIdentityFieldBuilder().getBuilder();
       }
@@ -6092,7 +6664,7 @@ public org.terasology.protobuf.NetData.ProvisionIdentityOrBuilder getProvisionId
        * <code>optional .HandshakeVerification handshakeVerification = 103;</code>
        */
       public boolean hasHandshakeVerification() {
-        return ((bitField0_ & 0x00100000) == 0x00100000);
+        return ((bitField0_ & 0x00400000) == 0x00400000);
       }
       /**
        * <code>optional .HandshakeVerification handshakeVerification = 103;</code>
@@ -6117,7 +6689,7 @@ public Builder setHandshakeVerification(org.terasology.protobuf.NetData.Handshak
         } else {
           handshakeVerificationBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00100000;
+        bitField0_ |= 0x00400000;
         return this;
       }
       /**
@@ -6131,7 +6703,7 @@ public Builder setHandshakeVerification(
         } else {
           handshakeVerificationBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00100000;
+        bitField0_ |= 0x00400000;
         return this;
       }
       /**
@@ -6139,7 +6711,7 @@ public Builder setHandshakeVerification(
        */
       public Builder mergeHandshakeVerification(org.terasology.protobuf.NetData.HandshakeVerification value) {
         if (handshakeVerificationBuilder_ == null) {
-          if (((bitField0_ & 0x00100000) == 0x00100000) &&
+          if (((bitField0_ & 0x00400000) == 0x00400000) &&
               handshakeVerification_ != org.terasology.protobuf.NetData.HandshakeVerification.getDefaultInstance()) {
             handshakeVerification_ =
               org.terasology.protobuf.NetData.HandshakeVerification.newBuilder(handshakeVerification_).mergeFrom(value).buildPartial();
@@ -6150,7 +6722,7 @@ public Builder mergeHandshakeVerification(org.terasology.protobuf.NetData.Handsh
         } else {
           handshakeVerificationBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00100000;
+        bitField0_ |= 0x00400000;
         return this;
       }
       /**
@@ -6163,14 +6735,14 @@ public Builder clearHandshakeVerification() {
         } else {
           handshakeVerificationBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00100000);
+        bitField0_ = (bitField0_ & ~0x00400000);
         return this;
       }
       /**
        * <code>optional .HandshakeVerification handshakeVerification = 103;</code>
        */
       public org.terasology.protobuf.NetData.HandshakeVerification.Builder getHandshakeVerificationBuilder() {
-        bitField0_ |= 0x00100000;
+        bitField0_ |= 0x00400000;
         onChanged();
         return getHandshakeVerificationFieldBuilder().getBuilder();
       }
@@ -11179,28 +11751,868 @@ public org.terasology.protobuf.NetData.BlockChangeMessage buildPartial() {
         if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
           to_bitField0_ |= 0x00000002;
         }
-        result.newBlock_ = newBlock_;
+        result.newBlock_ = newBlock_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.terasology.protobuf.NetData.BlockChangeMessage) {
+          return mergeFrom((org.terasology.protobuf.NetData.BlockChangeMessage)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.terasology.protobuf.NetData.BlockChangeMessage other) {
+        if (other == org.terasology.protobuf.NetData.BlockChangeMessage.getDefaultInstance()) return this;
+        if (other.hasPos()) {
+          mergePos(other.getPos());
+        }
+        if (other.hasNewBlock()) {
+          setNewBlock(other.getNewBlock());
+        }
+        this.mergeExtensionFields(other);
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        if (!extensionsAreInitialized()) {
+          
+          return false;
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.terasology.protobuf.NetData.BlockChangeMessage parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.terasology.protobuf.NetData.BlockChangeMessage) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private org.terasology.protobuf.NetData.Vector3iData pos_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          org.terasology.protobuf.NetData.Vector3iData, org.terasology.protobuf.NetData.Vector3iData.Builder, org.terasology.protobuf.NetData.Vector3iDataOrBuilder> posBuilder_;
+      /**
+       * <code>optional .Vector3iData pos = 1;</code>
+       */
+      public boolean hasPos() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional .Vector3iData pos = 1;</code>
+       */
+      public org.terasology.protobuf.NetData.Vector3iData getPos() {
+        if (posBuilder_ == null) {
+          return pos_;
+        } else {
+          return posBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>optional .Vector3iData pos = 1;</code>
+       */
+      public Builder setPos(org.terasology.protobuf.NetData.Vector3iData value) {
+        if (posBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          pos_ = value;
+          onChanged();
+        } else {
+          posBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000001;
+        return this;
+      }
+      /**
+       * <code>optional .Vector3iData pos = 1;</code>
+       */
+      public Builder setPos(
+          org.terasology.protobuf.NetData.Vector3iData.Builder builderForValue) {
+        if (posBuilder_ == null) {
+          pos_ = builderForValue.build();
+          onChanged();
+        } else {
+          posBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000001;
+        return this;
+      }
+      /**
+       * <code>optional .Vector3iData pos = 1;</code>
+       */
+      public Builder mergePos(org.terasology.protobuf.NetData.Vector3iData value) {
+        if (posBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) == 0x00000001) &&
+              pos_ != org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance()) {
+            pos_ =
+              org.terasology.protobuf.NetData.Vector3iData.newBuilder(pos_).mergeFrom(value).buildPartial();
+          } else {
+            pos_ = value;
+          }
+          onChanged();
+        } else {
+          posBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000001;
+        return this;
+      }
+      /**
+       * <code>optional .Vector3iData pos = 1;</code>
+       */
+      public Builder clearPos() {
+        if (posBuilder_ == null) {
+          pos_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
+          onChanged();
+        } else {
+          posBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000001);
+        return this;
+      }
+      /**
+       * <code>optional .Vector3iData pos = 1;</code>
+       */
+      public org.terasology.protobuf.NetData.Vector3iData.Builder getPosBuilder() {
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return getPosFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>optional .Vector3iData pos = 1;</code>
+       */
+      public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getPosOrBuilder() {
+        if (posBuilder_ != null) {
+          return posBuilder_.getMessageOrBuilder();
+        } else {
+          return pos_;
+        }
+      }
+      /**
+       * <code>optional .Vector3iData pos = 1;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          org.terasology.protobuf.NetData.Vector3iData, org.terasology.protobuf.NetData.Vector3iData.Builder, org.terasology.protobuf.NetData.Vector3iDataOrBuilder> 
+          getPosFieldBuilder() {
+        if (posBuilder_ == null) {
+          posBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              org.terasology.protobuf.NetData.Vector3iData, org.terasology.protobuf.NetData.Vector3iData.Builder, org.terasology.protobuf.NetData.Vector3iDataOrBuilder>(
+                  getPos(),
+                  getParentForChildren(),
+                  isClean());
+          pos_ = null;
+        }
+        return posBuilder_;
+      }
+
+      private int newBlock_ ;
+      /**
+       * <code>optional int32 newBlock = 2;</code>
+       */
+      public boolean hasNewBlock() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional int32 newBlock = 2;</code>
+       */
+      public int getNewBlock() {
+        return newBlock_;
+      }
+      /**
+       * <code>optional int32 newBlock = 2;</code>
+       */
+      public Builder setNewBlock(int value) {
+        bitField0_ |= 0x00000002;
+        newBlock_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int32 newBlock = 2;</code>
+       */
+      public Builder clearNewBlock() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        newBlock_ = 0;
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:BlockChangeMessage)
+    }
+
+    static {
+      defaultInstance = new BlockChangeMessage(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:BlockChangeMessage)
+  }
+
+  public interface BlockRegionChangeMessageOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:BlockRegionChangeMessage)
+      com.google.protobuf.GeneratedMessage.
+          ExtendableMessageOrBuilder<BlockRegionChangeMessage> {
+
+    /**
+     * <code>optional .Vector3iData min = 1;</code>
+     */
+    boolean hasMin();
+    /**
+     * <code>optional .Vector3iData min = 1;</code>
+     */
+    org.terasology.protobuf.NetData.Vector3iData getMin();
+    /**
+     * <code>optional .Vector3iData min = 1;</code>
+     */
+    org.terasology.protobuf.NetData.Vector3iDataOrBuilder getMinOrBuilder();
+
+    /**
+     * <code>optional .Vector3iData size = 2;</code>
+     */
+    boolean hasSize();
+    /**
+     * <code>optional .Vector3iData size = 2;</code>
+     */
+    org.terasology.protobuf.NetData.Vector3iData getSize();
+    /**
+     * <code>optional .Vector3iData size = 2;</code>
+     */
+    org.terasology.protobuf.NetData.Vector3iDataOrBuilder getSizeOrBuilder();
+
+    /**
+     * <code>repeated int32 palette = 3 [packed = true];</code>
+     */
+    java.util.List<java.lang.Integer> getPaletteList();
+    /**
+     * <code>repeated int32 palette = 3 [packed = true];</code>
+     */
+    int getPaletteCount();
+    /**
+     * <code>repeated int32 palette = 3 [packed = true];</code>
+     */
+    int getPalette(int index);
+
+    /**
+     * <code>repeated int32 runs = 4 [packed = true];</code>
+     */
+    java.util.List<java.lang.Integer> getRunsList();
+    /**
+     * <code>repeated int32 runs = 4 [packed = true];</code>
+     */
+    int getRunsCount();
+    /**
+     * <code>repeated int32 runs = 4 [packed = true];</code>
+     */
+    int getRuns(int index);
+  }
+  /**
+   * Protobuf type {@code BlockRegionChangeMessage}
+   *
+   * <pre>
+   * The block changes within a region of a single chunk. Blocks are ordered with x varying fastest, then z, then y, so
+   * the block at offset (x, y, z) from min has index (y * size.z + z) * size.x + x. They are given as runs of
+   * (length, palette index + 1), with 0 standing for blocks that did not change.
+   * </pre>
+   */
+  public static final class BlockRegionChangeMessage extends
+      com.google.protobuf.GeneratedMessage.ExtendableMessage<
+        BlockRegionChangeMessage> implements
+      // @@protoc_insertion_point(message_implements:BlockRegionChangeMessage)
+      BlockRegionChangeMessageOrBuilder {
+    // Use BlockRegionChangeMessage.newBuilder() to construct.
+    private BlockRegionChangeMessage(com.google.protobuf.GeneratedMessage.ExtendableBuilder<org.terasology.protobuf.NetData.BlockRegionChangeMessage, ?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private BlockRegionChangeMessage(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final BlockRegionChangeMessage defaultInstance;
+    public static BlockRegionChangeMessage getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public BlockRegionChangeMessage getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private BlockRegionChangeMessage(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              org.terasology.protobuf.NetData.Vector3iData.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000001) == 0x00000001)) {
+                subBuilder = min_.toBuilder();
+              }
+              min_ = input.readMessage(org.terasology.protobuf.NetData.Vector3iData.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(min_);
+                min_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000001;
+              break;
+            }
+            case 18: {
+              org.terasology.protobuf.NetData.Vector3iData.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000002) == 0x00000002)) {
+                subBuilder = size_.toBuilder();
+              }
+              size_ = input.readMessage(org.terasology.protobuf.NetData.Vector3iData.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(size_);
+                size_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000002;
+              break;
+            }
+            case 24: {
+              if (!((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+                palette_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000004;
+              }
+              palette_.add(input.readInt32());
+              break;
+            }
+            case 26: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000004) == 0x00000004) && input.getBytesUntilLimit() > 0) {
+                palette_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000004;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                palette_.add(input.readInt32());
+              }
+              input.popLimit(limit);
+              break;
+            }
+            case 32: {
+              if (!((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
+                runs_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000008;
+              }
+              runs_.add(input.readInt32());
+              break;
+            }
+            case 34: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000008) == 0x00000008) && input.getBytesUntilLimit() > 0) {
+                runs_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000008;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                runs_.add(input.readInt32());
+              }
+              input.popLimit(limit);
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+          palette_ = java.util.Collections.unmodifiableList(palette_);
+        }
+        if (((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
+          runs_ = java.util.Collections.unmodifiableList(runs_);
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.terasology.protobuf.NetData.internal_static_BlockRegionChangeMessage_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.terasology.protobuf.NetData.internal_static_BlockRegionChangeMessage_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.terasology.protobuf.NetData.BlockRegionChangeMessage.class, org.terasology.protobuf.NetData.BlockRegionChangeMessage.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<BlockRegionChangeMessage> PARSER =
+        new com.google.protobuf.AbstractParser<BlockRegionChangeMessage>() {
+      public BlockRegionChangeMessage parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new BlockRegionChangeMessage(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<BlockRegionChangeMessage> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    public static final int MIN_FIELD_NUMBER = 1;
+    private org.terasology.protobuf.NetData.Vector3iData min_;
+    /**
+     * <code>optional .Vector3iData min = 1;</code>
+     */
+    public boolean hasMin() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>optional .Vector3iData min = 1;</code>
+     */
+    public org.terasology.protobuf.NetData.Vector3iData getMin() {
+      return min_;
+    }
+    /**
+     * <code>optional .Vector3iData min = 1;</code>
+     */
+    public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getMinOrBuilder() {
+      return min_;
+    }
+
+    public static final int SIZE_FIELD_NUMBER = 2;
+    private org.terasology.protobuf.NetData.Vector3iData size_;
+    /**
+     * <code>optional .Vector3iData size = 2;</code>
+     */
+    public boolean hasSize() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional .Vector3iData size = 2;</code>
+     */
+    public org.terasology.protobuf.NetData.Vector3iData getSize() {
+      return size_;
+    }
+    /**
+     * <code>optional .Vector3iData size = 2;</code>
+     */
+    public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getSizeOrBuilder() {
+      return size_;
+    }
+
+    public static final int PALETTE_FIELD_NUMBER = 3;
+    private java.util.List<java.lang.Integer> palette_;
+    /**
+     * <code>repeated int32 palette = 3 [packed = true];</code>
+     */
+    public java.util.List<java.lang.Integer>
+        getPaletteList() {
+      return palette_;
+    }
+    /**
+     * <code>repeated int32 palette = 3 [packed = true];</code>
+     */
+    public int getPaletteCount() {
+      return palette_.size();
+    }
+    /**
+     * <code>repeated int32 palette = 3 [packed = true];</code>
+     */
+    public int getPalette(int index) {
+      return palette_.get(index);
+    }
+    private int paletteMemoizedSerializedSize = -1;
+
+    public static final int RUNS_FIELD_NUMBER = 4;
+    private java.util.List<java.lang.Integer> runs_;
+    /**
+     * <code>repeated int32 runs = 4 [packed = true];</code>
+     */
+    public java.util.List<java.lang.Integer>
+        getRunsList() {
+      return runs_;
+    }
+    /**
+     * <code>repeated int32 runs = 4 [packed = true];</code>
+     */
+    public int getRunsCount() {
+      return runs_.size();
+    }
+    /**
+     * <code>repeated int32 runs = 4 [packed = true];</code>
+     */
+    public int getRuns(int index) {
+      return runs_.get(index);
+    }
+    private int runsMemoizedSerializedSize = -1;
+
+    private void initFields() {
+      min_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
+      size_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
+      palette_ = java.util.Collections.emptyList();
+      runs_ = java.util.Collections.emptyList();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      if (!extensionsAreInitialized()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      com.google.protobuf.GeneratedMessage
+        .ExtendableMessage<org.terasology.protobuf.NetData.BlockRegionChangeMessage>.ExtensionWriter extensionWriter =
+          newExtensionWriter();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeMessage(1, min_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeMessage(2, size_);
+      }
+      if (getPaletteList().size() > 0) {
+        output.writeRawVarint32(26);
+        output.writeRawVarint32(paletteMemoizedSerializedSize);
+      }
+      for (int i = 0; i < palette_.size(); i++) {
+        output.writeInt32NoTag(palette_.get(i));
+      }
+      if (getRunsList().size() > 0) {
+        output.writeRawVarint32(34);
+        output.writeRawVarint32(runsMemoizedSerializedSize);
+      }
+      for (int i = 0; i < runs_.size(); i++) {
+        output.writeInt32NoTag(runs_.get(i));
+      }
+      extensionWriter.writeUntil(536870912, output);
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, min_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(2, size_);
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < palette_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeInt32SizeNoTag(palette_.get(i));
+        }
+        size += dataSize;
+        if (!getPaletteList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        paletteMemoizedSerializedSize = dataSize;
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < runs_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeInt32SizeNoTag(runs_.get(i));
+        }
+        size += dataSize;
+        if (!getRunsList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        runsMemoizedSerializedSize = dataSize;
+      }
+      size += extensionsSerializedSize();
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static org.terasology.protobuf.NetData.BlockRegionChangeMessage parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.terasology.protobuf.NetData.BlockRegionChangeMessage parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.terasology.protobuf.NetData.BlockRegionChangeMessage parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.terasology.protobuf.NetData.BlockRegionChangeMessage parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.terasology.protobuf.NetData.BlockRegionChangeMessage parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.terasology.protobuf.NetData.BlockRegionChangeMessage parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.terasology.protobuf.NetData.BlockRegionChangeMessage parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.terasology.protobuf.NetData.BlockRegionChangeMessage parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.terasology.protobuf.NetData.BlockRegionChangeMessage parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.terasology.protobuf.NetData.BlockRegionChangeMessage parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.terasology.protobuf.NetData.BlockRegionChangeMessage prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code BlockRegionChangeMessage}
+     *
+     * <pre>
+     * The block changes within a region of a single chunk. Blocks are ordered with x varying fastest, then z, then y, so
+     * the block at offset (x, y, z) from min has index (y * size.z + z) * size.x + x. They are given as runs of
+     * (length, palette index + 1), with 0 standing for blocks that did not change.
+     * </pre>
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.ExtendableBuilder<
+          org.terasology.protobuf.NetData.BlockRegionChangeMessage, Builder> implements
+        // @@protoc_insertion_point(builder_implements:BlockRegionChangeMessage)
+        org.terasology.protobuf.NetData.BlockRegionChangeMessageOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.terasology.protobuf.NetData.internal_static_BlockRegionChangeMessage_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.terasology.protobuf.NetData.internal_static_BlockRegionChangeMessage_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.terasology.protobuf.NetData.BlockRegionChangeMessage.class, org.terasology.protobuf.NetData.BlockRegionChangeMessage.Builder.class);
+      }
+
+      // Construct using org.terasology.protobuf.NetData.BlockRegionChangeMessage.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getMinFieldBuilder();
+          getSizeFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        if (minBuilder_ == null) {
+          min_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
+        } else {
+          minBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000001);
+        if (sizeBuilder_ == null) {
+          size_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
+        } else {
+          sizeBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        palette_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        runs_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000008);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.terasology.protobuf.NetData.internal_static_BlockRegionChangeMessage_descriptor;
+      }
+
+      public org.terasology.protobuf.NetData.BlockRegionChangeMessage getDefaultInstanceForType() {
+        return org.terasology.protobuf.NetData.BlockRegionChangeMessage.getDefaultInstance();
+      }
+
+      public org.terasology.protobuf.NetData.BlockRegionChangeMessage build() {
+        org.terasology.protobuf.NetData.BlockRegionChangeMessage result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.terasology.protobuf.NetData.BlockRegionChangeMessage buildPartial() {
+        org.terasology.protobuf.NetData.BlockRegionChangeMessage result = new org.terasology.protobuf.NetData.BlockRegionChangeMessage(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        if (minBuilder_ == null) {
+          result.min_ = min_;
+        } else {
+          result.min_ = minBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        if (sizeBuilder_ == null) {
+          result.size_ = size_;
+        } else {
+          result.size_ = sizeBuilder_.build();
+        }
+        if (((bitField0_ & 0x00000004) == 0x00000004)) {
+          palette_ = java.util.Collections.unmodifiableList(palette_);
+          bitField0_ = (bitField0_ & ~0x00000004);
+        }
+        result.palette_ = palette_;
+        if (((bitField0_ & 0x00000008) == 0x00000008)) {
+          runs_ = java.util.Collections.unmodifiableList(runs_);
+          bitField0_ = (bitField0_ & ~0x00000008);
+        }
+        result.runs_ = runs_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
       }
 
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof org.terasology.protobuf.NetData.BlockChangeMessage) {
-          return mergeFrom((org.terasology.protobuf.NetData.BlockChangeMessage)other);
+        if (other instanceof org.terasology.protobuf.NetData.BlockRegionChangeMessage) {
+          return mergeFrom((org.terasology.protobuf.NetData.BlockRegionChangeMessage)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(org.terasology.protobuf.NetData.BlockChangeMessage other) {
-        if (other == org.terasology.protobuf.NetData.BlockChangeMessage.getDefaultInstance()) return this;
-        if (other.hasPos()) {
-          mergePos(other.getPos());
+      public Builder mergeFrom(org.terasology.protobuf.NetData.BlockRegionChangeMessage other) {
+        if (other == org.terasology.protobuf.NetData.BlockRegionChangeMessage.getDefaultInstance()) return this;
+        if (other.hasMin()) {
+          mergeMin(other.getMin());
         }
-        if (other.hasNewBlock()) {
-          setNewBlock(other.getNewBlock());
+        if (other.hasSize()) {
+          mergeSize(other.getSize());
+        }
+        if (!other.palette_.isEmpty()) {
+          if (palette_.isEmpty()) {
+            palette_ = other.palette_;
+            bitField0_ = (bitField0_ & ~0x00000004);
+          } else {
+            ensurePaletteIsMutable();
+            palette_.addAll(other.palette_);
+          }
+          onChanged();
+        }
+        if (!other.runs_.isEmpty()) {
+          if (runs_.isEmpty()) {
+            runs_ = other.runs_;
+            bitField0_ = (bitField0_ & ~0x00000008);
+          } else {
+            ensureRunsIsMutable();
+            runs_.addAll(other.runs_);
+          }
+          onChanged();
         }
         this.mergeExtensionFields(other);
         this.mergeUnknownFields(other.getUnknownFields());
@@ -11219,11 +12631,11 @@ public Builder mergeFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        org.terasology.protobuf.NetData.BlockChangeMessage parsedMessage = null;
+        org.terasology.protobuf.NetData.BlockRegionChangeMessage parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (org.terasology.protobuf.NetData.BlockChangeMessage) e.getUnfinishedMessage();
+          parsedMessage = (org.terasology.protobuf.NetData.BlockRegionChangeMessage) e.getUnfinishedMessage();
           throw e;
         } finally {
           if (parsedMessage != null) {
@@ -11234,163 +12646,379 @@ public Builder mergeFrom(
       }
       private int bitField0_;
 
-      private org.terasology.protobuf.NetData.Vector3iData pos_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
+      private org.terasology.protobuf.NetData.Vector3iData min_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
       private com.google.protobuf.SingleFieldBuilder<
-          org.terasology.protobuf.NetData.Vector3iData, org.terasology.protobuf.NetData.Vector3iData.Builder, org.terasology.protobuf.NetData.Vector3iDataOrBuilder> posBuilder_;
+          org.terasology.protobuf.NetData.Vector3iData, org.terasology.protobuf.NetData.Vector3iData.Builder, org.terasology.protobuf.NetData.Vector3iDataOrBuilder> minBuilder_;
       /**
-       * <code>optional .Vector3iData pos = 1;</code>
+       * <code>optional .Vector3iData min = 1;</code>
        */
-      public boolean hasPos() {
+      public boolean hasMin() {
         return ((bitField0_ & 0x00000001) == 0x00000001);
       }
       /**
-       * <code>optional .Vector3iData pos = 1;</code>
+       * <code>optional .Vector3iData min = 1;</code>
        */
-      public org.terasology.protobuf.NetData.Vector3iData getPos() {
-        if (posBuilder_ == null) {
-          return pos_;
+      public org.terasology.protobuf.NetData.Vector3iData getMin() {
+        if (minBuilder_ == null) {
+          return min_;
         } else {
-          return posBuilder_.getMessage();
+          return minBuilder_.getMessage();
         }
       }
       /**
-       * <code>optional .Vector3iData pos = 1;</code>
+       * <code>optional .Vector3iData min = 1;</code>
        */
-      public Builder setPos(org.terasology.protobuf.NetData.Vector3iData value) {
-        if (posBuilder_ == null) {
+      public Builder setMin(org.terasology.protobuf.NetData.Vector3iData value) {
+        if (minBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
           }
-          pos_ = value;
+          min_ = value;
           onChanged();
         } else {
-          posBuilder_.setMessage(value);
+          minBuilder_.setMessage(value);
         }
         bitField0_ |= 0x00000001;
         return this;
       }
       /**
-       * <code>optional .Vector3iData pos = 1;</code>
+       * <code>optional .Vector3iData min = 1;</code>
        */
-      public Builder setPos(
+      public Builder setMin(
           org.terasology.protobuf.NetData.Vector3iData.Builder builderForValue) {
-        if (posBuilder_ == null) {
-          pos_ = builderForValue.build();
+        if (minBuilder_ == null) {
+          min_ = builderForValue.build();
           onChanged();
         } else {
-          posBuilder_.setMessage(builderForValue.build());
+          minBuilder_.setMessage(builderForValue.build());
         }
         bitField0_ |= 0x00000001;
         return this;
       }
       /**
-       * <code>optional .Vector3iData pos = 1;</code>
+       * <code>optional .Vector3iData min = 1;</code>
        */
-      public Builder mergePos(org.terasology.protobuf.NetData.Vector3iData value) {
-        if (posBuilder_ == null) {
+      public Builder mergeMin(org.terasology.protobuf.NetData.Vector3iData value) {
+        if (minBuilder_ == null) {
           if (((bitField0_ & 0x00000001) == 0x00000001) &&
-              pos_ != org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance()) {
-            pos_ =
-              org.terasology.protobuf.NetData.Vector3iData.newBuilder(pos_).mergeFrom(value).buildPartial();
+              min_ != org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance()) {
+            min_ =
+              org.terasology.protobuf.NetData.Vector3iData.newBuilder(min_).mergeFrom(value).buildPartial();
           } else {
-            pos_ = value;
+            min_ = value;
           }
           onChanged();
         } else {
-          posBuilder_.mergeFrom(value);
+          minBuilder_.mergeFrom(value);
         }
         bitField0_ |= 0x00000001;
         return this;
       }
       /**
-       * <code>optional .Vector3iData pos = 1;</code>
+       * <code>optional .Vector3iData min = 1;</code>
        */
-      public Builder clearPos() {
-        if (posBuilder_ == null) {
-          pos_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
+      public Builder clearMin() {
+        if (minBuilder_ == null) {
+          min_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
           onChanged();
         } else {
-          posBuilder_.clear();
+          minBuilder_.clear();
         }
         bitField0_ = (bitField0_ & ~0x00000001);
         return this;
       }
       /**
-       * <code>optional .Vector3iData pos = 1;</code>
+       * <code>optional .Vector3iData min = 1;</code>
        */
-      public org.terasology.protobuf.NetData.Vector3iData.Builder getPosBuilder() {
+      public org.terasology.protobuf.NetData.Vector3iData.Builder getMinBuilder() {
         bitField0_ |= 0x00000001;
         onChanged();
-        return getPosFieldBuilder().getBuilder();
+        return getMinFieldBuilder().getBuilder();
       }
       /**
-       * <code>optional .Vector3iData pos = 1;</code>
+       * <code>optional .Vector3iData min = 1;</code>
        */
-      public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getPosOrBuilder() {
-        if (posBuilder_ != null) {
-          return posBuilder_.getMessageOrBuilder();
+      public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getMinOrBuilder() {
+        if (minBuilder_ != null) {
+          return minBuilder_.getMessageOrBuilder();
         } else {
-          return pos_;
+          return min_;
         }
       }
       /**
-       * <code>optional .Vector3iData pos = 1;</code>
+       * <code>optional .Vector3iData min = 1;</code>
        */
       private com.google.protobuf.SingleFieldBuilder<
           org.terasology.protobuf.NetData.Vector3iData, org.terasology.protobuf.NetData.Vector3iData.Builder, org.terasology.protobuf.NetData.Vector3iDataOrBuilder> 
-          getPosFieldBuilder() {
-        if (posBuilder_ == null) {
-          posBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+          getMinFieldBuilder() {
+        if (minBuilder_ == null) {
+          minBuilder_ = new com.google.protobuf.SingleFieldBuilder<
               org.terasology.protobuf.NetData.Vector3iData, org.terasology.protobuf.NetData.Vector3iData.Builder, org.terasology.protobuf.NetData.Vector3iDataOrBuilder>(
-                  getPos(),
+                  getMin(),
                   getParentForChildren(),
                   isClean());
-          pos_ = null;
+          min_ = null;
         }
-        return posBuilder_;
+        return minBuilder_;
       }
 
-      private int newBlock_ ;
+      private org.terasology.protobuf.NetData.Vector3iData size_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          org.terasology.protobuf.NetData.Vector3iData, org.terasology.protobuf.NetData.Vector3iData.Builder, org.terasology.protobuf.NetData.Vector3iDataOrBuilder> sizeBuilder_;
       /**
-       * <code>optional int32 newBlock = 2;</code>
+       * <code>optional .Vector3iData size = 2;</code>
        */
-      public boolean hasNewBlock() {
+      public boolean hasSize() {
         return ((bitField0_ & 0x00000002) == 0x00000002);
       }
       /**
-       * <code>optional int32 newBlock = 2;</code>
+       * <code>optional .Vector3iData size = 2;</code>
        */
-      public int getNewBlock() {
-        return newBlock_;
+      public org.terasology.protobuf.NetData.Vector3iData getSize() {
+        if (sizeBuilder_ == null) {
+          return size_;
+        } else {
+          return sizeBuilder_.getMessage();
+        }
       }
       /**
-       * <code>optional int32 newBlock = 2;</code>
+       * <code>optional .Vector3iData size = 2;</code>
        */
-      public Builder setNewBlock(int value) {
+      public Builder setSize(org.terasology.protobuf.NetData.Vector3iData value) {
+        if (sizeBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          size_ = value;
+          onChanged();
+        } else {
+          sizeBuilder_.setMessage(value);
+        }
         bitField0_ |= 0x00000002;
-        newBlock_ = value;
-        onChanged();
         return this;
       }
       /**
-       * <code>optional int32 newBlock = 2;</code>
+       * <code>optional .Vector3iData size = 2;</code>
        */
-      public Builder clearNewBlock() {
+      public Builder setSize(
+          org.terasology.protobuf.NetData.Vector3iData.Builder builderForValue) {
+        if (sizeBuilder_ == null) {
+          size_ = builderForValue.build();
+          onChanged();
+        } else {
+          sizeBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      /**
+       * <code>optional .Vector3iData size = 2;</code>
+       */
+      public Builder mergeSize(org.terasology.protobuf.NetData.Vector3iData value) {
+        if (sizeBuilder_ == null) {
+          if (((bitField0_ & 0x00000002) == 0x00000002) &&
+              size_ != org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance()) {
+            size_ =
+              org.terasology.protobuf.NetData.Vector3iData.newBuilder(size_).mergeFrom(value).buildPartial();
+          } else {
+            size_ = value;
+          }
+          onChanged();
+        } else {
+          sizeBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      /**
+       * <code>optional .Vector3iData size = 2;</code>
+       */
+      public Builder clearSize() {
+        if (sizeBuilder_ == null) {
+          size_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
+          onChanged();
+        } else {
+          sizeBuilder_.clear();
+        }
         bitField0_ = (bitField0_ & ~0x00000002);
-        newBlock_ = 0;
+        return this;
+      }
+      /**
+       * <code>optional .Vector3iData size = 2;</code>
+       */
+      public org.terasology.protobuf.NetData.Vector3iData.Builder getSizeBuilder() {
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return getSizeFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>optional .Vector3iData size = 2;</code>
+       */
+      public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getSizeOrBuilder() {
+        if (sizeBuilder_ != null) {
+          return sizeBuilder_.getMessageOrBuilder();
+        } else {
+          return size_;
+        }
+      }
+      /**
+       * <code>optional .Vector3iData size = 2;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          org.terasology.protobuf.NetData.Vector3iData, org.terasology.protobuf.NetData.Vector3iData.Builder, org.terasology.protobuf.NetData.Vector3iDataOrBuilder> 
+          getSizeFieldBuilder() {
+        if (sizeBuilder_ == null) {
+          sizeBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              org.terasology.protobuf.NetData.Vector3iData, org.terasology.protobuf.NetData.Vector3iData.Builder, org.terasology.protobuf.NetData.Vector3iDataOrBuilder>(
+                  getSize(),
+                  getParentForChildren(),
+                  isClean());
+          size_ = null;
+        }
+        return sizeBuilder_;
+      }
+
+      private java.util.List<java.lang.Integer> palette_ = java.util.Collections.emptyList();
+      private void ensurePaletteIsMutable() {
+        if (!((bitField0_ & 0x00000004) == 0x00000004)) {
+          palette_ = new java.util.ArrayList<java.lang.Integer>(palette_);
+          bitField0_ |= 0x00000004;
+         }
+      }
+      /**
+       * <code>repeated int32 palette = 3 [packed = true];</code>
+       */
+      public java.util.List<java.lang.Integer>
+          getPaletteList() {
+        return java.util.Collections.unmodifiableList(palette_);
+      }
+      /**
+       * <code>repeated int32 palette = 3 [packed = true];</code>
+       */
+      public int getPaletteCount() {
+        return palette_.size();
+      }
+      /**
+       * <code>repeated int32 palette = 3 [packed = true];</code>
+       */
+      public int getPalette(int index) {
+        return palette_.get(index);
+      }
+      /**
+       * <code>repeated int32 palette = 3 [packed = true];</code>
+       */
+      public Builder setPalette(
+          int index, int value) {
+        ensurePaletteIsMutable();
+        palette_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 palette = 3 [packed = true];</code>
+       */
+      public Builder addPalette(int value) {
+        ensurePaletteIsMutable();
+        palette_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 palette = 3 [packed = true];</code>
+       */
+      public Builder addAllPalette(
+          java.lang.Iterable<? extends java.lang.Integer> values) {
+        ensurePaletteIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, palette_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 palette = 3 [packed = true];</code>
+       */
+      public Builder clearPalette() {
+        palette_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000004);
         onChanged();
         return this;
       }
 
-      // @@protoc_insertion_point(builder_scope:BlockChangeMessage)
+      private java.util.List<java.lang.Integer> runs_ = java.util.Collections.emptyList();
+      private void ensureRunsIsMutable() {
+        if (!((bitField0_ & 0x00000008) == 0x00000008)) {
+          runs_ = new java.util.ArrayList<java.lang.Integer>(runs_);
+          bitField0_ |= 0x00000008;
+         }
+      }
+      /**
+       * <code>repeated int32 runs = 4 [packed = true];</code>
+       */
+      public java.util.List<java.lang.Integer>
+          getRunsList() {
+        return java.util.Collections.unmodifiableList(runs_);
+      }
+      /**
+       * <code>repeated int32 runs = 4 [packed = true];</code>
+       */
+      public int getRunsCount() {
+        return runs_.size();
+      }
+      /**
+       * <code>repeated int32 runs = 4 [packed = true];</code>
+       */
+      public int getRuns(int index) {
+        return runs_.get(index);
+      }
+      /**
+       * <code>repeated int32 runs = 4 [packed = true];</code>
+       */
+      public Builder setRuns(
+          int index, int value) {
+        ensureRunsIsMutable();
+        runs_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 runs = 4 [packed = true];</code>
+       */
+      public Builder addRuns(int value) {
+        ensureRunsIsMutable();
+        runs_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 runs = 4 [packed = true];</code>
+       */
+      public Builder addAllRuns(
+          java.lang.Iterable<? extends java.lang.Integer> values) {
+        ensureRunsIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, runs_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 runs = 4 [packed = true];</code>
+       */
+      public Builder clearRuns() {
+        runs_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000008);
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:BlockRegionChangeMessage)
     }
 
     static {
-      defaultInstance = new BlockChangeMessage(true);
+      defaultInstance = new BlockRegionChangeMessage(true);
       defaultInstance.initFields();
     }
 
-    // @@protoc_insertion_point(class_scope:BlockChangeMessage)
+    // @@protoc_insertion_point(class_scope:BlockRegionChangeMessage)
   }
 
   public interface BiomeChangeMessageOrBuilder extends
@@ -25316,6 +26944,11 @@ public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getTargetBlockPosOr
   private static
     com.google.protobuf.GeneratedMessage.FieldAccessorTable
       internal_static_BlockChangeMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_BlockRegionChangeMessage_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_BlockRegionChangeMessage_fieldAccessorTable;
   private static final com.google.protobuf.Descriptors.Descriptor
     internal_static_BiomeChangeMessage_descriptor;
   private static
@@ -25415,7 +27048,7 @@ public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getTargetBlockPosOr
       descriptor;
   static {
     java.lang.String[] descriptorData = {
-      "\n\020NetMessage.proto\032\020EntityData.proto\"\377\006\n" +
+      "\n\020NetMessage.proto\032\020EntityData.proto\"\322\007\n" +
       "\nNetMessage\022\036\n\tchunkInfo\030\002 \003(\0132\013.ChunkSt" +
       "ore\0220\n\017invalidateChunk\030\003 \003(\0132\027.Invalidat" +
       "eChunkMessage\022(\n\013blockChange\030\004 \003(\0132\023.Blo" +
@@ -25424,78 +27057,83 @@ public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getTargetBlockPosOr
       "\0132\024.RemoveEntityMessage\022*\n\014updateEntity\030" +
       "\007 \003(\0132\024.UpdateEntityMessage\022\034\n\005event\030\010 \003" +
       "(\0132\r.EventMessage\022\014\n\004time\030\t \001(\003\022(\n\013biome" +
-      "Change\030\n \003(\0132\023.BiomeChangeMessage\022-\n\021ser",
-      "verInfoRequest\030\017 \001(\0132\022.ServerInfoRequest" +
-      "\022&\n\nserverInfo\030\020 \001(\0132\022.ServerInfoMessage" +
-      "\022<\n\025blockFamilyRegistered\030\021 \003(\0132\035.BlockF" +
-      "amilyRegisteredMessage\022\032\n\004join\030\022 \001(\0132\014.J" +
-      "oinMessage\022%\n\rmoduleRequest\030\023 \003(\0132\016.Modu" +
-      "leRequest\022+\n\020moduleDataHeader\030\024 \001(\0132\021.Mo" +
-      "duleDataHeader\022\037\n\nmoduleData\030\025 \001(\0132\013.Mod" +
-      "uleData\022*\n\014joinComplete\030\026 \001(\0132\024.JoinComp" +
-      "leteMessage\022\'\n\016handshakeHello\030d \001(\0132\017.Ha" +
-      "ndshakeHello\022/\n\022newIdentityRequest\030e \001(\013",
-      "2\023.NewIdentityRequest\022-\n\021provisionIdenti" +
-      "ty\030f \001(\0132\022.ProvisionIdentity\0225\n\025handshak" +
-      "eVerification\030g \001(\0132\026.HandshakeVerificat" +
-      "ion*\t\010\210\'\020\200\200\200\200\002\"a\n\016HandshakeHello\022\016\n\006rand" +
-      "om\030\001 \001(\014\022!\n\013certificate\030\002 \001(\0132\014.Certific" +
-      "ate\022\021\n\ttimestamp\030\003 \001(\022*\t\010\210\'\020\200\200\200\200\002\"H\n\022New" +
-      "IdentityRequest\022\027\n\017preMasterSecret\030\001 \001(\014" +
-      "\022\016\n\006random\030\002 \001(\014*\t\010\210\'\020\200\200\200\200\002\"=\n\021Provision" +
-      "Identity\022\035\n\025encryptedCertificates\030\001 \001(\014*" +
-      "\t\010\210\'\020\200\200\200\200\002\"]\n\016CertificateSet\022\'\n\021publicCe",
-      "rtificate\030\001 \001(\0132\014.Certificate\022\027\n\017private" +
-      "Exponent\030\002 \001(\014*\t\010\210\'\020\200\200\200\200\002\"5\n\025HandshakeVe" +
-      "rification\022\021\n\tsignature\030\001 \001(\014*\t\010\210\'\020\200\200\200\200\002" +
-      "\"Z\n\013Certificate\022\n\n\002id\030\001 \001(\t\022\017\n\007modulus\030\002" +
-      " \001(\014\022\020\n\010exponent\030\003 \001(\014\022\021\n\tsignature\030\004 \001(" +
-      "\014*\t\010\210\'\020\200\200\200\200\002\"L\n\034BlockFamilyRegisteredMes" +
-      "sage\022\020\n\010blockUri\030\001 \003(\t\022\017\n\007blockId\030\002 \003(\005*" +
-      "\t\010\210\'\020\200\200\200\200\002\"?\n\026InvalidateChunkMessage\022\032\n\003" +
-      "pos\030\001 \001(\0132\r.Vector3iData*\t\010\210\'\020\200\200\200\200\002\"M\n\022B" +
-      "lockChangeMessage\022\032\n\003pos\030\001 \001(\0132\r.Vector3",
-      "iData\022\020\n\010newBlock\030\002 \001(\005*\t\010\210\'\020\200\200\200\200\002\"M\n\022Bi" +
-      "omeChangeMessage\022\032\n\003pos\030\001 \001(\0132\r.Vector3i" +
-      "Data\022\020\n\010newBiome\030\002 \001(\005*\t\010\210\'\020\200\200\200\200\002\"/\n\014Vec" +
-      "tor3iData\022\t\n\001x\030\001 \001(\005\022\t\n\001y\030\002 \001(\005\022\t\n\001z\030\003 \001" +
-      "(\005\"\036\n\021ServerInfoRequest*\t\010\210\'\020\200\200\200\200\002\"i\n\013Jo" +
-      "inMessage\022\014\n\004name\030\001 \001(\t\022\017\n\007version\030\002 \001(\t" +
-      "\022\031\n\021viewDistanceLevel\030\003 \001(\021\022\025\n\005color\030\004 \001" +
-      "(\0132\006.Color*\t\010\210\'\020\200\200\200\200\002\"\025\n\005Color\022\014\n\004rgba\030\001" +
-      " \001(\r\"2\n\023JoinCompleteMessage\022\020\n\010clientId\030" +
-      "\001 \001(\005*\t\010\210\'\020\200\200\200\200\002\"\261\003\n\021ServerInfoMessage\022\033",
-      "\n\006module\030\001 \003(\0132\013.ModuleInfo\022\023\n\007blockId\030\002" +
-      " \003(\021B\002\020\001\022\021\n\tblockName\030\003 \003(\t\022%\n\tcomponent" +
-      "\030\004 \003(\0132\022.SerializationInfo\022!\n\005event\030\005 \003(" +
-      "\0132\022.SerializationInfo\022\023\n\007assetId\030\006 \003(\005B\002" +
-      "\020\001\022\020\n\010assetUri\030\007 \003(\t\022\033\n\023registerBlockFam" +
-      "ily\030\010 \003(\t\022\035\n\tworldInfo\030\t \003(\0132\n.WorldInfo" +
-      "\022\030\n\014biomeShortId\030\n \003(\021B\002\020\001\022\017\n\007biomeId\030\013 " +
-      "\003(\t\022\017\n\007version\030\017 \001(\t\022\020\n\010gameName\030\020 \001(\t\022\014" +
-      "\n\004time\030\021 \001(\003\022\030\n\020reflectionHeight\030\022 \001(\002\022\014" +
-      "\n\004MOTD\030\023 \001(\t\022\033\n\023onlinePlayersAmount\030\024 \001(",
-      "\005*\t\010\210\'\020\200\200\200\200\002\"3\n\tWorldInfo\022\r\n\005title\030\001 \001(\t" +
-      "\022\014\n\004time\030\002 \001(\003*\t\010\210\'\020\200\200\200\200\002\"]\n\021Serializati" +
-      "onInfo\022\014\n\004name\030\001 \001(\t\022\n\n\002id\030\002 \001(\005\022\021\n\tfiel" +
-      "dName\030\003 \003(\t\022\020\n\010fieldIds\030\004 \001(\014*\t\010\210\'\020\200\200\200\200\002" +
-      "\"@\n\nModuleInfo\022\020\n\010moduleId\030\001 \001(\t\022\025\n\rmodu" +
-      "leVersion\030\002 \001(\t*\t\010\210\'\020\200\200\200\200\002\",\n\rModuleRequ" +
-      "est\022\020\n\010moduleId\030\001 \001(\t*\t\010\210\'\020\200\200\200\200\002\"W\n\020Modu" +
-      "leDataHeader\022\n\n\002id\030\001 \001(\t\022\017\n\007version\030\002 \001(" +
-      "\t\022\014\n\004size\030\003 \001(\003\022\r\n\005error\030\017 \001(\t*\t\010\210\'\020\200\200\200\200" +
-      "\002\"\'\n\nModuleData\022\016\n\006module\030\001 \001(\014*\t\010\210\'\020\200\200\200",
-      "\200\002\"-\n\017ModuleSendError\022\017\n\007message\030\001 \001(\t*\t" +
-      "\010\210\'\020\200\200\200\200\002\"`\n\023CreateEntityMessage\022\035\n\006enti" +
-      "ty\030\001 \001(\0132\r.PackedEntity\022\037\n\010blockPos\030\002 \001(" +
-      "\0132\r.Vector3iData*\t\010\210\'\020\200\200\200\200\002\"N\n\023UpdateEnt" +
-      "ityMessage\022\035\n\006entity\030\001 \001(\0132\r.PackedEntit" +
-      "y\022\r\n\005netId\030\002 \001(\005*\t\010\210\'\020\200\200\200\200\002\"/\n\023RemoveEnt" +
-      "ityMessage\022\r\n\005netId\030\001 \001(\005*\t\010\210\'\020\200\200\200\200\002\"i\n\014" +
-      "EventMessage\022\020\n\010targetId\030\001 \001(\005\022\025\n\005event\030" +
-      "\002 \001(\0132\006.Event\022%\n\016targetBlockPos\030\003 \001(\0132\r." +
-      "Vector3iData*\t\010\210\'\020\200\200\200\200\002B$\n\027org.terasolog",
-      "y.protobufB\007NetDataH\001"
+      "Change\030\n \003(\0132\023.BiomeChangeMessage\022\033\n\023com",
+      "pressedChunkInfo\030\013 \003(\014\0224\n\021blockRegionCha" +
+      "nge\030\014 \003(\0132\031.BlockRegionChangeMessage\022-\n\021" +
+      "serverInfoRequest\030\017 \001(\0132\022.ServerInfoRequ" +
+      "est\022&\n\nserverInfo\030\020 \001(\0132\022.ServerInfoMess" +
+      "age\022<\n\025blockFamilyRegistered\030\021 \003(\0132\035.Blo" +
+      "ckFamilyRegisteredMessage\022\032\n\004join\030\022 \001(\0132" +
+      "\014.JoinMessage\022%\n\rmoduleRequest\030\023 \003(\0132\016.M" +
+      "oduleRequest\022+\n\020moduleDataHeader\030\024 \001(\0132\021" +
+      ".ModuleDataHeader\022\037\n\nmoduleData\030\025 \001(\0132\013." +
+      "ModuleData\022*\n\014joinComplete\030\026 \001(\0132\024.JoinC",
+      "ompleteMessage\022\'\n\016handshakeHello\030d \001(\0132\017" +
+      ".HandshakeHello\022/\n\022newIdentityRequest\030e " +
+      "\001(\0132\023.NewIdentityRequest\022-\n\021provisionIde" +
+      "ntity\030f \001(\0132\022.ProvisionIdentity\0225\n\025hands" +
+      "hakeVerification\030g \001(\0132\026.HandshakeVerifi" +
+      "cation*\t\010\210\'\020\200\200\200\200\002\"a\n\016HandshakeHello\022\016\n\006r" +
+      "andom\030\001 \001(\014\022!\n\013certificate\030\002 \001(\0132\014.Certi" +
+      "ficate\022\021\n\ttimestamp\030\003 \001(\022*\t\010\210\'\020\200\200\200\200\002\"H\n\022" +
+      "NewIdentityRequest\022\027\n\017preMasterSecret\030\001 " +
+      "\001(\014\022\016\n\006random\030\002 \001(\014*\t\010\210\'\020\200\200\200\200\002\"=\n\021Provis",
+      "ionIdentity\022\035\n\025encryptedCertificates\030\001 \001" +
+      "(\014*\t\010\210\'\020\200\200\200\200\002\"]\n\016CertificateSet\022\'\n\021publi" +
+      "cCertificate\030\001 \001(\0132\014.Certificate\022\027\n\017priv" +
+      "ateExponent\030\002 \001(\014*\t\010\210\'\020\200\200\200\200\002\"5\n\025Handshak" +
+      "eVerification\022\021\n\tsignature\030\001 \001(\014*\t\010\210\'\020\200\200" +
+      "\200\200\002\"Z\n\013Certificate\022\n\n\002id\030\001 \001(\t\022\017\n\007modulu" +
+      "s\030\002 \001(\014\022\020\n\010exponent\030\003 \001(\014\022\021\n\tsignature\030\004" +
+      " \001(\014*\t\010\210\'\020\200\200\200\200\002\"L\n\034BlockFamilyRegistered" +
+      "Message\022\020\n\010blockUri\030\001 \003(\t\022\017\n\007blockId\030\002 \003" +
+      "(\005*\t\010\210\'\020\200\200\200\200\002\"?\n\026InvalidateChunkMessage\022",
+      "\032\n\003pos\030\001 \001(\0132\r.Vector3iData*\t\010\210\'\020\200\200\200\200\002\"M" +
+      "\n\022BlockChangeMessage\022\032\n\003pos\030\001 \001(\0132\r.Vect" +
+      "or3iData\022\020\n\010newBlock\030\002 \001(\005*\t\010\210\'\020\200\200\200\200\002\"\205\001" +
+      "\n\030BlockRegionChangeMessage\022\032\n\003min\030\001 \001(\0132" +
+      "\r.Vector3iData\022\033\n\004size\030\002 \001(\0132\r.Vector3iD" +
+      "ata\022\023\n\007palette\030\003 \003(\005B\002\020\001\022\020\n\004runs\030\004 \003(\005B\002" +
+      "\020\001*\t\010\210\'\020\200\200\200\200\002\"M\n\022BiomeChangeMessage\022\032\n\003p" +
+      "os\030\001 \001(\0132\r.Vector3iData\022\020\n\010newBiome\030\002 \001(" +
+      "\005*\t\010\210\'\020\200\200\200\200\002\"/\n\014Vector3iData\022\t\n\001x\030\001 \001(\005\022" +
+      "\t\n\001y\030\002 \001(\005\022\t\n\001z\030\003 \001(\005\"\036\n\021ServerInfoReque",
+      "st*\t\010\210\'\020\200\200\200\200\002\"i\n\013JoinMessage\022\014\n\004name\030\001 \001" +
+      "(\t\022\017\n\007version\030\002 \001(\t\022\031\n\021viewDistanceLevel" +
+      "\030\003 \001(\021\022\025\n\005color\030\004 \001(\0132\006.Color*\t\010\210\'\020\200\200\200\200\002" +
+      "\"\025\n\005Color\022\014\n\004rgba\030\001 \001(\r\"2\n\023JoinCompleteM" +
+      "essage\022\020\n\010clientId\030\001 \001(\005*\t\010\210\'\020\200\200\200\200\002\"\261\003\n\021" +
+      "ServerInfoMessage\022\033\n\006module\030\001 \003(\0132\013.Modu" +
+      "leInfo\022\023\n\007blockId\030\002 \003(\021B\002\020\001\022\021\n\tblockName" +
+      "\030\003 \003(\t\022%\n\tcomponent\030\004 \003(\0132\022.Serializatio" +
+      "nInfo\022!\n\005event\030\005 \003(\0132\022.SerializationInfo" +
+      "\022\023\n\007assetId\030\006 \003(\005B\002\020\001\022\020\n\010assetUri\030\007 \003(\t\022",
+      "\033\n\023registerBlockFamily\030\010 \003(\t\022\035\n\tworldInf" +
+      "o\030\t \003(\0132\n.WorldInfo\022\030\n\014biomeShortId\030\n \003(" +
+      "\021B\002\020\001\022\017\n\007biomeId\030\013 \003(\t\022\017\n\007version\030\017 \001(\t\022" +
+      "\020\n\010gameName\030\020 \001(\t\022\014\n\004time\030\021 \001(\003\022\030\n\020refle" +
+      "ctionHeight\030\022 \001(\002\022\014\n\004MOTD\030\023 \001(\t\022\033\n\023onlin" +
+      "ePlayersAmount\030\024 \001(\005*\t\010\210\'\020\200\200\200\200\002\"3\n\tWorld" +
+      "Info\022\r\n\005title\030\001 \001(\t\022\014\n\004time\030\002 \001(\003*\t\010\210\'\020\200" +
+      "\200\200\200\002\"]\n\021SerializationInfo\022\014\n\004name\030\001 \001(\t\022" +
+      "\n\n\002id\030\002 \001(\005\022\021\n\tfieldName\030\003 \003(\t\022\020\n\010fieldI" +
+      "ds\030\004 \001(\014*\t\010\210\'\020\200\200\200\200\002\"@\n\nModuleInfo\022\020\n\010mod",
+      "uleId\030\001 \001(\t\022\025\n\rmoduleVersion\030\002 \001(\t*\t\010\210\'\020" +
+      "\200\200\200\200\002\",\n\rModuleRequest\022\020\n\010moduleId\030\001 \001(\t" +
+      "*\t\010\210\'\020\200\200\200\200\002\"W\n\020ModuleDataHeader\022\n\n\002id\030\001 " +
+      "\001(\t\022\017\n\007version\030\002 \001(\t\022\014\n\004size\030\003 \001(\003\022\r\n\005er" +
+      "ror\030\017 \001(\t*\t\010\210\'\020\200\200\200\200\002\"\'\n\nModuleData\022\016\n\006mo" +
+      "dule\030\001 \001(\014*\t\010\210\'\020\200\200\200\200\002\"-\n\017ModuleSendError" +
+      "\022\017\n\007message\030\001 \001(\t*\t\010\210\'\020\200\200\200\200\002\"`\n\023CreateEn" +
+      "tityMessage\022\035\n\006entity\030\001 \001(\0132\r.PackedEnti" +
+      "ty\022\037\n\010blockPos\030\002 \001(\0132\r.Vector3iData*\t\010\210\'" +
+      "\020\200\200\200\200\002\"N\n\023UpdateEntityMessage\022\035\n\006entity\030",
+      "\001 \001(\0132\r.PackedEntity\022\r\n\005netId\030\002 \001(\005*\t\010\210\'" +
+      "\020\200\200\200\200\002\"/\n\023RemoveEntityMessage\022\r\n\005netId\030\001" +
+      " \001(\005*\t\010\210\'\020\200\200\200\200\002\"i\n\014EventMessage\022\020\n\010targe" +
+      "tId\030\001 \001(\005\022\025\n\005event\030\002 \001(\0132\006.Event\022%\n\016targ" +
+      "etBlockPos\030\003 \001(\0132\r.Vector3iData*\t\010\210\'\020\200\200\200" +
+      "\200\002B$\n\027org.terasology.protobufB\007NetDataH\001"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -25515,7 +27153,7 @@ public com.google.protobuf.ExtensionRegistry assignDescriptors(
     internal_static_NetMessage_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_NetMessage_descriptor,
-        new java.lang.String[] { "ChunkInfo", "InvalidateChunk", "BlockChange", "CreateEntity", "RemoveEntity", "UpdateEntity", "Event", "Time", "BiomeChange", "ServerInfoRequest", "ServerInfo", "BlockFamilyRegistered", "Join", "ModuleRequest", "ModuleDataHeader", "ModuleData", "JoinComplete", "HandshakeHello", "NewIdentityRequest", "ProvisionIdentity", "HandshakeVerification", });
+        new java.lang.String[] { "ChunkInfo", "InvalidateChunk", "BlockChange", "CreateEntity", "RemoveEntity", "UpdateEntity", "Event", "Time", "BiomeChange", "CompressedChunkInfo", "BlockRegionChange", "ServerInfoRequest", "ServerInfo", "BlockFamilyRegistered", "Join", "ModuleRequest", "ModuleDataHeader", "ModuleData", "JoinComplete", "HandshakeHello", "NewIdentityRequest", "ProvisionIdentity", "HandshakeVerification", });
     internal_static_HandshakeHello_descriptor =
       getDescriptor().getMessageTypes().get(1);
     internal_static_HandshakeHello_fieldAccessorTable = new
@@ -25570,110 +27208,116 @@ public com.google.protobuf.ExtensionRegistry assignDescriptors(
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_BlockChangeMessage_descriptor,
         new java.lang.String[] { "Pos", "NewBlock", });
-    internal_static_BiomeChangeMessage_descriptor =
+    internal_static_BlockRegionChangeMessage_descriptor =
       getDescriptor().getMessageTypes().get(10);
+    internal_static_BlockRegionChangeMessage_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_BlockRegionChangeMessage_descriptor,
+        new java.lang.String[] { "Min", "Size", "Palette", "Runs", });
+    internal_static_BiomeChangeMessage_descriptor =
+      getDescriptor().getMessageTypes().get(11);
     internal_static_BiomeChangeMessage_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_BiomeChangeMessage_descriptor,
         new java.lang.String[] { "Pos", "NewBiome", });
     internal_static_Vector3iData_descriptor =
-      getDescriptor().getMessageTypes().get(11);
+      getDescriptor().getMessageTypes().get(12);
     internal_static_Vector3iData_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_Vector3iData_descriptor,
         new java.lang.String[] { "X", "Y", "Z", });
     internal_static_ServerInfoRequest_descriptor =
-      getDescriptor().getMessageTypes().get(12);
+      getDescriptor().getMessageTypes().get(13);
     internal_static_ServerInfoRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_ServerInfoRequest_descriptor,
         new java.lang.String[] { });
     internal_static_JoinMessage_descriptor =
-      getDescriptor().getMessageTypes().get(13);
+      getDescriptor().getMessageTypes().get(14);
     internal_static_JoinMessage_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_JoinMessage_descriptor,
         new java.lang.String[] { "Name", "Version", "ViewDistanceLevel", "Color", });
     internal_static_Color_descriptor =
-      getDescriptor().getMessageTypes().get(14);
+      getDescriptor().getMessageTypes().get(15);
     internal_static_Color_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_Color_descriptor,
         new java.lang.String[] { "Rgba", });
     internal_static_JoinCompleteMessage_descriptor =
-      getDescriptor().getMessageTypes().get(15);
+      getDescriptor().getMessageTypes().get(16);
     internal_static_JoinCompleteMessage_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_JoinCompleteMessage_descriptor,
         new java.lang.String[] { "ClientId", });
     internal_static_ServerInfoMessage_descriptor =
-      getDescriptor().getMessageTypes().get(16);
+      getDescriptor().getMessageTypes().get(17);
     internal_static_ServerInfoMessage_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_ServerInfoMessage_descriptor,
         new java.lang.String[] { "Module", "BlockId", "BlockName", "Component", "Event", "AssetId", "AssetUri", "RegisterBlockFamily", "WorldInfo", "BiomeShortId", "BiomeId", "Version", "GameName", "Time", "ReflectionHeight", "MOTD", "OnlinePlayersAmount", });
     internal_static_WorldInfo_descriptor =
-      getDescriptor().getMessageTypes().get(17);
+      getDescriptor().getMessageTypes().get(18);
     internal_static_WorldInfo_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_WorldInfo_descriptor,
         new java.lang.String[] { "Title", "Time", });
     internal_static_SerializationInfo_descriptor =
-      getDescriptor().getMessageTypes().get(18);
+      getDescriptor().getMessageTypes().get(19);
     internal_static_SerializationInfo_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_SerializationInfo_descriptor,
         new java.lang.String[] { "Name", "Id", "FieldName", "FieldIds", });
     internal_static_ModuleInfo_descriptor =
-      getDescriptor().getMessageTypes().get(19);
+      getDescriptor().getMessageTypes().get(20);
     internal_static_ModuleInfo_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_ModuleInfo_descriptor,
         new java.lang.String[] { "ModuleId", "ModuleVersion", });
     internal_static_ModuleRequest_descriptor =
-      getDescriptor().getMessageTypes().get(20);
+      getDescriptor().getMessageTypes().get(21);
     internal_static_ModuleRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_ModuleRequest_descriptor,
         new java.lang.String[] { "ModuleId", });
     internal_static_ModuleDataHeader_descriptor =
-      getDescriptor().getMessageTypes().get(21);
+      getDescriptor().getMessageTypes().get(22);
     internal_static_ModuleDataHeader_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_ModuleDataHeader_descriptor,
         new java.lang.String[] { "Id", "Version", "Size", "Error", });
     internal_static_ModuleData_descriptor =
-      getDescriptor().getMessageTypes().get(22);
+      getDescriptor().getMessageTypes().get(23);
     internal_static_ModuleData_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_ModuleData_descriptor,
         new java.lang.String[] { "Module", });
     internal_static_ModuleSendError_descriptor =
-      getDescriptor().getMessageTypes().get(23);
+      getDescriptor().getMessageTypes().get(24);
     internal_static_ModuleSendError_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_ModuleSendError_descriptor,
         new java.lang.String[] { "Message", });
     internal_static_CreateEntityMessage_descriptor =
-      getDescriptor().getMessageTypes().get(24);
+      getDescriptor().getMessageTypes().get(25);
     internal_static_CreateEntityMessage_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_CreateEntityMessage_descriptor,
         new java.lang.String[] { "Entity", "BlockPos", });
     internal_static_UpdateEntityMessage_descriptor =
-      getDescriptor().getMessageTypes().get(25);
+      getDescriptor().getMessageTypes().get(26);
     internal_static_UpdateEntityMessage_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_UpdateEntityMessage_descriptor,
         new java.lang.String[] { "Entity", "NetId", });
     internal_static_RemoveEntityMessage_descriptor =
-      getDescriptor().getMessageTypes().get(26);
+      getDescriptor().getMessageTypes().get(27);
     internal_static_RemoveEntityMessage_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_RemoveEntityMessage_descriptor,
         new java.lang.String[] { "NetId", });
     internal_static_EventMessage_descriptor =
-      getDescriptor().getMessageTypes().get(27);
+      getDescriptor().getMessageTypes().get(28);
     internal_static_EventMessage_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_EventMessage_descriptor,
@@ -140,48 +140,43 @@ public boolean intersects(double x, double y, double z) {
      * Returns true if this view frustum intersects the given AABB.
      */
     public boolean intersects(AABB aabb) {
+        return intersects(aabb, CoreRegistry.get(LocalPlayer.class).getViewPosition());
+    }
 
-        Vector3f[] aabbVertices = aabb.getVertices();
-
-        Vector3f cp = CoreRegistry.get(LocalPlayer.class).getViewPosition();
-
+    /**
+     * Returns true if this view frustum intersects the given AABB.
+     *
+     * @param aabb
+     * @param viewPosition The position the frustum's planes are relative to, as used by {@link #intersects(AABB)}
+     */
+    public boolean intersects(AABB aabb, Vector3f viewPosition) {
         for (int i = 0; i < 6; i++) {
-            if (planes[i].getA() * (aabbVertices[0].x - cp.x) + planes[i].getB() * (aabbVertices[0].y - cp.y)
-                    + planes[i].getC() * (aabbVertices[0].z - cp.z) + planes[i].getD() > 0) {
-                continue;
-            }
-            if (planes[i].getA() * (aabbVertices[1].x - cp.x) + planes[i].getB() * (aabbVertices[1].y - cp.y)
-                    + planes[i].getC() * (aabbVertices[1].z - cp.z) + planes[i].getD() > 0) {
-                continue;
-            }
-            if (planes[i].getA() * (aabbVertices[2].x - cp.x) + planes[i].getB() * (aabbVertices[2].y - cp.y)
-                    + planes[i].getC() * (aabbVertices[2].z - cp.z) + planes[i].getD() > 0) {
-                continue;
-            }
-            if (planes[i].getA() * (aabbVertices[3].x - cp.x) + planes[i].getB() * (aabbVertices[3].y - cp.y)
-                    + planes[i].getC() * (aabbVertices[3].z - cp.z) + planes[i].getD() > 0) {
-                continue;
-            }
-            if (planes[i].getA() * (aabbVertices[4].x - cp.x) + planes[i].getB() * (aabbVertices[4].y - cp.y)
-                    + planes[i].getC() * (aabbVertices[4].z - cp.z) + planes[i].getD() > 0) {
-                continue;
-            }
-            if (planes[i].getA() * (aabbVertices[5].x - cp.x) + planes[i].getB() * (aabbVertices[5].y - cp.y)
-                    + planes[i].getC() * (aabbVertices[5].z - cp.z) + planes[i].getD() > 0) {
-                continue;
+            // The corner furthest along the plane's normal is in front of the plane if any corner is
+            if (!(positiveVertexDistance(planes[i], aabb, viewPosition) > 0)) {
+                return false;
             }
-            if (planes[i].getA() * (aabbVertices[6].x - cp.x) + planes[i].getB() * (aabbVertices[6].y - cp.y)
-                    + planes[i].getC() * (aabbVertices[6].z - cp.z) + planes[i].getD() > 0) {
-                continue;
+        }
+        return true;
+    }
+
+    /**
+     * Tests whether the given AABB lies outside, across or inside this view frustum. An AABB this reports as inside or
+     * outside contains only AABBs that {@link #intersects(AABB, Vector3f)} reports the same for.
+     *
+     * @param aabb
+     * @param viewPosition The position the frustum's planes are relative to, as used by {@link #intersects(AABB)}
+     */
+    public Containment classify(AABB aabb, Vector3f viewPosition) {
+        Containment result = Containment.INSIDE;
+        for (int i = 0; i < 6; i++) {
+            if (!(positiveVertexDistance(planes[i], aabb, viewPosition) > 0)) {
+                return Containment.OUTSIDE;
             }
-            if (planes[i].getA() * (aabbVertices[7].x - cp.x) + planes[i].getB() * (aabbVertices[7].y - cp.y)
-                    + planes[i].getC() * (aabbVertices[7].z - cp.z) + planes[i].getD() > 0) {
-                continue;
+            if (!(negativeVertexDistance(planes[i], aabb, viewPosition) > 0)) {
+                result = Containment.INTERSECTING;
             }
-            return false;
         }
-
-        return true;
+        return result;
     }
 
     /**
@@ -195,4 +190,32 @@ public boolean intersects(Vector3f position, float radius) {
         }
         return true;
     }
+
+    private static float positiveVertexDistance(FrustumPlane plane, AABB aabb, Vector3f viewPosition) {
+        return distance(plane,
+                plane.getA() >= 0 ? aabb.maxX() : aabb.minX(),
+                plane.getB() >= 0 ? aabb.maxY() : aabb.minY(),
+                plane.getC() >= 0 ? aabb.maxZ() : aabb.minZ(), viewPosition);
+    }
+
+    private static float negativeVertexDistance(FrustumPlane plane, AABB aabb, Vector3f viewPosition) {
+        return distance(plane,
+                plane.getA() >= 0 ? aabb.minX() : aabb.maxX(),
+                plane.getB() >= 0 ? aabb.minY() : aabb.maxY(),
+                plane.getC() >= 0 ? aabb.minZ() : aabb.maxZ(), viewPosition);
+    }
+
+    private static float distance(FrustumPlane plane, float x, float y, float z, Vector3f viewPosition) {
+        return plane.getA() * (x - viewPosition.x) + plane.getB() * (y - viewPosition.y)
+                + plane.getC() * (z - viewPosition.z) + plane.getD();
+    }
+
+    /**
+     * Where an AABB lies relative to a view frustum.
+     */
+    public enum Containment {
+        OUTSIDE,
+        INTERSECTING,
+        INSIDE
+    }
 }
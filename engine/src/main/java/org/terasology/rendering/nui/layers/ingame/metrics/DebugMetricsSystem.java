@@ -54,6 +54,7 @@ public void initialise() {
         register(new AllocationsMode());
         register(new RunningThreadsMode());
         register(new WorldRendererMode());
+        register(new PhysicsMode());
         register(new RenderingExecTimeMeansMode("Rendering - Execution Time: Running Means - Sorted Alphabetically"));
         currentMode = defaultMode;
     }
@@ -19,6 +19,7 @@
 import org.terasology.engine.Time;
 import org.terasology.network.NetworkMode;
 import org.terasology.network.NetworkSystem;
+import org.terasology.network.SendPriority;
 import org.terasology.registry.CoreRegistry;
 
 /**
@@ -51,6 +52,14 @@ public String getMetrics() {
             builder.append(String.format("In Bytes: %d%n", networkSystem.getIncomingBytesDelta()));
             builder.append(String.format("Out Msg: %d%n", networkSystem.getOutgoingMessagesDelta()));
             builder.append(String.format("Out Bytes: %d%n", networkSystem.getOutgoingBytesDelta()));
+            if (networkSystem.getMode().isServer()) {
+                builder.append(String.format("Chunk Cache Hits: %d%n", networkSystem.getChunkCacheHitsDelta()));
+                builder.append(String.format("Chunk Cache Misses: %d%n", networkSystem.getChunkCacheMissesDelta()));
+                for (SendPriority priority : SendPriority.values()) {
+                    builder.append(String.format("%s: %d queued, %d bytes%n", priority,
+                            networkSystem.getQueuedItems(priority), networkSystem.getOutgoingBytesDelta(priority)));
+                }
+            }
             if (lastTime != 0) {
                 // ignore the first update as it will not have useful data
                 lastMetric = builder.toString();
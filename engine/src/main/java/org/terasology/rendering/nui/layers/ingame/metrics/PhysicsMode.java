@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.nui.layers.ingame.metrics;
+
+import org.terasology.physics.engine.PhysicsEngine;
+import org.terasology.registry.CoreRegistry;
+
+/**
+ * Shows how many rigid bodies are being simulated, asleep, or frozen outside every simulation region.
+ */
+final class PhysicsMode extends MetricsMode {
+
+    PhysicsMode() {
+        super("Physics");
+    }
+
+    @Override
+    public String getMetrics() {
+        PhysicsEngine physics = CoreRegistry.get(PhysicsEngine.class);
+        int total = physics.getPhysicsEntities().size();
+        int active = physics.getActiveRigidBodyCount();
+        int frozen = physics.getFrozenRigidBodyCount();
+        return String.format("%s%nRigid bodies: %d%nActive: %d%nSleeping: %d%nFrozen: %d%n",
+                getName(), total, active, total - active - frozen, frozen);
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return CoreRegistry.get(PhysicsEngine.class) != null;
+    }
+
+    @Override
+    public boolean isPerformanceManagerMode() {
+        return false;
+    }
+}
@@ -223,6 +223,8 @@ private StringBuilder createShaderBuilder() {
         for (ChunkVertexFlag vertexFlag : ChunkVertexFlag.values()) {
             builder.append("#define ").append(vertexFlag.getDefineName()).append(" int(").append(vertexFlag.getValue()).append(") \n");
         }
+        builder.append("#define TILE_REPEAT_STEP ").append((float) ChunkVertexFlag.TILE_REPEAT_STEP).append(" \n");
+        builder.append("#define MAX_TILE_REPEAT ").append((float) ChunkVertexFlag.MAX_TILE_REPEAT).append(" \n");
 
         return builder;
     }
@@ -15,22 +15,18 @@
  */
 package org.terasology.rendering.primitives;
 
-import com.google.common.collect.Maps;
-import gnu.trove.list.TFloatList;
-import gnu.trove.list.TIntList;
-import gnu.trove.list.array.TFloatArrayList;
-import gnu.trove.list.array.TIntArrayList;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL13;
 import org.lwjgl.opengl.GL15;
 import org.terasology.engine.subsystem.lwjgl.GLBufferPool;
+import org.terasology.math.geom.Vector2f;
 import org.terasology.math.geom.Vector3f;
 import org.terasology.rendering.VertexBufferObjectUtil;
 import org.terasology.rendering.assets.material.Material;
 import org.terasology.world.chunks.ChunkConstants;
 
 import java.nio.IntBuffer;
-import java.util.Map;
+import java.util.Arrays;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static org.lwjgl.opengl.GL11.GL_COLOR_ARRAY;
@@ -49,6 +45,10 @@
 
 /**
  * Chunk meshes store, manipulate and render the vertex data of tessellated chunks.
+ * <p>
+ * The data is kept in a separate set of VBOs for each vertical section of the chunk, see
+ * {@link ChunkConstants#MESH_SECTION_HEIGHT}. A mesh can be generated for some of the sections only, and then take the
+ * others over from the mesh it replaces, so that a change to the chunk only needs the sections around it regenerated.
  */
 @SuppressWarnings("PointlessArithmeticExpression")
 public class ChunkMesh {
@@ -88,49 +88,241 @@ public enum RenderPhase {
     private static final int SIZE_NORMAL = 3;   // normals are 3-dimensional vectors with u,v,t components
 
     // offset to the beginning of each data field, from the start of the data regarding an individual vertex
-    private static final int OFFSET_VERTEX = 0;
-    private static final int OFFSET_TEX_0 = OFFSET_VERTEX + SIZE_VERTEX * 4;
-    private static final int OFFSET_TEX_1 = OFFSET_TEX_0 + SIZE_TEX0 * 4;
-    private static final int OFFSET_COLOR = OFFSET_TEX_1 + SIZE_TEX1 * 4;
-    private static final int OFFSET_NORMAL = OFFSET_COLOR + SIZE_COLOR * 4;
-    private static final int STRIDE = OFFSET_NORMAL + SIZE_NORMAL * 4;
+    static final int OFFSET_VERTEX = 0;
+    static final int OFFSET_TEX_0 = OFFSET_VERTEX + SIZE_VERTEX * 4;
+    static final int OFFSET_TEX_1 = OFFSET_TEX_0 + SIZE_TEX0 * 4;
+    static final int OFFSET_COLOR = OFFSET_TEX_1 + SIZE_TEX1 * 4;
+    static final int OFFSET_NORMAL = OFFSET_COLOR + SIZE_COLOR * 4;
+    static final int STRIDE = OFFSET_NORMAL + SIZE_NORMAL * 4;
     // the STRIDE, above, is the gap between the beginnings of the data regarding two consecutive vertices
+    static final int VERTEX_SIZE = STRIDE / 4;  // the number of ints per vertex
 
-    /* VERTEX DATA */
-    private final int[] vertexBuffers = new int[4];
-    private final int[] idxBuffers = new int[4];
-    private final int[] vertexCount = new int[4];
+    private static final int RENDER_TYPES = RenderType.values().length;
+    private static final int SLOTS = ChunkConstants.MESH_SECTIONS * RENDER_TYPES;
+
+    /* VERTEX DATA, by section and render type, see slot() */
+    private final int[] vertexBuffers = new int[SLOTS];
+    private final int[] idxBuffers = new int[SLOTS];
+    private final int[] vertexCount = new int[SLOTS];
+    // The sections this mesh was generated with, and the ones it holds including those taken over from another mesh
+    private int generatedSections;
+    private int sections;
 
     /* STATS */
     private int triangleCount = -1;
 
     /* TEMPORARY DATA */
-    private Map<RenderType, VertexElements> vertexElements = Maps.newEnumMap(RenderType.class);
+    private VertexElements[] vertexElements;
+    private IntBuffer[] finalVertices = new IntBuffer[SLOTS];
+    private IntBuffer[] finalIndices = new IntBuffer[SLOTS];
+    private final int[] bufferedVertexCount = new int[SLOTS];
+    private final int[] bufferedIndexCount = new int[SLOTS];
 
     private boolean disposed;
 
     /* CONCURRENCY */
     private ReentrantLock lock = new ReentrantLock();
 
+    // Null until calculated for this mesh or taken over from the mesh it replaces
+    private ChunkVisibility visibility;
+    private int lod;
+
     /* MEASUREMENTS */
     private int timeToGenerateBlockVertices;
     private int timeToGenerateOptimizedBuffers;
 
     private GLBufferPool bufferPool;
+    private final IntBufferPool finalBufferPool;
 
     public ChunkMesh(GLBufferPool bufferPool) {
+        this(bufferPool, new IntBufferPool(0), createVertexElements());
+    }
+
+    /**
+     * @param bufferPool
+     * @param finalBufferPool The pool the buffers handed to OpenGL are taken from, and returned to once uploaded
+     * @param vertexElements  The elements to collect the vertices of each render type in, see {@link #createVertexElements()}.
+     *                        They are cleared first, and no longer used by the mesh after {@link #releaseVertexElements()}.
+     */
+    ChunkMesh(GLBufferPool bufferPool, IntBufferPool finalBufferPool, VertexElements[] vertexElements) {
         this.bufferPool = bufferPool;
-        for (RenderType type : RenderType.values()) {
-            vertexElements.put(type, new VertexElements());
+        this.finalBufferPool = finalBufferPool;
+        for (VertexElements elements : vertexElements) {
+            elements.clear();
         }
+        this.vertexElements = vertexElements;
     }
 
+    /**
+     * @return A set of vertex elements for each render type, indexed by {@link RenderType#getIndex()}
+     */
+    static VertexElements[] createVertexElements() {
+        VertexElements[] result = new VertexElements[RenderType.values().length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = new VertexElements();
+        }
+        return result;
+    }
+
+    /**
+     * @param renderType
+     * @return The elements the vertices of the given render type are collected in, while the mesh is being generated
+     */
     public VertexElements getVertexElements(RenderType renderType) {
-        return vertexElements.get(renderType);
+        return vertexElements[renderType.getIndex()];
     }
 
     public boolean isGenerated() {
-        return vertexElements == null;
+        return finalVertices == null;
+    }
+
+    /**
+     * Copies the vertex elements into the buffers the VBOs of the given section are generated from, and clears them for
+     * the next section.
+     *
+     * @param section The index of the section the vertices were generated for
+     */
+    void bufferVertexElements(int section) {
+        lock.lock();
+        try {
+            if (vertexElements == null || disposed) {
+                return;
+            }
+            for (RenderType type : RenderType.values()) {
+                int slot = slot(section, type.getIndex());
+                VertexElements elements = vertexElements[type.getIndex()];
+                bufferedVertexCount[slot] = elements.vertexCount;
+                bufferedIndexCount[slot] = elements.indexCount;
+                if (elements.indexCount > 0 && elements.vertexCount > 0) {
+                    finalVertices[slot] = finalBufferPool.get(elements.vertexCount * VERTEX_SIZE);
+                    finalVertices[slot].put(elements.vertices, 0, elements.vertexCount * VERTEX_SIZE).flip();
+                    finalIndices[slot] = finalBufferPool.get(elements.indexCount);
+                    finalIndices[slot].put(elements.indices, 0, elements.indexCount).flip();
+                }
+                elements.clear();
+            }
+            generatedSections |= 1 << section;
+            sections |= 1 << section;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ends the generation of the mesh. Afterwards the vertex elements are no longer used by this mesh, so they can be
+     * reused for the next one.
+     */
+    void releaseVertexElements() {
+        lock.lock();
+        try {
+            vertexElements = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The vertex data of the given section and render type in the layout of the VBO, or null if there is none or
+     * the VBOs have already been generated
+     */
+    IntBuffer getFinalVertices(int section, RenderType renderType) {
+        return (finalVertices != null) ? finalVertices[slot(section, renderType.getIndex())] : null;
+    }
+
+    /**
+     * @return The indices of the given section and render type, or null if there are none or the VBOs have already been
+     * generated
+     */
+    IntBuffer getFinalIndices(int section, RenderType renderType) {
+        return (finalIndices != null) ? finalIndices[slot(section, renderType.getIndex())] : null;
+    }
+
+    /**
+     * @return The number of vertices the sections of the mesh were generated with for the given render type
+     */
+    public int getBufferedVertexCount(RenderType renderType) {
+        int count = 0;
+        for (int section = 0; section < ChunkConstants.MESH_SECTIONS; section++) {
+            count += bufferedVertexCount[slot(section, renderType.getIndex())];
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of indices the sections of the mesh were generated with for the given render type
+     */
+    public int getBufferedIndexCount(RenderType renderType) {
+        int count = 0;
+        for (int section = 0; section < ChunkConstants.MESH_SECTIONS; section++) {
+            count += bufferedIndexCount[slot(section, renderType.getIndex())];
+        }
+        return count;
+    }
+
+    /**
+     * @return The size in bytes of the vertex and index data the sections of the mesh were generated with, over all
+     * render types
+     */
+    public int getBufferedByteCount() {
+        int bytes = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            bytes += bufferedVertexCount[slot] * STRIDE + bufferedIndexCount[slot] * Integer.BYTES;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return Whether the mesh holds every section of the chunk, rather than waiting to take some over with
+     * {@link #takeSectionsFrom(ChunkMesh)}
+     */
+    public boolean hasAllSections() {
+        return sections == ChunkConstants.ALL_MESH_SECTIONS;
+    }
+
+    /**
+     * Takes over the VBOs of the sections this mesh lacks from the mesh it replaces. The other mesh no longer renders
+     * or disposes them.
+     *
+     * @param other The mesh this one replaces
+     * @return False if nothing was taken because the other mesh lacks some of the sections, or was generated at another
+     * level of detail
+     */
+    public boolean takeSectionsFrom(ChunkMesh other) {
+        int missingSections = ChunkConstants.ALL_MESH_SECTIONS & ~sections;
+        lock.lock();
+        other.lock.lock();
+        try {
+            if (disposed || other.disposed || other.lod != lod || !other.isGenerated() || (other.sections & missingSections) != missingSections) {
+                return false;
+            }
+            for (int section = 0; section < ChunkConstants.MESH_SECTIONS; section++) {
+                if ((missingSections & (1 << section)) == 0) {
+                    continue;
+                }
+                for (int type = 0; type < RENDER_TYPES; type++) {
+                    int slot = slot(section, type);
+                    vertexBuffers[slot] = other.vertexBuffers[slot];
+                    idxBuffers[slot] = other.idxBuffers[slot];
+                    vertexCount[slot] = other.vertexCount[slot];
+                    bufferedVertexCount[slot] = other.bufferedVertexCount[slot];
+                    bufferedIndexCount[slot] = other.bufferedIndexCount[slot];
+                    other.vertexBuffers[slot] = 0;
+                    other.idxBuffers[slot] = 0;
+                    other.vertexCount[slot] = 0;
+                }
+            }
+            sections |= missingSections;
+            other.sections &= ~missingSections;
+            if (visibility == null) {
+                visibility = other.visibility;
+            }
+            updateTriangleCount();
+            other.updateTriangleCount();
+            return true;
+        } finally {
+            other.lock.unlock();
+            lock.unlock();
+        }
     }
 
     /**
@@ -141,19 +333,22 @@ public boolean isGenerated() {
     public boolean generateVBOs() {
         if (lock.tryLock()) {
             try {
-                // IMPORTANT: A mesh can only be generated once.
-                if (vertexElements == null || disposed) {
+                // IMPORTANT: A mesh can only be generated once, and only once its vertex elements have been buffered.
+                if (vertexElements != null || finalVertices == null || disposed) {
                     return false;
                 }
 
-                for (RenderType type : RenderType.values()) {
-                    generateVBO(type);
+                for (int section = 0; section < ChunkConstants.MESH_SECTIONS; section++) {
+                    if ((generatedSections & (1 << section)) != 0) {
+                        for (int type = 0; type < RENDER_TYPES; type++) {
+                            generateVBO(slot(section, type));
+                        }
+                    }
                 }
 
-                // Free unused space on the heap
-                vertexElements = null;
-                // Calculate the final amount of triangles
-                triangleCount = (vertexCount[0] + vertexCount[1] + vertexCount[2] + vertexCount[3]) / 3;
+                // Hand the buffers on to the next mesh
+                releaseFinalBuffers();
+                updateTriangleCount();
             } finally {
                 lock.unlock();
             }
@@ -164,16 +359,22 @@ public boolean generateVBOs() {
         return false;
     }
 
-    private void generateVBO(RenderType type) {
-        VertexElements elements = vertexElements.get(type);
-        int id = type.getIndex();
-        if (!disposed && elements.finalIndices.limit() > 0 && elements.finalVertices.limit() > 0) {
+    private void updateTriangleCount() {
+        int count = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            count += vertexCount[slot];
+        }
+        triangleCount = count / 3;
+    }
+
+    private void generateVBO(int id) {
+        if (!disposed && finalIndices[id] != null && finalVertices[id] != null) {
             vertexBuffers[id] = bufferPool.get("chunkMesh");
             idxBuffers[id] = bufferPool.get("chunkMesh");
-            vertexCount[id] = elements.finalIndices.limit();
+            vertexCount[id] = finalIndices[id].limit();
 
-            VertexBufferObjectUtil.bufferVboElementData(idxBuffers[id], elements.finalIndices, GL15.GL_STATIC_DRAW);
-            VertexBufferObjectUtil.bufferVboData(vertexBuffers[id], elements.finalVertices, GL15.GL_STATIC_DRAW);
+            VertexBufferObjectUtil.bufferVboElementData(idxBuffers[id], finalIndices[id], GL15.GL_STATIC_DRAW);
+            VertexBufferObjectUtil.bufferVboData(vertexBuffers[id], finalVertices[id], GL15.GL_STATIC_DRAW);
         } else {
             vertexBuffers[id] = 0;
             idxBuffers[id] = 0;
@@ -182,6 +383,21 @@ private void generateVBO(RenderType type) {
 
     }
 
+    private void releaseFinalBuffers() {
+        if (finalVertices != null) {
+            for (int i = 0; i < finalVertices.length; i++) {
+                if (finalVertices[i] != null) {
+                    finalBufferPool.release(finalVertices[i]);
+                }
+                if (finalIndices[i] != null) {
+                    finalBufferPool.release(finalIndices[i]);
+                }
+            }
+            finalVertices = null;
+            finalIndices = null;
+        }
+    }
+
     private void renderVbo(int id) {
         if (lock.tryLock()) {
             try {
@@ -271,22 +487,28 @@ public int render(ChunkMesh.RenderPhase phase, Vector3f chunkPosition, Vector3f
     private void render(RenderPhase type) {
         switch (type) {
             case OPAQUE:
-                renderVbo(0);
+                renderSections(RenderType.OPAQUE);
                 break;
             case ALPHA_REJECT:
-                renderVbo(1);
+                renderSections(RenderType.TRANSLUCENT);
                 glDisable(GL_CULL_FACE);
-                renderVbo(2);
+                renderSections(RenderType.BILLBOARD);
                 glEnable(GL_CULL_FACE);
                 break;
             case REFRACTIVE:
-                renderVbo(3);
+                renderSections(RenderType.WATER_AND_ICE);
                 break;
             default:
                 break;
         }
     }
 
+    private void renderSections(RenderType type) {
+        for (int section = 0; section < ChunkConstants.MESH_SECTIONS; section++) {
+            renderVbo(slot(section, type.getIndex()));
+        }
+    }
+
     /**
      * Disposes of all the data stored in an instance of this class and
      * the associated data stored in the GLBufferPool instance provided on construction.
@@ -313,6 +535,7 @@ public void dispose() {
 
                 disposed = true;
                 vertexElements = null;
+                releaseFinalBuffers();
             }
         } finally {
             lock.unlock();
@@ -325,14 +548,26 @@ public boolean isDisposed() {
 
     public int triangleCount(RenderPhase phase) {
         if (phase == RenderPhase.OPAQUE) {
-            return vertexCount[0] / 3;
+            return sectionVertexCount(RenderType.OPAQUE) / 3;
         } else if (phase == RenderPhase.ALPHA_REJECT) {
-            return (vertexCount[1] + vertexCount[2]) / 3;
+            return (sectionVertexCount(RenderType.TRANSLUCENT) + sectionVertexCount(RenderType.BILLBOARD)) / 3;
         } else {
-            return vertexCount[3] / 3;
+            return sectionVertexCount(RenderType.WATER_AND_ICE) / 3;
         }
     }
 
+    private int sectionVertexCount(RenderType type) {
+        int count = 0;
+        for (int section = 0; section < ChunkConstants.MESH_SECTIONS; section++) {
+            count += vertexCount[slot(section, type.getIndex())];
+        }
+        return count;
+    }
+
+    private static int slot(int section, int renderTypeIndex) {
+        return section * RENDER_TYPES + renderTypeIndex;
+    }
+
     private int triangleCount() {
         return triangleCount;
     }
@@ -346,6 +581,35 @@ public boolean isEmpty() {
         return triangleCount == 0;
     }
 
+    void setVisibility(ChunkVisibility visibility) {
+        this.visibility = visibility;
+    }
+
+    /**
+     * @return Which faces of the chunk can be seen from which others through it, as of when the mesh was generated
+     */
+    public ChunkVisibility getVisibility() {
+        return (visibility != null) ? visibility : ChunkVisibility.ALL;
+    }
+
+    /**
+     * @return Whether the visibility was calculated for this mesh, or taken over from the mesh it replaces
+     */
+    boolean hasVisibility() {
+        return visibility != null;
+    }
+
+    void setLod(int lod) {
+        this.lod = lod;
+    }
+
+    /**
+     * @return The level of detail the mesh was generated at, 0 for full resolution
+     */
+    public int getLod() {
+        return lod;
+    }
+
     void setTimeToGenerateBlockVertices(int timeToGenerateBlockVertices) {
         this.timeToGenerateBlockVertices = timeToGenerateBlockVertices;
     }
@@ -363,29 +627,111 @@ public int getTimeToGenerateOptimizedBuffers() {
     }
 
     /**
-     * Data structure for storing vertex data. Abused like a "struct" in C/C++. Just sad.
+     * Collects the vertices and indices of one render type while a mesh is generated. Vertices are written in the
+     * interleaved layout of the VBO, except for their lighting data, which the {@link ChunkTessellator} fills in once all
+     * vertices are known.
+     * <p>
+     * The arrays only ever grow, as the tessellator reuses the elements for every mesh it generates on a thread.
      */
     public static class VertexElements {
+        private static final int INITIAL_VERTEX_CAPACITY = 4096;
 
-        public final TFloatList normals;
-        public final TFloatList vertices;
-        public final TFloatList tex;
-        public final TFloatList color;
-        public final TIntList indices;
-        public final TIntList flags;
-        public int vertexCount;
-
-        public IntBuffer finalVertices;
-        public IntBuffer finalIndices;
+        private int[] vertices = new int[INITIAL_VERTEX_CAPACITY * VERTEX_SIZE];
+        private int[] indices = new int[INITIAL_VERTEX_CAPACITY * 3 / 2];
+        private int vertexCount;
+        private int indexCount;
 
         VertexElements() {
+        }
+
+        /**
+         * @return The number of vertices added so far, which is also the index of the next vertex
+         */
+        public int getVertexCount() {
+            return vertexCount;
+        }
+
+        public int getIndexCount() {
+            return indexCount;
+        }
+
+        /**
+         * @param x
+         * @param y
+         * @param z
+         * @param texCoord
+         * @param normal
+         * @param packedColor The color offset, packed with {@link org.terasology.rendering.RenderMath#packColor}
+         * @param flags       The value of the {@link ChunkVertexFlag} of the vertex
+         */
+        public void addVertex(float x, float y, float z, Vector2f texCoord, Vector3f normal, int packedColor, int flags) {
+            if ((vertexCount + 1) * VERTEX_SIZE > vertices.length) {
+                vertices = Arrays.copyOf(vertices, vertices.length * 2);
+            }
+            int i = vertexCount * VERTEX_SIZE;
+            vertices[i + OFFSET_VERTEX / 4] = Float.floatToIntBits(x);
+            vertices[i + OFFSET_VERTEX / 4 + 1] = Float.floatToIntBits(y);
+            vertices[i + OFFSET_VERTEX / 4 + 2] = Float.floatToIntBits(z);
+            vertices[i + OFFSET_TEX_0 / 4] = Float.floatToIntBits(texCoord.x);
+            vertices[i + OFFSET_TEX_0 / 4 + 1] = Float.floatToIntBits(texCoord.y);
+            vertices[i + OFFSET_TEX_0 / 4 + 2] = Float.floatToIntBits(flags);
+            vertices[i + OFFSET_TEX_1 / 4] = 0;
+            vertices[i + OFFSET_TEX_1 / 4 + 1] = 0;
+            vertices[i + OFFSET_TEX_1 / 4 + 2] = 0;
+            vertices[i + OFFSET_COLOR / 4] = packedColor;
+            vertices[i + OFFSET_NORMAL / 4] = Float.floatToIntBits(normal.x);
+            vertices[i + OFFSET_NORMAL / 4 + 1] = Float.floatToIntBits(normal.y);
+            vertices[i + OFFSET_NORMAL / 4 + 2] = Float.floatToIntBits(normal.z);
+            vertexCount++;
+        }
+
+        public void addIndex(int index) {
+            if (indexCount == indices.length) {
+                indices = Arrays.copyOf(indices, indices.length * 2);
+            }
+            indices[indexCount++] = index;
+        }
+
+        void getPosition(int vertex, Vector3f position) {
+            int i = vertex * VERTEX_SIZE + OFFSET_VERTEX / 4;
+            position.set(Float.intBitsToFloat(vertices[i]), Float.intBitsToFloat(vertices[i + 1]), Float.intBitsToFloat(vertices[i + 2]));
+        }
+
+        void getNormal(int vertex, Vector3f normal) {
+            int i = vertex * VERTEX_SIZE + OFFSET_NORMAL / 4;
+            normal.set(Float.intBitsToFloat(vertices[i]), Float.intBitsToFloat(vertices[i + 1]), Float.intBitsToFloat(vertices[i + 2]));
+        }
+
+        /**
+         * @param vertex
+         * @param light The sunlight, block light and ambient occlusion of the vertex
+         */
+        void setLight(int vertex, float[] light) {
+            int i = vertex * VERTEX_SIZE + OFFSET_TEX_1 / 4;
+            vertices[i] = Float.floatToIntBits(light[0]);
+            vertices[i + 1] = Float.floatToIntBits(light[1]);
+            vertices[i + 2] = Float.floatToIntBits(light[2]);
+        }
+
+        /**
+         * Scales the positions of the vertices added so far about the corner of the first block, so that a mesh generated
+         * with each block standing for a cube of blocks covers those blocks.
+         *
+         * @param scale The number of blocks along each axis of the cubes
+         */
+        void scalePositions(int scale) {
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                int i = vertex * VERTEX_SIZE + OFFSET_VERTEX / 4;
+                for (int axis = 0; axis < 3; axis++) {
+                    float position = Float.intBitsToFloat(vertices[i + axis]);
+                    vertices[i + axis] = Float.floatToIntBits((position + 0.5f) * scale - 0.5f);
+                }
+            }
+        }
+
+        void clear() {
             vertexCount = 0;
-            normals = new TFloatArrayList();
-            vertices = new TFloatArrayList();
-            tex = new TFloatArrayList();
-            color = new TFloatArrayList();
-            indices = new TIntArrayList();
-            flags = new TIntArrayList();
+            indexCount = 0;
         }
     }
 }
@@ -15,15 +15,13 @@
  */
 package org.terasology.rendering.primitives;
 
+import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
-import gnu.trove.iterator.TIntIterator;
-import org.lwjgl.BufferUtils;
 import org.terasology.engine.subsystem.lwjgl.GLBufferPool;
 import org.terasology.math.Direction;
 import org.terasology.math.TeraMath;
 import org.terasology.math.geom.Vector3f;
 import org.terasology.monitoring.PerformanceMonitor;
-import org.terasology.rendering.RenderMath;
 import org.terasology.world.ChunkView;
 import org.terasology.world.block.Block;
 import org.terasology.world.chunks.ChunkConstants;
@@ -36,166 +34,186 @@
  */
 public final class ChunkTessellator {
 
+    /**
+     * The lowest level of detail meshes can be generated at, see {@link #generateMesh(ChunkView, int, int, int)}
+     */
+    public static final int MAX_LOD = 2;
+
+    // the offsets at which the blocks casting ambient occlusion onto a vertex are sampled, along the two axes of its face
+    private static final float[] OCCLUSION_OFFSETS_A = {0.1f, 0.1f, -0.1f, -0.1f};
+    private static final float[] OCCLUSION_OFFSETS_B = {0.1f, -0.1f, -0.1f, 0.1f};
+    // the offsets at which the light around a vertex is sampled
+    private static final float[][] LIGHT_OFFSETS = {
+            {0.1f, 0.8f, 0.1f}, {0.1f, 0.8f, -0.1f}, {-0.1f, 0.8f, -0.1f}, {-0.1f, 0.8f, 0.1f},
+            {0.1f, -0.1f, 0.1f}, {0.1f, -0.1f, -0.1f}, {-0.1f, -0.1f, -0.1f}, {-0.1f, -0.1f, 0.1f}};
+
+    // meshes are generated on several threads, each collecting the vertices in its own reused elements
+    private static final ThreadLocal<ChunkMesh.VertexElements[]> VERTEX_ELEMENTS = ThreadLocal.withInitial(ChunkMesh::createVertexElements);
+
+    // the buffers handed to OpenGL are recycled once uploaded, keeping at most this many bytes worth of them
+    private static final long MAX_POOLED_BUFFER_BYTES = 16 << 20;
+
     private static int statVertexArrayUpdateCount;
 
     private GLBufferPool bufferPool;
+    private final IntBufferPool finalBufferPool = new IntBufferPool(MAX_POOLED_BUFFER_BYTES);
+    private volatile boolean greedyMeshing;
 
     public ChunkTessellator(GLBufferPool bufferPool) {
         this.bufferPool = bufferPool;
     }
 
+    /**
+     * Releases the buffers kept for the meshes generated by this tessellator. It should no longer be used afterwards.
+     */
+    public void dispose() {
+        finalBufferPool.clear();
+    }
+
+    public boolean isGreedyMeshing() {
+        return greedyMeshing;
+    }
+
+    /**
+     * @param greedyMeshing Whether the faces of neighbouring opaque blocks that look the same should be merged into
+     *                      larger faces, see {@link GreedyMeshGenerator}
+     */
+    public void setGreedyMeshing(boolean greedyMeshing) {
+        this.greedyMeshing = greedyMeshing;
+    }
+
     public ChunkMesh generateMesh(ChunkView chunkView, int meshHeight, int verticalOffset) {
-        PerformanceMonitor.startActivity("GenerateMesh");
-        ChunkMesh mesh = new ChunkMesh(bufferPool);
+        return generateMesh(chunkView, meshHeight, verticalOffset, 0);
+    }
 
-        final Stopwatch watch = Stopwatch.createStarted();
+    /**
+     * Generates the mesh of the chunk at the given level of detail. Each level halves the resolution of the meshed
+     * blocks along every axis: at level 1 a block is meshed for each cube of 2x2x2 blocks, see
+     * {@link DownsampledChunkView}. Lighting is still sampled from the full resolution chunk.
+     * <p>
+     * The mesh is generated for the whole sections covering the given heights, see {@link #generateSections}.
+     *
+     * @param chunkView
+     * @param meshHeight
+     * @param verticalOffset
+     * @param lod            The level of detail, from 0 for full resolution to {@link #MAX_LOD}
+     * @return The generated mesh
+     */
+    public ChunkMesh generateMesh(ChunkView chunkView, int meshHeight, int verticalOffset, int lod) {
+        int minSection = verticalOffset / ChunkConstants.MESH_SECTION_HEIGHT;
+        int maxSection = (verticalOffset + meshHeight - 1) / ChunkConstants.MESH_SECTION_HEIGHT;
+        return generateSections(chunkView, ((1 << (maxSection + 1)) - 1) & ~((1 << minSection) - 1), lod);
+    }
 
-        for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
-            for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
-                for (int y = verticalOffset; y < verticalOffset + meshHeight; y++) {
-                    Block block = chunkView.getBlock(x, y, z);
-                    if (block != null && block.getMeshGenerator() != null) {
-                        block.getMeshGenerator().generateChunkMesh(chunkView, mesh, x, y, z);
-                    }
-                }
+    /**
+     * Generates the mesh of the given vertical sections of the chunk and recalculates its visibility, see
+     * {@link #generateSections(ChunkView, int, int, boolean)}.
+     */
+    public ChunkMesh generateSections(ChunkView chunkView, int sections, int lod) {
+        return generateSections(chunkView, sections, lod, true);
+    }
+
+    /**
+     * Generates the mesh of the given vertical sections of the chunk, see {@link ChunkConstants#MESH_SECTION_HEIGHT}.
+     * Unless all sections are generated, the mesh has to take the others over from the mesh it replaces with
+     * {@link ChunkMesh#takeSectionsFrom(ChunkMesh)}.
+     * <p>
+     * The {@link ChunkVisibility} of the chunk is a flood fill over all its blocks, so it is only recalculated for a
+     * whole mesh or when a block blocking sight changed. Otherwise the mesh takes it over with the other sections.
+     *
+     * @param chunkView
+     * @param sections          The sections to generate, as bits by section index
+     * @param lod               The level of detail, from 0 for full resolution to {@link #MAX_LOD}
+     * @param visibilityChanged Whether a block blocking sight was placed or removed since the last mesh
+     * @return The generated mesh
+     */
+    public ChunkMesh generateSections(ChunkView chunkView, int sections, int lod, boolean visibilityChanged) {
+        Preconditions.checkArgument(lod >= 0 && lod <= MAX_LOD, "Level of detail must be between 0 and %s: %s", MAX_LOD, lod);
+        PerformanceMonitor.startActivity("GenerateMesh");
+        ChunkMesh mesh = new ChunkMesh(bufferPool, finalBufferPool, VERTEX_ELEMENTS.get());
+        mesh.setLod(lod);
+
+        int scale = 1 << lod;
+        ChunkView meshedView = (lod > 0) ? new DownsampledChunkView(chunkView, scale) : chunkView;
+        final Stopwatch watch = Stopwatch.createUnstarted();
+        long blockVerticesTime = 0;
+        long optimizedBuffersTime = 0;
+        for (int section = 0; section < ChunkConstants.MESH_SECTIONS; section++) {
+            if ((sections & (1 << section)) == 0) {
+                continue;
             }
+            watch.reset().start();
+            generateBlockVertices(meshedView, mesh, ChunkConstants.MESH_SECTION_HEIGHT / scale, section * ChunkConstants.MESH_SECTION_HEIGHT / scale, scale);
+            watch.stop();
+            blockVerticesTime += watch.elapsed(TimeUnit.NANOSECONDS);
+
+            watch.reset().start();
+            generateOptimizedBuffers(chunkView, mesh, section);
+            watch.stop();
+            optimizedBuffersTime += watch.elapsed(TimeUnit.NANOSECONDS);
         }
-        watch.stop();
+        mesh.releaseVertexElements();
 
-        mesh.setTimeToGenerateBlockVertices((int) watch.elapsed(TimeUnit.MILLISECONDS));
-
-        watch.reset().start();
-        generateOptimizedBuffers(chunkView, mesh);
-        watch.stop();
-        mesh.setTimeToGenerateOptimizedBuffers((int) watch.elapsed(TimeUnit.MILLISECONDS));
+        mesh.setTimeToGenerateBlockVertices((int) TimeUnit.NANOSECONDS.toMillis(blockVerticesTime));
+        mesh.setTimeToGenerateOptimizedBuffers((int) TimeUnit.NANOSECONDS.toMillis(optimizedBuffersTime));
+        if (visibilityChanged || sections == ChunkConstants.ALL_MESH_SECTIONS) {
+            mesh.setVisibility(ChunkVisibility.calculate(chunkView));
+        }
         statVertexArrayUpdateCount++;
 
         PerformanceMonitor.endActivity();
         return mesh;
     }
 
-    private void generateOptimizedBuffers(ChunkView chunkView, ChunkMesh mesh) {
+    /**
+     * Generates the vertices of the blocks at the given heights of the view, scaling them from the downsampled view to
+     * block space.
+     */
+    private void generateBlockVertices(ChunkView meshedView, ChunkMesh mesh, int meshHeight, int verticalOffset, int scale) {
+        int sizeX = ChunkConstants.SIZE_X / scale;
+        int sizeZ = ChunkConstants.SIZE_Z / scale;
+        if (greedyMeshing) {
+            new GreedyMeshGenerator(meshedView, mesh, sizeX, meshHeight, sizeZ, verticalOffset).generate();
+        } else {
+            for (int x = 0; x < sizeX; x++) {
+                for (int z = 0; z < sizeZ; z++) {
+                    for (int y = verticalOffset; y < verticalOffset + meshHeight; y++) {
+                        Block block = meshedView.getBlock(x, y, z);
+                        if (block != null && block.getMeshGenerator() != null) {
+                            block.getMeshGenerator().generateChunkMesh(meshedView, mesh, x, y, z);
+                        }
+                    }
+                }
+            }
+        }
+        if (scale > 1) {
+            for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
+                mesh.getVertexElements(type).scalePositions(scale);
+            }
+        }
+    }
+
+    private void generateOptimizedBuffers(ChunkView chunkView, ChunkMesh mesh, int section) {
         PerformanceMonitor.startActivity("OptimizeBuffers");
 
+        Vector3f vertexPos = new Vector3f();
+        Vector3f normal = new Vector3f();
+        float[] result = new float[3];
         for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
             ChunkMesh.VertexElements elements = mesh.getVertexElements(type);
-            // Vertices double to account for light info
-            elements.finalVertices = BufferUtils.createIntBuffer(
-                    elements.vertices.size() + /* POSITION */
-                            elements.tex.size() + /* TEX0 (UV0 and flags) */
-                            elements.tex.size() + /* TEX1 (lighting data) */
-                            elements.flags.size() + /* FLAGS */
-                            elements.color.size() + /* COLOR */
-                            elements.normals.size()  /* NORMALS */
-            );
-
-            int cTex = 0;
-            int cColor = 0;
-            int cFlags = 0;
-            for (int i = 0; i < elements.vertices.size(); i += 3, cTex += 2, cColor += 4, cFlags++) {
-                Vector3f vertexPos = new Vector3f(
-                        elements.vertices.get(i),
-                        elements.vertices.get(i + 1),
-                        elements.vertices.get(i + 2));
-
-                /* POSITION */
-                elements.finalVertices.put(Float.floatToIntBits(vertexPos.x));
-                elements.finalVertices.put(Float.floatToIntBits(vertexPos.y));
-                elements.finalVertices.put(Float.floatToIntBits(vertexPos.z));
-
-                /* UV0 - TEX DATA 0 */
-                elements.finalVertices.put(Float.floatToIntBits(elements.tex.get(cTex)));
-                elements.finalVertices.put(Float.floatToIntBits(elements.tex.get(cTex + 1)));
-
-                /* FLAGS */
-                elements.finalVertices.put(Float.floatToIntBits(elements.flags.get(cFlags)));
-
-                float[] result = new float[3];
-                Vector3f normal = new Vector3f(elements.normals.get(i), elements.normals.get(i + 1), elements.normals.get(i + 2));
+            for (int i = 0; i < elements.getVertexCount(); i++) {
+                elements.getPosition(i, vertexPos);
+                elements.getNormal(i, normal);
                 calcLightingValuesForVertexPos(chunkView, vertexPos, result, normal);
-
-                /* LIGHTING DATA / TEX DATA 1 */
-                elements.finalVertices.put(Float.floatToIntBits(result[0]));
-                elements.finalVertices.put(Float.floatToIntBits(result[1]));
-                elements.finalVertices.put(Float.floatToIntBits(result[2]));
-
-                /* PACKED COLOR */
-                final int packedColor = RenderMath.packColor(
-                        elements.color.get(cColor),
-                        elements.color.get(cColor + 1),
-                        elements.color.get(cColor + 2),
-                        elements.color.get(cColor + 3));
-                elements.finalVertices.put(packedColor);
-
-                /* NORMALS */
-                elements.finalVertices.put(Float.floatToIntBits(normal.x));
-                elements.finalVertices.put(Float.floatToIntBits(normal.y));
-                elements.finalVertices.put(Float.floatToIntBits(normal.z));
+                elements.setLight(i, result);
             }
-
-            elements.finalIndices = BufferUtils.createIntBuffer(elements.indices.size());
-            TIntIterator indexIterator = elements.indices.iterator();
-            while (indexIterator.hasNext()) {
-                elements.finalIndices.put(indexIterator.next());
-            }
-
-            elements.finalVertices.flip();
-            elements.finalIndices.flip();
         }
+        mesh.bufferVertexElements(section);
         PerformanceMonitor.endActivity();
     }
 
-    private void calcLightingValuesForVertexPos(ChunkView chunkView, Vector3f vertexPos, float[] output, Vector3f normal) {
+    static void calcLightingValuesForVertexPos(ChunkView chunkView, Vector3f vertexPos, float[] output, Vector3f normal) {
         PerformanceMonitor.startActivity("calcLighting");
-        float[] lights = new float[8];
-        float[] blockLights = new float[8];
-        Block[] blocks = new Block[4];
-
-        PerformanceMonitor.startActivity("gatherLightInfo");
-        Direction dir = Direction.inDirection(normal);
-        switch (dir) {
-            case LEFT:
-            case RIGHT:
-                blocks[0] = chunkView.getBlock((vertexPos.x + 0.8f * normal.x), (vertexPos.y + 0.1f), (vertexPos.z + 0.1f));
-                blocks[1] = chunkView.getBlock((vertexPos.x + 0.8f * normal.x), (vertexPos.y + 0.1f), (vertexPos.z - 0.1f));
-                blocks[2] = chunkView.getBlock((vertexPos.x + 0.8f * normal.x), (vertexPos.y - 0.1f), (vertexPos.z - 0.1f));
-                blocks[3] = chunkView.getBlock((vertexPos.x + 0.8f * normal.x), (vertexPos.y - 0.1f), (vertexPos.z + 0.1f));
-                break;
-            case FORWARD:
-            case BACKWARD:
-                blocks[0] = chunkView.getBlock((vertexPos.x + 0.1f), (vertexPos.y + 0.1f), (vertexPos.z + 0.8f * normal.z));
-                blocks[1] = chunkView.getBlock((vertexPos.x + 0.1f), (vertexPos.y - 0.1f), (vertexPos.z + 0.8f * normal.z));
-                blocks[2] = chunkView.getBlock((vertexPos.x - 0.1f), (vertexPos.y - 0.1f), (vertexPos.z + 0.8f * normal.z));
-                blocks[3] = chunkView.getBlock((vertexPos.x - 0.1f), (vertexPos.y + 0.1f), (vertexPos.z + 0.8f * normal.z));
-                break;
-            default:
-                blocks[0] = chunkView.getBlock((vertexPos.x + 0.1f), (vertexPos.y + 0.8f * normal.y), (vertexPos.z + 0.1f));
-                blocks[1] = chunkView.getBlock((vertexPos.x + 0.1f), (vertexPos.y + 0.8f * normal.y), (vertexPos.z - 0.1f));
-                blocks[2] = chunkView.getBlock((vertexPos.x - 0.1f), (vertexPos.y + 0.8f * normal.y), (vertexPos.z - 0.1f));
-                blocks[3] = chunkView.getBlock((vertexPos.x - 0.1f), (vertexPos.y + 0.8f * normal.y), (vertexPos.z + 0.1f));
-        }
-
-        lights[0] = chunkView.getSunlight((vertexPos.x + 0.1f), (vertexPos.y + 0.8f), (vertexPos.z + 0.1f));
-        lights[1] = chunkView.getSunlight((vertexPos.x + 0.1f), (vertexPos.y + 0.8f), (vertexPos.z - 0.1f));
-        lights[2] = chunkView.getSunlight((vertexPos.x - 0.1f), (vertexPos.y + 0.8f), (vertexPos.z - 0.1f));
-        lights[3] = chunkView.getSunlight((vertexPos.x - 0.1f), (vertexPos.y + 0.8f), (vertexPos.z + 0.1f));
-
-        lights[4] = chunkView.getSunlight((vertexPos.x + 0.1f), (vertexPos.y - 0.1f), (vertexPos.z + 0.1f));
-        lights[5] = chunkView.getSunlight((vertexPos.x + 0.1f), (vertexPos.y - 0.1f), (vertexPos.z - 0.1f));
-        lights[6] = chunkView.getSunlight((vertexPos.x - 0.1f), (vertexPos.y - 0.1f), (vertexPos.z - 0.1f));
-        lights[7] = chunkView.getSunlight((vertexPos.x - 0.1f), (vertexPos.y - 0.1f), (vertexPos.z + 0.1f));
-
-        blockLights[0] = chunkView.getLight((vertexPos.x + 0.1f), (vertexPos.y + 0.8f), (vertexPos.z + 0.1f));
-        blockLights[1] = chunkView.getLight((vertexPos.x + 0.1f), (vertexPos.y + 0.8f), (vertexPos.z - 0.1f));
-        blockLights[2] = chunkView.getLight((vertexPos.x - 0.1f), (vertexPos.y + 0.8f), (vertexPos.z - 0.1f));
-        blockLights[3] = chunkView.getLight((vertexPos.x - 0.1f), (vertexPos.y + 0.8f), (vertexPos.z + 0.1f));
-
-        blockLights[4] = chunkView.getLight((vertexPos.x + 0.1f), (vertexPos.y - 0.1f), (vertexPos.z + 0.1f));
-        blockLights[5] = chunkView.getLight((vertexPos.x + 0.1f), (vertexPos.y - 0.1f), (vertexPos.z - 0.1f));
-        blockLights[6] = chunkView.getLight((vertexPos.x - 0.1f), (vertexPos.y - 0.1f), (vertexPos.z - 0.1f));
-        blockLights[7] = chunkView.getLight((vertexPos.x - 0.1f), (vertexPos.y - 0.1f), (vertexPos.z + 0.1f));
-        PerformanceMonitor.endActivity();
-
         float resultLight = 0;
         float resultBlockLight = 0;
         int counterLight = 0;
@@ -203,26 +221,44 @@ private void calcLightingValuesForVertexPos(ChunkView chunkView, Vector3f vertex
 
         int occCounter = 0;
         int occCounterBillboard = 0;
-        for (int i = 0; i < 8; i++) {
-            if (lights[i] > 0) {
-                resultLight += lights[i];
-                counterLight++;
-            }
-            if (blockLights[i] > 0) {
-                resultBlockLight += blockLights[i];
-                counterBlockLight++;
+
+        PerformanceMonitor.startActivity("gatherLightInfo");
+        Direction dir = Direction.inDirection(normal);
+        for (int i = 0; i < OCCLUSION_OFFSETS_A.length; i++) {
+            Block b;
+            switch (dir) {
+                case LEFT:
+                case RIGHT:
+                    b = chunkView.getBlock((vertexPos.x + 0.8f * normal.x), (vertexPos.y + OCCLUSION_OFFSETS_A[i]), (vertexPos.z + OCCLUSION_OFFSETS_B[i]));
+                    break;
+                case FORWARD:
+                case BACKWARD:
+                    b = chunkView.getBlock((vertexPos.x + OCCLUSION_OFFSETS_A[i]), (vertexPos.y + OCCLUSION_OFFSETS_B[i]), (vertexPos.z + 0.8f * normal.z));
+                    break;
+                default:
+                    b = chunkView.getBlock((vertexPos.x + OCCLUSION_OFFSETS_A[i]), (vertexPos.y + 0.8f * normal.y), (vertexPos.z + OCCLUSION_OFFSETS_B[i]));
             }
 
-            if (i < 4) {
-                Block b = blocks[i];
+            if (b.isShadowCasting() && !b.isTranslucent()) {
+                occCounter++;
+            } else if (b.isShadowCasting()) {
+                occCounterBillboard++;
+            }
+        }
 
-                if (b.isShadowCasting() && !b.isTranslucent()) {
-                    occCounter++;
-                } else if (b.isShadowCasting()) {
-                    occCounterBillboard++;
-                }
+        for (float[] offset : LIGHT_OFFSETS) {
+            float light = chunkView.getSunlight((vertexPos.x + offset[0]), (vertexPos.y + offset[1]), (vertexPos.z + offset[2]));
+            if (light > 0) {
+                resultLight += light;
+                counterLight++;
+            }
+            float blockLight = chunkView.getLight((vertexPos.x + offset[0]), (vertexPos.y + offset[1]), (vertexPos.z + offset[2]));
+            if (blockLight > 0) {
+                resultBlockLight += blockLight;
+                counterBlockLight++;
             }
         }
+        PerformanceMonitor.endActivity();
 
         double resultAmbientOcclusion = (TeraMath.pow(0.40, occCounter) + TeraMath.pow(0.80, occCounterBillboard)) / 2.0;
 
@@ -26,6 +26,15 @@ public enum ChunkVertexFlag {
     WAVING(5, "BLOCK_HINT_WAVING"),
     WAVING_BLOCK(6, "BLOCK_HINT_WAVING_BLOCK");
 
+    /**
+     * Flag values are below this. The flags of a merged face also hold how often its tile repeats, in multiples of it.
+     */
+    public static final int TILE_REPEAT_STEP = 8;
+    /**
+     * The most a tile can repeat along one axis of a merged face.
+     */
+    public static final int MAX_TILE_REPEAT = 64;
+
     private int value;
     private String defineName;
 
@@ -38,6 +47,15 @@ public int getValue() {
         return value;
     }
 
+    /**
+     * @param tileRepeatU How often the tile repeats along the u axis of the face, from 1 to {@link #MAX_TILE_REPEAT}
+     * @param tileRepeatV How often the tile repeats along the v axis of the face, from 1 to {@link #MAX_TILE_REPEAT}
+     * @return The value of this flag, together with the tile repeats of the face
+     */
+    public int getValue(int tileRepeatU, int tileRepeatV) {
+        return value + TILE_REPEAT_STEP * ((tileRepeatU - 1) + MAX_TILE_REPEAT * (tileRepeatV - 1));
+    }
+
     public String getDefineName() {
         return defineName;
     }
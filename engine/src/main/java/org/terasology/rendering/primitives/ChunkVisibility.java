@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.primitives;
+
+import org.terasology.math.Side;
+import org.terasology.world.ChunkView;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.ChunkConstants;
+
+/**
+ * Which faces of a chunk can be seen from which others through the chunk, used to skip chunks hidden behind terrain.
+ * Two faces see each other if a path of blocks that do not block sight connects them; a block blocks sight if it is an
+ * opaque full cube.
+ *
+ */
+public final class ChunkVisibility {
+    public static final ChunkVisibility ALL = new ChunkVisibility(-1L);
+    public static final ChunkVisibility NONE = new ChunkVisibility(0L);
+
+    private static final Side[] SIDES = Side.values();
+    private static final int BLOCKS = ChunkConstants.SIZE_X * ChunkConstants.SIZE_Y * ChunkConstants.SIZE_Z;
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final long connections;
+
+    private ChunkVisibility(long connections) {
+        this.connections = connections;
+    }
+
+    /**
+     * @return Whether anything beyond the {@code to} face can be seen through the chunk from beyond the {@code from} face
+     */
+    public boolean isVisibleThrough(Side from, Side to) {
+        return (connections & bit(from, to)) != 0;
+    }
+
+    /**
+     * Flood fills the blocks of the chunk at the center of the view that do not block sight, noting the faces each
+     * connected group of them touches.
+     */
+    public static ChunkVisibility calculate(ChunkView chunkView) {
+        Scratch scratch = SCRATCH.get();
+        boolean[] open = scratch.open;
+        int openBlocks = 0;
+        Block lastBlock = null;
+        boolean lastOpen = false;
+        for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+            for (int y = 0; y < ChunkConstants.SIZE_Y; y++) {
+                for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                    Block block = chunkView.getBlock(x, y, z);
+                    // Neighbouring blocks are mostly the same
+                    if (block != lastBlock) {
+                        lastBlock = block;
+                        lastOpen = !blocksSight(block);
+                    }
+                    open[index(x, y, z)] = lastOpen;
+                    if (lastOpen) {
+                        openBlocks++;
+                    }
+                }
+            }
+        }
+        if (openBlocks == 0) {
+            return NONE;
+        }
+        if (openBlocks == BLOCKS) {
+            return ALL;
+        }
+
+        long connections = 0;
+        int[] queue = scratch.queue;
+        for (int start = 0; start < BLOCKS; start++) {
+            if (!open[start]) {
+                continue;
+            }
+            open[start] = false;
+            queue[0] = start;
+            int head = 0;
+            int tail = 1;
+            int faces = 0;
+            while (head < tail) {
+                int current = queue[head++];
+                int x = current / (ChunkConstants.SIZE_Y * ChunkConstants.SIZE_Z);
+                int y = (current / ChunkConstants.SIZE_Z) % ChunkConstants.SIZE_Y;
+                int z = current % ChunkConstants.SIZE_Z;
+                faces |= touchedFaces(x, y, z);
+                tail = visit(open, queue, tail, x > 0, current - ChunkConstants.SIZE_Y * ChunkConstants.SIZE_Z);
+                tail = visit(open, queue, tail, x < ChunkConstants.SIZE_X - 1, current + ChunkConstants.SIZE_Y * ChunkConstants.SIZE_Z);
+                tail = visit(open, queue, tail, y > 0, current - ChunkConstants.SIZE_Z);
+                tail = visit(open, queue, tail, y < ChunkConstants.SIZE_Y - 1, current + ChunkConstants.SIZE_Z);
+                tail = visit(open, queue, tail, z > 0, current - 1);
+                tail = visit(open, queue, tail, z < ChunkConstants.SIZE_Z - 1, current + 1);
+            }
+            connections |= connectFaces(faces);
+        }
+        return new ChunkVisibility(connections);
+    }
+
+    /**
+     * @return Whether the block is an opaque full cube, which nothing can be seen through
+     */
+    public static boolean blocksSight(Block block) {
+        if (block == null || block.isTranslucent()) {
+            return false;
+        }
+        for (Side side : SIDES) {
+            if (!block.isFullSide(side)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int visit(boolean[] open, int[] queue, int tail, boolean inChunk, int neighbour) {
+        if (inChunk && open[neighbour]) {
+            open[neighbour] = false;
+            queue[tail] = neighbour;
+            return tail + 1;
+        }
+        return tail;
+    }
+
+    private static int touchedFaces(int x, int y, int z) {
+        int faces = 0;
+        if (x == 0) {
+            faces |= 1 << Side.LEFT.ordinal();
+        } else if (x == ChunkConstants.SIZE_X - 1) {
+            faces |= 1 << Side.RIGHT.ordinal();
+        }
+        if (y == 0) {
+            faces |= 1 << Side.BOTTOM.ordinal();
+        } else if (y == ChunkConstants.SIZE_Y - 1) {
+            faces |= 1 << Side.TOP.ordinal();
+        }
+        if (z == 0) {
+            faces |= 1 << Side.FRONT.ordinal();
+        } else if (z == ChunkConstants.SIZE_Z - 1) {
+            faces |= 1 << Side.BACK.ordinal();
+        }
+        return faces;
+    }
+
+    private static long connectFaces(int faces) {
+        long connections = 0;
+        for (Side from : SIDES) {
+            if ((faces & (1 << from.ordinal())) != 0) {
+                for (Side to : SIDES) {
+                    if ((faces & (1 << to.ordinal())) != 0) {
+                        connections |= bit(from, to);
+                    }
+                }
+            }
+        }
+        return connections;
+    }
+
+    private static long bit(Side from, Side to) {
+        return 1L << (from.ordinal() * SIDES.length + to.ordinal());
+    }
+
+    private static int index(int x, int y, int z) {
+        return (x * ChunkConstants.SIZE_Y + y) * ChunkConstants.SIZE_Z + z;
+    }
+
+    /**
+     * Buffers for the flood fill, reused by each tessellation thread.
+     */
+    private static final class Scratch {
+        private final boolean[] open = new boolean[BLOCKS];
+        private final int[] queue = new int[BLOCKS];
+    }
+}
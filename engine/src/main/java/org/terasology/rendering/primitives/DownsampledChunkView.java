@@ -0,0 +1,242 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.primitives;
+
+import org.terasology.math.Region3i;
+import org.terasology.math.TeraMath;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.ChunkView;
+import org.terasology.world.biomes.Biome;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.liquid.LiquidData;
+
+/**
+ * A read-only view of a chunk view at a lower resolution, in which each block stands for a cube of blocks of the
+ * underlying view. Position (0, 0, 0) of this view covers the blocks from (0, 0, 0) to (scale - 1, scale - 1, scale - 1).
+ * <p>
+ * The block of a cell is the most common block in it, except that opaque blocks win as soon as they fill half the
+ * cell, so that terrain keeps its shape rather than eroding. Light and biomes are looked up in the underlying view, at
+ * the center of the cell.
+ *
+ */
+final class DownsampledChunkView implements ChunkView {
+    private final ChunkView view;
+    private final int scale;
+    private final int cellsX;
+    private final int cellsY;
+    private final int cellsZ;
+    // The blocks of the cells of the chunk and the layer of cells around it, null until looked up
+    private final Block[] cells;
+    private final Block[] cellBlocks;
+    private final int[] cellBlockCounts;
+
+    DownsampledChunkView(ChunkView view, int scale) {
+        this.view = view;
+        this.scale = scale;
+        this.cellsX = ChunkConstants.SIZE_X / scale + 2;
+        this.cellsY = ChunkConstants.SIZE_Y / scale + 2;
+        this.cellsZ = ChunkConstants.SIZE_Z / scale + 2;
+        this.cells = new Block[cellsX * cellsY * cellsZ];
+        this.cellBlocks = new Block[scale * scale * scale];
+        this.cellBlockCounts = new int[scale * scale * scale];
+    }
+
+    @Override
+    public Block getBlock(float x, float y, float z) {
+        return getBlock(TeraMath.floorToInt(x + 0.5f), TeraMath.floorToInt(y + 0.5f), TeraMath.floorToInt(z + 0.5f));
+    }
+
+    @Override
+    public Block getBlock(Vector3i pos) {
+        return getBlock(pos.x, pos.y, pos.z);
+    }
+
+    @Override
+    public Block getBlock(int x, int y, int z) {
+        if (x < -1 || y < -1 || z < -1 || x >= cellsX - 1 || y >= cellsY - 1 || z >= cellsZ - 1) {
+            return calcCellBlock(x, y, z);
+        }
+        int index = (x + 1) + cellsX * ((y + 1) + cellsY * (z + 1));
+        Block block = cells[index];
+        if (block == null) {
+            block = calcCellBlock(x, y, z);
+            cells[index] = block;
+        }
+        return block;
+    }
+
+    private Block calcCellBlock(int x, int y, int z) {
+        int distinctBlocks = 0;
+        int opaqueBlocks = 0;
+        for (int blockX = x * scale; blockX < (x + 1) * scale; blockX++) {
+            for (int blockY = y * scale; blockY < (y + 1) * scale; blockY++) {
+                for (int blockZ = z * scale; blockZ < (z + 1) * scale; blockZ++) {
+                    Block block = view.getBlock(blockX, blockY, blockZ);
+                    if (block != null && !block.isTranslucent()) {
+                        opaqueBlocks++;
+                    }
+                    int i = 0;
+                    while (i < distinctBlocks && cellBlocks[i] != block) {
+                        i++;
+                    }
+                    if (i == distinctBlocks) {
+                        cellBlocks[i] = block;
+                        cellBlockCounts[i] = 0;
+                        distinctBlocks++;
+                    }
+                    cellBlockCounts[i]++;
+                }
+            }
+        }
+        boolean preferOpaque = 2 * opaqueBlocks >= cellBlocks.length;
+        Block result = null;
+        int resultCount = 0;
+        for (int i = 0; i < distinctBlocks; i++) {
+            Block block = cellBlocks[i];
+            if (preferOpaque && (block == null || block.isTranslucent())) {
+                continue;
+            }
+            if (cellBlockCounts[i] > resultCount) {
+                result = block;
+                resultCount = cellBlockCounts[i];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Biome getBiome(float x, float y, float z) {
+        return view.getBiome(toBlockCoord(x), toBlockCoord(y), toBlockCoord(z));
+    }
+
+    @Override
+    public Biome getBiome(Vector3i pos) {
+        return getBiome(pos.x, pos.y, pos.z);
+    }
+
+    @Override
+    public Biome getBiome(int x, int y, int z) {
+        return view.getBiome(toBlockCoord(x), toBlockCoord(y), toBlockCoord(z));
+    }
+
+    @Override
+    public byte getSunlight(float x, float y, float z) {
+        return view.getSunlight(toBlockCoord(x), toBlockCoord(y), toBlockCoord(z));
+    }
+
+    @Override
+    public byte getSunlight(Vector3i pos) {
+        return getSunlight(pos.x, pos.y, pos.z);
+    }
+
+    @Override
+    public byte getSunlight(int x, int y, int z) {
+        return view.getSunlight(toBlockCoord(x), toBlockCoord(y), toBlockCoord(z));
+    }
+
+    @Override
+    public byte getLight(float x, float y, float z) {
+        return view.getLight(toBlockCoord(x), toBlockCoord(y), toBlockCoord(z));
+    }
+
+    @Override
+    public byte getLight(Vector3i pos) {
+        return getLight(pos.x, pos.y, pos.z);
+    }
+
+    @Override
+    public byte getLight(int x, int y, int z) {
+        return view.getLight(toBlockCoord(x), toBlockCoord(y), toBlockCoord(z));
+    }
+
+    /**
+     * @return The block coordinate of a position in this view, in the same cell relative position
+     */
+    private float toBlockCoord(float coord) {
+        return (coord + 0.5f) * scale - 0.5f;
+    }
+
+    @Override
+    public void setBlock(Vector3i pos, Block type) {
+        throw new UnsupportedOperationException("Downsampled chunk views are read-only");
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, Block type) {
+        throw new UnsupportedOperationException("Downsampled chunk views are read-only");
+    }
+
+    @Override
+    public void setBiome(Vector3i pos, Biome biome) {
+        throw new UnsupportedOperationException("Downsampled chunk views are read-only");
+    }
+
+    @Override
+    public void setBiome(int x, int y, int z, Biome biome) {
+        throw new UnsupportedOperationException("Downsampled chunk views are read-only");
+    }
+
+    @Override
+    public LiquidData getLiquid(Vector3i pos) {
+        return getLiquid(pos.x, pos.y, pos.z);
+    }
+
+    @Override
+    public LiquidData getLiquid(int x, int y, int z) {
+        return view.getLiquid(x * scale, y * scale, z * scale);
+    }
+
+    @Override
+    public void setLiquid(Vector3i pos, LiquidData newState) {
+        throw new UnsupportedOperationException("Downsampled chunk views are read-only");
+    }
+
+    @Override
+    public void setLiquid(int x, int y, int z, LiquidData newState) {
+        throw new UnsupportedOperationException("Downsampled chunk views are read-only");
+    }
+
+    @Override
+    public Vector3i toWorldPos(Vector3i localPos) {
+        return view.toWorldPos(new Vector3i(localPos.x * scale, localPos.y * scale, localPos.z * scale));
+    }
+
+    @Override
+    public Region3i getWorldRegion() {
+        return view.getWorldRegion();
+    }
+
+    @Override
+    public Region3i getChunkRegion() {
+        return view.getChunkRegion();
+    }
+
+    @Override
+    public void setDirtyAround(Vector3i blockPos) {
+        view.setDirtyAround(blockPos);
+    }
+
+    @Override
+    public void setDirtyAround(Region3i blockRegion) {
+        view.setDirtyAround(blockRegion);
+    }
+
+    @Override
+    public boolean isValidView() {
+        return view.isValidView();
+    }
+}
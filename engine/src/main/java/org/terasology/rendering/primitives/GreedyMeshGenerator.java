@@ -0,0 +1,350 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.primitives;
+
+import com.google.common.collect.Maps;
+import org.terasology.math.Side;
+import org.terasology.math.geom.Vector2f;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.math.geom.Vector4f;
+import org.terasology.rendering.RenderMath;
+import org.terasology.world.ChunkView;
+import org.terasology.world.biomes.Biome;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockAppearance;
+import org.terasology.world.block.BlockPart;
+import org.terasology.world.block.shapes.BlockMeshPart;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Generates the mesh of a chunk, merging the coplanar faces of neighbouring opaque blocks into larger faces where they
+ * look the same: the same mesh part, color and flag, and the same lighting at every corner. The chunk shader repeats the
+ * tile of a merged face once per block.
+ * <p>
+ * Only square faces on the sides of opaque, solid blocks are merged. Every other face is generated as before, and
+ * blocks of any other kind are left to their own mesh generator.
+ *
+ */
+final class GreedyMeshGenerator {
+    private static final float TEX_COORD_EPSILON = 1e-6f;
+    private static final float VERTEX_EPSILON = 1e-3f;
+    private static final FaceLayout NOT_MERGEABLE = new FaceLayout(false);
+
+    private final ChunkView view;
+    private final ChunkMesh mesh;
+    private final int verticalOffset;
+    private final int[] size;
+    private final int[] stride;
+    private final Face[][] faces = new Face[Side.values().length][];
+    private final Map<BlockMeshPart, FaceLayout> layouts = Maps.newIdentityHashMap();
+    private final Map<Side, Block> adjacentBlocks = Maps.newEnumMap(Side.class);
+    private final Vector3f vertexPos = new Vector3f();
+
+    /**
+     * @param sizeX The number of blocks along x to generate, starting at zero
+     * @param sizeZ The number of blocks along z to generate, starting at zero
+     */
+    GreedyMeshGenerator(ChunkView view, ChunkMesh mesh, int sizeX, int meshHeight, int sizeZ, int verticalOffset) {
+        this.view = view;
+        this.mesh = mesh;
+        this.verticalOffset = verticalOffset;
+        this.size = new int[]{sizeX, meshHeight, sizeZ};
+        this.stride = new int[]{1, sizeX * sizeZ, sizeX};
+    }
+
+    void generate() {
+        for (int x = 0; x < size[0]; x++) {
+            for (int z = 0; z < size[2]; z++) {
+                for (int y = verticalOffset; y < verticalOffset + size[1]; y++) {
+                    Block block = view.getBlock(x, y, z);
+                    if (block != null && block.getMeshGenerator() != null) {
+                        if (!isMergeable(block) || !addFaces(block, x, y, z)) {
+                            block.getMeshGenerator().generateChunkMesh(view, mesh, x, y, z);
+                        }
+                    }
+                }
+            }
+        }
+        for (Side side : Side.values()) {
+            if (faces[side.ordinal()] != null) {
+                mergeFaces(side);
+            }
+        }
+    }
+
+    /**
+     * @return Whether the faces of the block would be generated as opaque faces with normal flags
+     */
+    private static boolean isMergeable(Block block) {
+        return block.getMeshGenerator() instanceof BlockMeshGeneratorSingleShape && !block.isTranslucent()
+                && !block.isLiquid() && !block.isWater() && !block.isLava() && !block.isIce()
+                && !block.isWaving() && !block.isDoubleSided();
+    }
+
+    /**
+     * Adds the visible faces of the block, or directly generates those that cannot be merged.
+     *
+     * @return False if nothing was added because the block has a center part
+     */
+    private boolean addFaces(Block block, int x, int y, int z) {
+        for (Side side : Side.values()) {
+            Vector3i offset = side.getVector3i();
+            adjacentBlocks.put(side, view.getBlock(x + offset.x, y + offset.y, z + offset.z));
+        }
+        BlockAppearance appearance = block.getAppearance(adjacentBlocks);
+        if (appearance.getPart(BlockPart.CENTER) != null) {
+            return false;
+        }
+        Biome biome = view.getBiome(x, y, z);
+        for (Side side : Side.values()) {
+            BlockPart blockPart = BlockPart.fromSide(side);
+            BlockMeshPart part = appearance.getPart(blockPart);
+            if (part == null || !BlockMeshGeneratorSingleShape.isSideVisibleForBlockTypes(adjacentBlocks.get(side), block, side)) {
+                continue;
+            }
+            Vector4f colorOffset = block.calcColorOffsetFor(blockPart, biome);
+            ChunkVertexFlag flag = ChunkVertexFlag.NORMAL;
+            if (block.isGrass() && side != Side.TOP && side != Side.BOTTOM) {
+                flag = ChunkVertexFlag.COLOR_MASK;
+            }
+            FaceLayout layout = getLayout(part, side);
+            float[] light = (layout != NOT_MERGEABLE) ? calcEvenLight(part, x, y, z) : null;
+            if (light == null) {
+                part.appendTo(mesh, x, y, z, colorOffset, ChunkMesh.RenderType.OPAQUE, flag);
+            } else {
+                if (faces[side.ordinal()] == null) {
+                    faces[side.ordinal()] = new Face[size[0] * size[1] * size[2]];
+                }
+                faces[side.ordinal()][x * stride[0] + (y - verticalOffset) * stride[1] + z * stride[2]] = new Face(part, layout, colorOffset, flag, light);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The lighting of the corners of the part, or null if it differs between them
+     */
+    private float[] calcEvenLight(BlockMeshPart part, int x, int y, int z) {
+        float[] light = new float[3];
+        float[] cornerLight = new float[3];
+        for (int i = 0; i < part.size(); i++) {
+            Vector3f vertex = part.getVertex(i);
+            vertexPos.set(vertex.x + x, vertex.y + y, vertex.z + z);
+            ChunkTessellator.calcLightingValuesForVertexPos(view, vertexPos, (i == 0) ? light : cornerLight, part.getNormal(i));
+            if (i > 0 && !Arrays.equals(light, cornerLight)) {
+                return null;
+            }
+        }
+        return light;
+    }
+
+    private void mergeFaces(Side side) {
+        Face[] sideFaces = faces[side.ordinal()];
+        int normalAxis = normalAxis(side);
+        int axisA = (normalAxis == 0) ? 1 : 0;
+        int axisB = (normalAxis == 2) ? 1 : 2;
+        int[] blockPos = new int[3];
+        for (int layer = 0; layer < size[normalAxis]; layer++) {
+            int layerStart = layer * stride[normalAxis];
+            for (int b = 0; b < size[axisB]; b++) {
+                for (int a = 0; a < size[axisA]; a++) {
+                    int start = layerStart + a * stride[axisA] + b * stride[axisB];
+                    Face face = sideFaces[start];
+                    if (face == null) {
+                        continue;
+                    }
+                    int widthA = 1;
+                    while (a + widthA < size[axisA] && face.canMergeWith(sideFaces[start + widthA * stride[axisA]])) {
+                        widthA++;
+                    }
+                    int widthB = 1;
+                    while (b + widthB < size[axisB] && canMergeRow(face, sideFaces, start + widthB * stride[axisB], widthA, stride[axisA])) {
+                        widthB++;
+                    }
+                    for (int j = 0; j < widthB; j++) {
+                        for (int i = 0; i < widthA; i++) {
+                            sideFaces[start + i * stride[axisA] + j * stride[axisB]] = null;
+                        }
+                    }
+                    blockPos[normalAxis] = layer;
+                    blockPos[axisA] = a;
+                    blockPos[axisB] = b;
+                    blockPos[1] += verticalOffset;
+                    appendMergedFace(face, blockPos, axisA, widthA, axisB, widthB);
+                }
+            }
+        }
+    }
+
+    private static boolean canMergeRow(Face face, Face[] sideFaces, int rowStart, int width, int step) {
+        for (int i = 0; i < width; i++) {
+            if (!face.canMergeWith(sideFaces[rowStart + i * step])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends the part of the face stretched over the given number of blocks along the two axes of its plane, in the same
+     * way as {@link BlockMeshPart#appendTo} does for a single block.
+     */
+    private void appendMergedFace(Face face, int[] blockPos, int axisA, int widthA, int axisB, int widthB) {
+        ChunkMesh.VertexElements elements = mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE);
+        BlockMeshPart part = face.part;
+        int flags = face.layout.uAlongA ? face.flag.getValue(widthA, widthB) : face.flag.getValue(widthB, widthA);
+        int packedColor = RenderMath.packColor(face.colorOffset.x, face.colorOffset.y, face.colorOffset.z, face.colorOffset.w);
+        float[] position = new float[3];
+        int nextIndex = elements.getVertexCount();
+        for (int i = 0; i < part.size(); i++) {
+            Vector3f vertex = part.getVertex(i);
+            position[0] = vertex.x + blockPos[0];
+            position[1] = vertex.y + blockPos[1];
+            position[2] = vertex.z + blockPos[2];
+            if (component(vertex, axisA) > 0) {
+                position[axisA] += widthA - 1;
+            }
+            if (component(vertex, axisB) > 0) {
+                position[axisB] += widthB - 1;
+            }
+            elements.addVertex(position[0], position[1], position[2], part.getTexCoord(i), part.getNormal(i), packedColor, flags);
+        }
+        for (int i = 0; i < part.indicesSize(); i++) {
+            elements.addIndex(part.getIndex(i) + nextIndex);
+        }
+    }
+
+    private FaceLayout getLayout(BlockMeshPart part, Side side) {
+        FaceLayout layout = layouts.get(part);
+        if (layout == null) {
+            layout = createLayout(part, side);
+            layouts.put(part, layout);
+        }
+        return layout;
+    }
+
+    /**
+     * Checks that the part is a square covering the given side of the block, with its tile aligned to the axes of the
+     * side, so that it can be stretched over several blocks.
+     */
+    private static FaceLayout createLayout(BlockMeshPart part, Side side) {
+        if (part.size() != 4) {
+            return NOT_MERGEABLE;
+        }
+        int normalAxis = normalAxis(side);
+        int axisA = (normalAxis == 0) ? 1 : 0;
+        int axisB = (normalAxis == 2) ? 1 : 2;
+        float sideOffset = 0.5f * component(side.getVector3i(), normalAxis);
+        Vector2f[] cornerTexCoords = new Vector2f[4];
+        for (int i = 0; i < part.size(); i++) {
+            Vector3f vertex = part.getVertex(i);
+            float a = component(vertex, axisA);
+            float b = component(vertex, axisB);
+            if (Math.abs(component(vertex, normalAxis) - sideOffset) > VERTEX_EPSILON
+                    || Math.abs(Math.abs(a) - 0.5f) > VERTEX_EPSILON || Math.abs(Math.abs(b) - 0.5f) > VERTEX_EPSILON) {
+                return NOT_MERGEABLE;
+            }
+            int corner = ((a > 0) ? 1 : 0) + ((b > 0) ? 2 : 0);
+            if (cornerTexCoords[corner] != null) {
+                return NOT_MERGEABLE;
+            }
+            cornerTexCoords[corner] = part.getTexCoord(i);
+        }
+        float uAlongA = cornerTexCoords[1].x - cornerTexCoords[0].x;
+        float vAlongA = cornerTexCoords[1].y - cornerTexCoords[0].y;
+        float uAlongB = cornerTexCoords[2].x - cornerTexCoords[0].x;
+        float vAlongB = cornerTexCoords[2].y - cornerTexCoords[0].y;
+        if (Math.abs(cornerTexCoords[0].x + uAlongA + uAlongB - cornerTexCoords[3].x) > TEX_COORD_EPSILON
+                || Math.abs(cornerTexCoords[0].y + vAlongA + vAlongB - cornerTexCoords[3].y) > TEX_COORD_EPSILON) {
+            return NOT_MERGEABLE;
+        }
+        if (vAlongA == 0 && uAlongB == 0 && uAlongA != 0 && vAlongB != 0) {
+            return new FaceLayout(true);
+        }
+        if (uAlongA == 0 && vAlongB == 0 && vAlongA != 0 && uAlongB != 0) {
+            return new FaceLayout(false);
+        }
+        return NOT_MERGEABLE;
+    }
+
+    private static int normalAxis(Side side) {
+        Vector3i normal = side.getVector3i();
+        if (normal.x != 0) {
+            return 0;
+        }
+        return (normal.y != 0) ? 1 : 2;
+    }
+
+    private static float component(Vector3f vector, int axis) {
+        switch (axis) {
+            case 0:
+                return vector.x;
+            case 1:
+                return vector.y;
+            default:
+                return vector.z;
+        }
+    }
+
+    private static int component(Vector3i vector, int axis) {
+        switch (axis) {
+            case 0:
+                return vector.x;
+            case 1:
+                return vector.y;
+            default:
+                return vector.z;
+        }
+    }
+
+    /**
+     * How the tile of a mergeable part is laid out on the side of the block.
+     */
+    private static final class FaceLayout {
+        /**
+         * Whether the u axis of the tile runs along the first axis of the side's plane, rather than the second
+         */
+        private final boolean uAlongA;
+
+        FaceLayout(boolean uAlongA) {
+            this.uAlongA = uAlongA;
+        }
+    }
+
+    private static final class Face {
+        private final BlockMeshPart part;
+        private final FaceLayout layout;
+        private final Vector4f colorOffset;
+        private final ChunkVertexFlag flag;
+        private final float[] light;
+
+        Face(BlockMeshPart part, FaceLayout layout, Vector4f colorOffset, ChunkVertexFlag flag, float[] light) {
+            this.part = part;
+            this.layout = layout;
+            this.colorOffset = colorOffset;
+            this.flag = flag;
+            this.light = light;
+        }
+
+        boolean canMergeWith(Face other) {
+            return other != null && other.part == part && other.flag == flag
+                    && other.colorOffset.equals(colorOffset) && Arrays.equals(other.light, light);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.primitives;
+
+import com.google.common.collect.Lists;
+import org.lwjgl.BufferUtils;
+
+import java.nio.IntBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Recycles direct int buffers. Buffers are taken on the tessellation threads and returned on the render thread once
+ * uploaded, so the pool is shared by all threads. The pool holds on to direct memory until it is cleared, so whoever
+ * creates it should {@link #clear()} it when done.
+ * <p>
+ * Capacities are rounded up to powers of two. Buffers too large for the pool, or returned while it is full, are left to
+ * the garbage collector.
+ *
+ */
+final class IntBufferPool {
+    private static final int MIN_CAPACITY_BITS = 10;
+    private static final int MAX_CAPACITY_BITS = 24;
+
+    private final List<Deque<IntBuffer>> buffers = Lists.newArrayList();
+    private final long maxPooledCapacity;
+    private long pooledCapacity;
+
+    /**
+     * @param maxPooledBytes The maximum size in bytes of all buffers kept in the pool, 0 to keep none
+     */
+    IntBufferPool(long maxPooledBytes) {
+        this.maxPooledCapacity = maxPooledBytes / Integer.BYTES;
+        for (int bits = MIN_CAPACITY_BITS; bits <= MAX_CAPACITY_BITS; bits++) {
+            buffers.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * @param size
+     * @return A cleared direct buffer with room for at least the given number of ints
+     */
+    IntBuffer get(int size) {
+        int bits = Math.max(MIN_CAPACITY_BITS, 32 - Integer.numberOfLeadingZeros(size - 1));
+        if (bits > MAX_CAPACITY_BITS) {
+            return BufferUtils.createIntBuffer(size);
+        }
+        IntBuffer buffer;
+        synchronized (this) {
+            buffer = buffers.get(bits - MIN_CAPACITY_BITS).pollLast();
+            if (buffer != null) {
+                pooledCapacity -= buffer.capacity();
+            }
+        }
+        if (buffer == null) {
+            return BufferUtils.createIntBuffer(1 << bits);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer obtained from {@link #get(int)} to the pool. It must not be used afterwards.
+     *
+     * @param buffer
+     */
+    void release(IntBuffer buffer) {
+        int capacity = buffer.capacity();
+        int bits = Integer.numberOfTrailingZeros(capacity);
+        if (Integer.bitCount(capacity) != 1 || bits < MIN_CAPACITY_BITS || bits > MAX_CAPACITY_BITS) {
+            return;
+        }
+        synchronized (this) {
+            if (pooledCapacity + capacity <= maxPooledCapacity) {
+                buffers.get(bits - MIN_CAPACITY_BITS).addLast(buffer);
+                pooledCapacity += capacity;
+            }
+        }
+    }
+
+    /**
+     * Drops all pooled buffers, leaving their memory to the garbage collector.
+     */
+    synchronized void clear() {
+        for (Deque<IntBuffer> deque : buffers) {
+            deque.clear();
+        }
+        pooledCapacity = 0;
+    }
+
+    /**
+     * @return The number of ints of all buffers kept in the pool
+     */
+    synchronized long getPooledCapacity() {
+        return pooledCapacity;
+    }
+}
@@ -19,33 +19,43 @@
 import com.google.common.collect.Queues;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.engine.GameThread;
 import org.terasology.math.ChunkMath;
+import org.terasology.math.Region3i;
 import org.terasology.math.geom.Vector3f;
 import org.terasology.math.geom.Vector3i;
+import org.terasology.monitoring.ThreadActivity;
+import org.terasology.monitoring.ThreadMonitor;
 import org.terasology.monitoring.chunk.ChunkMonitor;
 import org.terasology.rendering.primitives.ChunkMesh;
 import org.terasology.rendering.primitives.ChunkTessellator;
-import org.terasology.utilities.concurrency.TaskMaster;
 import org.terasology.world.ChunkView;
 import org.terasology.world.WorldProvider;
 import org.terasology.world.chunks.ChunkConstants;
 import org.terasology.world.chunks.RenderableChunk;
-import org.terasology.world.chunks.pipeline.ChunkTask;
-import org.terasology.world.chunks.pipeline.ShutdownChunkTask;
 
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Provides the mechanism for updating and generating chunk meshes.
+ * <p>
+ * Queued updates wait in a {@link ChunkMeshUpdateQueue}, which hands out the updates closest to the camera first. For
+ * every queued update a job is submitted to a work stealing pool with a thread per core, except the one the game runs
+ * on; each job meshes whichever chunk is closest to the camera when it starts. Updates for chunks that leave the
+ * renderable region before they are meshed are dropped.
  *
  */
 public final class ChunkMeshUpdateManager {
-    private static final int NUM_TASK_THREADS = 8;
+    private static final int NUM_TASK_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
 
     private static final Logger logger = LoggerFactory.getLogger(ChunkMeshUpdateManager.class);
 
@@ -54,37 +64,55 @@ public final class ChunkMeshUpdateManager {
 
     private final BlockingDeque<RenderableChunk> chunksComplete = Queues.newLinkedBlockingDeque();
 
-    private TaskMaster<ChunkTask> chunkUpdater;
+    private final ChunkMeshUpdateQueue<ChunkUpdateTask> updateQueue = new ChunkMeshUpdateQueue<>(ChunkUpdateTask::getPosition);
+    private final ForkJoinPool chunkUpdater;
 
     private final ChunkTessellator tessellator;
     private final WorldProvider worldProvider;
     /**
-     * This variable is volatile, so that it's value is visible to worker thread that calculates the best task to
-     * process
+     * This variable is volatile, so that it's value is visible to worker thread that calculates the level of detail
+     * to mesh at
      */
-    private volatile float cameraChunkPosX;
-    private volatile float cameraChunkPosY;
-    private volatile float cameraChunkPosZ;
+    private volatile int cameraChunkPosX;
+    private volatile int cameraChunkPosY;
+    private volatile int cameraChunkPosZ;
+    private volatile int lodDistance;
+
+    /* STATISTICS */
+    private int queuedUpdates;
+    private final AtomicInteger completedUpdates = new AtomicInteger();
+    private final AtomicInteger droppedUpdates = new AtomicInteger();
+    private final AtomicLong completedUpdateLatency = new AtomicLong();
+    private int statQueuedUpdates;
+    private int statCompletedUpdates;
+    private int statDroppedUpdates;
+    private float statUpdateLatency;
 
     public ChunkMeshUpdateManager(ChunkTessellator tessellator, WorldProvider worldProvider) {
         this.tessellator = tessellator;
         this.worldProvider = worldProvider;
 
-        chunkUpdater = TaskMaster.createDynamicPriorityTaskMaster("Chunk-Updater", NUM_TASK_THREADS, new ChunkUpdaterComparator());
+        AtomicInteger threadIndex = new AtomicInteger();
+        chunkUpdater = new ForkJoinPool(NUM_TASK_THREADS, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("Chunk-Updater-" + threadIndex.getAndIncrement());
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }, null, true);
     }
 
     /**
-     * Updates the given chunk using a new thread from the thread pool. If the maximum amount of chunk updates
-     * is reached, the chunk update is ignored. Chunk updates can be forced though.
+     * Queues an update of the given chunk, unless an update of it is already queued or processing.
      *
      * @param chunk The chunk to update
-     * @return True if a chunk update was executed
+     * @return True if a chunk update was queued
      */
-    // TODO: Review this system
     public boolean queueChunkUpdate(RenderableChunk chunk) {
 
-        if (!chunksProcessing.contains(chunk)) {
-            executeChunkUpdate(chunk);
+        if (chunksProcessing.add(chunk)) {
+            updateQueue.add(new ChunkUpdateTask(chunk, tessellator, worldProvider, this));
+            queuedUpdates++;
+            chunkUpdater.execute(this::processClosestUpdate);
             return true;
         }
 
@@ -101,6 +129,40 @@ public void setCameraPosition(Vector3f cameraPosition) {
         cameraChunkPosX = chunkPos.x;
         cameraChunkPosY = chunkPos.y;
         cameraChunkPosZ = chunkPos.z;
+        updateQueue.setCameraChunk(chunkPos);
+    }
+
+    /**
+     * Drops the queued updates of the chunks outside the region, as they are no longer rendered. The chunks can be
+     * queued again once they are back in the region.
+     *
+     * @param renderableRegion The positions of the chunks that are rendered
+     */
+    public void setRenderableRegion(Region3i renderableRegion) {
+        updateQueue.removeOutside(renderableRegion, this::dropUpdate);
+    }
+
+    /**
+     * Chunks at least this many chunks away from the camera are meshed at a lower level of detail, one level lower for
+     * each further multiple of the distance, see {@link ChunkTessellator#generateMesh(ChunkView, int, int, int)}.
+     *
+     * @param lodDistance The distance in chunks, or zero to mesh every chunk at full resolution
+     */
+    public void setLodDistance(int lodDistance) {
+        this.lodDistance = lodDistance;
+    }
+
+    /**
+     * @return The level of detail the chunk at the given position is meshed at, given its distance to the camera
+     */
+    public int getLod(Vector3i chunkPos) {
+        int distance = lodDistance;
+        if (distance <= 0) {
+            return 0;
+        }
+        int chunkDistance = Math.max(Math.abs(chunkPos.x - cameraChunkPosX),
+                Math.max(Math.abs(chunkPos.y - cameraChunkPosY), Math.abs(chunkPos.z - cameraChunkPosZ)));
+        return Math.min(chunkDistance / distance, ChunkTessellator.MAX_LOD);
     }
 
     public List<RenderableChunk> availableChunksForUpdate() {
@@ -110,28 +172,91 @@ public List<RenderableChunk> availableChunksForUpdate() {
         return result;
     }
 
-    private void executeChunkUpdate(final RenderableChunk c) {
-        chunksProcessing.add(c);
+    /**
+     * Takes the number of updates queued, completed and dropped since the last call, to be read by the statistics
+     * getters until the next call.
+     */
+    public void updateStatistics() {
+        statQueuedUpdates = queuedUpdates;
+        queuedUpdates = 0;
+        statCompletedUpdates = completedUpdates.getAndSet(0);
+        statDroppedUpdates = droppedUpdates.getAndSet(0);
+        long latency = completedUpdateLatency.getAndSet(0);
+        statUpdateLatency = (statCompletedUpdates > 0) ? (float) latency / statCompletedUpdates / TimeUnit.MILLISECONDS.toNanos(1) : 0;
+    }
 
-        ChunkUpdateTask task = new ChunkUpdateTask(c, tessellator, worldProvider, this);
-        try {
-            chunkUpdater.put(task);
-        } catch (InterruptedException e) {
-            logger.error("Failed to enqueue task {}", task, e);
+    public int getStatQueuedUpdates() {
+        return statQueuedUpdates;
+    }
+
+    public int getStatCompletedUpdates() {
+        return statCompletedUpdates;
+    }
+
+    public int getStatDroppedUpdates() {
+        return statDroppedUpdates;
+    }
+
+    /**
+     * @return The average time in milliseconds from queueing to completing the updates that were completed
+     */
+    public float getStatUpdateLatency() {
+        return statUpdateLatency;
+    }
+
+    public int getPendingUpdates() {
+        return updateQueue.size();
+    }
+
+    private void processClosestUpdate() {
+        ChunkUpdateTask task = updateQueue.poll();
+        if (task == null) {
+            // The update this job was submitted for was dropped
+            return;
+        }
+        try (ThreadActivity ignored = ThreadMonitor.startThreadActivity(task.getName())) {
+            task.run();
+            completedUpdates.incrementAndGet();
+            completedUpdateLatency.addAndGet(System.nanoTime() - task.getQueueTime());
+        } catch (RuntimeException e) {
+            chunksProcessing.remove(task.getChunk());
+            ThreadMonitor.addError(e);
+            logger.error("Error in thread {}", Thread.currentThread().getName(), e);
+        } catch (Error e) {
+            GameThread.asynch(() -> {
+                throw e;  // re-throw on game thread to terminate the entire application
+            });
         }
     }
 
+    private void dropUpdate(ChunkUpdateTask task) {
+        chunksProcessing.remove(task.getChunk());
+        droppedUpdates.incrementAndGet();
+    }
+
     private void finishedProcessing(RenderableChunk c) {
         chunksComplete.add(c);
     }
 
     public void shutdown() {
-        chunkUpdater.shutdown(new ShutdownChunkTask(), false);
+        updateQueue.clear(this::dropUpdate);
+        chunkUpdater.shutdown();
+        try {
+            if (!chunkUpdater.awaitTermination(20, TimeUnit.SECONDS)) {
+                logger.warn("Timed out awaiting thread termination");
+                chunkUpdater.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            logger.warn("Interrupted awaiting chunk thread termination");
+            chunkUpdater.shutdownNow();
+        }
     }
 
 
-    private static class ChunkUpdateTask implements ChunkTask {
+    private static class ChunkUpdateTask implements Runnable {
 
+        private final Vector3i position;
+        private final long queueTime = System.nanoTime();
         private RenderableChunk c;
         private ChunkTessellator tessellator;
         private WorldProvider worldProvider;
@@ -140,23 +265,25 @@ private static class ChunkUpdateTask implements ChunkTask {
         ChunkUpdateTask(RenderableChunk chunk, ChunkTessellator tessellator, WorldProvider worldProvider, ChunkMeshUpdateManager chunkMeshUpdateManager) {
             this.chunkMeshUpdateManager = chunkMeshUpdateManager;
             this.c = chunk;
+            this.position = chunk.getPosition();
             this.tessellator = tessellator;
             this.worldProvider = worldProvider;
         }
 
-        @Override
         public Vector3i getPosition() {
-            return c.getPosition();
+            return position;
         }
 
-        @Override
-        public String getName() {
-            return "Update chunk";
+        public RenderableChunk getChunk() {
+            return c;
         }
 
-        @Override
-        public boolean isTerminateSignal() {
-            return false;
+        public long getQueueTime() {
+            return queueTime;
+        }
+
+        public String getName() {
+            return "Update chunk";
         }
 
         @Override
@@ -165,12 +292,18 @@ public void run() {
             ChunkView chunkView = worldProvider.getLocalView(c.getPosition());
             if (chunkView != null) {
                 /*
-                 * Important set dirty flag first, so that a concurrent modification of the chunk in the mean time we
-                 * will end up with a dirty chunk.
+                 * Important clear the dirty flag first, so that a concurrent modification of the chunk in the mean time
+                 * we will end up with a dirty chunk.
                  */
-                c.setDirty(false);
+                int dirtySections = c.takeDirtySections();
+                boolean visibilityDirty = c.takeVisibilityDirty();
+                if (dirtySections == 0) {
+                    // Queued because the chunk has no mesh or its level of detail changed
+                    dirtySections = ChunkConstants.ALL_MESH_SECTIONS;
+                }
                 if (chunkView.isValidView()) {
-                    newMesh = tessellator.generateMesh(chunkView, ChunkConstants.SIZE_Y, 0);
+                    int lod = chunkMeshUpdateManager.getLod(c.getPosition());
+                    newMesh = tessellator.generateSections(chunkView, dirtySections, lod, visibilityDirty);
 
                     c.setPendingMesh(newMesh);
                     ChunkMonitor.fireChunkTessellated(c.getPosition(), newMesh);
@@ -184,22 +317,4 @@ public void run() {
             worldProvider = null;
         }
     }
-
-    private class ChunkUpdaterComparator implements Comparator<ChunkTask> {
-        @Override
-        public int compare(ChunkTask o1, ChunkTask o2) {
-            return score(o1) - score(o2);
-        }
-
-        private int score(ChunkTask task) {
-            if (task.isTerminateSignal()) {
-                return -1;
-            }
-            return distFromRegion(task.getPosition(), new Vector3i(cameraChunkPosX, cameraChunkPosY, cameraChunkPosZ));
-        }
-
-        private int distFromRegion(Vector3i pos, Vector3i regionCenter) {
-            return pos.gridDistance(regionCenter);
-        }
-    }
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.world;
+
+import com.google.common.collect.Lists;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The pending chunk mesh updates, bucketed into rings by the distance of their chunk to the camera's chunk, so the
+ * closest ones are taken first. Taking or adding an update only touches its ring. The rings are only rebuilt when the
+ * camera moves to another chunk, instead of comparing distances to the camera on every take.
+ * <p>
+ * The queue is shared by the main thread and the mesh update threads, so every method synchronizes on it.
+ *
+ * @param <T> The type of the updates
+ */
+class ChunkMeshUpdateQueue<T> {
+    /**
+     * Updates at least this far from the camera share the last ring.
+     */
+    static final int MAX_RING = 63;
+
+    private final Function<T, Vector3i> positionOf;
+    private final List<ArrayDeque<T>> rings = Lists.newArrayListWithCapacity(MAX_RING + 1);
+    private final List<T> rebucketed = Lists.newArrayList();
+    private final Vector3i cameraChunk = new Vector3i();
+    // No ring below this one holds an update
+    private int firstRing;
+    private int size;
+
+    /**
+     * @param positionOf Returns the position of the chunk an update is for
+     */
+    ChunkMeshUpdateQueue(Function<T, Vector3i> positionOf) {
+        this.positionOf = positionOf;
+        for (int ring = 0; ring <= MAX_RING; ring++) {
+            rings.add(new ArrayDeque<>());
+        }
+    }
+
+    public synchronized void add(T update) {
+        int ring = ringOf(positionOf.apply(update));
+        rings.get(ring).addLast(update);
+        firstRing = Math.min(firstRing, ring);
+        size++;
+    }
+
+    /**
+     * @return The update closest to the camera, or null if the queue is empty. Updates in the same ring are taken in the
+     * order they were added.
+     */
+    public synchronized T poll() {
+        for (; firstRing <= MAX_RING; firstRing++) {
+            T update = rings.get(firstRing).pollFirst();
+            if (update != null) {
+                size--;
+                return update;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Moves the updates to the rings around the new camera chunk, if the camera moved to another chunk.
+     *
+     * @param cameraChunkPos The position of the chunk the camera is in
+     */
+    public synchronized void setCameraChunk(Vector3i cameraChunkPos) {
+        if (cameraChunkPos.equals(cameraChunk)) {
+            return;
+        }
+        cameraChunk.set(cameraChunkPos);
+        for (int ring = firstRing; ring <= MAX_RING; ring++) {
+            rebucketed.addAll(rings.get(ring));
+            rings.get(ring).clear();
+        }
+        firstRing = MAX_RING;
+        for (T update : rebucketed) {
+            int ring = ringOf(positionOf.apply(update));
+            rings.get(ring).addLast(update);
+            firstRing = Math.min(firstRing, ring);
+        }
+        rebucketed.clear();
+    }
+
+    /**
+     * Removes the updates for chunks outside the given region.
+     *
+     * @param region  The positions of the chunks to keep the updates of
+     * @param removed Called with each removed update
+     * @return The number of updates removed
+     */
+    public synchronized int removeOutside(Region3i region, Consumer<T> removed) {
+        int removedCount = 0;
+        for (int ring = firstRing; ring <= MAX_RING; ring++) {
+            ArrayDeque<T> updates = rings.get(ring);
+            for (int i = updates.size(); i > 0; i--) {
+                T update = updates.pollFirst();
+                if (region.encompasses(positionOf.apply(update))) {
+                    updates.addLast(update);
+                } else {
+                    removed.accept(update);
+                    removedCount++;
+                }
+            }
+        }
+        size -= removedCount;
+        return removedCount;
+    }
+
+    /**
+     * Removes every update.
+     *
+     * @param removed Called with each removed update
+     */
+    public synchronized void clear(Consumer<T> removed) {
+        for (ArrayDeque<T> updates : rings) {
+            updates.forEach(removed);
+            updates.clear();
+        }
+        firstRing = MAX_RING;
+        size = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return The number of chunks between the given chunk and the camera's chunk along the axis they are furthest
+     * apart on
+     */
+    public synchronized int distanceToCamera(Vector3i chunkPos) {
+        return Math.max(Math.abs(chunkPos.x - cameraChunk.x),
+                Math.max(Math.abs(chunkPos.y - cameraChunk.y), Math.abs(chunkPos.z - cameraChunk.z)));
+    }
+
+    private int ringOf(Vector3i chunkPos) {
+        return Math.min(distanceToCamera(chunkPos), MAX_RING);
+    }
+}
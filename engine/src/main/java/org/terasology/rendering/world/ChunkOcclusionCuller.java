@@ -0,0 +1,179 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.world;
+
+import org.terasology.math.Region3i;
+import org.terasology.math.Side;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.rendering.primitives.ChunkVisibility;
+import org.terasology.world.chunks.RenderableChunk;
+
+import java.util.Arrays;
+
+/**
+ * Finds the chunks that cannot be seen from the camera because terrain hides them, by flood filling the chunks of the
+ * renderable region from the camera's chunk. A chunk passes the fill on through a face only if the face it was entered
+ * through can see that face according to its mesh's {@link ChunkVisibility}, and the fill never turns back along an axis
+ * it has already moved along, since chunks seen through are in front of each other.
+ * <p>
+ * Chunks without a mesh are assumed to hide nothing. The fill is only redone once the camera moves to another chunk or
+ * {@link #markDirty()} reports a change to the chunks or their meshes.
+ *
+ */
+class ChunkOcclusionCuller {
+    private static final Side[] SIDES = Side.values();
+    private static final int NO_FACE = SIDES.length;
+    private static final int FACE_BITS = 3;
+    private static final int DIRECTION_BITS = SIDES.length;
+    private static final int[] OPPOSITE_FACES = new int[SIDES.length];
+
+    static {
+        for (Side side : SIDES) {
+            OPPOSITE_FACES[side.ordinal()] = side.reverse().ordinal();
+        }
+    }
+
+    private Region3i region = Region3i.EMPTY;
+    private final Vector3i cameraChunk = new Vector3i();
+    private boolean dirty = true;
+    private boolean culling;
+
+    private RenderableChunk[] chunks = new RenderableChunk[0];
+    // The faces each chunk has been entered through as bits by side, zero if the fill has not reached it
+    private byte[] enteredFaces = new byte[0];
+    private int[] queue = new int[0];
+    private int reachedChunks;
+
+    /**
+     * Makes the next {@link #update} redo the fill.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Redoes the fill if anything changed since the last update.
+     *
+     * @param renderableRegion The chunk positions to fill
+     * @param renderableChunks The chunks in the region
+     * @param cameraChunkPos   The position of the chunk the camera is in
+     */
+    public void update(Region3i renderableRegion, Iterable<RenderableChunk> renderableChunks, Vector3i cameraChunkPos) {
+        if (!dirty && renderableRegion.equals(region) && cameraChunkPos.equals(cameraChunk)) {
+            return;
+        }
+        dirty = false;
+        region = renderableRegion;
+        cameraChunk.set(cameraChunkPos);
+        culling = region.encompasses(cameraChunk);
+        if (!culling) {
+            return;
+        }
+
+        int size = region.sizeX() * region.sizeY() * region.sizeZ();
+        if (chunks.length < size) {
+            chunks = new RenderableChunk[size];
+            enteredFaces = new byte[size];
+            queue = new int[SIDES.length * size + 1];
+        } else {
+            Arrays.fill(chunks, null);
+            Arrays.fill(enteredFaces, (byte) 0);
+        }
+        for (RenderableChunk chunk : renderableChunks) {
+            Vector3i chunkPos = chunk.getPosition();
+            if (region.encompasses(chunkPos)) {
+                chunks[index(chunkPos.x, chunkPos.y, chunkPos.z)] = chunk;
+            }
+        }
+        fill();
+    }
+
+    /**
+     * @return Whether the last fill found the chunk to be hidden from the camera
+     */
+    public boolean isOccluded(Vector3i chunkPos) {
+        return culling && region.encompasses(chunkPos) && enteredFaces[index(chunkPos.x, chunkPos.y, chunkPos.z)] == 0;
+    }
+
+    /**
+     * @return The number of chunks the last fill reached, or all of them if the camera was outside the region
+     */
+    public int getReachedChunks() {
+        return culling ? reachedChunks : region.sizeX() * region.sizeY() * region.sizeZ();
+    }
+
+    private void fill() {
+        int start = index(cameraChunk.x, cameraChunk.y, cameraChunk.z);
+        // The camera's chunk counts as entered through every face, so it is never entered again
+        enteredFaces[start] = (byte) ((1 << SIDES.length) - 1);
+        queue[0] = entry(start, NO_FACE, 0);
+        reachedChunks = 1;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int entry = queue[head++];
+            int chunkIndex = entry >>> (FACE_BITS + DIRECTION_BITS);
+            int face = entry & ((1 << FACE_BITS) - 1);
+            int directions = (entry >>> FACE_BITS) & ((1 << DIRECTION_BITS) - 1);
+            ChunkVisibility visibility = getVisibility(chunks[chunkIndex]);
+
+            int x = region.minX() + chunkIndex % region.sizeX();
+            int y = region.minY() + (chunkIndex / region.sizeX()) % region.sizeY();
+            int z = region.minZ() + chunkIndex / (region.sizeX() * region.sizeY());
+            for (Side side : SIDES) {
+                int entryFace = OPPOSITE_FACES[side.ordinal()];
+                // Moving against a direction already moved in would lead back towards the camera
+                if ((directions & (1 << entryFace)) != 0) {
+                    continue;
+                }
+                if (face != NO_FACE && !visibility.isVisibleThrough(SIDES[face], side)) {
+                    continue;
+                }
+                Vector3i step = side.getVector3i();
+                int neighbourX = x + step.x;
+                int neighbourY = y + step.y;
+                int neighbourZ = z + step.z;
+                if (!region.encompasses(neighbourX, neighbourY, neighbourZ)) {
+                    continue;
+                }
+                int neighbour = index(neighbourX, neighbourY, neighbourZ);
+                if ((enteredFaces[neighbour] & (1 << entryFace)) != 0) {
+                    continue;
+                }
+                if (enteredFaces[neighbour] == 0) {
+                    reachedChunks++;
+                }
+                enteredFaces[neighbour] |= 1 << entryFace;
+                queue[tail++] = entry(neighbour, entryFace, directions | (1 << side.ordinal()));
+            }
+        }
+    }
+
+    private static ChunkVisibility getVisibility(RenderableChunk chunk) {
+        if (chunk == null || !chunk.hasMesh()) {
+            return ChunkVisibility.ALL;
+        }
+        return chunk.getMesh().getVisibility();
+    }
+
+    private static int entry(int chunkIndex, int face, int directions) {
+        return (chunkIndex << (FACE_BITS + DIRECTION_BITS)) | (directions << FACE_BITS) | face;
+    }
+
+    private int index(int x, int y, int z) {
+        return (x - region.minX()) + region.sizeX() * ((y - region.minY()) + region.sizeY() * (z - region.minZ()));
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.world;
+
+import com.google.common.collect.Iterables;
+import org.terasology.math.AABB;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.rendering.cameras.ViewFrustum;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Groups chunks into regions of 4x4x4 chunks so that view frustum culling can test a whole region at once. A region
+ * entirely outside or inside a frustum decides the visibility of all of its chunks, and only the chunks of regions
+ * crossing a frustum's planes are tested on their own.
+ * <p>
+ * Each region is tested at most once per frustum between calls to {@link #beginCulling}, however many of its chunks are
+ * queried, so the frustums of all the passes of a frame can share one pass over the chunks.
+ * <p>
+ * Regions are kept in a grid that wraps around, indexed by region coordinates, so finding the region of a chunk takes a
+ * single array lookup. The grid grows along an axis whenever two regions would share a cell,
+ * which only happens while the chunks span more regions than it has cells along that axis.
+ *
+ */
+public class ChunkRegionCuller {
+    private static final int REGION_SIZE_POWER = 2;
+    private static final int REGION_MASK = (1 << REGION_SIZE_POWER) - 1;
+    private static final int CHUNKS_PER_REGION = 1 << (3 * REGION_SIZE_POWER);
+
+    private Region[] grid = new Region[1];
+    private int gridBitsX;
+    private int gridBitsY;
+    private int gridBitsZ;
+    private int regionCount;
+
+    private final int frustumCount;
+    private ViewFrustum[] frustums;
+    private final Vector3f viewPosition = new Vector3f();
+    private int cullingId;
+
+    private int regionTests;
+    private int chunkTests;
+
+    /**
+     * @param frustumCount The number of frustums passed to each {@link #beginCulling}
+     */
+    public ChunkRegionCuller(int frustumCount) {
+        this.frustumCount = frustumCount;
+        this.frustums = new ViewFrustum[frustumCount];
+    }
+
+    public void add(Vector3i chunkPos, AABB chunkBounds) {
+        int regionX = chunkPos.x >> REGION_SIZE_POWER;
+        int regionY = chunkPos.y >> REGION_SIZE_POWER;
+        int regionZ = chunkPos.z >> REGION_SIZE_POWER;
+        Region region = getRegion(regionX, regionY, regionZ);
+        if (region == null) {
+            region = new Region(regionX, regionY, regionZ);
+            Region other = grid[cellIndex(regionX, regionY, regionZ)];
+            while (other != null) {
+                growGrid(other, region);
+                other = grid[cellIndex(regionX, regionY, regionZ)];
+            }
+            grid[cellIndex(regionX, regionY, regionZ)] = region;
+            regionCount++;
+        }
+        region.set(localIndex(chunkPos), chunkBounds);
+    }
+
+    public void remove(Vector3i chunkPos) {
+        int regionX = chunkPos.x >> REGION_SIZE_POWER;
+        int regionY = chunkPos.y >> REGION_SIZE_POWER;
+        int regionZ = chunkPos.z >> REGION_SIZE_POWER;
+        Region region = getRegion(regionX, regionY, regionZ);
+        if (region != null) {
+            region.set(localIndex(chunkPos), null);
+            if (region.isEmpty()) {
+                grid[cellIndex(regionX, regionY, regionZ)] = null;
+                regionCount--;
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(grid, null);
+        regionCount = 0;
+    }
+
+    public int getRegionCount() {
+        return regionCount;
+    }
+
+    /**
+     * Starts culling against a new set of frustums, discarding the results for the previous ones.
+     *
+     * @param frustumViewPosition The position the frustums' planes are relative to
+     * @param viewFrustums        The frustums to cull against. Those left out of every frustum mask may be null.
+     */
+    public void beginCulling(Vector3f frustumViewPosition, ViewFrustum... viewFrustums) {
+        if (viewFrustums.length != frustumCount) {
+            throw new IllegalArgumentException("Expected " + frustumCount + " frustums, got " + viewFrustums.length);
+        }
+        viewPosition.set(frustumViewPosition);
+        frustums = viewFrustums;
+        cullingId++;
+        regionTests = 0;
+        chunkTests = 0;
+    }
+
+    /**
+     * Tests a chunk against some of the frustums, as {@link ViewFrustum#intersects(AABB, Vector3f)} would.
+     *
+     * @param chunkPos
+     * @param chunkBounds
+     * @param frustumMask The frustums to test the chunk against, bit i standing for frustum i of {@link #beginCulling}
+     * @return The bits of the mask whose frustums intersect the chunk
+     */
+    public int getVisibleFrustums(Vector3i chunkPos, AABB chunkBounds, int frustumMask) {
+        int visibleFrustums = 0;
+        int untested = frustumMask;
+        Region region = getRegion(chunkPos.x >> REGION_SIZE_POWER, chunkPos.y >> REGION_SIZE_POWER, chunkPos.z >> REGION_SIZE_POWER);
+        // Only chunks within a region's bounds can be culled with it
+        if (region != null && region.contains(localIndex(chunkPos))) {
+            classify(region, frustumMask);
+            visibleFrustums = frustumMask & region.insideMask;
+            untested = frustumMask & ~(region.insideMask | region.outsideMask);
+        }
+        while (untested != 0) {
+            int index = Integer.numberOfTrailingZeros(untested);
+            untested &= untested - 1;
+            chunkTests++;
+            if (frustums[index].intersects(chunkBounds, viewPosition)) {
+                visibleFrustums |= 1 << index;
+            }
+        }
+        return visibleFrustums;
+    }
+
+    private void classify(Region region, int frustumMask) {
+        if (region.cullingId != cullingId) {
+            region.cullingId = cullingId;
+            region.classifiedMask = 0;
+            region.insideMask = 0;
+            region.outsideMask = 0;
+        }
+        int unclassified = frustumMask & ~region.classifiedMask;
+        while (unclassified != 0) {
+            int index = Integer.numberOfTrailingZeros(unclassified);
+            unclassified &= unclassified - 1;
+            regionTests++;
+            switch (frustums[index].classify(region.bounds, viewPosition)) {
+                case OUTSIDE:
+                    region.outsideMask |= 1 << index;
+                    break;
+                case INSIDE:
+                    region.insideMask |= 1 << index;
+                    break;
+                default:
+                    break;
+            }
+            region.classifiedMask |= 1 << index;
+        }
+    }
+
+    /**
+     * @return The number of regions tested against a frustum since the last {@link #beginCulling}
+     */
+    public int getRegionTests() {
+        return regionTests;
+    }
+
+    /**
+     * @return The number of chunks tested against a frustum since the last {@link #beginCulling}
+     */
+    public int getChunkTests() {
+        return chunkTests;
+    }
+
+    private Region getRegion(int regionX, int regionY, int regionZ) {
+        Region region = grid[cellIndex(regionX, regionY, regionZ)];
+        if (region != null && region.x == regionX && region.y == regionY && region.z == regionZ) {
+            return region;
+        }
+        return null;
+    }
+
+    private int cellIndex(int regionX, int regionY, int regionZ) {
+        int x = regionX & ((1 << gridBitsX) - 1);
+        int y = regionY & ((1 << gridBitsY) - 1);
+        int z = regionZ & ((1 << gridBitsZ) - 1);
+        return (((x << gridBitsY) | y) << gridBitsZ) | z;
+    }
+
+    /**
+     * Doubles the grid along an axis on which the two regions differ, which separates them and keeps apart any regions
+     * that were.
+     */
+    private void growGrid(Region first, Region second) {
+        if (first.x != second.x && (gridBitsX <= gridBitsZ || first.z == second.z)) {
+            gridBitsX++;
+        } else if (first.z != second.z) {
+            gridBitsZ++;
+        } else {
+            gridBitsY++;
+        }
+        Region[] oldGrid = grid;
+        grid = new Region[1 << (gridBitsX + gridBitsY + gridBitsZ)];
+        for (Region region : oldGrid) {
+            if (region != null) {
+                grid[cellIndex(region.x, region.y, region.z)] = region;
+            }
+        }
+    }
+
+    private static int localIndex(Vector3i chunkPos) {
+        return (chunkPos.x & REGION_MASK) | ((chunkPos.y & REGION_MASK) << REGION_SIZE_POWER)
+                | ((chunkPos.z & REGION_MASK) << (2 * REGION_SIZE_POWER));
+    }
+
+    private static final class Region {
+        private final int x;
+        private final int y;
+        private final int z;
+        private final AABB[] chunkBounds = new AABB[CHUNKS_PER_REGION];
+        private long chunkMask;
+        private AABB bounds;
+
+        // The frustums tested against the bounds during the culling with this id, as bits of frustum masks
+        private int cullingId;
+        private int classifiedMask;
+        private int insideMask;
+        private int outsideMask;
+
+        Region(int x, int y, int z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        void set(int index, AABB chunk) {
+            if (chunk != null) {
+                chunkMask |= 1L << index;
+            } else {
+                chunkMask &= ~(1L << index);
+            }
+            chunkBounds[index] = chunk;
+            bounds = AABB.createEncompassing(Iterables.filter(Arrays.asList(chunkBounds), Objects::nonNull));
+            // Results worked out for the old bounds no longer hold
+            cullingId = 0;
+        }
+
+        boolean contains(int index) {
+            return (chunkMask & (1L << index)) != 0;
+        }
+
+        boolean isEmpty() {
+            return chunkMask == 0;
+        }
+    }
+}
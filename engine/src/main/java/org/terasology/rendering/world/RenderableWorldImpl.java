@@ -22,6 +22,8 @@
 import org.terasology.config.Config;
 import org.terasology.config.RenderingConfig;
 import org.terasology.engine.subsystem.lwjgl.GLBufferPool;
+import org.terasology.logic.players.LocalPlayer;
+import org.terasology.math.ChunkMath;
 import org.terasology.math.Region3i;
 import org.terasology.math.TeraMath;
 import org.terasology.math.geom.Vector3f;
@@ -29,6 +31,7 @@
 import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.registry.CoreRegistry;
 import org.terasology.rendering.cameras.Camera;
+import org.terasology.rendering.cameras.ViewFrustum;
 import org.terasology.rendering.primitives.ChunkMesh;
 import org.terasology.rendering.primitives.ChunkTessellator;
 import org.terasology.rendering.world.viewDistance.ViewDistance;
@@ -54,6 +57,11 @@ class RenderableWorldImpl implements RenderableWorld {
     private static final int MAX_LOADABLE_CHUNKS = ViewDistance.MEGA.getChunkDistance().x * ViewDistance.MEGA.getChunkDistance().y * ViewDistance.MEGA.getChunkDistance().z;
     private static final Vector3f CHUNK_CENTER_OFFSET = new Vector3f(0.5f, 0.5f, 0.5f);
 
+    // Frustum masks for the chunk region culler, in the order the frustums are passed to it
+    private static final int PLAYER_FRUSTUM = 1;
+    private static final int SHADOW_FRUSTUM = 1 << 1;
+    private static final int REFLECTION_FRUSTUM = 1 << 2;
+
     private static final Logger logger = LoggerFactory.getLogger(RenderableWorldImpl.class);
 
     private final int maxChunksForShadows = TeraMath.clamp(CoreRegistry.get(Config.class).getRendering().getMaxChunksUsedForShadowMapping(), 64, 1024);
@@ -64,6 +72,8 @@ class RenderableWorldImpl implements RenderableWorld {
     private ChunkTessellator chunkTessellator;
     private final ChunkMeshUpdateManager chunkMeshUpdateManager;
     private final List<RenderableChunk> chunksInProximityOfCamera = Lists.newArrayListWithCapacity(MAX_LOADABLE_CHUNKS);
+    private final ChunkRegionCuller chunkRegionCuller = new ChunkRegionCuller(3);
+    private final ChunkOcclusionCuller chunkOcclusionCuller = new ChunkOcclusionCuller();
     private Region3i renderableRegion = Region3i.EMPTY;
     private ViewDistance currentViewDistance;
     private RenderQueuesHelper renderQueues;
@@ -76,6 +86,8 @@ class RenderableWorldImpl implements RenderableWorld {
 
     private int statDirtyChunks;
     private int statVisibleChunks;
+    private int statOccludedChunks;
+    private int statLodChunks;
     private int statIgnoredPhases;
 
 
@@ -87,7 +99,9 @@ class RenderableWorldImpl implements RenderableWorld {
         this.worldProvider = worldProvider;
         this.chunkProvider = chunkProvider;
         chunkTessellator = new ChunkTessellator(bufferPool);
+        chunkTessellator.setGreedyMeshing(renderingConfig.isGreedyMeshing());
         chunkMeshUpdateManager = new ChunkMeshUpdateManager(chunkTessellator, worldProvider);
+        chunkMeshUpdateManager.setLodDistance(renderingConfig.getChunkLodDistance());
 
         this.playerCamera = playerCamera;
 
@@ -101,7 +115,10 @@ class RenderableWorldImpl implements RenderableWorld {
     @Override
     public void onChunkLoaded(Vector3i chunkCoordinates) {
         if (renderableRegion.encompasses(chunkCoordinates)) {
-            chunksInProximityOfCamera.add(chunkProvider.getChunk(chunkCoordinates));
+            RenderableChunk chunk = chunkProvider.getChunk(chunkCoordinates);
+            chunksInProximityOfCamera.add(chunk);
+            chunkRegionCuller.add(chunkCoordinates, chunk.getAABB());
+            chunkOcclusionCuller.markDirty();
             Collections.sort(chunksInProximityOfCamera, new ChunkFrontToBackComparator());
         }
     }
@@ -116,6 +133,8 @@ public void onChunkUnloaded(Vector3i chunkCoordinates) {
                 if (chunk.getPosition().equals(chunkCoordinates)) {
                     chunk.disposeMesh();
                     iterator.remove();
+                    chunkRegionCuller.remove(chunkCoordinates);
+                    chunkOcclusionCuller.markDirty();
                     break;
                 }
             }
@@ -135,6 +154,7 @@ public boolean pregenerateChunks() {
         RenderableChunk chunk;
         ChunkMesh newMesh;
         ChunkView localView;
+        chunkMeshUpdateManager.setCameraPosition(playerCamera.getPosition());
         for (Vector3i chunkCoordinates : calculateRenderableRegion(renderingConfig.getViewDistance())) {
             chunk = chunkProvider.getChunk(chunkCoordinates);
             if (chunk == null) {
@@ -146,13 +166,14 @@ public boolean pregenerateChunks() {
                 }
                 chunk.setDirty(false);
 
-                newMesh = chunkTessellator.generateMesh(localView, ChunkConstants.SIZE_Y, 0);
+                newMesh = chunkTessellator.generateMesh(localView, ChunkConstants.SIZE_Y, 0, chunkMeshUpdateManager.getLod(chunkCoordinates));
                 newMesh.generateVBOs();
 
                 if (chunk.hasMesh()) {
                     chunk.getMesh().dispose();
                 }
                 chunk.setMesh(newMesh);
+                chunkOcclusionCuller.markDirty();
 
                 pregenerationIsComplete = false;
                 break;
@@ -202,6 +223,7 @@ public boolean updateChunksInProximity(Region3i newRenderableRegion) {
                     if (chunk.getPosition().equals(chunkPosition)) {
                         chunk.disposeMesh();
                         nearbyChunks.remove();
+                        chunkRegionCuller.remove(chunkPosition);
                         break;
                     }
                 }
@@ -214,6 +236,7 @@ public boolean updateChunksInProximity(Region3i newRenderableRegion) {
                 chunk = chunkProvider.getChunk(chunkPosition);
                 if (chunk != null) {
                     chunksInProximityOfCamera.add(chunk);
+                    chunkRegionCuller.add(chunkPosition, chunk.getAABB());
                     chunksHaveBeenAdded = true;
                 }
             }
@@ -222,6 +245,8 @@ public boolean updateChunksInProximity(Region3i newRenderableRegion) {
                 Collections.sort(chunksInProximityOfCamera, new ChunkFrontToBackComparator());
             }
             renderableRegion = newRenderableRegion;
+            chunkMeshUpdateManager.setRenderableRegion(renderableRegion);
+            chunkOcclusionCuller.markDirty();
             return true;
         }
 
@@ -262,17 +287,26 @@ private Vector3i calcCameraCoordinatesInChunkUnits() {
     public void generateVBOs() {
         PerformanceMonitor.startActivity("Building Mesh VBOs");
         ChunkMesh pendingMesh;
+        chunkMeshUpdateManager.updateStatistics();
         chunkMeshUpdateManager.setCameraPosition(playerCamera.getPosition());
         for (RenderableChunk chunk : chunkMeshUpdateManager.availableChunksForUpdate()) {
 
             if (chunk.hasPendingMesh() && chunksInProximityOfCamera.contains(chunk)) {
                 pendingMesh = chunk.getPendingMesh();
+                if (!pendingMesh.hasAllSections() && !(chunk.hasMesh() && pendingMesh.takeSectionsFrom(chunk.getMesh()))) {
+                    // The sections that were not regenerated cannot be taken from the current mesh, so mesh the whole chunk
+                    pendingMesh.dispose();
+                    chunk.setPendingMesh(null);
+                    chunk.setDirty(true);
+                    continue;
+                }
                 pendingMesh.generateVBOs();
                 if (chunk.hasMesh()) {
                     chunk.getMesh().dispose();
                 }
                 chunk.setMesh(pendingMesh);
                 chunk.setPendingMesh(null);
+                chunkOcclusionCuller.markDirty();
 
             } else {
                 if (chunk.hasPendingMesh()) {
@@ -292,18 +326,39 @@ public int queueVisibleChunks(boolean isFirstRenderingStageForCurrentFrame) {
         PerformanceMonitor.startActivity("Queueing Visible Chunks");
         statDirtyChunks = 0;
         statVisibleChunks = 0;
+        statOccludedChunks = 0;
+        statLodChunks = 0;
         statIgnoredPhases = 0;
 
         int processedChunks = 0;
         int chunkCounter = 0;
         ChunkMesh mesh;
         boolean isDynamicShadows = renderingConfig.isDynamicShadows();
+        Vector3f viewPosition = CoreRegistry.get(LocalPlayer.class).getViewPosition();
+        ViewFrustum shadowFrustum = (shadowMapCamera != null) ? shadowMapCamera.getViewFrustum() : null;
+        chunkRegionCuller.beginCulling(viewPosition, playerCamera.getViewFrustum(), shadowFrustum, playerCamera.getViewFrustumReflected());
+        if (isFirstRenderingStageForCurrentFrame) {
+            chunkOcclusionCuller.update(renderableRegion, chunksInProximityOfCamera, ChunkMath.calcChunkPos(playerCamera.getPosition()));
+        }
 
+        int frustumMask;
+        int visibleFrustums;
         for (RenderableChunk chunk : chunksInProximityOfCamera) {
             if (isChunkValidForRender(chunk)) {
                 mesh = chunk.getMesh();
 
-                if (isDynamicShadows && isFirstRenderingStageForCurrentFrame && chunkCounter < maxChunksForShadows && isChunkVisibleFromMainLight(chunk)) {
+                frustumMask = PLAYER_FRUSTUM | REFLECTION_FRUSTUM;
+                if (isDynamicShadows && isFirstRenderingStageForCurrentFrame && chunkCounter < maxChunksForShadows) {
+                    frustumMask |= SHADOW_FRUSTUM;
+                }
+                visibleFrustums = chunkRegionCuller.getVisibleFrustums(chunk.getPosition(), chunk.getAABB(), frustumMask);
+                // Terrain hidden from the camera can still cast shadows or show up in reflections
+                if ((visibleFrustums & PLAYER_FRUSTUM) != 0 && chunkOcclusionCuller.isOccluded(chunk.getPosition())) {
+                    visibleFrustums &= ~PLAYER_FRUSTUM;
+                    statOccludedChunks++;
+                }
+
+                if ((visibleFrustums & SHADOW_FRUSTUM) != 0) {
                     if (triangleCount(mesh, ChunkMesh.RenderPhase.OPAQUE) > 0) {
                         renderQueues.chunksOpaqueShadow.add(chunk);
                     } else {
@@ -311,7 +366,7 @@ public int queueVisibleChunks(boolean isFirstRenderingStageForCurrentFrame) {
                     }
                 }
 
-                if (isChunkVisible(chunk)) {
+                if ((visibleFrustums & PLAYER_FRUSTUM) != 0) {
                     if (triangleCount(mesh, ChunkMesh.RenderPhase.OPAQUE) > 0) {
                         renderQueues.chunksOpaque.add(chunk);
                     } else {
@@ -339,15 +394,23 @@ public int queueVisibleChunks(boolean isFirstRenderingStageForCurrentFrame) {
                     }
                 }
 
-                if (isChunkVisibleReflection(chunk)) {
+                if ((visibleFrustums & REFLECTION_FRUSTUM) != 0) {
                     renderQueues.chunksOpaqueReflection.add(chunk);
                 }
 
+                if (mesh != null && mesh.getLod() > 0) {
+                    statLodChunks++;
+                }
+
                 // Process all chunks in the area, not only the visible ones
                 if (isFirstRenderingStageForCurrentFrame && (chunk.isDirty() || !chunk.hasMesh())) {
                     statDirtyChunks++;
                     chunkMeshUpdateManager.queueChunkUpdate(chunk);
                     processedChunks++;
+                } else if (isFirstRenderingStageForCurrentFrame && mesh.getLod() != chunkMeshUpdateManager.getLod(chunk.getPosition())) {
+                    // The camera moved closer to or further from the chunk since it was meshed
+                    chunkMeshUpdateManager.queueChunkUpdate(chunk);
+                    processedChunks++;
                 }
             }
             chunkCounter++;
@@ -368,28 +431,13 @@ private int triangleCount(ChunkMesh mesh, ChunkMesh.RenderPhase renderPhase) {
     @Override
     public void dispose() {
         chunkMeshUpdateManager.shutdown();
+        chunkTessellator.dispose();
     }
 
     private boolean isChunkValidForRender(RenderableChunk chunk) {
         return chunk.isReady() && chunk.areAdjacentChunksReady();
     }
 
-    private boolean isChunkVisibleFromMainLight(RenderableChunk chunk) {
-        return isChunkVisible(shadowMapCamera, chunk); //TODO: find an elegant way
-    }
-
-    private boolean isChunkVisible(RenderableChunk chunk) {
-        return isChunkVisible(playerCamera, chunk);
-    }
-
-    private boolean isChunkVisible(Camera camera, RenderableChunk chunk) {
-        return camera.hasInSight(chunk.getAABB());
-    }
-
-    private boolean isChunkVisibleReflection(RenderableChunk chunk) {
-        return playerCamera.getViewFrustumReflected().intersects(chunk.getAABB());
-    }
-
     @Override
     public RenderQueuesHelper getRenderQueues() {
         return renderQueues;
@@ -417,6 +465,22 @@ public String getMetrics() {
         stringToReturn += "Visible Chunks: ";
         stringToReturn += statVisibleChunks;
         stringToReturn += "\n";
+        stringToReturn += "Occluded Chunks: ";
+        stringToReturn += statOccludedChunks;
+        stringToReturn += "\n";
+        stringToReturn += "LOD Chunks: ";
+        stringToReturn += statLodChunks;
+        stringToReturn += "\n";
+        stringToReturn += "Mesh Updates (Queued/Completed/Dropped): ";
+        stringToReturn += chunkMeshUpdateManager.getStatQueuedUpdates() + "/" + chunkMeshUpdateManager.getStatCompletedUpdates()
+                + "/" + chunkMeshUpdateManager.getStatDroppedUpdates();
+        stringToReturn += "\n";
+        stringToReturn += "Pending Mesh Updates: ";
+        stringToReturn += chunkMeshUpdateManager.getPendingUpdates();
+        stringToReturn += "\n";
+        stringToReturn += "Mesh Update Latency: ";
+        stringToReturn += String.format("%.1f ms", chunkMeshUpdateManager.getStatUpdateLatency());
+        stringToReturn += "\n";
         return stringToReturn;
     }
 
@@ -15,16 +15,18 @@
  */
 package org.terasology.utilities.tree;
 
-import com.google.common.collect.Ordering;
-import com.google.common.collect.TreeMultimap;
+import com.google.common.collect.Lists;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.NavigableSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * A data structure that allows to add, remove and find nearest nodes in an N-dimensional space.
@@ -37,6 +39,10 @@
  * This allows to prefer a specific axis (i.e. objects above/below have higher priority than front/back or sides) or
  * it might have some other applications. Please note, that if it is used, the distance returned in an "Entry" is
  * according to the DistanceFunction.
+ * <br><br>
+ * Any number of threads may search the tree at once, while adding and removing values waits for searches to finish.
+ * Searches that pass in a {@link Nearest} do not allocate once it has grown to the requested count, and a tree built
+ * from many values at once with {@link #addAll(float[], List)} is balanced around the medians of their positions.
  *
  * @param <T> The type of object stored as a value in this SpaceTree.
  */
@@ -49,6 +55,9 @@
     private final int subNodeCount;
     private final DistanceFunction distanceFunction;
 
+    private final Lock readLock;
+    private final Lock writeLock;
+
     private Node rootNode;
 
     /**
@@ -90,6 +99,10 @@ public SpaceTree(int dimensions, int bucketSize, DistanceFunction distanceFuncti
             subNodes *= 2;
         }
         subNodeCount = subNodes;
+
+        ReadWriteLock lock = new ReentrantReadWriteLock();
+        readLock = lock.readLock();
+        writeLock = lock.writeLock();
     }
 
     /**
@@ -105,12 +118,63 @@ public T add(float[] position, T value) {
             throw new IllegalArgumentException("Value cannot be null");
         }
 
+        writeLock.lock();
+        try {
+            return addToTree(position, value);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds many values at once. If the tree is empty, it is built top down: each node is centered on the value closest
+     * to the per axis medians of the positions it holds, which keeps the tree balanced however the values are ordered.
+     * Otherwise the values are added one by one. If several values share a position, the last of them is kept.
+     *
+     * @param positions The positions of the values, one after the other, each made up of the coordinates of every dimension
+     * @param values    The values to add
+     */
+    public void addAll(float[] positions, List<T> values) {
+        if (positions == null || positions.length != values.size() * dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " coordinates for every value");
+        }
+        for (T value : values) {
+            if (value == null) {
+                throw new IllegalArgumentException("Value cannot be null");
+            }
+        }
+
+        writeLock.lock();
+        try {
+            if (rootNode == null) {
+                if (!values.isEmpty()) {
+                    int[] indices = new int[values.size()];
+                    for (int i = 0; i < indices.length; i++) {
+                        indices[i] = i;
+                    }
+                    float[] min = new float[dimensions];
+                    float[] max = new float[dimensions];
+                    Arrays.fill(min, -Float.MAX_VALUE);
+                    Arrays.fill(max, Float.MAX_VALUE);
+                    rootNode = buildNode(positions, values, indices, indices.length, min, max);
+                }
+            } else {
+                for (int i = 0; i < values.size(); i++) {
+                    addToTree(Arrays.copyOfRange(positions, i * dimensions, (i + 1) * dimensions), values.get(i));
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private T addToTree(float[] position, T value) {
         if (rootNode == null) {
             // Create a new node and make it root
             float[] min = new float[dimensions];
             float[] max = new float[dimensions];
             for (int i = 0; i < dimensions; i++) {
-                min[i] = Float.MIN_VALUE;
+                min[i] = -Float.MAX_VALUE;
                 max[i] = Float.MAX_VALUE;
             }
             rootNode = createNewNode(position, min, max, value);
@@ -131,6 +195,15 @@ public T add(float[] position, T value) {
     public T remove(float[] position) {
         validatePosition(position);
 
+        writeLock.lock();
+        try {
+            return removeFromTree(position);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private T removeFromTree(float[] position) {
         if (rootNode == null) {
             return null;
         } else { // If the node to be removed is not a leaf, then reattach the tree so the removed node's children remain in the tree
@@ -185,12 +258,43 @@ public Collection<Entry<T>> findNearest(float[] position, int count, float withi
             throw new IllegalArgumentException("Within cannot be smaller than 0");
         }
 
-        if (rootNode == null) {
+        Nearest<T> nearest = new Nearest<>();
+        findNearest(position, count, within, nearest);
+        if (nearest.size() == 0) {
             return Collections.emptyList();
-        } else {
-            TreeSearch<T> treeSearch = new TreeSearch<>(within, count);
-            executeSearchInNode(position, rootNode, treeSearch);
-            return Collections.unmodifiableCollection(treeSearch.results.values());
+        }
+        List<Entry<T>> result = Lists.newArrayListWithCapacity(nearest.size());
+        for (int i = 0; i < nearest.size(); i++) {
+            result.add(new Entry<>(nearest.getDistance(i), nearest.getValue(i)));
+        }
+        return Collections.unmodifiableCollection(result);
+    }
+
+    /**
+     * Finds the values nearest to a position, without allocating once the result has grown to hold 'count' values.
+     *
+     * @param position The position to search around
+     * @param count    The maximum number of values to find
+     * @param within   The maximum distance of the values from the position
+     * @param result   Replaced with the values found, nearest first
+     */
+    public void findNearest(float[] position, int count, float within, Nearest<T> result) {
+        validatePosition(position);
+        if (count < 1) {
+            throw new IllegalArgumentException("Count cannot be smaller than 1");
+        }
+        if (within < 0) {
+            throw new IllegalArgumentException("Within cannot be smaller than 0");
+        }
+
+        result.reset(count, within);
+        readLock.lock();
+        try {
+            if (rootNode != null) {
+                executeSearchInNode(position, rootNode, result);
+            }
+        } finally {
+            readLock.unlock();
         }
     }
 
@@ -199,32 +303,183 @@ public Collection<Entry<T>> findNearest(float[] position, int count, float withi
      *
      * @param position     The position of the node
      * @param node         The node to be searched around
-     * @param treeSearch   The treeSearch object for searching
+     * @param nearest      The values found so far
      */
-    private void executeSearchInNode(float[] position, Node node, TreeSearch<T> treeSearch) {
+    private void executeSearchInNode(float[] position, Node node, Nearest<T> nearest) {
         if (node.center != null) {
             // This is not a leaf
-            float distance = distanceFunction.getDistance(position, node.center);
-            if (distance <= treeSearch.maxDistance) {
-                treeSearch.addEntry(new Entry<>(distance, node.centerValue));
-            }
+            nearest.offer(distanceFunction.getDistance(position, node.center), node.centerValue);
 
-            for (Node subNode : node.subNodes) {
+            // Search the sub node holding the position first, so the search narrows down as early as possible
+            int firstSubNodeIndex = Math.max(0, getSubNodeIndex(position, node.center));
+            for (int i = 0; i < subNodeCount; i++) {
+                Node subNode = node.subNodes[i ^ firstSubNodeIndex];
                 if (subNode != null) {
-                    if (distanceFunction.getPointRegionDistance(position, subNode.minValues, subNode.maxValues) <= treeSearch.maxDistance) {
-                        executeSearchInNode(position, subNode, treeSearch);
+                    if (distanceFunction.getPointRegionDistance(position, subNode.minValues, subNode.maxValues) <= nearest.maxDistance) {
+                        executeSearchInNode(position, subNode, nearest);
                     }
                 }
             }
         } else {
             // This is a leaf so need to check bucket
             for (NodeEntry<T> nodeEntry : node.nodeBucket) {
-                float distance = distanceFunction.getDistance(nodeEntry.position, position);
-                if (distance <= treeSearch.maxDistance) {
-                    treeSearch.addEntry(new Entry<>(distance, nodeEntry.value));
+                nearest.offer(distanceFunction.getDistance(nodeEntry.position, position), nodeEntry.value);
+            }
+        }
+    }
+
+    /**
+     * Builds the subtree holding the given values.
+     *
+     * @param positions All positions being added
+     * @param values    All values being added
+     * @param indices   The indices of the values to place in this subtree, which may be reordered
+     * @param count     The number of indices to use
+     * @param min       The minimal position of the subtree
+     * @param max       The maximal position of the subtree
+     * @return The root node of the subtree
+     */
+    private Node buildNode(float[] positions, List<T> values, int[] indices, int count, float[] min, float[] max) {
+        Node node = new Node(min, max);
+        if (count <= bucketSize) {
+            for (int i = 0; i < count; i++) {
+                addToBucket(node, Arrays.copyOfRange(positions, indices[i] * dimensions, (indices[i] + 1) * dimensions), values.get(indices[i]));
+            }
+            return node;
+        }
+
+        // Center the node on the value closest to the medians, and keep the last value at that exact position
+        float[] median = new float[dimensions];
+        float[] coordinates = new float[count];
+        for (int axis = 0; axis < dimensions; axis++) {
+            for (int i = 0; i < count; i++) {
+                coordinates[i] = positions[indices[i] * dimensions + axis];
+            }
+            median[axis] = select(coordinates, count, count / 2);
+        }
+        int centerIndex = indices[0];
+        float centerDistance = Float.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            float distance = squaredDistanceAt(positions, indices[i], median);
+            if (distance < centerDistance) {
+                centerIndex = indices[i];
+                centerDistance = distance;
+            }
+        }
+        float[] center = Arrays.copyOfRange(positions, centerIndex * dimensions, (centerIndex + 1) * dimensions);
+        node.nodeBucket = null;
+        node.center = center;
+        node.subNodes = new SpaceTree.Node[subNodeCount];
+
+        int[] subNodeSizes = new int[subNodeCount];
+        int[] subNodeIndices = new int[count];
+        for (int i = 0; i < count; i++) {
+            int subNodeIndex = getSubNodeIndexAt(positions, indices[i], center);
+            subNodeIndices[i] = subNodeIndex;
+            if (subNodeIndex == -1) {
+                if (node.centerValue == null || indices[i] > centerIndex) {
+                    node.centerValue = values.get(indices[i]);
+                    centerIndex = indices[i];
                 }
+            } else {
+                subNodeSizes[subNodeIndex]++;
             }
         }
+        for (int subNodeIndex = 0; subNodeIndex < subNodeCount; subNodeIndex++) {
+            if (subNodeSizes[subNodeIndex] == 0) {
+                continue;
+            }
+            int[] subIndices = new int[subNodeSizes[subNodeIndex]];
+            int subCount = 0;
+            for (int i = 0; i < count; i++) {
+                if (subNodeIndices[i] == subNodeIndex) {
+                    subIndices[subCount++] = indices[i];
+                }
+            }
+            float[] subMin = new float[dimensions];
+            float[] subMax = new float[dimensions];
+            for (int axis = 0; axis < dimensions; axis++) {
+                if ((subNodeIndex & (1 << axis)) != 0) {
+                    subMin[axis] = center[axis];
+                    subMax[axis] = max[axis];
+                } else {
+                    subMin[axis] = min[axis];
+                    subMax[axis] = center[axis];
+                }
+            }
+            node.subNodes[subNodeIndex] = buildNode(positions, values, subIndices, subCount, subMin, subMax);
+        }
+        return node;
+    }
+
+    private float squaredDistanceAt(float[] positions, int index, float[] point) {
+        float result = 0;
+        for (int axis = 0; axis < dimensions; axis++) {
+            float diff = positions[index * dimensions + axis] - point[axis];
+            result += diff * diff;
+        }
+        return result;
+    }
+
+    private int getSubNodeIndexAt(float[] positions, int index, float[] center) {
+        int result = 0;
+        int increment = 1;
+        boolean atCenter = true;
+        for (int axis = 0; axis < dimensions; axis++) {
+            float coordinate = positions[index * dimensions + axis];
+            if (coordinate > center[axis]) {
+                result += increment;
+            }
+            atCenter &= coordinate == center[axis];
+            increment *= 2;
+        }
+        return atCenter ? -1 : result;
+    }
+
+    /**
+     * Partially sorts the values so that the one at index k is in its sorted place, and returns it.
+     */
+    private static float select(float[] values, int count, int k) {
+        int left = 0;
+        int right = count - 1;
+        while (left < right) {
+            float pivot = values[(left + right) >>> 1];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    float swap = values[i];
+                    values[i] = values[j];
+                    values[j] = swap;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                break;
+            }
+        }
+        return values[k];
+    }
+
+    private void addToBucket(Node node, float[] position, T value) {
+        for (NodeEntry<T> nodeEntry : node.nodeBucket) {
+            if (distanceFunction.getDistance(nodeEntry.position, position) == 0) {
+                nodeEntry.value = value;
+                return;
+            }
+        }
+        node.nodeBucket.add(new NodeEntry<>(position, value));
     }
 
     /**
@@ -270,6 +525,9 @@ private T removeFromSubNodeOfNode(float[] position, Node node, int subNodeIndex)
                             return nodeEntry.value;
                         }
                     }
+
+                    // It was not found in this leaf's bucket
+                    return null;
                 }
             }
         }
@@ -283,17 +541,28 @@ private T removeFromSubNodeOfNode(float[] position, Node node, int subNodeIndex)
      */
     private void addAllFromNode(Node nodeToAddFrom, Node nodeToAddTo) {
         if (nodeToAddFrom != null) {
-            if (nodeToAddTo == null) {
-                add(nodeToAddFrom.center, nodeToAddFrom.centerValue);
+            if (nodeToAddFrom.center != null) {
+                addToTreeOrNode(nodeToAddFrom.center, nodeToAddTo, nodeToAddFrom.centerValue);
+                for (Node subNode : nodeToAddFrom.subNodes) {
+                    addAllFromNode(subNode, nodeToAddTo);
+                }
             } else {
-                addToNode(nodeToAddFrom.center, nodeToAddTo, nodeToAddFrom.centerValue);
-            }
-            for (Node subNode : nodeToAddFrom.subNodes) {
-                addAllFromNode(subNode, nodeToAddTo);
+                // A leaf only holds the values in its bucket
+                for (NodeEntry<T> nodeEntry : nodeToAddFrom.nodeBucket) {
+                    addToTreeOrNode(nodeEntry.position, nodeToAddTo, nodeEntry.value);
+                }
             }
         }
     }
 
+    private void addToTreeOrNode(float[] position, Node node, T value) {
+        if (node == null) {
+            addToTree(position, value);
+        } else {
+            addToNode(position, node, value);
+        }
+    }
+
     /**
      * A method used to add a node with a value to another existing node.
      *
@@ -344,7 +613,7 @@ private T addToNode(float[] position, Node node, T value) {
                     }
                 }
 
-                processedNode.nodeBucket.add(new NodeEntry<>(position, value));
+                processedNode.nodeBucket.add(new NodeEntry<>(Arrays.copyOf(position, dimensions), value));
                 if (processedNode.nodeBucket.size() > bucketSize) {
                     processedNode.splitNode();
                 }
@@ -404,49 +673,77 @@ private void validatePosition(float[] position) {
     }
 
     /**
-     * The class that is responsible for searching the SpaceTree
+     * The values found by a search, nearest first. Can be reused between searches, including searches of other trees,
+     * but not by several threads at once.
+     *
+     * @param <T> The type of the values found
      */
-    private static final class TreeSearch<T> {
+    public static final class Nearest<T> {
+        private Object[] values = new Object[0];
+        private float[] distances = new float[0];
+        private int size;
+        private int capacity;
         private float maxDistance;
-        private int maxCapacity;
 
-        private TreeMultimap<Float, Entry<T>> results = TreeMultimap.create(
-                new Comparator<Float>() {
-                    @Override
-                    public int compare(Float o1, Float o2) {
-                        return o1.compareTo(o2);
-                    }
-                }, Ordering.arbitrary());
+        /**
+         * @return The number of values found
+         */
+        public int size() {
+            return size;
+        }
 
         /**
-         * Constructor for the TreeSearch object.
-         *
-         * @param maxDistance   The max distance of the TreeSearch object will search
-         * @param maxCapacity   The maximum capacity of the TreeSearch object for nodes
+         * @param index The rank of the value, 0 being the nearest
+         * @return The value
          */
-        private TreeSearch(float maxDistance, int maxCapacity) {
-            this.maxDistance = maxDistance;
-            this.maxCapacity = maxCapacity;
+        @SuppressWarnings("unchecked")
+        public T getValue(int index) {
+            if (index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+            }
+            return (T) values[index];
         }
 
         /**
-         * Adds an object to the results of the search as long as maxCapacity nor maxDistance is not exceeded.
-         *
-         * @param entry     The object to add to the results of the search
+         * @param index The rank of the value, 0 being the nearest
+         * @return The distance of the value from the searched position
          */
-        void addEntry(Entry<T> entry) {
-            results.put(entry.distance, entry);
-            int size = results.size();
-            if (size > maxCapacity) { //Removes some entries if maxCapacity is exceeded
-                Float maxDistanceInResults = results.keySet().last();
-                NavigableSet<Entry<T>> entriesAtThisDistance = results.get(maxDistanceInResults);
-                entriesAtThisDistance.pollLast();
-                if (entriesAtThisDistance.size() == 0) {
-                    results.removeAll(maxDistanceInResults);
-                }
-                maxDistance = results.keySet().last();
-            } else if (size == maxCapacity) { //If the size is at maxCapacity, then set maxDistance to the distance of the last entry
-                maxDistance = results.keySet().last();
+        public float getDistance(int index) {
+            if (index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+            }
+            return distances[index];
+        }
+
+        private void reset(int newCapacity, float within) {
+            if (values.length < newCapacity) {
+                values = new Object[newCapacity];
+                distances = new float[newCapacity];
+            } else {
+                Arrays.fill(values, 0, size, null);
+            }
+            size = 0;
+            capacity = newCapacity;
+            maxDistance = within;
+        }
+
+        /**
+         * Adds a value to the results if it is closer than the furthest found so far, and narrows the search once full.
+         */
+        private void offer(float distance, T value) {
+            if (distance > maxDistance || (size == capacity && distance >= distances[size - 1])) {
+                return;
+            }
+            int index = (size == capacity) ? size - 1 : size++;
+            while (index > 0 && distances[index - 1] > distance) {
+                values[index] = values[index - 1];
+                distances[index] = distances[index - 1];
+                index--;
+            }
+            values[index] = value;
+            distances[index] = distance;
+            if (size == capacity) {
+                maxDistance = distances[size - 1];
             }
         }
     }
@@ -496,6 +793,18 @@ private Node(float[] position, T value, float[] minValues, float[] maxValues) {
             this.maxValues = maxValues;
         }
 
+        /**
+         * Constructor for an empty leaf node.
+         *
+         * @param minValues     The minimum values of the node in terms of position
+         * @param maxValues     The maximum values of the node in terms of position
+         */
+        private Node(float[] minValues, float[] maxValues) {
+            nodeBucket = new HashSet<>();
+            this.minValues = minValues;
+            this.maxValues = maxValues;
+        }
+
         /**
          * Splits the node into two nodes to help maintain order within the tree.
          */
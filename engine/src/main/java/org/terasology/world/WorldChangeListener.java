@@ -19,6 +19,10 @@
 import org.terasology.math.geom.Vector3i;
 import org.terasology.world.biomes.Biome;
 import org.terasology.world.block.Block;
+import org.terasology.world.liquid.LiquidData;
+import org.terasology.world.propagation.BlockChange;
+
+import java.util.Collection;
 
 /**
  */
@@ -26,6 +30,29 @@ public interface WorldChangeListener {
 
     void onBlockChanged(Vector3i pos, Block newBlock, Block originalBlock);
 
+    /**
+     * Notifies of a batch of block changes within a single chunk, as made by an asynchronous bulk edit.
+     * By default each change is forwarded to {@link #onBlockChanged(Vector3i, Block, Block)}.
+     *
+     * @param chunkPos The position of the chunk the changes were made in
+     * @param changes  The changes made in the chunk
+     */
+    default void onBlocksChanged(Vector3i chunkPos, Collection<BlockChange> changes) {
+        for (BlockChange change : changes) {
+            onBlockChanged(change.getPosition(), change.getTo(), change.getFrom());
+        }
+    }
+
     void onBiomeChanged(Vector3i pos, Biome newBiome, Biome originalBiome);
 
+    /**
+     * Notifies of a change to the liquid state of a block. Does nothing by default.
+     *
+     * @param pos           The position of the block
+     * @param newState      The liquid state of the block now
+     * @param originalState The liquid state of the block before
+     */
+    default void onLiquidChanged(Vector3i pos, LiquidData newState, LiquidData originalState) {
+    }
+
 }
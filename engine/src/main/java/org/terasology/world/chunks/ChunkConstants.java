@@ -49,6 +49,11 @@ public final class ChunkConstants {
 
     public static final Vector3i LOCAL_REGION_EXTENTS = new Vector3i(1, 1, 1);
 
+    // Chunk meshes are generated in vertical sections of this many blocks, so that a change only regenerates the sections around it
+    public static final int MESH_SECTION_HEIGHT = 16;
+    public static final int MESH_SECTIONS = SIZE_Y / MESH_SECTION_HEIGHT;
+    public static final int ALL_MESH_SECTIONS = (1 << MESH_SECTIONS) - 1;
+
     private ChunkConstants() {
     }
 }
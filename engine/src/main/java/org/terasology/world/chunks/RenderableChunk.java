@@ -28,6 +28,34 @@ public interface RenderableChunk extends LitChunk {
 
     void setDirty(boolean dirty);
 
+    /**
+     * Marks the mesh sections holding any of the given block heights as dirty, which makes the chunk dirty.
+     *
+     * @param minY The lowest block height relative to the chunk, heights outside the chunk are ignored
+     * @param maxY The highest block height relative to the chunk
+     */
+    void setDirtySections(int minY, int maxY);
+
+    /**
+     * Clears the dirty flag.
+     *
+     * @return The mesh sections that were dirty, as bits by section index, see {@link ChunkConstants#MESH_SECTION_HEIGHT}
+     */
+    int takeDirtySections();
+
+    /**
+     * Marks that a block that blocks sight was placed or removed, so that the next mesh of the chunk recalculates
+     * which of its faces can see each other, see {@link org.terasology.rendering.primitives.ChunkVisibility}.
+     */
+    void setVisibilityDirty();
+
+    /**
+     * Clears the visibility dirty flag.
+     *
+     * @return Whether the visibility of the chunk was dirty
+     */
+    boolean takeVisibilityDirty();
+
     AABB getAABB();
 
     void setMesh(ChunkMesh newMesh);
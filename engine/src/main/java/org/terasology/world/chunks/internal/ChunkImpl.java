@@ -43,6 +43,8 @@
 import org.terasology.world.liquid.LiquidData;
 
 import java.text.DecimalFormat;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Chunks are the basic components of the world. Each chunk contains a fixed amount of blocks
@@ -81,7 +83,9 @@ public class ChunkImpl implements Chunk {
 
     private boolean disposed;
     private boolean ready;
-    private volatile boolean dirty;
+    // The mesh sections that need to be regenerated, as bits by section index
+    private final AtomicInteger dirtySections = new AtomicInteger(ChunkConstants.ALL_MESH_SECTIONS);
+    private final AtomicBoolean visibilityDirty = new AtomicBoolean();
     private boolean animated;
 
     // Rendering
@@ -109,7 +113,6 @@ public ChunkImpl(Vector3i chunkPos, TeraArray blocks, TeraArray liquid, TeraArra
         sunlightData = new TeraDenseArray8Bit(getChunkSizeX(), getChunkSizeY(), getChunkSizeZ());
         sunlightRegenData = new TeraDenseArray8Bit(getChunkSizeX(), getChunkSizeY(), getChunkSizeZ());
         lightData = new TeraDenseArray8Bit(getChunkSizeX(), getChunkSizeY(), getChunkSizeZ());
-        dirty = true;
         this.blockManager = blockManager;
         this.biomeManager = biomeManager;
         region = Region3i.createFromMinAndSize(new Vector3i(chunkPos.x * ChunkConstants.SIZE_X, chunkPos.y * ChunkConstants.SIZE_Y, chunkPos.z * ChunkConstants.SIZE_Z),
@@ -124,12 +127,38 @@ public Vector3i getPosition() {
 
     @Override
     public boolean isDirty() {
-        return dirty;
+        return dirtySections.get() != 0;
     }
 
     @Override
     public void setDirty(boolean dirty) {
-        this.dirty = dirty;
+        dirtySections.set(dirty ? ChunkConstants.ALL_MESH_SECTIONS : 0);
+    }
+
+    @Override
+    public void setDirtySections(int minY, int maxY) {
+        if (maxY < 0 || minY >= ChunkConstants.SIZE_Y || minY > maxY) {
+            return;
+        }
+        int minSection = Math.max(minY, 0) / ChunkConstants.MESH_SECTION_HEIGHT;
+        int maxSection = Math.min(maxY, ChunkConstants.SIZE_Y - 1) / ChunkConstants.MESH_SECTION_HEIGHT;
+        int sections = ((1 << (maxSection + 1)) - 1) & ~((1 << minSection) - 1);
+        dirtySections.getAndAccumulate(sections, (current, added) -> current | added);
+    }
+
+    @Override
+    public int takeDirtySections() {
+        return dirtySections.getAndSet(0);
+    }
+
+    @Override
+    public void setVisibilityDirty() {
+        visibilityDirty.set(true);
+    }
+
+    @Override
+    public boolean takeVisibilityDirty() {
+        return visibilityDirty.getAndSet(false);
     }
 
     @Override
@@ -37,6 +37,7 @@
 import org.terasology.world.chunks.ChunkConstants;
 import org.terasology.world.chunks.ChunkProvider;
 import org.terasology.world.chunks.ChunkRegionListener;
+import org.terasology.world.chunks.event.BeforeChunkUnload;
 import org.terasology.world.chunks.event.OnChunkLoaded;
 import org.terasology.world.chunks.internal.GeneratingChunkProvider;
 import org.terasology.world.chunks.pipeline.AbstractChunkTask;
@@ -86,6 +87,12 @@ public void subscribe(ChunkReadyListener chunkReadyListener) {
         this.listener = chunkReadyListener;
     }
 
+    /**
+     * Lights a chunk received from the server and makes it available. A chunk that replaces one already present is
+     * not available until it has been lit and merged with its neighbours, so it is missing from the world until then.
+     *
+     * @param chunk
+     */
     public void receiveChunk(final Chunk chunk) {
         pipeline.doTask(new AbstractChunkTask(chunk.getPosition()) {
             @Override
@@ -104,8 +111,12 @@ public void run() {
 
     public void invalidateChunks(Vector3i pos) {
         Chunk removed = chunkCache.remove(pos);
-        if (removed != null && !removed.isReady()) {
-            sortedReadyChunks.remove(removed);
+        if (removed != null) {
+            if (removed.isReady()) {
+                worldEntity.send(new BeforeChunkUnload(pos));
+            } else {
+                sortedReadyChunks.remove(removed);
+            }
         }
 
     }
@@ -18,6 +18,7 @@
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.math.Region3i;
 import org.terasology.math.geom.Vector3i;
@@ -102,6 +103,11 @@ public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
         return base.setBlocks(blocks);
     }
 
+    @Override
+    public CompletableFuture<Map<Vector3i, Block>> setBlocksAsync(Map<Vector3i, Block> blocks) {
+        return base.setBlocksAsync(blocks);
+    }
+
     @Override
     public boolean setLiquid(int x, int y, int z, LiquidData newState, LiquidData oldState) {
         return base.setLiquid(x, y, z, newState, oldState);
@@ -61,6 +61,7 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 public class EntityAwareWorldProvider extends AbstractWorldProviderDecorator implements BlockEntityRegistry, UpdateSubscriberSystem, EntityChangeSubscriber {
     private static final Logger logger = LoggerFactory.getLogger(EntityAwareWorldProvider.class);
@@ -138,6 +139,44 @@ public final Block setBlockRetainComponent(Vector3i pos, Block type, Class<? ext
         return null;
     }
 
+    /**
+     * Block entities are updated once the edit has been applied. Unlike {@link #setBlock(Vector3i, Block)}, temporary
+     * block entities are not created for edited positions; block entities are only created where the new block needs
+     * a persistent one.
+     */
+    @Override
+    public CompletableFuture<Map<Vector3i, Block>> setBlocksAsync(Map<Vector3i, Block> blocks) {
+        Map<Vector3i, Block> newBlocks = Maps.newHashMap(blocks);
+        return super.setBlocksAsync(newBlocks).thenApply(oldBlocks -> {
+            if (!GameThread.isCurrentThread()) {
+                logger.error("Bulk block edit completed outside the game thread, block entities not updated");
+                return oldBlocks;
+            }
+            for (Map.Entry<Vector3i, Block> entry : oldBlocks.entrySet()) {
+                Vector3i pos = entry.getKey();
+                Block oldType = entry.getValue();
+                Block type = newBlocks.get(pos);
+                if (oldType == null || oldType == type) {
+                    continue;
+                }
+                EntityRef blockEntity = blockEntityLookup.get(pos);
+                if (blockEntity == null && needsBlockEntity(type)) {
+                    // Created as the old block, so it is transformed just as if it had existed before the edit
+                    blockEntity = createBlockEntity(pos, oldType);
+                }
+                if (blockEntity != null) {
+                    updateBlockEntity(blockEntity, pos, oldType, type, false, Collections.<Class<? extends Component>>emptySet());
+                } else {
+                    EntityRef regionEntity = blockRegionLookup.get(pos);
+                    if (regionEntity != null) {
+                        regionEntity.send(new OnChangedBlock(pos, type, oldType));
+                    }
+                }
+            }
+            return oldBlocks;
+        });
+    }
+
     private void updateBlockEntity(EntityRef blockEntity, Vector3i pos, Block oldType, Block type,
                                    boolean forceEntityUpdate, Set<Class<? extends Component>> retainComponents) {
         if (type.isKeepActive()) {
@@ -198,6 +237,10 @@ public EntityRef getBlockEntityAt(Vector3i blockPosition) {
         return EntityRef.NULL;
     }
 
+    private boolean needsBlockEntity(Block block) {
+        return block.isKeepActive() || block.getPrefab().map(prefab -> !isTemporaryBlock(prefab, block)).orElse(false);
+    }
+
     private boolean isTemporaryBlock(ComponentContainer entity, Block block) {
         return isTemporaryBlock(entity, block, null);
     }
@@ -27,6 +27,7 @@
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Provides the basic interface for all world providers.
@@ -123,6 +124,21 @@ default Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
         return resultMap;
     }
 
+    /**
+     * Places all given blocks of specific types at their corresponding positions, without blocking the caller.
+     * <p>
+     * Blocks may be placed over several ticks on the main thread, grouped by chunk, with listeners notified for each
+     * changed chunk via {@link WorldChangeListener#onBlocksChanged(Vector3i, Collection)}. Large edits of a chunk may be
+     * split over several notifications. A block set through other means while the edit is pending is overwritten by
+     * the edit.
+     *
+     * @param blocks A mapping from world position to change to the type of block to set
+     * @return A future of the mapping from world position to previous block type, completing on the main thread once
+     * lighting has been propagated for the changes. Values are Null where the chunk was not loaded.
+     */
+    default CompletableFuture<Map<Vector3i, Block>> setBlocksAsync(Map<Vector3i, Block> blocks) {
+        return CompletableFuture.completedFuture(setBlocks(blocks));
+    }
 
 
     /**
@@ -21,6 +21,8 @@
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Queues;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.terasology.context.Context;
 import org.terasology.engine.SimpleUri;
 import org.terasology.entitySystem.entity.EntityManager;
@@ -28,12 +30,14 @@
 import org.terasology.math.ChunkMath;
 import org.terasology.math.Region3i;
 import org.terasology.math.geom.Vector3i;
+import org.terasology.rendering.primitives.ChunkVisibility;
 import org.terasology.world.WorldChangeListener;
 import org.terasology.world.WorldComponent;
 import org.terasology.world.biomes.Biome;
 import org.terasology.world.biomes.BiomeManager;
 import org.terasology.world.block.Block;
 import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
 import org.terasology.world.chunks.ChunkProvider;
 import org.terasology.world.chunks.CoreChunk;
 import org.terasology.world.chunks.LitChunk;
@@ -44,9 +48,9 @@
 import org.terasology.world.propagation.BatchPropagator;
 import org.terasology.world.propagation.BiomeChange;
 import org.terasology.world.propagation.BlockChange;
+import org.terasology.world.propagation.ParallelBatchPropagator;
 import org.terasology.world.propagation.PropagationRules;
 import org.terasology.world.propagation.PropagatorWorldView;
-import org.terasology.world.propagation.StandardBatchPropagator;
 import org.terasology.world.propagation.SunlightRegenBatchPropagator;
 import org.terasology.world.propagation.light.LightPropagationRules;
 import org.terasology.world.propagation.light.LightWorldView;
@@ -58,17 +62,28 @@
 import org.terasology.world.time.WorldTimeImpl;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  */
 public class WorldProviderCoreImpl implements WorldProviderCore {
 
+    /**
+     * The number of blocks of asynchronous bulk edits placed per tick, along with their listener notifications and
+     * propagation. Larger edits are spread over several ticks, a slice of a chunk at a time.
+     */
+    private static final int ASYNC_BLOCKS_PER_TICK = 4096;
+
     private String title;
     private String seed = "";
     private SimpleUri worldGenerator;
@@ -82,6 +97,9 @@ public class WorldProviderCoreImpl implements WorldProviderCore {
     private Map<Vector3i, BlockChange> blockChanges = Maps.newHashMap();
     private Map<Vector3i, BiomeChange> biomeChanges = Maps.newHashMap();
     private List<BatchPropagator> propagators = Lists.newArrayList();
+    private final Queue<ChunkEdit> pendingChunkEdits = Queues.newConcurrentLinkedQueue();
+    private ExecutorService propagationExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+            new ThreadFactoryBuilder().setNameFormat("Propagation-%d").setDaemon(true).build());
 
     private Block unloadedBlock;
 
@@ -98,11 +116,11 @@ public WorldProviderCoreImpl(String title, String seed, long time, SimpleUri wor
         this.worldTime = new WorldTimeImpl();
         worldTime.setMilliseconds(time);
 
-        propagators.add(new StandardBatchPropagator(new LightPropagationRules(), new LightWorldView(chunkProvider)));
+        propagators.add(new ParallelBatchPropagator(new LightPropagationRules(), new LightWorldView(chunkProvider), propagationExecutor));
         PropagatorWorldView regenWorldView = new SunlightRegenWorldView(chunkProvider);
         PropagationRules sunlightRules = new SunlightPropagationRules(regenWorldView);
         PropagatorWorldView sunlightWorldView = new SunlightWorldView(chunkProvider);
-        BatchPropagator sunlightPropagator = new StandardBatchPropagator(sunlightRules, sunlightWorldView);
+        BatchPropagator sunlightPropagator = new ParallelBatchPropagator(sunlightRules, sunlightWorldView, propagationExecutor);
         propagators.add(new SunlightRegenBatchPropagator(new SunlightRegenPropagationRules(), regenWorldView, sunlightPropagator, sunlightWorldView));
         propagators.add(sunlightPropagator);
     }
@@ -139,10 +157,27 @@ public WorldInfo getWorldInfo() {
 
     @Override
     public void processPropagation() {
+        List<BulkEdit> appliedEdits = Lists.newArrayList();
+        int remainingBlocks = ASYNC_BLOCKS_PER_TICK;
+        ChunkEdit chunkEdit;
+        while (remainingBlocks > 0 && (chunkEdit = pendingChunkEdits.peek()) != null) {
+            remainingBlocks -= applyChunkEdit(chunkEdit, remainingBlocks);
+            if (!chunkEdit.remainingBlocks.hasNext()) {
+                pendingChunkEdits.poll();
+                if (chunkEdit.bulkEdit.chunkApplied()) {
+                    appliedEdits.add(chunkEdit.bulkEdit);
+                }
+            }
+        }
+
         for (BatchPropagator propagator : propagators) {
             propagator.process(blockChanges.values());
         }
         blockChanges.clear();
+
+        for (BulkEdit edit : appliedEdits) {
+            edit.result.complete(edit.oldBlocks);
+        }
     }
 
     @Override
@@ -202,12 +237,7 @@ public Block setBlock(Vector3i worldPos, Block type) {
                 } else {
                     oldChange.setTo(type);
                 }
-                for (Vector3i pos : ChunkMath.getChunkRegionAroundWorldPos(worldPos, 1)) {
-                    RenderableChunk dirtiedChunk = chunkProvider.getChunk(pos);
-                    if (dirtiedChunk != null) {
-                        dirtiedChunk.setDirty(true);
-                    }
-                }
+                setDirtyAround(worldPos, oldBlockType, type);
                 notifyBlockChanged(worldPos, type, oldBlockType);
             }
             return oldBlockType;
@@ -222,7 +252,6 @@ public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
          * Hint: This method has a benchmark available in the BenchmarkScreen, The screen can be opened ingame via the
          * command "showSCreen BenchmarkScreen".
          */
-        Set<RenderableChunk> dirtiedChunks = new HashSet<>();
         Set<BlockChange> changedBlocks = new HashSet<>();
         Map<Vector3i, Block> result = new HashMap<>(blocks.size());
 
@@ -242,12 +271,7 @@ public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
                     } else {
                         oldChange.setTo(type);
                     }
-                    for (Vector3i pos : ChunkMath.getChunkRegionAroundWorldPos(worldPos, 1)) {
-                        RenderableChunk dirtiedChunk = chunkProvider.getChunk(pos);
-                        if (dirtiedChunk != null) {
-                            dirtiedChunks.add(dirtiedChunk);
-                        }
-                    }
+                    setDirtyAround(worldPos, oldBlockType, type);
                     changedBlocks.add(new BlockChange(worldPos, oldBlockType, type));
                 }
                 result.put(worldPos, oldBlockType);
@@ -256,9 +280,6 @@ public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
             }
         }
 
-        for (RenderableChunk chunk : dirtiedChunks) {
-            chunk.setDirty(true);
-        }
         for (BlockChange change : changedBlocks) {
             notifyBlockChanged(change.getPosition(), change.getTo(), change.getFrom());
         }
@@ -266,6 +287,105 @@ public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
         return result;
     }
 
+    @Override
+    public CompletableFuture<Map<Vector3i, Block>> setBlocksAsync(Map<Vector3i, Block> blocks) {
+        Map<Vector3i, Map<Vector3i, Block>> blocksByChunk = Maps.newHashMap();
+        for (Map.Entry<Vector3i, Block> entry : blocks.entrySet()) {
+            Vector3i chunkPos = ChunkMath.calcChunkPos(entry.getKey());
+            Map<Vector3i, Block> chunkBlocks = blocksByChunk.get(chunkPos);
+            if (chunkBlocks == null) {
+                chunkBlocks = Maps.newHashMap();
+                blocksByChunk.put(chunkPos, chunkBlocks);
+            }
+            chunkBlocks.put(new Vector3i(entry.getKey()), entry.getValue());
+        }
+
+        BulkEdit edit = new BulkEdit(Math.max(1, blocksByChunk.size()));
+        if (blocksByChunk.isEmpty()) {
+            // Queued like any other edit, so that the result is still completed on the main thread
+            pendingChunkEdits.add(new ChunkEdit(edit, null, Collections.<Vector3i, Block>emptyMap()));
+        }
+        for (Map.Entry<Vector3i, Map<Vector3i, Block>> entry : blocksByChunk.entrySet()) {
+            pendingChunkEdits.add(new ChunkEdit(edit, entry.getKey(), entry.getValue()));
+        }
+        return edit.result;
+    }
+
+    /**
+     * Places the next blocks of a chunk edit, records them for propagation and notifies listeners. Runs on the main
+     * thread, so the writes are ordered against other block changes and against propagation.
+     *
+     * @param chunkEdit
+     * @param maxBlocks The most blocks to place
+     * @return The number of blocks placed
+     */
+    private int applyChunkEdit(ChunkEdit chunkEdit, int maxBlocks) {
+        if (!chunkEdit.remainingBlocks.hasNext()) {
+            return 0;
+        }
+        CoreChunk chunk = chunkProvider.getChunk(chunkEdit.chunkPos);
+        List<BlockChange> changes = Lists.newArrayList();
+        int placed = 0;
+        while (placed < maxBlocks && chunkEdit.remainingBlocks.hasNext()) {
+            Map.Entry<Vector3i, Block> entry = chunkEdit.remainingBlocks.next();
+            placed++;
+            Vector3i worldPos = entry.getKey();
+            if (chunk == null) {
+                chunkEdit.bulkEdit.oldBlocks.put(worldPos, null);
+                continue;
+            }
+            Block type = entry.getValue();
+            Block oldBlockType = chunk.setBlock(ChunkMath.calcBlockPos(worldPos), type);
+            chunkEdit.bulkEdit.oldBlocks.put(worldPos, oldBlockType);
+            if (oldBlockType != type) {
+                BlockChange oldChange = blockChanges.get(worldPos);
+                if (oldChange == null) {
+                    blockChanges.put(worldPos, new BlockChange(worldPos, oldBlockType, type));
+                } else {
+                    oldChange.setTo(type);
+                }
+                setDirtyAround(worldPos, oldBlockType, type);
+                changes.add(new BlockChange(worldPos, oldBlockType, type));
+            }
+        }
+        if (!changes.isEmpty()) {
+            synchronized (listeners) {
+                for (WorldChangeListener listener : listeners) {
+                    listener.onBlocksChanged(chunkEdit.chunkPos, changes);
+                }
+            }
+        }
+        return placed;
+    }
+
+    /**
+     * Marks the mesh sections around a changed block as dirty, see {@link #setDirtyAround(Vector3i)}. If the block
+     * starts or stops blocking sight, the visibility of its chunk is marked dirty as well.
+     */
+    private void setDirtyAround(Vector3i worldPos, Block oldType, Block newType) {
+        if (ChunkVisibility.blocksSight(oldType) != ChunkVisibility.blocksSight(newType)) {
+            RenderableChunk chunk = chunkProvider.getChunk(ChunkMath.calcChunkPos(worldPos));
+            if (chunk != null) {
+                chunk.setVisibilityDirty();
+            }
+        }
+        setDirtyAround(worldPos);
+    }
+
+    /**
+     * Marks the mesh sections around a changed block as dirty, in every chunk within a block of it. The sections hold the
+     * faces next to the block and the vertices whose lighting and occlusion is sampled from it.
+     */
+    private void setDirtyAround(Vector3i worldPos) {
+        for (Vector3i pos : ChunkMath.getChunkRegionAroundWorldPos(worldPos, 1)) {
+            RenderableChunk dirtiedChunk = chunkProvider.getChunk(pos);
+            if (dirtiedChunk != null) {
+                int y = worldPos.y - pos.y * ChunkConstants.SIZE_Y;
+                dirtiedChunk.setDirtySections(y - 1, y + 1);
+            }
+        }
+    }
+
     private void notifyBlockChanged(Vector3i pos, Block type, Block oldType) {
         // TODO: Could use a read/write writeLock.
         // TODO: Review, should only happen on main thread (as should changes to listeners)
@@ -286,6 +406,14 @@ private void notifyBiomeChanged(Vector3i pos, Biome newBiome, Biome originalBiom
         }
     }
 
+    private void notifyLiquidChanged(Vector3i pos, LiquidData newState, LiquidData originalState) {
+        synchronized (listeners) {
+            for (WorldChangeListener listener : listeners) {
+                listener.onLiquidChanged(pos, newState, originalState);
+            }
+        }
+    }
+
     @Override
     public boolean setLiquid(int x, int y, int z, LiquidData newState, LiquidData oldState) {
         Vector3i chunkPos = ChunkMath.calcChunkPos(x, y, z);
@@ -295,6 +423,7 @@ public boolean setLiquid(int x, int y, int z, LiquidData newState, LiquidData ol
             LiquidData liquidState = chunk.getLiquid(blockPos);
             if (liquidState.equals(oldState)) {
                 chunk.setLiquid(blockPos, newState);
+                notifyLiquidChanged(new Vector3i(x, y, z), newState, liquidState);
                 return true;
             }
         }
@@ -346,12 +475,7 @@ public Biome setBiome(Vector3i worldPos, Biome biome) {
                 } else {
                     oldChange.setTo(biome);
                 }
-                for (Vector3i pos : ChunkMath.getChunkRegionAroundWorldPos(worldPos, 1)) {
-                    RenderableChunk dirtiedChunk = chunkProvider.getChunk(pos);
-                    if (dirtiedChunk != null) {
-                        dirtiedChunk.setDirty(true);
-                    }
-                }
+                setDirtyAround(worldPos);
                 notifyBiomeChanged(worldPos, biome, oldBiomeType);
             }
             return oldBiomeType;
@@ -396,7 +520,7 @@ public byte getTotalLight(int x, int y, int z) {
     @Override
     public void dispose() {
         chunkProvider.dispose();
-
+        propagationExecutor.shutdown();
     }
 
     @Override
@@ -413,4 +537,39 @@ public Collection<Region3i> getRelevantRegions() {
 
         return FluentIterable.from(chunks).filter(isReady).transform(mapping).toList();
     }
+
+    /**
+     * An asynchronous bulk edit, completed once all of its chunks have been placed and propagated.
+     */
+    private static final class BulkEdit {
+        private final CompletableFuture<Map<Vector3i, Block>> result = new CompletableFuture<>();
+        private final Map<Vector3i, Block> oldBlocks = Maps.newHashMap();
+        private int remainingChunks;
+
+        private BulkEdit(int chunkCount) {
+            this.remainingChunks = chunkCount;
+        }
+
+        /**
+         * @return Whether all chunks of the edit have now been applied
+         */
+        private boolean chunkApplied() {
+            return --remainingChunks == 0;
+        }
+    }
+
+    /**
+     * The part of a bulk edit falling within a single chunk, placed over as many ticks as its size requires.
+     */
+    private static final class ChunkEdit {
+        private final BulkEdit bulkEdit;
+        private final Vector3i chunkPos;
+        private final Iterator<Map.Entry<Vector3i, Block>> remainingBlocks;
+
+        private ChunkEdit(BulkEdit bulkEdit, Vector3i chunkPos, Map<Vector3i, Block> blocks) {
+            this.bulkEdit = bulkEdit;
+            this.chunkPos = chunkPos;
+            this.remainingBlocks = blocks.entrySet().iterator();
+        }
+    }
 }
@@ -19,6 +19,7 @@
 import org.terasology.math.geom.Vector3i;
 import org.terasology.world.block.Block;
 import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
 import org.terasology.world.chunks.ChunkProvider;
 import org.terasology.world.chunks.CoreChunk;
 import org.terasology.world.chunks.LitChunk;
@@ -64,7 +65,8 @@ public void setValueAt(Vector3i pos, byte value) {
         for (Vector3i affectedChunkPos : ChunkMath.getChunkRegionAroundWorldPos(pos, 1)) {
             Chunk dirtiedChunk = chunkProvider.getChunk(affectedChunkPos);
             if (dirtiedChunk != null) {
-                dirtiedChunk.setDirty(true);
+                int y = pos.y - affectedChunkPos.y * ChunkConstants.SIZE_Y;
+                dirtiedChunk.setDirtySections(y - 1, y + 1);
             }
         }
     }
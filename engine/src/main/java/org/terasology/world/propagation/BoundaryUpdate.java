@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.propagation;
+
+import org.terasology.math.geom.Vector3i;
+
+/**
+ * A propagation step that crossed out of the chunk being processed and has to be applied by the owner of the target
+ * position.
+ *
+ */
+final class BoundaryUpdate {
+
+    enum Type {
+        /**
+         * Raise the value at the position, if it is still lower than the given value.
+         */
+        INCREASE,
+        /**
+         * Purge the value at the position, if it still matches the given value.
+         */
+        REDUCE,
+        /**
+         * Spread whatever value is currently at the position to its neighbours.
+         */
+        SPREAD
+    }
+
+    private final Type type;
+    private final Vector3i position;
+    private final byte value;
+
+    BoundaryUpdate(Type type, Vector3i position, byte value) {
+        this.type = type;
+        this.position = position;
+        this.value = value;
+    }
+
+    Type getType() {
+        return type;
+    }
+
+    Vector3i getPosition() {
+        return position;
+    }
+
+    byte getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.propagation;
+
+import com.google.common.collect.Lists;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.List;
+
+/**
+ * A batch propagator that only writes inside a single chunk. Any propagation step leaving the chunk is recorded as a
+ * {@link BoundaryUpdate} instead, to be handed to the propagator owning the neighbouring chunk.
+ * <p>
+ * Values just outside of the chunk are still read, so a neighbouring chunk must not be processed at the same time.
+ * <p>
+ * Once a batch has been processed and the outgoing updates drained, nothing is left queued, so the propagator can be
+ * moved on to another chunk and reused.
+ *
+ */
+class ChunkBoundedBatchPropagator extends StandardBatchPropagator {
+
+    private final List<BoundaryUpdate> outgoing = Lists.newArrayList();
+    private Region3i bounds;
+
+    ChunkBoundedBatchPropagator(PropagationRules rules, PropagatorWorldView world) {
+        super(rules, world);
+    }
+
+    /**
+     * Moves the propagator to the given chunk. Must only be called while nothing is queued.
+     *
+     * @param chunkPos
+     */
+    void setChunk(Vector3i chunkPos) {
+        Vector3i min = new Vector3i(chunkPos);
+        min.mul(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+        bounds = Region3i.createFromMinAndSize(min, ChunkConstants.CHUNK_SIZE);
+    }
+
+    /**
+     * @return The updates produced for neighbouring chunks since the last call
+     */
+    List<BoundaryUpdate> drainOutgoing() {
+        List<BoundaryUpdate> result = Lists.newArrayList(outgoing);
+        outgoing.clear();
+        return result;
+    }
+
+    @Override
+    protected void increase(Vector3i position, byte value) {
+        if (bounds.encompasses(position)) {
+            super.increase(position, value);
+        } else {
+            outgoing.add(new BoundaryUpdate(BoundaryUpdate.Type.INCREASE, new Vector3i(position), value));
+        }
+    }
+
+    @Override
+    protected void queueSpreadValue(Vector3i position, byte value) {
+        if (bounds.encompasses(position)) {
+            super.queueSpreadValue(position, value);
+        } else if (value > 1) {
+            outgoing.add(new BoundaryUpdate(BoundaryUpdate.Type.SPREAD, new Vector3i(position), value));
+        }
+    }
+
+    @Override
+    protected void reduce(Vector3i position, byte oldValue) {
+        if (bounds.encompasses(position)) {
+            super.reduce(position, oldValue);
+        } else if (oldValue > 0) {
+            outgoing.add(new BoundaryUpdate(BoundaryUpdate.Type.REDUCE, new Vector3i(position), oldValue));
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.propagation;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.math.ChunkMath;
+import org.terasology.math.Side;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.LitChunk;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Batch propagator that splits a batch of changes by chunk and propagates inside each chunk in parallel.
+ * <p>
+ * Each chunk is handled by a {@link ChunkBoundedBatchPropagator}, which only writes to its own chunk. Propagation
+ * leaving a chunk is exchanged with the neighbouring chunk, and processing repeats until no more updates cross chunk
+ * boundaries. Chunks are processed in eight passes by the parity of their position, so that no two chunks being
+ * processed at the same time are adjacent to each other. Should the exchange not settle within a number of rounds, the
+ * remaining work is finished by a single {@link StandardBatchPropagator} on the calling thread.
+ * <p>
+ * The chunk propagators are pooled, and handed to whichever chunk is processed next once they are done.
+ *
+ */
+public class ParallelBatchPropagator implements BatchPropagator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelBatchPropagator.class);
+
+    private static final int PARITY_CLASSES = 8;
+    private static final int MAX_ROUNDS = 1024;
+
+    private final PropagationRules rules;
+    private final PropagatorWorldView world;
+    private final ExecutorService executorService;
+    private final int maxRounds;
+
+    private final Map<Vector3i, ChunkWork> pendingWork = Maps.newHashMap();
+    private final Queue<ChunkBoundedBatchPropagator> idlePropagators = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param rules
+     * @param world
+     * @param executorService The executor to propagate chunks on. The caller remains responsible for shutting it down.
+     */
+    public ParallelBatchPropagator(PropagationRules rules, PropagatorWorldView world, ExecutorService executorService) {
+        this(rules, world, executorService, MAX_ROUNDS);
+    }
+
+    /**
+     * @param rules
+     * @param world
+     * @param executorService The executor to propagate chunks on. The caller remains responsible for shutting it down.
+     * @param maxRounds       The number of boundary exchange rounds after which the remaining work is finished serially
+     */
+    ParallelBatchPropagator(PropagationRules rules, PropagatorWorldView world, ExecutorService executorService, int maxRounds) {
+        this.rules = rules;
+        this.world = world;
+        this.executorService = executorService;
+        this.maxRounds = maxRounds;
+    }
+
+    @Override
+    public void process(BlockChange... changes) {
+        process(Arrays.asList(changes));
+    }
+
+    @Override
+    public void process(Iterable<BlockChange> blockChanges) {
+        for (BlockChange blockChange : blockChanges) {
+            getWork(ChunkMath.calcChunkPos(blockChange.getPosition())).changes.add(blockChange);
+        }
+
+        int rounds = 0;
+        while (!pendingWork.isEmpty()) {
+            if (++rounds > maxRounds) {
+                finishSerially();
+                break;
+            }
+            for (int parity = 0; parity < PARITY_CLASSES; ++parity) {
+                List<ChunkWork> batch = takeWork(parity);
+                if (!batch.isEmpty()) {
+                    for (BoundaryUpdate update : propagate(batch)) {
+                        getWork(ChunkMath.calcChunkPos(update.getPosition())).incoming.add(update);
+                    }
+                }
+            }
+        }
+    }
+
+    private void finishSerially() {
+        logger.warn("Propagation did not settle after {} rounds, finishing {} pending chunks serially", maxRounds, pendingWork.size());
+        StandardBatchPropagator serialPropagator = new StandardBatchPropagator(rules, world);
+        for (ChunkWork work : pendingWork.values()) {
+            for (BoundaryUpdate update : work.call()) {
+                serialPropagator.receive(update);
+            }
+        }
+        pendingWork.clear();
+        serialPropagator.process(Collections.<BlockChange>emptyList());
+    }
+
+    private List<ChunkWork> takeWork(int parity) {
+        List<ChunkWork> batch = Lists.newArrayList();
+        Iterator<ChunkWork> iterator = pendingWork.values().iterator();
+        while (iterator.hasNext()) {
+            ChunkWork work = iterator.next();
+            if (parityOf(work.chunkPos) == parity) {
+                batch.add(work);
+                iterator.remove();
+            }
+        }
+        return batch;
+    }
+
+    private List<BoundaryUpdate> propagate(List<ChunkWork> batch) {
+        List<BoundaryUpdate> result = Lists.newArrayList();
+        if (batch.size() == 1) {
+            result.addAll(batch.get(0).call());
+            return result;
+        }
+        try {
+            for (Future<List<BoundaryUpdate>> future : executorService.invokeAll(batch)) {
+                result.addAll(future.get());
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException("Error propagating chunks in parallel", e);
+        }
+        return result;
+    }
+
+    private ChunkWork getWork(Vector3i chunkPos) {
+        ChunkWork work = pendingWork.get(chunkPos);
+        if (work == null) {
+            work = new ChunkWork(chunkPos);
+            pendingWork.put(chunkPos, work);
+        }
+        return work;
+    }
+
+    private static int parityOf(Vector3i chunkPos) {
+        return (chunkPos.x & 1) | (chunkPos.y & 1) << 1 | (chunkPos.z & 1) << 2;
+    }
+
+    @Override
+    public void propagateBetween(LitChunk chunk, LitChunk adjChunk, Side side, boolean propagateExternal) {
+        getWork(adjChunk.getPosition()).getPropagator().propagateBetween(chunk, adjChunk, side, propagateExternal);
+    }
+
+    @Override
+    public void propagateFrom(Vector3i pos, Block block) {
+        getWork(ChunkMath.calcChunkPos(pos)).getPropagator().propagateFrom(pos, block);
+    }
+
+    @Override
+    public void propagateFrom(Vector3i pos, byte value) {
+        getWork(ChunkMath.calcChunkPos(pos)).getPropagator().propagateFrom(pos, value);
+    }
+
+    @Override
+    public void regenerate(Vector3i pos, byte value) {
+        getWork(ChunkMath.calcChunkPos(pos)).getPropagator().regenerate(pos, value);
+    }
+
+    /**
+     * The changes and boundary updates waiting to be propagated within one chunk.
+     */
+    private final class ChunkWork implements Callable<List<BoundaryUpdate>> {
+        private final Vector3i chunkPos;
+        private final List<BlockChange> changes = Lists.newArrayList();
+        private final List<BoundaryUpdate> incoming = Lists.newArrayList();
+        private ChunkBoundedBatchPropagator propagator;
+
+        ChunkWork(Vector3i chunkPos) {
+            this.chunkPos = chunkPos;
+        }
+
+        /**
+         * @return The propagator for this chunk, taken from the pool on first use
+         */
+        ChunkBoundedBatchPropagator getPropagator() {
+            if (propagator == null) {
+                propagator = idlePropagators.poll();
+                if (propagator == null) {
+                    propagator = new ChunkBoundedBatchPropagator(rules, world);
+                }
+                propagator.setChunk(chunkPos);
+            }
+            return propagator;
+        }
+
+        @Override
+        public List<BoundaryUpdate> call() {
+            ChunkBoundedBatchPropagator chunkPropagator = getPropagator();
+            for (BoundaryUpdate update : incoming) {
+                chunkPropagator.receive(update);
+            }
+            chunkPropagator.process(changes);
+            List<BoundaryUpdate> result = chunkPropagator.drainOutgoing();
+            propagator = null;
+            idlePropagators.add(chunkPropagator);
+            return result;
+        }
+    }
+}
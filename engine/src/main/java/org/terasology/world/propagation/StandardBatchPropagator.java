@@ -94,6 +94,34 @@ public void process(Iterable<BlockChange> blockChanges) {
         cleanUp();
     }
 
+    /**
+     * Queues an update received from the propagation of a neighbouring chunk. It is re-validated against the current
+     * world state, as the target may have changed since the update was produced.
+     *
+     * @param update
+     */
+    void receive(BoundaryUpdate update) {
+        Vector3i pos = update.getPosition();
+        byte currentValue = world.getValueAt(pos);
+        switch (update.getType()) {
+            case INCREASE:
+                if (currentValue != PropagatorWorldView.UNAVAILABLE && currentValue < update.getValue()) {
+                    increase(pos, update.getValue());
+                }
+                break;
+            case REDUCE:
+                if (currentValue == update.getValue()) {
+                    reduce(pos, update.getValue());
+                }
+                break;
+            case SPREAD:
+                if (currentValue > 0) {
+                    queueSpreadValue(pos, currentValue);
+                }
+                break;
+        }
+    }
+
     private void reviewChange(BlockChange blockChange) {
         byte newValue = rules.getFixedValue(blockChange.getTo(), blockChange.getPosition());
         byte existingValue = world.getValueAt(blockChange.getPosition());
@@ -218,18 +246,18 @@ private void cleanUp() {
         }
     }
 
-    private void increase(Vector3i position, byte value) {
+    protected void increase(Vector3i position, byte value) {
         world.setValueAt(position, value);
         queueSpreadValue(position, value);
     }
 
-    private void queueSpreadValue(Vector3i position, byte value) {
+    protected void queueSpreadValue(Vector3i position, byte value) {
         if (value > 1) {
             increaseQueues[rules.getMaxValue() - value].add(position);
         }
     }
 
-    private void reduce(Vector3i position, byte oldValue) {
+    protected void reduce(Vector3i position, byte oldValue) {
         if (oldValue > 0) {
             reduceQueues[rules.getMaxValue() - oldValue].add(position);
         }
@@ -68,6 +68,7 @@ varying vec3 sunVecView;
 varying vec3 normal;
 
 varying float blockHint;
+varying vec2 tileRepeat;
 varying float isUpside;
 
 uniform sampler2D textureAtlas;
@@ -87,6 +88,13 @@ void main() {
 
     vec2 texCoord = gl_TexCoord[0].xy;
 
+    // The tile of a merged face spans the whole face, so repeat it once per block
+    if (tileRepeat.x > 1.5 || tileRepeat.y > 1.5) {
+        vec2 tileStart = floor(texCoord / TEXTURE_OFFSET) * TEXTURE_OFFSET + TEXTURE_OFFSET / 128.0;
+        float tileSpan = TEXTURE_OFFSET * (1.0 - 2.0 / 128.0);
+        texCoord = tileStart + fract((texCoord - tileStart) / tileSpan * tileRepeat) * tileSpan;
+    }
+
     vec3 normalizedVPos = -normalize(vertexViewPos.xyz);
     vec2 projectedPos = projectVertexToTexCoord(vertexProjPos);
     vec3 normalOpaque = normal;
@@ -97,8 +105,8 @@ void main() {
     // the tangent for each vertex in the chunk VBO might be not the best idea either.
     vec3 dp1 = dFdx(vertexProjPos.xyz);
     vec3 dp2 = dFdy(vertexProjPos.xyz);
-    vec2 duv1 = dFdx(gl_TexCoord[0].xy);
-    vec2 duv2 = dFdy(gl_TexCoord[0].xy);
+    vec2 duv1 = dFdx(gl_TexCoord[0].xy) * tileRepeat;
+    vec2 duv2 = dFdy(gl_TexCoord[0].xy) * tileRepeat;
 
     vec3 dp2perp = cross(dp2, normal);
     vec3 dp1perp = cross(normal, dp1);
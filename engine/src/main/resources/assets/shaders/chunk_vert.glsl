@@ -106,11 +106,15 @@ varying vec3 sunVecView;
 
 varying float isUpside;
 varying float blockHint;
+varying vec2 tileRepeat;
 
 void main()
 {
 	gl_TexCoord[0] = gl_MultiTexCoord0;
-	blockHint = int(gl_TexCoord[0].z);
+	// Merged faces store how often their tile repeats above the block hint
+	float tileRepeats = floor(gl_TexCoord[0].z / TILE_REPEAT_STEP);
+	blockHint = int(gl_TexCoord[0].z - tileRepeats * TILE_REPEAT_STEP);
+	tileRepeat = vec2(mod(tileRepeats, MAX_TILE_REPEAT), floor(tileRepeats / MAX_TILE_REPEAT)) + 1.0;
 
     gl_TexCoord[1] = gl_MultiTexCoord1;
 